@@ -0,0 +1,293 @@
+package br.com.s3.console.buffer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared pool of heap buffers used by transfers, so that parts and ranges do not allocate
+ * fresh arrays on every call. Transfers move bytes between S3 streams and files, so buffers
+ * are backed by arrays the streams read and write directly; a direct buffer would only add a
+ * copy through the heap. Buffers come in power-of-two size classes and are kept once released,
+ * and the memory of every buffer, leased or idle, counts against one global limit.
+ * When the limit is reached, idle buffers of other classes are dropped to make room and
+ * leases wait for memory to be released. Leases that could never fit in the limit are rejected,
+ * so callers size their buffers with {@link #fits(int, int)} beforehand.
+ */
+@Component
+public class BufferPool {
+
+    /** Smallest buffer handed out, smaller leases get one of this size */
+    public static final int MIN_BUFFER_SIZE = 4 * 1024;
+    /** Largest buffer that can be leased */
+    public static final int MAX_BUFFER_SIZE = 1 << 30;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE) - MIN_SHIFT + 1;
+
+    private final long maxMemory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition memoryReleased = lock.newCondition();
+    private final List<ArrayDeque<ByteBuffer>> idle = new ArrayList<>(SIZE_CLASSES);
+    private final Timer leaseWait;
+
+    private long allocatedBytes;
+    private long leasedBytes;
+
+    public BufferPool(@Value("${console.buffers.max-memory}") DataSize maxMemory, MeterRegistry meterRegistry) {
+        if (maxMemory.toBytes() < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Invalid buffer memory limit: " + maxMemory);
+        }
+        this.maxMemory = maxMemory.toBytes();
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            idle.add(new ArrayDeque<>());
+        }
+
+        Gauge.builder("s3.buffers.allocated", this, BufferPool::allocatedBytes)
+                .description("Bytes of buffers held by the pool, leased or idle")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("s3.buffers.leased", this, BufferPool::leasedBytes)
+                .description("Bytes of buffers currently leased")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("s3.buffers.max-memory", this, BufferPool::maxMemory)
+                .description("Limit of the memory held by the pool")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.leaseWait = Timer.builder("s3.buffers.lease-wait")
+                .description("Time spent waiting for buffer memory to be released")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Leases a buffer, waiting for memory to be released if the pool is full
+     *
+     * @param size Number of bytes needed
+     * @return Lease of a cleared buffer whose limit is the requested size
+     * @throws IllegalArgumentException if the size is not positive, larger than {@link #MAX_BUFFER_SIZE}
+     *         or its size class does not fit in the memory limit
+     * @throws IllegalStateException if interrupted while waiting
+     */
+    public Lease lease(int size) {
+        return acquire(size, 1, true).getFirst();
+    }
+
+    /**
+     * Leases several buffers of the same size at once, waiting until all of them are available.
+     * Callers that need more than one buffer to make progress must use this method rather than
+     * leasing them one by one, which could deadlock with another caller holding the rest.
+     *
+     * @param size Number of bytes of each buffer
+     * @param count Number of buffers
+     * @return Leases of cleared buffers whose limit is the requested size
+     * @throws IllegalArgumentException if the size is not positive, larger than {@link #MAX_BUFFER_SIZE}
+     *         or the buffers together do not fit in the memory limit
+     * @throws IllegalStateException if interrupted while waiting
+     */
+    public List<Lease> lease(int size, int count) {
+        return acquire(size, count, true);
+    }
+
+    /**
+     * Leases a buffer only if memory is available right away
+     * @param size Number of bytes needed
+     * @return Lease of a cleared buffer whose limit is the requested size, or null if the pool is full
+     *         or the size class does not fit in the memory limit
+     * @throws IllegalArgumentException if the size is not positive or larger than {@link #MAX_BUFFER_SIZE}
+     */
+    public Lease tryLease(int size) {
+        if (!fits(size, 1)) {
+            return null;
+        }
+        List<Lease> leases = acquire(size, 1, false);
+        return leases.isEmpty() ? null : leases.getFirst();
+    }
+
+    /**
+     * Checks whether buffers could ever be leased together within the memory limit
+     * @param size Number of bytes of each buffer
+     * @param count Number of buffers
+     * @return true if their size classes fit in the limit
+     * @throws IllegalArgumentException if the size is not positive or larger than {@link #MAX_BUFFER_SIZE}
+     */
+    public boolean fits(int size, int count) {
+        if (size <= 0 || size > MAX_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Invalid buffer size: " + size);
+        }
+        return capacity(sizeClass(size)) * count <= maxMemory;
+    }
+
+    private List<Lease> acquire(int size, int count, boolean wait) {
+        if (!fits(size, count)) {
+            // Waiting would never end, since the pool could never hold them
+            throw new IllegalArgumentException(count + " buffer(s) of " + size
+                    + " bytes do not fit in the buffer memory limit of " + maxMemory
+                    + " bytes, raise console.buffers.max-memory or use smaller parts.");
+        }
+        int sizeClass = sizeClass(size);
+        long capacity = capacity(sizeClass);
+
+        long waitStart = 0;
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (!reserve(sizeClass, count)) {
+                    if (!wait) {
+                        return List.of();
+                    }
+                    if (waitStart == 0) {
+                        waitStart = System.nanoTime();
+                    }
+                    memoryReleased.await();
+                }
+                List<Lease> leases = new ArrayList<>(count);
+                ArrayDeque<ByteBuffer> buffers = idle.get(sizeClass);
+                for (int i = 0; i < count; i++) {
+                    ByteBuffer buffer = buffers.pollFirst();
+                    leases.add(new Lease(buffer.clear().limit(size), sizeClass));
+                }
+                leasedBytes += capacity * count;
+                return leases;
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for buffer memory", e);
+        } finally {
+            if (waitStart != 0) {
+                leaseWait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Makes sure enough idle buffers of a class are available, allocating the missing ones
+     * and dropping idle buffers of other classes, largest first, when the limit is in the way.
+     * Must be called with the lock held.
+     *
+     * @return false if the buffers cannot be provided until memory is released
+     */
+    private boolean reserve(int sizeClass, int count) {
+        ArrayDeque<ByteBuffer> buffers = idle.get(sizeClass);
+        long capacity = capacity(sizeClass);
+        long missing = Math.max(0, count - buffers.size()) * capacity;
+        if (missing == 0) {
+            return true;
+        }
+        long reclaimable = allocatedBytes - leasedBytes - buffers.size() * capacity;
+        if (allocatedBytes - reclaimable + missing > maxMemory) {
+            return false;
+        }
+        for (int other = SIZE_CLASSES - 1; other >= 0 && allocatedBytes + missing > maxMemory; other--) {
+            ArrayDeque<ByteBuffer> otherBuffers = idle.get(other);
+            while (other != sizeClass && !otherBuffers.isEmpty() && allocatedBytes + missing > maxMemory) {
+                otherBuffers.pollFirst();
+                allocatedBytes -= capacity(other);
+            }
+        }
+        while (buffers.size() < count) {
+            buffers.addFirst(ByteBuffer.allocate((int) capacity));
+            allocatedBytes += capacity;
+        }
+        return true;
+    }
+
+    private void release(Lease lease) {
+        lock.lock();
+        try {
+            // Most recently used buffers are handed out first, they are the most likely to be cached
+            idle.get(lease.sizeClass).addFirst(lease.buffer);
+            leasedBytes -= lease.buffer.capacity();
+            memoryReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int sizeClass(int size) {
+        int shift = size <= MIN_BUFFER_SIZE ? MIN_SHIFT : 32 - Integer.numberOfLeadingZeros(size - 1);
+        return shift - MIN_SHIFT;
+    }
+
+    private static long capacity(int sizeClass) {
+        return 1L << (sizeClass + MIN_SHIFT);
+    }
+
+    /**
+     * @return Bytes of buffers held by the pool, leased or idle
+     */
+    public long allocatedBytes() {
+        lock.lock();
+        try {
+            return allocatedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Bytes of buffers currently leased
+     */
+    public long leasedBytes() {
+        lock.lock();
+        try {
+            return leasedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Limit of the memory held by the pool
+     */
+    public long maxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Buffer leased from the pool, handed back when the lease is closed.
+     * The buffer must not be used once the lease is closed.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final ByteBuffer buffer;
+        private final int sizeClass;
+        private boolean released;
+
+        private Lease(ByteBuffer buffer, int sizeClass) {
+            this.buffer = buffer;
+            this.sizeClass = sizeClass;
+        }
+
+        /**
+         * @return Leased buffer, its capacity may be larger than the requested size
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(this);
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package br.com.s3.console.command;
 
 import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.job.JobPriority;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.model.BucketStats;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.InventoryFormat;
+import br.com.s3.console.model.PurgeResult;
 import br.com.s3.console.service.PrinterService;
 import br.com.s3.console.service.S3BucketService;
+import br.com.s3.console.service.S3InventoryService;
+import br.com.s3.console.service.S3ReplicationService;
+import br.com.s3.console.service.S3StatsService;
+import org.jline.terminal.Terminal;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 import software.amazon.awssdk.services.s3.model.Bucket;
 
+import java.nio.file.Path;
 import java.util.List;
 
 @ShellComponent
@@ -16,11 +27,23 @@ public class S3BucketCommands {
     private final S3BucketService s3BucketService;
     private final BucketContext bucketContext;
     private final PrinterService printerService;
+    private final S3ReplicationService s3ReplicationService;
+    private final S3StatsService s3StatsService;
+    private final S3InventoryService s3InventoryService;
+    private final JobScheduler jobScheduler;
+    private final Terminal terminal;
 
-    public S3BucketCommands(S3BucketService s3BucketService, BucketContext bucketContext, PrinterService printerService) {
+    public S3BucketCommands(S3BucketService s3BucketService, BucketContext bucketContext, PrinterService printerService,
+                            S3ReplicationService s3ReplicationService, S3StatsService s3StatsService,
+                            S3InventoryService s3InventoryService, JobScheduler jobScheduler, Terminal terminal) {
         this.s3BucketService = s3BucketService;
         this.bucketContext = bucketContext;
         this.printerService = printerService;
+        this.s3ReplicationService = s3ReplicationService;
+        this.s3StatsService = s3StatsService;
+        this.s3InventoryService = s3InventoryService;
+        this.jobScheduler = jobScheduler;
+        this.terminal = terminal;
     }
 
     @ShellMethod(key = "list-buckets", value = "Lists all available buckets")
@@ -44,12 +67,22 @@ public class S3BucketCommands {
     }
 
     @ShellMethod(key = "delete-bucket", value = "Deletes a bucket")
-    public String deleteBucket(@ShellOption(help = "Bucket name") String name) {
+    public String deleteBucket(
+            @ShellOption(help = "Bucket name") String name,
+            @ShellOption(help = "Empty the bucket first, including versions and multipart uploads", defaultValue = "false") boolean force,
+            @ShellOption(help = "Number of concurrent delete batches when forcing", defaultValue = "16") int parallelism) {
         try {
             if (!s3BucketService.bucketExists(name)) {
                 return "Bucket '" + name + "' does not exist.";
             }
             
+            if (force) {
+                PurgeResult result = s3BucketService.forceDeleteBucket(name, parallelism);
+                return "Bucket '" + name + "' deleted successfully after removing " + result.versions()
+                        + " version(s), " + result.deleteMarkers() + " delete marker(s) and aborting "
+                        + result.multipartUploads() + " multipart upload(s).";
+            }
+            
             s3BucketService.deleteBucket(name);
             return "Bucket '" + name + "' deleted successfully.";
         } catch (Exception e) {
@@ -79,4 +112,88 @@ public class S3BucketCommands {
         
         return "Current bucket: " + bucketContext.getCurrentBucket();
     }
-} 
\ No newline at end of file
+
+    @ShellMethod(key = "replicate", value = "Copies the current bucket or a prefix of it into another bucket")
+    public String replicate(
+            @ShellOption(help = "Destination bucket name") String destinationBucket,
+            @ShellOption(help = "Source key prefix (defaults to the whole bucket)", defaultValue = "") String sourcePrefix,
+            @ShellOption(help = "Destination key prefix (defaults to the source prefix)", defaultValue = ShellOption.NULL) String destinationPrefix,
+            @ShellOption(help = "Number of concurrent copies", defaultValue = "32") int parallelism,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String sourceBucket = bucketContext.resolveBucket(bucket);
+        if (sourceBucket == null) {
+            return "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+        }
+        
+        try {
+            if (!s3BucketService.bucketExists(destinationBucket)) {
+                return "Bucket '" + destinationBucket + "' does not exist. Use the 'create-bucket' command to create it.";
+            }
+            
+            String targetPrefix = destinationPrefix != null ? destinationPrefix : sourcePrefix;
+            if (background) {
+                return printerService.formatJobSubmitted(jobScheduler.submit(
+                        "replicate " + sourceBucket + "/" + sourcePrefix + " -> " + destinationBucket + "/" + targetPrefix,
+                        JobPriority.BULK,
+                        progress -> printerService.formatBulkResult("Replicated", s3ReplicationService.replicate(
+                                sourceBucket, sourcePrefix, destinationBucket, targetPrefix, parallelism, result -> {
+                                }))));
+            }
+            
+            BulkResult result = s3ReplicationService.replicate(sourceBucket, sourcePrefix,
+                    destinationBucket, targetPrefix, parallelism,
+                    progress -> {
+                        terminal.writer().println(printerService.formatBulkResult("Replicated", progress));
+                        terminal.flush();
+                    });
+            return printerService.formatBulkResult("Replicated", result);
+        } catch (Exception e) {
+            return "Error replicating bucket: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "bucket-stats", value = "Shows object counts and sizes of the current bucket or a prefix of it")
+    public String bucketStats(
+            @ShellOption(help = "Key prefix (defaults to the whole bucket)", defaultValue = "") String prefix,
+            @ShellOption(help = "Read the local index instead of listing the bucket", defaultValue = "false") boolean useIndex,
+            @ShellOption(help = "Number of concurrent paginators", defaultValue = "16") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+        }
+        
+        try {
+            BucketStats stats = s3StatsService.stats(bucketName, prefix, parallelism, useIndex);
+            return printerService.formatBucketStats(stats, bucketName + "/" + prefix);
+        } catch (Exception e) {
+            return "Error computing bucket stats: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "export-inventory", value = "Writes the listing of the current bucket or a prefix of it to a file")
+    public String exportInventory(
+            @ShellOption(help = "File to write, gzip-compressed when it ends with .gz") String output,
+            @ShellOption(help = "Key prefix (defaults to the whole bucket)", defaultValue = "") String prefix,
+            @ShellOption(help = "File format (CSV or NDJSON)", defaultValue = "CSV") InventoryFormat format,
+            @ShellOption(help = "Write rows in key order instead of as pages arrive", defaultValue = "false") boolean sorted,
+            @ShellOption(help = "Number of concurrent paginators", defaultValue = "16") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+        }
+        
+        try {
+            long count = s3InventoryService.export(bucketName, prefix, format, Path.of(output),
+                    sorted, parallelism, rows -> {
+                        terminal.writer().println(rows + " object(s) exported...");
+                        terminal.flush();
+                    });
+            return count + " object(s) exported into '" + output + "'.";
+        } catch (Exception e) {
+            return "Error exporting inventory: " + e.getMessage();
+        }
+    }
+}
@@ -1,34 +1,95 @@
 package br.com.s3.console.command;
 
 import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.job.JobPriority;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.WatchMode;
 import br.com.s3.console.service.PrinterService;
 import br.com.s3.console.service.S3BucketFileService;
+import br.com.s3.console.service.S3CopyService;
+import br.com.s3.console.service.S3DirectoryUploadService;
+import br.com.s3.console.service.S3DirectoryWatchService;
+import br.com.s3.console.service.S3IndexService;
+import br.com.s3.console.service.S3PackService;
+import br.com.s3.console.service.S3WatchService;
+import br.com.s3.console.transfer.TransferProgress;
+import br.com.s3.console.util.ByteSizes;
+import org.jline.terminal.Terminal;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
+import org.springframework.util.StreamUtils;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Stream;
 
 @ShellComponent
 public class S3BucketFileCommands {
 
+    private static final String NO_BUCKET_SELECTED = "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+    private static final int LIST_PAGE_SIZE = 1000;
+
     private final S3BucketFileService s3BucketFileService;
     private final BucketContext bucketContext;
     private final PrinterService printerService;
+    private final S3CopyService s3CopyService;
+    private final S3IndexService s3IndexService;
+    private final S3WatchService s3WatchService;
+    private final S3DirectoryWatchService s3DirectoryWatchService;
+    private final S3DirectoryUploadService s3DirectoryUploadService;
+    private final S3PackService s3PackService;
+    private final JobScheduler jobScheduler;
+    private final Terminal terminal;
 
-    public S3BucketFileCommands(S3BucketFileService s3BucketFileService, BucketContext bucketContext, PrinterService printerService) {
+    public S3BucketFileCommands(S3BucketFileService s3BucketFileService, BucketContext bucketContext,
+                                PrinterService printerService, S3CopyService s3CopyService,
+                                S3IndexService s3IndexService, S3WatchService s3WatchService,
+                                S3DirectoryWatchService s3DirectoryWatchService,
+                                S3DirectoryUploadService s3DirectoryUploadService, S3PackService s3PackService,
+                                JobScheduler jobScheduler, Terminal terminal) {
         this.s3BucketFileService = s3BucketFileService;
         this.bucketContext = bucketContext;
         this.printerService = printerService;
+        this.s3CopyService = s3CopyService;
+        this.s3IndexService = s3IndexService;
+        this.s3WatchService = s3WatchService;
+        this.s3DirectoryWatchService = s3DirectoryWatchService;
+        this.s3DirectoryUploadService = s3DirectoryUploadService;
+        this.s3PackService = s3PackService;
+        this.jobScheduler = jobScheduler;
+        this.terminal = terminal;
     }
 
     @ShellMethod(key = "list-files", value = "Lists all files in the current S3 bucket")
-    public String listFiles() {
+    public String listFiles(
+            @ShellOption(help = "Key prefix of the files to list", defaultValue = "") String prefix,
+            @ShellOption(help = "List from the local index instead of the bucket", defaultValue = "false") boolean useIndex,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
         try {
-            List<S3Object> objects = s3BucketFileService.listObjects();
-            return printerService.formatObjectsTable(objects, bucketContext.getCurrentBucket());
+            if (useIndex) {
+                List<S3Object> objects;
+                try (Stream<S3Object> indexed = s3IndexService.require(bucketName).objects(prefix)) {
+                    // One more object tells whether the listing is cut
+                    objects = indexed.limit(LIST_PAGE_SIZE + 1).toList();
+                }
+                if (objects.size() > LIST_PAGE_SIZE) {
+                    return printerService.formatObjectsTable(objects.subList(0, LIST_PAGE_SIZE), bucketName)
+                            + "\nShowing the first " + LIST_PAGE_SIZE + " files only. Use a longer prefix to list the rest.";
+                }
+                return printerService.formatObjectsTable(objects, bucketName);
+            }
+            return printerService.formatObjectsTable(s3BucketFileService.listObjects(bucketName, prefix), bucketName);
         } catch (IllegalStateException e) {
             return e.getMessage();
         } catch (Exception e) {
@@ -39,25 +100,109 @@ public class S3BucketFileCommands {
     @ShellMethod(key = "download-file", value = "Downloads a file from the current S3 bucket")
     public String downloadFile(
             @ShellOption(help = "File name in the bucket") String key,
-            @ShellOption(help = "Destination directory", defaultValue = "./downloads") String destinationPath) {
+            @ShellOption(help = "Destination directory", defaultValue = "./downloads") String destinationPath,
+            @ShellOption(help = "Extend the file to its final size before writing it", defaultValue = "false") boolean preallocate,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
         
-        try {
-            Path downloadedFilePath = s3BucketFileService.downloadObject(key, destinationPath);
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        if (background) {
+            return printerService.formatJobSubmitted(jobScheduler.submit("download-file " + bucketName + "/" + key,
+                    JobPriority.BULK, progress -> "File downloaded successfully: "
+                            + s3BucketFileService.downloadObject(bucketName, key, destinationPath, preallocate, progress)));
+        }
+        
+        TransferProgress progress = new TransferProgress();
+        try (TransferProgressBar ignored = TransferProgressBar.start(progress, terminal, printerService)) {
+            Path downloadedFilePath = s3BucketFileService.downloadObject(bucketName, key, destinationPath, preallocate,
+                    progress);
             return "File downloaded successfully: " + downloadedFilePath;
-        } catch (IllegalStateException e) {
-            return e.getMessage();
         } catch (Exception e) {
             return "Error downloading file: " + e.getMessage();
         }
     }
 
+    @ShellMethod(key = "cat-file", value = "Prints a file, or a byte range of it, without downloading it to disk")
+    public String catFile(
+            @ShellOption(help = "File name in the bucket") String key,
+            @ShellOption(help = "First byte to print", defaultValue = "0") long offset,
+            @ShellOption(help = "Number of bytes to print (defaults to the rest of the file)", defaultValue = "-1") long length,
+            @ShellOption(help = "Pack holding the file, whose path in the pack is given as the file name", defaultValue = ShellOption.NULL) String pack,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        try {
+            if (pack != null) {
+                s3PackService.catMember(bucketName, pack, key, offset, length, terminal.output());
+                return null;
+            }
+            s3BucketFileService.streamRange(bucketName, key, offset, length, terminal.output());
+            return null;
+        } catch (Exception e) {
+            return "Error reading file: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "head-file", value = "Prints the first lines or bytes of a file")
+    public String headFile(
+            @ShellOption(help = "File name in the bucket") String key,
+            @ShellOption(help = "Number of lines to print", defaultValue = "10") int lines,
+            @ShellOption(help = "Number of bytes to print instead of lines", defaultValue = "0") long bytes,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        try {
+            s3BucketFileService.streamHead(bucketName, key, bytes, lines, terminal.output());
+            return null;
+        } catch (Exception e) {
+            return "Error reading file: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "tail-file", value = "Prints the last lines or bytes of a file")
+    public String tailFile(
+            @ShellOption(help = "File name in the bucket") String key,
+            @ShellOption(help = "Number of lines to print", defaultValue = "10") int lines,
+            @ShellOption(help = "Number of bytes to print instead of lines", defaultValue = "0") long bytes,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        try {
+            s3BucketFileService.streamTail(bucketName, key, bytes, lines, terminal.output());
+            return null;
+        } catch (Exception e) {
+            return "Error reading file: " + e.getMessage();
+        }
+    }
+
     @ShellMethod(key = "delete-file", value = "Deletes a file from the current S3 bucket")
-    public String deleteFile(@ShellOption(help = "File name in the bucket") String key) {
+    public String deleteFile(
+            @ShellOption(help = "File name in the bucket") String key,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
         try {
-            s3BucketFileService.deleteObject(key);
-            return "File '" + key + "' deleted successfully from bucket '" + bucketContext.getCurrentBucket() + "'";
-        } catch (IllegalStateException e) {
-            return e.getMessage();
+            s3BucketFileService.deleteObject(bucketName, key);
+            return "File '" + key + "' deleted successfully from bucket '" + bucketName + "'";
         } catch (Exception e) {
             return "Error deleting file: " + e.getMessage();
         }
@@ -66,37 +211,292 @@ public class S3BucketFileCommands {
     @ShellMethod(key = "upload-file", value = "Uploads a file to the current S3 bucket")
     public String uploadFile(
             @ShellOption(help = "Local file path") String filePath,
-            @ShellOption(help = "File name in the bucket (optional)", defaultValue = "") String key) {
+            @ShellOption(help = "File name in the bucket (optional)", defaultValue = "") String key,
+            @ShellOption(help = "Size of the uploaded parts of large files (e.g. 8MB)", defaultValue = "8MB") String partSize,
+            @ShellOption(help = "Number of concurrent part uploads", defaultValue = "4") int concurrency,
+            @ShellOption(help = "Skip the upload when the stored file has the same SHA-256 digest", defaultValue = "false") boolean dedup,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
         
         try {
             // If key is not provided, use the file name
-            if (key.isEmpty()) {
-                key = Path.of(filePath).getFileName().toString();
+            String objectKey = key.isEmpty() ? Path.of(filePath).getFileName().toString() : key;
+            long partBytes = ByteSizes.parse(partSize);
+            
+            if (background) {
+                return printerService.formatJobSubmitted(jobScheduler.submit("upload-file " + filePath, JobPriority.BULK,
+                        progress -> uploadFile(bucketName, filePath, objectKey, partBytes, concurrency, dedup, progress)));
             }
             
-            s3BucketFileService.uploadObject(filePath, key);
-            return "File '" + filePath + "' uploaded successfully to bucket '" + bucketContext.getCurrentBucket() + "' with key '" + key + "'";
-        } catch (IllegalStateException e) {
-            return e.getMessage();
+            TransferProgress progress = new TransferProgress();
+            try (TransferProgressBar ignored = TransferProgressBar.start(progress, terminal, printerService)) {
+                return uploadFile(bucketName, filePath, objectKey, partBytes, concurrency, dedup, progress);
+            }
         } catch (Exception e) {
             return "Error uploading file: " + e.getMessage();
         }
     }
 
+    @ShellMethod(key = "upload-dir", value = "Uploads every file of a local directory tree to the current S3 bucket")
+    public String uploadDir(
+            @ShellOption(help = "Local directory to upload") String directory,
+            @ShellOption(help = "Key prefix of the uploaded files", defaultValue = "") String prefix,
+            @ShellOption(help = "Skip the files whose stored copy has the same SHA-256 digest", defaultValue = "false") boolean dedup,
+            @ShellOption(help = "Size of the uploaded parts of large files (e.g. 8MB)", defaultValue = "8MB") String partSize,
+            @ShellOption(help = "Number of files hashed and uploaded concurrently", defaultValue = "8") int parallelism,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        try {
+            long partBytes = ByteSizes.parse(partSize);
+            
+            if (background) {
+                return printerService.formatJobSubmitted(jobScheduler.submit("upload-dir " + directory, JobPriority.BULK,
+                        progress -> printerService.formatBulkResult("Uploaded", s3DirectoryUploadService.uploadDirectory(
+                                bucketName, Path.of(directory), prefix, dedup, partBytes, 1, parallelism, progress))));
+            }
+            
+            TransferProgress progress = new TransferProgress();
+            try (TransferProgressBar ignored = TransferProgressBar.start(progress, terminal, printerService)) {
+                BulkResult result = s3DirectoryUploadService.uploadDirectory(bucketName, Path.of(directory), prefix,
+                        dedup, partBytes, 1, parallelism, progress);
+                return printerService.formatBulkResult("Uploaded", result);
+            }
+        } catch (Exception e) {
+            return "Error uploading directory: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "upload-stream", value = "Uploads standard input or another stream to the current S3 bucket without staging it on disk")
+    public String uploadStream(
+            @ShellOption(help = "File name in the bucket") String key,
+            @ShellOption(help = "File or named pipe to read, '-' for standard input", defaultValue = "-") String source,
+            @ShellOption(help = "Content type of the file", defaultValue = ShellOption.NULL) String contentType,
+            @ShellOption(help = "Size of the uploaded parts (e.g. 8MB)", defaultValue = "8MB") String partSize,
+            @ShellOption(help = "Number of concurrent part uploads", defaultValue = "4") int concurrency,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        TransferProgress progress = new TransferProgress();
+        try (InputStream content = "-".equals(source) ? StreamUtils.nonClosing(System.in) : Files.newInputStream(Path.of(source));
+             TransferProgressBar ignored = TransferProgressBar.start(progress, terminal, printerService)) {
+            long size = s3BucketFileService.uploadStream(bucketName, content, key, contentType, ByteSizes.parse(partSize),
+                    concurrency, progress);
+            return "Stream uploaded successfully to bucket '" + bucketName + "' with key '" + key
+                    + "' (" + printerService.formatBytes(size) + ")";
+        } catch (Exception e) {
+            return "Error uploading stream: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "watch-bucket", value = "Prints or downloads new files of the current S3 bucket as they appear")
+    public String watchBucket(
+            @ShellOption(help = "Key prefix to watch", defaultValue = "") String prefix,
+            @ShellOption(help = "How new files are found (START_AFTER, SNAPSHOT or AUTO)", defaultValue = "AUTO") WatchMode mode,
+            @ShellOption(help = "Directory to download new files to (prints them when omitted)", defaultValue = ShellOption.NULL) String downloadTo,
+            @ShellOption(help = "Shortest time between two polls, in seconds", defaultValue = "1") long minInterval,
+            @ShellOption(help = "Longest time between two polls, in seconds", defaultValue = "30") long maxInterval,
+            @ShellOption(help = "How long to watch, in seconds (0 to watch until interrupted)", defaultValue = "0") long duration,
+            @ShellOption(help = "Number of concurrent paginators of full listings", defaultValue = "4") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        try {
+            long found = s3WatchService.watch(bucketName, prefix, mode, Duration.ofSeconds(minInterval),
+                    Duration.ofSeconds(Math.max(minInterval, maxInterval)), Duration.ofSeconds(duration), parallelism,
+                    object -> {
+                        if (downloadTo != null) {
+                            terminal.writer().println("Downloaded: "
+                                    + s3BucketFileService.downloadObject(bucketName, object.key(), downloadTo));
+                        } else {
+                            terminal.writer().println(printerService.formatObjectLine(object));
+                        }
+                        terminal.flush();
+                    });
+            return found + " new file(s) seen in bucket '" + bucketName + "'.";
+        } catch (Exception e) {
+            return "Error watching bucket: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "watch-dir", value = "Uploads the files created or modified under a local directory to the current S3 bucket")
+    public String watchDir(
+            @ShellOption(help = "Local directory to watch") String directory,
+            @ShellOption(help = "Key prefix of the uploaded files", defaultValue = "") String prefix,
+            @ShellOption(help = "Quiet time before a changed file is uploaded, in milliseconds", defaultValue = "500") long debounce,
+            @ShellOption(help = "How long to watch, in seconds (0 to watch until interrupted)", defaultValue = "0") long duration,
+            @ShellOption(help = "Number of concurrent uploads", defaultValue = "8") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        try {
+            BulkResult result = s3DirectoryWatchService.watch(Path.of(directory), bucketName, prefix,
+                    Duration.ofMillis(Math.max(1, debounce)), Duration.ofSeconds(duration), parallelism,
+                    new S3DirectoryWatchService.UploadListener() {
+                        @Override
+                        public void uploaded(Path file, String key) {
+                            terminal.writer().println("Uploaded: " + file + " -> " + key);
+                            terminal.flush();
+                        }
+
+                        @Override
+                        public void failed(Path file, Exception error) {
+                            terminal.writer().println("Error uploading '" + file + "': " + error.getMessage());
+                            terminal.flush();
+                        }
+                    });
+            return printerService.formatBulkResult("Uploaded", result);
+        } catch (Exception e) {
+            return "Error watching directory: " + e.getMessage();
+        }
+    }
+
     @ShellMethod(key = "wipe-files", value = "Removes all files from the current S3 bucket")
-    public String clearBucket() {
+    public String clearBucket(
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
         try {
-            int deletedCount = s3BucketFileService.deleteAllObjects();
+            int deletedCount = s3BucketFileService.deleteAllObjects(bucketName);
             
             if (deletedCount == 0) {
-                return "Bucket '" + bucketContext.getCurrentBucket() + "' is already empty.";
+                return "Bucket '" + bucketName + "' is already empty.";
             } else {
-                return deletedCount + " file(s) deleted from bucket '" + bucketContext.getCurrentBucket() + "'.";
+                return deletedCount + " file(s) deleted from bucket '" + bucketName + "'.";
             }
-        } catch (IllegalStateException e) {
-            return e.getMessage();
         } catch (Exception e) {
             return "Error clearing bucket: " + e.getMessage();
         }
     }
-} 
\ No newline at end of file
+
+    @ShellMethod(key = "copy-file", value = "Copies a file server-side within or across buckets")
+    public String copyFile(
+            @ShellOption(help = "Source file name") String sourceKey,
+            @ShellOption(help = "Destination file name") String destinationKey,
+            @ShellOption(help = "Destination bucket (defaults to the current bucket)", defaultValue = "") String destinationBucket,
+            @ShellOption(help = "Concurrent part copies for objects over 5 GB", defaultValue = "8") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        try {
+            String targetBucket = destinationBucket.isEmpty() ? bucketName : destinationBucket;
+            s3CopyService.copyObject(bucketName, sourceKey, targetBucket, destinationKey, parallelism);
+            return "File '" + sourceKey + "' copied to '" + targetBucket + "/" + destinationKey + "'";
+        } catch (Exception e) {
+            return "Error copying file: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "move-file", value = "Moves a file server-side within or across buckets")
+    public String moveFile(
+            @ShellOption(help = "Source file name") String sourceKey,
+            @ShellOption(help = "Destination file name") String destinationKey,
+            @ShellOption(help = "Destination bucket (defaults to the current bucket)", defaultValue = "") String destinationBucket,
+            @ShellOption(help = "Concurrent part copies for objects over 5 GB", defaultValue = "8") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        try {
+            String targetBucket = destinationBucket.isEmpty() ? bucketName : destinationBucket;
+            s3CopyService.moveObject(bucketName, sourceKey, targetBucket, destinationKey, parallelism);
+            return "File '" + sourceKey + "' moved to '" + targetBucket + "/" + destinationKey + "'";
+        } catch (Exception e) {
+            return "Error moving file: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "copy-files", value = "Copies all files under a prefix server-side")
+    public String copyFiles(
+            @ShellOption(help = "Source key prefix") String sourcePrefix,
+            @ShellOption(help = "Destination key prefix") String destinationPrefix,
+            @ShellOption(help = "Destination bucket (defaults to the current bucket)", defaultValue = "") String destinationBucket,
+            @ShellOption(help = "Number of concurrent copies", defaultValue = "16") int parallelism,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        return copyPrefix(bucket, sourcePrefix, destinationPrefix, destinationBucket, parallelism, false, background);
+    }
+
+    @ShellMethod(key = "move-files", value = "Moves all files under a prefix server-side")
+    public String moveFiles(
+            @ShellOption(help = "Source key prefix") String sourcePrefix,
+            @ShellOption(help = "Destination key prefix") String destinationPrefix,
+            @ShellOption(help = "Destination bucket (defaults to the current bucket)", defaultValue = "") String destinationBucket,
+            @ShellOption(help = "Number of concurrent copies", defaultValue = "16") int parallelism,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        
+        return copyPrefix(bucket, sourcePrefix, destinationPrefix, destinationBucket, parallelism, true, background);
+    }
+
+    private String copyPrefix(String bucket, String sourcePrefix, String destinationPrefix, String destinationBucket,
+                              int parallelism, boolean deleteSource, boolean background) {
+        String sourceBucket = bucketContext.resolveBucket(bucket);
+        if (sourceBucket == null) {
+            return NO_BUCKET_SELECTED;
+        }
+        
+        String targetBucket = destinationBucket.isEmpty() ? sourceBucket : destinationBucket;
+        if (background) {
+            return printerService.formatJobSubmitted(jobScheduler.submit(
+                    (deleteSource ? "move-files " : "copy-files ") + sourceBucket + "/" + sourcePrefix + " -> "
+                            + targetBucket + "/" + destinationPrefix,
+                    JobPriority.BULK,
+                    progress -> printerService.formatBulkResult(deleteSource ? "Moved" : "Copied",
+                            s3CopyService.copyPrefix(sourceBucket, sourcePrefix, targetBucket, destinationPrefix,
+                                    parallelism, deleteSource))));
+        }
+        
+        try {
+            BulkResult result = s3CopyService.copyPrefix(sourceBucket, sourcePrefix,
+                    targetBucket, destinationPrefix, parallelism, deleteSource);
+            return printerService.formatBulkResult(deleteSource ? "Moved" : "Copied", result);
+        } catch (Exception e) {
+            return (deleteSource ? "Error moving files: " : "Error copying files: ") + e.getMessage();
+        }
+    }
+
+    private String uploadFile(String bucketName, String filePath, String key, long partSize, int concurrency,
+                              boolean dedup, TransferProgress progress) {
+        if (!dedup) {
+            s3BucketFileService.uploadObject(bucketName, filePath, key, partSize, concurrency, progress);
+        } else if (s3DirectoryUploadService.uploadIfChanged(bucketName, Path.of(filePath), key, partSize, concurrency,
+                progress) < 0) {
+            return "File '" + filePath + "' is unchanged in bucket '" + bucketName + "' with key '" + key + "', upload skipped";
+        }
+        return "File '" + filePath + "' uploaded successfully to bucket '" + bucketName + "' with key '" + key + "'";
+    }
+}
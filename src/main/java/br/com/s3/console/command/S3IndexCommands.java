@@ -0,0 +1,87 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.IndexInfo;
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.service.S3IndexService;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.util.Optional;
+
+@ShellComponent
+public class S3IndexCommands {
+
+    private static final String NO_BUCKET_SELECTED = "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+
+    private final S3IndexService s3IndexService;
+    private final BucketContext bucketContext;
+    private final PrinterService printerService;
+
+    public S3IndexCommands(S3IndexService s3IndexService, BucketContext bucketContext, PrinterService printerService) {
+        this.s3IndexService = s3IndexService;
+        this.bucketContext = bucketContext;
+        this.printerService = printerService;
+    }
+
+    @ShellMethod(key = "refresh-index", value = "Builds or refreshes the local index of the current S3 bucket")
+    public String refreshIndex(
+            @ShellOption(help = "Key prefix to list again (defaults to rebuilding the whole index)", defaultValue = "") String prefix,
+            @ShellOption(help = "Number of concurrent paginators", defaultValue = "16") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+
+        try {
+            long start = System.nanoTime();
+            IndexInfo info = s3IndexService.refresh(bucketName, prefix, parallelism);
+            return "Index of bucket '" + info.bucketName() + "' refreshed in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms: " + describe(info);
+        } catch (Exception e) {
+            return "Error refreshing index: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "index-info", value = "Shows the local index of the current S3 bucket")
+    public String indexInfo(
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+
+        try {
+            Optional<IndexInfo> info = s3IndexService.info(bucketName);
+            return info.map(value -> "Index of bucket '" + value.bucketName() + "', written at " + value.created()
+                            + ": " + describe(value))
+                    .orElse("Bucket '" + bucketName + "' is not indexed.");
+        } catch (Exception e) {
+            return "Error reading index: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "drop-index", value = "Deletes the local index of the current S3 bucket")
+    public String dropIndex(
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+
+        try {
+            return s3IndexService.drop(bucketName)
+                    ? "Index of bucket '" + bucketName + "' deleted."
+                    : "Bucket '" + bucketName + "' is not indexed.";
+        } catch (Exception e) {
+            return "Error deleting index: " + e.getMessage();
+        }
+    }
+
+    private String describe(IndexInfo info) {
+        return info.objects() + " object(s), " + printerService.formatBytes(info.bytes())
+                + " indexed in " + printerService.formatBytes(info.fileSize()) + ".";
+    }
+}
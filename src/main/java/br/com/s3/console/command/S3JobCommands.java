@@ -0,0 +1,77 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.job.Job;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.service.PrinterService;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ShellComponent
+public class S3JobCommands {
+
+    private final JobScheduler jobScheduler;
+    private final PrinterService printerService;
+
+    public S3JobCommands(JobScheduler jobScheduler, PrinterService printerService) {
+        this.jobScheduler = jobScheduler;
+        this.printerService = printerService;
+    }
+
+    @ShellMethod(key = "jobs", value = "Lists the background jobs of the session")
+    public String jobs() {
+        return printerService.formatJobsTable(jobScheduler.jobs());
+    }
+
+    @ShellMethod(key = "job-status", value = "Shows the state, progress and result of a background job")
+    public String jobStatus(@ShellOption(help = "Job number") long id) {
+        try {
+            return printerService.formatJobStatus(jobScheduler.job(id));
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "cancel-job", value = "Cancels a background job and aborts its requests in flight")
+    public String cancelJob(@ShellOption(help = "Job number") long id) {
+        try {
+            return jobScheduler.cancel(id)
+                    ? "Job " + id + " cancelled."
+                    : "Job " + id + " has already finished.";
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "wait", value = "Waits for a background job, or for every job, to finish")
+    public String waitJob(
+            @ShellOption(help = "Job number (defaults to every unfinished job)", defaultValue = ShellOption.NULL) Long id,
+            @ShellOption(help = "Longest time to wait in seconds, 0 to wait until the jobs finish", defaultValue = "0") long timeout) {
+        try {
+            List<Job> jobs = id != null
+                    ? List.of(jobScheduler.job(id))
+                    : jobScheduler.jobs().stream().filter(job -> !job.isFinished()).toList();
+            if (jobs.isEmpty()) {
+                return "No jobs running.";
+            }
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(timeout).toNanos();
+            for (Job job : jobs) {
+                Duration left = timeout > 0 ? Duration.ofNanos(Math.max(0, deadline - System.nanoTime())) : null;
+                if (!job.await(left)) {
+                    return "Timed out waiting for job " + job.id() + ".";
+                }
+            }
+            return jobs.stream().map(printerService::formatJobStatus).collect(Collectors.joining("\n\n"));
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Stopped waiting, the jobs keep running in the background.";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.trace.TraceWriter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+@ShellComponent
+public class S3MetricsCommands {
+
+    private static final String METRIC_PREFIX = "s3.";
+
+    private final MeterRegistry meterRegistry;
+    private final PrinterService printerService;
+    private final TraceWriter traceWriter;
+
+    public S3MetricsCommands(MeterRegistry meterRegistry, PrinterService printerService, TraceWriter traceWriter) {
+        this.meterRegistry = meterRegistry;
+        this.printerService = printerService;
+        this.traceWriter = traceWriter;
+    }
+
+    @ShellMethod(key = "metrics", value = "Shows the S3 client metrics, such as the adaptive concurrency limit")
+    public String metrics() {
+        List<Meter> meters = meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith(METRIC_PREFIX))
+                .sorted(Comparator.comparing(meter -> meter.getId().getName()))
+                .toList();
+        return printerService.formatMetrics(meters);
+    }
+
+    @ShellMethod(key = "trace-requests", value = "Starts or stops writing a JSON-lines trace of every S3 request")
+    public String traceRequests(
+            @ShellOption(help = "File to append the trace to", defaultValue = ShellOption.NULL) String file,
+            @ShellOption(help = "Stop tracing", defaultValue = "false") boolean off) {
+        try {
+            if (off) {
+                traceWriter.stop();
+                return "Request tracing stopped.";
+            }
+            if (file != null) {
+                traceWriter.start(Path.of(file));
+            }
+            return traceWriter.isEnabled()
+                    ? "Tracing requests into '" + traceWriter.file() + "'."
+                    : "Request tracing is off.";
+        } catch (Exception e) {
+            return "Error tracing requests: " + e.getMessage();
+        }
+    }
+}
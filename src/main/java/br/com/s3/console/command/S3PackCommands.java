@@ -0,0 +1,106 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.job.JobPriority;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.service.S3PackService;
+import br.com.s3.console.transfer.TransferProgress;
+import br.com.s3.console.util.ByteSizes;
+import org.jline.terminal.Terminal;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.nio.file.Path;
+
+@ShellComponent
+public class S3PackCommands {
+
+    private static final String NO_BUCKET_SELECTED = "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+
+    private final S3PackService s3PackService;
+    private final BucketContext bucketContext;
+    private final PrinterService printerService;
+    private final JobScheduler jobScheduler;
+    private final Terminal terminal;
+
+    public S3PackCommands(S3PackService s3PackService, BucketContext bucketContext, PrinterService printerService,
+                          JobScheduler jobScheduler, Terminal terminal) {
+        this.s3PackService = s3PackService;
+        this.bucketContext = bucketContext;
+        this.printerService = printerService;
+        this.jobScheduler = jobScheduler;
+        this.terminal = terminal;
+    }
+
+    @ShellMethod(key = "pack-upload", value = "Uploads the files of a local directory packed into a few archive objects with an index")
+    public String packUpload(
+            @ShellOption(help = "Local directory to pack") String directory,
+            @ShellOption(help = "Name of the pack, the key prefix of its archives and index") String pack,
+            @ShellOption(help = "Size above which a new archive is started (e.g. 256MB)", defaultValue = "256MB") String archiveSize,
+            @ShellOption(help = "Size of the uploaded parts of the archives (e.g. 8MB)", defaultValue = "8MB") String partSize,
+            @ShellOption(help = "Number of concurrent part uploads", defaultValue = "4") int concurrency,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+
+        try {
+            long archiveBytes = ByteSizes.parse(archiveSize);
+            long partBytes = ByteSizes.parse(partSize);
+
+            if (background) {
+                return printerService.formatJobSubmitted(jobScheduler.submit("pack-upload " + directory + " -> " + pack,
+                        JobPriority.BULK, progress -> printerService.formatBulkResult("Packed",
+                                s3PackService.packUpload(bucketName, Path.of(directory), pack, archiveBytes, partBytes,
+                                        concurrency, progress))));
+            }
+
+            TransferProgress progress = new TransferProgress();
+            try (TransferProgressBar ignored = TransferProgressBar.start(progress, terminal, printerService)) {
+                BulkResult result = s3PackService.packUpload(bucketName, Path.of(directory), pack, archiveBytes,
+                        partBytes, concurrency, progress);
+                return printerService.formatBulkResult("Packed", result);
+            }
+        } catch (Exception e) {
+            return "Error packing files: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "unpack-download", value = "Downloads the files of a pack, or those matching a glob, with ranged reads of its archives")
+    public String unpackDownload(
+            @ShellOption(help = "Name of the pack") String pack,
+            @ShellOption(help = "Local directory receiving the files", defaultValue = ".") String destination,
+            @ShellOption(help = "Glob the paths of the extracted files must match", defaultValue = ShellOption.NULL) String glob,
+            @ShellOption(help = "Number of concurrent ranged reads", defaultValue = "16") int parallelism,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+
+        try {
+            if (background) {
+                return printerService.formatJobSubmitted(jobScheduler.submit("unpack-download " + pack, JobPriority.BULK,
+                        progress -> printerService.formatBulkResult("Unpacked", s3PackService.unpackDownload(
+                                bucketName, pack, glob, Path.of(destination), parallelism, progress))));
+            }
+
+            TransferProgress progress = new TransferProgress();
+            try (TransferProgressBar ignored = TransferProgressBar.start(progress, terminal, printerService)) {
+                BulkResult result = s3PackService.unpackDownload(bucketName, pack, glob, Path.of(destination),
+                        parallelism, progress);
+                return printerService.formatBulkResult("Unpacked", result);
+            }
+        } catch (Exception e) {
+            return "Error unpacking files: " + e.getMessage();
+        }
+    }
+}
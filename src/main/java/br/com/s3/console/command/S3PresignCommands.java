@@ -0,0 +1,90 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.PresignMethod;
+import br.com.s3.console.service.S3PresignService;
+import org.jline.terminal.Terminal;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ShellComponent
+public class S3PresignCommands {
+
+    private final S3PresignService s3PresignService;
+    private final BucketContext bucketContext;
+    private final Terminal terminal;
+
+    public S3PresignCommands(S3PresignService s3PresignService, BucketContext bucketContext, Terminal terminal) {
+        this.s3PresignService = s3PresignService;
+        this.bucketContext = bucketContext;
+        this.terminal = terminal;
+    }
+
+    @ShellMethod(key = "presign", value = "Generates presigned URLs for a file or for every file under a prefix")
+    public String presign(
+            @ShellOption(help = "File name in the bucket", defaultValue = ShellOption.NULL) String key,
+            @ShellOption(help = "Key prefix to sign every file under", defaultValue = ShellOption.NULL) String prefix,
+            @ShellOption(help = "HTTP method granted by the URLs (GET or PUT)", defaultValue = "GET") PresignMethod method,
+            @ShellOption(help = "URL validity in seconds (up to 7 days)", defaultValue = "3600") long expiresIn,
+            @ShellOption(help = "File to write the URLs to (defaults to the console)", defaultValue = "") String output,
+            @ShellOption(help = "Number of concurrent signers", defaultValue = "8") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+        }
+        if ((key == null) == (prefix == null)) {
+            return "Provide either --key or --prefix.";
+        }
+
+        try {
+            Duration expiry = Duration.ofSeconds(expiresIn);
+            if (key != null) {
+                return s3PresignService.presign(bucketName, key, method, expiry).toString();
+            }
+
+            long count;
+            if (output.isEmpty()) {
+                count = presignPrefix(bucketName, prefix, method, expiry, parallelism, terminal.writer());
+            } else {
+                try (BufferedWriter writer = Files.newBufferedWriter(Path.of(output))) {
+                    count = presignPrefix(bucketName, prefix, method, expiry, parallelism, writer);
+                }
+            }
+            return count + " URL(s) generated" + (output.isEmpty() ? "." : " into '" + output + "'.");
+        } catch (Exception e) {
+            return "Error generating presigned URLs: " + e.getMessage();
+        }
+    }
+
+    private long presignPrefix(String bucketName, String prefix, PresignMethod method, Duration expiry, int parallelism,
+                               Writer writer) throws IOException {
+        long count = s3PresignService.presignPrefix(bucketName, prefix, method, expiry, parallelism,
+                (objectKey, url) -> {
+                    synchronized (writer) {
+                        try {
+                            writer.append(objectKey).append('\t').append(url.toString()).append('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Error writing URLs: " + e.getMessage(), e);
+                        }
+                    }
+                });
+        writer.flush();
+        // A PrintWriter, such as the terminal writer, swallows write failures and only reports them here
+        if (writer instanceof PrintWriter printWriter && printWriter.checkError()) {
+            throw new IOException("Error writing URLs to the console.");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.config.S3ClientProfiles;
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.context.ProfileContext;
+import br.com.s3.console.job.JobPriority;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.service.S3TransferService;
+import br.com.s3.console.transfer.TransferProgress;
+import br.com.s3.console.util.ByteSizes;
+import org.jline.terminal.Terminal;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+@ShellComponent
+public class S3ProfileCommands {
+
+    private final S3ClientProfiles s3ClientProfiles;
+    private final ProfileContext profileContext;
+    private final BucketContext bucketContext;
+    private final S3TransferService s3TransferService;
+    private final PrinterService printerService;
+    private final JobScheduler jobScheduler;
+    private final Terminal terminal;
+
+    public S3ProfileCommands(S3ClientProfiles s3ClientProfiles, ProfileContext profileContext,
+                             BucketContext bucketContext, S3TransferService s3TransferService,
+                             PrinterService printerService, JobScheduler jobScheduler, Terminal terminal) {
+        this.s3ClientProfiles = s3ClientProfiles;
+        this.profileContext = profileContext;
+        this.bucketContext = bucketContext;
+        this.s3TransferService = s3TransferService;
+        this.printerService = printerService;
+        this.jobScheduler = jobScheduler;
+        this.terminal = terminal;
+    }
+
+    @ShellMethod(key = "list-profiles", value = "Lists the configured endpoint profiles")
+    public String listProfiles() {
+        return printerService.formatProfiles(s3ClientProfiles.profiles(), profileContext.getCurrentProfile());
+    }
+
+    @ShellMethod(key = "use-profile", value = "Selects the endpoint profile used by every other command")
+    public String useProfile(@ShellOption(help = "Profile name") String name) {
+        if (!s3ClientProfiles.exists(name)) {
+            return "Profile '" + name + "' does not exist. Use the 'list-profiles' command to see the configured profiles.";
+        }
+
+        profileContext.setCurrentProfile(name);
+        // The selected bucket belongs to the previous endpoint
+        bucketContext.clearCurrentBucket();
+        return "Profile '" + name + "' selected successfully.";
+    }
+
+    @ShellMethod(key = "current-profile", value = "Shows the currently selected endpoint profile")
+    public String currentProfile() {
+        return "Current profile: " + profileContext.getCurrentProfile();
+    }
+
+    @ShellMethod(key = "transfer", value = "Streams the current bucket or a prefix of it into a bucket of another profile")
+    public String transfer(
+            @ShellOption(help = "Destination profile name") String destinationProfile,
+            @ShellOption(help = "Destination bucket name") String destinationBucket,
+            @ShellOption(help = "Source key prefix (defaults to the whole bucket)", defaultValue = "") String sourcePrefix,
+            @ShellOption(help = "Destination key prefix (defaults to the source prefix)", defaultValue = ShellOption.NULL) String destinationPrefix,
+            @ShellOption(help = "Size of the uploaded parts (e.g. 8MB)", defaultValue = "8MB") String partSize,
+            @ShellOption(help = "Number of concurrent part uploads per object", defaultValue = "4") int partConcurrency,
+            @ShellOption(help = "Number of objects transferred concurrently", defaultValue = "4") int parallelism,
+            @ShellOption(help = "Run as a background job", defaultValue = "false") boolean background,
+            @ShellOption(help = "Source bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+        String sourceBucket = bucketContext.resolveBucket(bucket);
+        if (sourceBucket == null) {
+            return "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+        }
+        if (!s3ClientProfiles.exists(destinationProfile)) {
+            return "Profile '" + destinationProfile + "' does not exist. Use the 'list-profiles' command to see the configured profiles.";
+        }
+
+        try {
+            String sourceProfile = profileContext.getCurrentProfile();
+            String targetPrefix = destinationPrefix != null ? destinationPrefix : sourcePrefix;
+            long partBytes = ByteSizes.parse(partSize);
+            if (background) {
+                return printerService.formatJobSubmitted(jobScheduler.submit(
+                        "transfer " + sourceProfile + ":" + sourceBucket + "/" + sourcePrefix + " -> "
+                                + destinationProfile + ":" + destinationBucket + "/" + targetPrefix,
+                        JobPriority.BULK,
+                        progress -> printerService.formatBulkResult("Transferred", s3TransferService.transfer(
+                                sourceProfile, sourceBucket, sourcePrefix, destinationProfile, destinationBucket,
+                                targetPrefix, partBytes, partConcurrency, parallelism, progress))));
+            }
+            
+            TransferProgress progress = new TransferProgress();
+            try (TransferProgressBar ignored = TransferProgressBar.start(progress, terminal, printerService)) {
+                BulkResult result = s3TransferService.transfer(sourceProfile, sourceBucket, sourcePrefix,
+                        destinationProfile, destinationBucket, targetPrefix, partBytes, partConcurrency, parallelism,
+                        progress);
+                return printerService.formatBulkResult("Transferred", result);
+            }
+        } catch (Exception e) {
+            return "Error transferring objects: " + e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.FindCriteria;
+import br.com.s3.console.query.Query;
+import br.com.s3.console.query.QueryParser;
+import br.com.s3.console.query.RowFormat;
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.service.S3FindService;
+import br.com.s3.console.service.S3GrepService;
+import br.com.s3.console.service.S3QueryService;
+import br.com.s3.console.util.ByteSizes;
+import org.jline.terminal.Terminal;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@ShellComponent
+public class S3SearchCommands {
+
+    private static final String NO_BUCKET_SELECTED = "No bucket selected. Use the 'use-bucket' command to select a bucket.";
+    private static final Pattern AGE = Pattern.compile("(\\d+)([smhdw])", Pattern.CASE_INSENSITIVE);
+
+    private final S3GrepService s3GrepService;
+    private final S3QueryService s3QueryService;
+    private final S3FindService s3FindService;
+    private final BucketContext bucketContext;
+    private final PrinterService printerService;
+    private final Terminal terminal;
+
+    public S3SearchCommands(S3GrepService s3GrepService, S3QueryService s3QueryService, S3FindService s3FindService,
+                            BucketContext bucketContext, PrinterService printerService, Terminal terminal) {
+        this.s3GrepService = s3GrepService;
+        this.s3QueryService = s3QueryService;
+        this.s3FindService = s3FindService;
+        this.bucketContext = bucketContext;
+        this.printerService = printerService;
+        this.terminal = terminal;
+    }
+
+    @ShellMethod(key = "grep-files", value = "Searches the contents of files in the current S3 bucket")
+    public String grepFiles(
+            @ShellOption(help = "Regular expression searched in each line") String pattern,
+            @ShellOption(help = "Key prefix of the files to search", defaultValue = "") String prefix,
+            @ShellOption(help = "Key glob, relative to the prefix, of the files to search", defaultValue = "**") String glob,
+            @ShellOption(help = "Stop after this many matches (0 for no limit)", defaultValue = "0") long maxCount,
+            @ShellOption(help = "Ignore case when matching", defaultValue = "false") boolean ignoreCase,
+            @ShellOption(help = "Number of files searched concurrently", defaultValue = "16") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+
+        try {
+            Pattern compiled = Pattern.compile(pattern, ignoreCase ? Pattern.CASE_INSENSITIVE : 0);
+            PrintWriter writer = terminal.writer();
+            long count = s3GrepService.grep(bucketName, prefix + glob, compiled, maxCount,
+                    parallelism, match -> writer.println(match.key() + ":" + match.lineNumber() + ":" + match.line()));
+            writer.flush();
+            return count + " match(es) found.";
+        } catch (Exception e) {
+            return "Error searching files: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "query", value = "Runs a SQL-like filter and projection over CSV and JSON-lines files")
+    public String query(
+            @ShellOption(help = "Query, e.g. \"SELECT id, name WHERE age > 30 LIMIT 10\"") String expression,
+            @ShellOption(help = "Key prefix of the files to query", defaultValue = "") String prefix,
+            @ShellOption(help = "Key glob, relative to the prefix, of the files to query", defaultValue = "**") String glob,
+            @ShellOption(help = "File format (CSV or JSON), detected from the extension by default", defaultValue = ShellOption.NULL) RowFormat format,
+            @ShellOption(help = "Field delimiter of CSV files (\\t for tabs)", defaultValue = ",") String delimiter,
+            @ShellOption(help = "Number of files parsed concurrently", defaultValue = "8") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+
+        try {
+            Query query = QueryParser.parse(expression);
+            char separator = delimiter.equals("\\t") ? '\t' : delimiter.charAt(0);
+            PrintWriter writer = terminal.writer();
+            long count = s3QueryService.query(bucketName, prefix + glob, query, format, separator,
+                    parallelism, row -> writer.println(printerService.formatRow(row)));
+            writer.flush();
+            return count + " row(s) matched.";
+        } catch (Exception e) {
+            return "Error running query: " + e.getMessage();
+        }
+    }
+
+    @ShellMethod(key = "find", value = "Finds files in the current S3 bucket by name, size, date and storage class")
+    public String find(
+            @ShellOption(help = "Key prefix of the files to find", defaultValue = "") String prefix,
+            @ShellOption(help = "Key glob, relative to the prefix, of the files to find", defaultValue = "**") String name,
+            @ShellOption(help = "Regular expression searched in the keys", defaultValue = ShellOption.NULL) String regex,
+            @ShellOption(help = "Minimum size (e.g. 512, 64K, 10MB)", defaultValue = ShellOption.NULL) String minSize,
+            @ShellOption(help = "Maximum size (e.g. 512, 64K, 10MB)", defaultValue = ShellOption.NULL) String maxSize,
+            @ShellOption(help = "Modified at or after this date, instant or age (e.g. 2024-01-31, 7d, 12h)", defaultValue = ShellOption.NULL) String newerThan,
+            @ShellOption(help = "Modified before this date, instant or age (e.g. 2024-01-31, 7d, 12h)", defaultValue = ShellOption.NULL) String olderThan,
+            @ShellOption(help = "Storage class (e.g. STANDARD, GLACIER)", defaultValue = ShellOption.NULL) String storageClass,
+            @ShellOption(help = "Stop after this many files (0 for no limit)", defaultValue = "0") long limit,
+            @ShellOption(help = "Search the local index instead of listing the bucket", defaultValue = "false") boolean useIndex,
+            @ShellOption(help = "Number of concurrent paginators", defaultValue = "16") int parallelism,
+            @ShellOption(help = "Bucket to use instead of the current bucket", defaultValue = ShellOption.NULL) String bucket) {
+
+        String bucketName = bucketContext.resolveBucket(bucket);
+        if (bucketName == null) {
+            return NO_BUCKET_SELECTED;
+        }
+
+        try {
+            Instant now = Instant.now();
+            FindCriteria criteria = new FindCriteria(
+                    prefix + name,
+                    regex != null ? Pattern.compile(regex) : null,
+                    minSize != null ? ByteSizes.parse(minSize) : null,
+                    maxSize != null ? ByteSizes.parse(maxSize) : null,
+                    newerThan != null ? parseTime(newerThan, now) : null,
+                    olderThan != null ? parseTime(olderThan, now) : null,
+                    storageClass);
+
+            PrintWriter writer = terminal.writer();
+            long count = 0;
+            try (Stream<S3Object> objects = s3FindService.find(bucketName, criteria, parallelism,
+                    useIndex)) {
+                Stream<S3Object> selected = limit > 0 ? objects.limit(limit) : objects;
+                for (S3Object object : (Iterable<S3Object>) selected::iterator) {
+                    writer.println(printerService.formatObjectLine(object));
+                    count++;
+                }
+            }
+            writer.flush();
+            return count + " file(s) found.";
+        } catch (Exception e) {
+            return "Error finding files: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Parses a point in time given as an ISO date (midnight UTC), an ISO instant or an age such as 7d, 12h or 30m
+     */
+    static Instant parseTime(String value, Instant now) {
+        String text = value.trim();
+        Matcher age = AGE.matcher(text);
+        if (age.matches()) {
+            long amount = Long.parseLong(age.group(1));
+            return now.minus(switch (age.group(2).toLowerCase(Locale.ROOT)) {
+                case "s" -> Duration.ofSeconds(amount);
+                case "m" -> Duration.ofMinutes(amount);
+                case "h" -> Duration.ofHours(amount);
+                case "d" -> Duration.ofDays(amount);
+                default -> Duration.ofDays(amount * 7);
+            });
+        }
+        try {
+            return text.length() == 10
+                    ? LocalDate.parse(text).atStartOfDay(ZoneOffset.UTC).toInstant()
+                    : Instant.parse(text.toUpperCase(Locale.ROOT));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date or age: " + value, e);
+        }
+    }
+}
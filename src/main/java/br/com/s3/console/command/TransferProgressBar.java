@@ -0,0 +1,88 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.transfer.TransferProgress;
+import org.jline.terminal.Terminal;
+
+/**
+ * Redraws the progress of a running transfer on one terminal line until it is closed.
+ * Dumb terminals, such as when the console runs a script or its output is piped, get no
+ * progress line, so the output only holds the results of the commands.
+ */
+final class TransferProgressBar implements AutoCloseable {
+
+    private static final long REFRESH_MILLIS = 250;
+    private static final int DEFAULT_WIDTH = 120;
+
+    private final TransferProgress progress;
+    private final Terminal terminal;
+    private final PrinterService printerService;
+    private final Thread renderer;
+    private int lastLength;
+
+    private TransferProgressBar(TransferProgress progress, Terminal terminal, PrinterService printerService) {
+        this.progress = progress;
+        this.terminal = terminal;
+        this.printerService = printerService;
+        this.renderer = isInteractive(terminal)
+                ? Thread.ofVirtual().name("transfer-progress").start(this::render)
+                : null;
+    }
+
+    /**
+     * Starts drawing the progress of a transfer
+     * @param progress Progress updated by the transfer
+     * @param terminal Terminal to draw on
+     * @param printerService Service formatting the progress line
+     * @return Progress bar to close once the transfer is over
+     */
+    static TransferProgressBar start(TransferProgress progress, Terminal terminal, PrinterService printerService) {
+        return new TransferProgressBar(progress, terminal, printerService);
+    }
+
+    private void render() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(REFRESH_MILLIS);
+                draw(printerService.formatProgress(progress.snapshot()));
+            }
+        } catch (InterruptedException e) {
+            // The transfer is over
+        }
+    }
+
+    private synchronized void draw(String line) {
+        int width = terminal.getWidth() > 0 ? terminal.getWidth() - 1 : DEFAULT_WIDTH;
+        String text = line.length() > width ? line.substring(0, width) : line;
+        // Blank out what is left of a longer previous line
+        terminal.writer().print("\r" + text + " ".repeat(Math.max(0, lastLength - text.length())));
+        terminal.flush();
+        lastLength = text.length();
+    }
+
+    /**
+     * Stops drawing and erases the progress line
+     */
+    @Override
+    public void close() {
+        if (renderer == null) {
+            return;
+        }
+        renderer.interrupt();
+        try {
+            renderer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (lastLength > 0) {
+            draw("");
+            terminal.writer().print("\r");
+            terminal.flush();
+        }
+    }
+
+    private static boolean isInteractive(Terminal terminal) {
+        String type = terminal.getType();
+        return type != null && !type.startsWith(Terminal.TYPE_DUMB);
+    }
+}
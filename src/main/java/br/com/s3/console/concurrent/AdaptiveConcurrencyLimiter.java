@@ -0,0 +1,190 @@
+package br.com.s3.console.concurrent;
+
+import br.com.s3.console.job.JobPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of S3 requests in flight across the whole application using AIMD:
+ * the limit grows by about one request per round of healthy responses and is halved when
+ * S3 throttles or times out. Every request made through the S3 client acquires a permit,
+ * so concurrent bulk operations share one budget instead of each one overloading the endpoint.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * How a request ended, as far as the limit is concerned
+     */
+    public enum Outcome {
+
+        /**
+         * The request succeeded, its latency decides whether the limit may grow
+         */
+        SUCCESS,
+
+        /**
+         * The request was throttled or timed out, the limit is cut
+         */
+        OVERLOAD,
+
+        /**
+         * The request failed for a reason unrelated to load, the limit is kept
+         */
+        IGNORE
+    }
+
+    private static final double BACKOFF_RATIO = 0.5;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double BASELINE_SMOOTHING = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private final Counter overloads;
+
+    private double limit;
+    private int inFlight;
+    private int interactiveWaiting;
+    private double baselineNanos;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(@Value("${console.concurrency.initial-limit}") int initialLimit,
+                                      @Value("${console.concurrency.min-limit}") int minLimit,
+                                      @Value("${console.concurrency.max-limit}") int maxLimit,
+                                      MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: min " + minLimit + ", max " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.lastDecreaseNanos = System.nanoTime();
+
+        Gauge.builder("s3.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current number of S3 requests allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("s3.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Number of S3 requests in flight")
+                .register(meterRegistry);
+        this.overloads = Counter.builder("s3.concurrency.overloads")
+                .description("S3 requests throttled or timed out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits until an interactive request may be sent
+     * @return Token to hand back to {@link #release(long, Outcome)}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public long acquire() throws InterruptedException {
+        return acquire(JobPriority.INTERACTIVE);
+    }
+
+    /**
+     * Waits until a request may be sent. Bulk requests also wait while interactive requests
+     * are waiting, so that a freed permit always goes to an interactive request first.
+     *
+     * @param priority Priority class of the request
+     * @return Token to hand back to {@link #release(long, Outcome)}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public long acquire(JobPriority priority) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (priority == JobPriority.INTERACTIVE) {
+                interactiveWaiting++;
+                try {
+                    while (inFlight >= (int) limit) {
+                        permitReleased.await();
+                    }
+                } finally {
+                    interactiveWaiting--;
+                    // Bulk requests held back by this one may go now
+                    permitReleased.signalAll();
+                }
+            } else {
+                while (inFlight >= (int) limit || interactiveWaiting > 0) {
+                    permitReleased.await();
+                }
+            }
+            inFlight++;
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a permit and adjusts the limit to the outcome of the request.
+     * Only requests sent after the last cut may cut the limit again, so a burst of
+     * throttled responses caused by the same overload halves it once.
+     *
+     * @param token Token returned by {@link #acquire()}
+     * @param outcome How the request ended
+     */
+    public void release(long token, Outcome outcome) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            inFlight--;
+            switch (outcome) {
+                case SUCCESS -> onSuccess(now - token);
+                case OVERLOAD -> {
+                    overloads.increment();
+                    if (token - lastDecreaseNanos > 0) {
+                        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                        lastDecreaseNanos = now;
+                    }
+                }
+                case IGNORE -> {
+                    // nothing learned about the endpoint
+                }
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(long latencyNanos) {
+        baselineNanos = baselineNanos == 0
+                ? latencyNanos
+                : baselineNanos + BASELINE_SMOOTHING * (latencyNanos - baselineNanos);
+        // Grow only when the limit is actually in use and latency is not building up
+        if (latencyNanos <= baselineNanos * LATENCY_TOLERANCE && inFlight + 1 >= (int) limit / 2) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * @return Current number of requests allowed in flight
+     */
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Number of requests in flight
+     */
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.s3.console.concurrent;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Runs bulk S3 operations on virtual threads with a bounded number of tasks in flight
+ */
+@Component
+public class BulkExecutor {
+
+    /**
+     * Runs an action for every item of a stream, keeping at most {@code parallelism} actions in flight.
+     * Items are pulled from the stream only when a slot is free, so slow actions apply backpressure
+     * to the producer. The first failure, exception or error, stops the submission of new items and is rethrown.
+     * Interrupting the caller, as cancelling a background job does, interrupts every action in flight.
+     *
+     * @param items Items to process
+     * @param parallelism Maximum number of concurrent actions
+     * @param action Action to run for each item
+     * @return Number of items processed
+     */
+    public <T> long forEach(Stream<T> items, int parallelism, Consumer<T> action) {
+        int permits = Math.max(1, parallelism);
+        Semaphore slots = new Semaphore(permits);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong processed = new AtomicLong();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Iterator<T> iterator = items.iterator();
+            try {
+                while (failure.get() == null && iterator.hasNext()) {
+                    T item = iterator.next();
+                    slots.acquire();
+                    if (failure.get() != null) {
+                        slots.release();
+                        break;
+                    }
+                    executor.submit(() -> {
+                        try {
+                            action.accept(item);
+                            processed.incrementAndGet();
+                        } catch (Throwable e) {
+                            // Errors are recorded too, the futures of the actions are never read
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+                slots.acquire(permits);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk operation interrupted", e);
+            } catch (RuntimeException e) {
+                // The producer failed or was cancelled, so the actions in flight are interrupted
+                // instead of being waited for
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException e) {
+            throw e;
+        }
+        if (error instanceof Error e) {
+            throw e;
+        }
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+        return processed.get();
+    }
+}
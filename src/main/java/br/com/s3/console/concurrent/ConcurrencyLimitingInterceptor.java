@@ -0,0 +1,112 @@
+package br.com.s3.console.concurrent;
+
+import br.com.s3.console.job.Job;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * S3 client interceptor that holds a permit of the {@link AdaptiveConcurrencyLimiter} for the whole
+ * execution of every request, retries included, and reports throttling and timeouts back to it.
+ * Requests of bulk background jobs wait behind interactive ones for their permit.
+ */
+public class ConcurrencyLimitingInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Permit> PERMIT = new ExecutionAttribute<>("ConcurrencyPermit");
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitingInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        try {
+            executionAttributes.putAttribute(PERMIT, new Permit(limiter.acquire(Job.currentPriority())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AbortedException.builder().message("Interrupted while waiting for a request slot").cause(e).build();
+        }
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+        // Attempts throttled before a successful retry still mean the endpoint is overloaded
+        int status = context.httpResponse().statusCode();
+        Permit permit = executionAttributes.getAttribute(PERMIT);
+        if (permit != null && (status == TOO_MANY_REQUESTS || status == SERVICE_UNAVAILABLE)) {
+            permit.overloaded = true;
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        Permit permit = executionAttributes.getAttribute(PERMIT);
+        if (permit != null) {
+            permit.release(permit.overloaded
+                    ? AdaptiveConcurrencyLimiter.Outcome.OVERLOAD
+                    : AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Permit permit = executionAttributes.getAttribute(PERMIT);
+        if (permit != null) {
+            permit.release(permit.overloaded || isOverload(context.exception())
+                    ? AdaptiveConcurrencyLimiter.Outcome.OVERLOAD
+                    : AdaptiveConcurrencyLimiter.Outcome.IGNORE);
+        }
+    }
+
+    /**
+     * Checks if a failure means the endpoint is overloaded rather than the request being wrong
+     * @param failure Execution failure
+     * @return true for throttling responses and timeouts
+     */
+    static boolean isOverload(Throwable failure) {
+        if (failure instanceof AwsServiceException serviceException) {
+            return serviceException.isThrottlingException() || serviceException.statusCode() == SERVICE_UNAVAILABLE;
+        }
+        if (failure instanceof ApiCallTimeoutException || failure instanceof ApiCallAttemptTimeoutException) {
+            return true;
+        }
+        if (failure instanceof SdkClientException) {
+            for (Throwable cause = failure.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof SocketTimeoutException) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private final class Permit {
+
+        private final long token;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean overloaded;
+
+        private Permit(long token) {
+            this.token = token;
+        }
+
+        private void release(AdaptiveConcurrencyLimiter.Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(token, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.s3.console.concurrent;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Hands the items found by background readers to a consumer running on the calling thread, through
+ * a bounded queue so that a slow consumer holds back the readers. Readers end early once
+ * {@link #isStopped()} is set, which happens when either side stops or fails.
+ *
+ * @param <T> Type of the items
+ */
+public final class ItemHandoff<T> {
+
+    private static final Object END_OF_ITEMS = new Object();
+
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    private ItemHandoff(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Runs a producer on a virtual thread and passes every item it hands off to the sink on the calling thread.
+     * If the sink fails or the calling thread is interrupted, the producer is stopped and interrupted.
+     * A failure of the producer is rethrown once the items handed off before it were consumed.
+     *
+     * @param operation Name of the operation, used for the producer thread and the interruption message
+     * @param capacity Number of items buffered between the producer and the sink
+     * @param producer Producer handing off items, usually fanning out to concurrent readers
+     * @param sink Consumer receiving the items
+     * @return Number of items passed to the sink
+     * @throws IllegalStateException if the calling thread is interrupted
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> long run(String operation, int capacity, Consumer<ItemHandoff<T>> producer, Consumer<T> sink) {
+        ItemHandoff<T> handoff = new ItemHandoff<>(capacity);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        Thread readers = Thread.ofVirtual().name("s3-" + operation.toLowerCase(Locale.ROOT)).start(() -> {
+            try {
+                producer.accept(handoff);
+            } catch (RuntimeException e) {
+                failure.set(e);
+            } finally {
+                try {
+                    handoff.queue.put(END_OF_ITEMS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        long consumed = 0;
+        try {
+            Object item;
+            while ((item = handoff.queue.take()) != END_OF_ITEMS) {
+                sink.accept((T) item);
+                consumed++;
+            }
+            readers.join();
+        } catch (InterruptedException e) {
+            handoff.stop();
+            readers.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(operation + " interrupted", e);
+        } catch (RuntimeException e) {
+            // The sink failed, release the readers blocked on the full queue
+            handoff.stop();
+            readers.interrupt();
+            throw e;
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return consumed;
+    }
+
+    /**
+     * Hands an item to the sink, waiting while the queue is full
+     * @param item Item to hand off
+     * @throws InterruptedException if the reader is interrupted while waiting
+     */
+    public void put(T item) throws InterruptedException {
+        queue.put(item);
+    }
+
+    /**
+     * @return Whether readers should stop reading
+     */
+    public boolean isStopped() {
+        return stopped.get();
+    }
+
+    /**
+     * Asks every reader to stop, such as when a limit of items is reached
+     */
+    public void stop() {
+        stopped.set(true);
+    }
+}
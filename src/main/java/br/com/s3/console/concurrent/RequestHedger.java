@@ -0,0 +1,156 @@
+package br.com.s3.console.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Sends hedged requests to cut tail latency of idempotent reads: when a request takes longer than
+ * the observed latency percentile of its operation, a duplicate is sent and the first response wins.
+ * The late response is discarded, and both requests count against the shared concurrency limit.
+ */
+@Component
+public class RequestHedger {
+
+    private static final int WINDOW_SIZE = 512;
+    private static final int MIN_SAMPLES = 20;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final Counter hedged;
+    private final Counter hedgeWins;
+
+    public RequestHedger(@Value("${console.hedging.enabled}") boolean enabled,
+                         @Value("${console.hedging.percentile}") double percentile,
+                         @Value("${console.hedging.min-delay}") Duration minDelay,
+                         MeterRegistry meterRegistry) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Invalid hedging percentile: " + percentile);
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.hedged = Counter.builder("s3.hedging.hedged")
+                .description("Requests duplicated because they were slower than the latency percentile")
+                .register(meterRegistry);
+        this.hedgeWins = Counter.builder("s3.hedging.wins")
+                .description("Hedged requests answered first by the duplicate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an idempotent request, hedging it when it is slower than usual.
+     * Only the first response is returned; a response arriving later is handed to {@code discard}.
+     * When every attempt fails, the failure of the last one is thrown.
+     *
+     * @param operation Operation name, latencies are tracked per operation
+     * @param request Request to run, it may be called twice concurrently
+     * @param discard Releases a response that lost the race, such as aborting its stream
+     * @return First response
+     */
+    public <T> T call(String operation, Supplier<T> request, Consumer<T> discard) {
+        LatencyWindow window = windows.computeIfAbsent(operation, name -> new LatencyWindow());
+        long delay = enabled ? window.delayNanos(percentile) : -1;
+        if (delay < 0) {
+            long start = System.nanoTime();
+            T response = request.get();
+            window.record(System.nanoTime() - start);
+            return response;
+        }
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger(1);
+        AtomicInteger failures = new AtomicInteger();
+        start(request, window, winner, attempts, failures, discard, false);
+        try {
+            try {
+                return winner.get(Math.max(delay, minDelayNanos), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                attempts.incrementAndGet();
+                hedged.increment();
+                start(request, window, winner, attempts, failures, discard, true);
+                return winner.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            // Responses arriving after the caller gave up are discarded by the requests still running,
+            // and a response that won just before is discarded here
+            if (!winner.completeExceptionally(e) && !winner.isCompletedExceptionally()) {
+                discard.accept(winner.join());
+            }
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Request interrupted", e);
+        }
+    }
+
+    private <T> void start(Supplier<T> request, LatencyWindow window, CompletableFuture<T> winner,
+                           AtomicInteger attempts, AtomicInteger failures, Consumer<T> discard, boolean hedge) {
+        Thread.ofVirtual().name("s3-hedge").start(() -> {
+            long start = System.nanoTime();
+            try {
+                T response = request.get();
+                window.record(System.nanoTime() - start);
+                if (!winner.complete(response)) {
+                    discard.accept(response);
+                } else if (hedge) {
+                    hedgeWins.increment();
+                }
+            } catch (Throwable e) {
+                // Errors too, or the caller would wait for the winner forever
+                if (failures.incrementAndGet() >= attempts.get()) {
+                    winner.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Ring buffer of the latest latencies of an operation
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+
+        synchronized void record(long latencyNanos) {
+            samples[next] = latencyNanos;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+
+        /**
+         * @return Latency percentile, or -1 until enough samples were recorded
+         */
+        synchronized long delayNanos(double percentile) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+}
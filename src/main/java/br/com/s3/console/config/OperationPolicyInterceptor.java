@@ -0,0 +1,86 @@
+package br.com.s3.console.config;
+
+import br.com.s3.console.model.OperationClass;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Applies the retry policy and attempt timeout of each class of operations to the S3 client.
+ * The SDK only accepts one retry policy per client, so its condition and backoff dispatch on
+ * the class of the request being retried, and attempt timeouts are set on each request
+ * unless the caller already chose one. Attempts cut by the timeout are retried.
+ */
+public class OperationPolicyInterceptor implements ExecutionInterceptor {
+
+    private final RetryProperties retryProperties;
+    private final Map<OperationClass, BackoffStrategy> backoffStrategies = new EnumMap<>(OperationClass.class);
+
+    public OperationPolicyInterceptor(RetryProperties retryProperties) {
+        this.retryProperties = retryProperties;
+        for (OperationClass operationClass : OperationClass.values()) {
+            RetryProperties.Policy policy = retryProperties.policy(operationClass);
+            backoffStrategies.put(operationClass, FullJitterBackoffStrategy.builder()
+                    .baseDelay(policy.baseDelay())
+                    .maxBackoffTime(policy.maxBackoff())
+                    .build());
+        }
+    }
+
+    /**
+     * Builds the client retry policy, retrying each request as allowed by the policy of its class
+     * @return Retry policy for the S3 client
+     */
+    public RetryPolicy retryPolicy() {
+        int maxRetries = 0;
+        for (OperationClass operationClass : OperationClass.values()) {
+            maxRetries = Math.max(maxRetries, retryProperties.policy(operationClass).maxAttempts() - 1);
+        }
+        RetryCondition defaultCondition = RetryCondition.defaultRetryCondition();
+        BackoffStrategy backoff = context -> backoffStrategies.get(operationClass(context))
+                .computeDelayBeforeNextRetry(context);
+        return RetryPolicy.builder(RetryMode.STANDARD)
+                .numRetries(maxRetries)
+                .retryCondition(context -> context.retriesAttempted()
+                        < retryProperties.policy(operationClass(context)).maxAttempts() - 1
+                        && (defaultCondition.shouldRetry(context)
+                        || context.exception() instanceof ApiCallAttemptTimeoutException))
+                .backoffStrategy(backoff)
+                .throttlingBackoffStrategy(backoff)
+                .build();
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        Duration attemptTimeout = retryProperties.policy(OperationClass.of(context.request())).attemptTimeout();
+        if (attemptTimeout == null || !(context.request() instanceof AwsRequest request)
+                || request.overrideConfiguration().flatMap(AwsRequestOverrideConfiguration::apiCallAttemptTimeout)
+                        .isPresent()) {
+            return context.request();
+        }
+        AwsRequestOverrideConfiguration.Builder configuration = request.overrideConfiguration()
+                .map(AwsRequestOverrideConfiguration::toBuilder)
+                .orElseGet(AwsRequestOverrideConfiguration::builder);
+        return request.toBuilder()
+                .overrideConfiguration(configuration.apiCallAttemptTimeout(attemptTimeout).build())
+                .build();
+    }
+
+    private static OperationClass operationClass(RetryPolicyContext context) {
+        return OperationClass.of(context.originalRequest());
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.s3.console.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Named S3 endpoint profiles selectable with the {@code use-profile} command,
+ * besides the {@code default} profile configured with the {@code aws.*} properties
+ *
+ * @param profiles Profiles by name
+ */
+@ConfigurationProperties(prefix = "console")
+public record ProfileProperties(Map<String, Profile> profiles) {
+
+    /**
+     * @param endpoint Endpoint URL, or null for the AWS endpoint of the region
+     * @param region Region name
+     * @param accessKey Access key, or null to use the default AWS credentials chain
+     * @param secretKey Secret key
+     */
+    public record Profile(String endpoint, String region, String accessKey, String secretKey) {
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.s3.console.config;
+
+import br.com.s3.console.model.OperationClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Retry, backoff and timeout settings of the S3 client, one policy per class of operation
+ *
+ * @param read Policy of object and bucket reads
+ * @param list Policy of listings
+ * @param write Policy of uploads, copies, deletes and other writes
+ */
+@ConfigurationProperties(prefix = "console.retry")
+public record RetryProperties(Policy read, Policy list, Policy write) {
+
+    /**
+     * @param maxAttempts Maximum number of attempts, the first one included
+     * @param baseDelay Base delay of the exponential backoff, before jitter
+     * @param maxBackoff Maximum delay between attempts
+     * @param attemptTimeout Maximum duration of a single attempt, or null for no limit
+     */
+    public record Policy(int maxAttempts, Duration baseDelay, Duration maxBackoff, Duration attemptTimeout) {
+    }
+
+    /**
+     * Gets the policy of a class of operations
+     * @param operationClass Class of operations
+     * @return Retry policy
+     */
+    public Policy policy(OperationClass operationClass) {
+        return switch (operationClass) {
+            case READ -> read;
+            case LIST -> list;
+            case WRITE -> write;
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.s3.console.config;
+
+import br.com.s3.console.config.ProfileProperties.Profile;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the S3 clients of every endpoint profile.
+ * Clients are built on first use and shared until the application stops. The routing client
+ * and presigner forward each call to the profile selected at call time, so services holding
+ * them follow the {@code use-profile} command without being rebuilt.
+ */
+public class S3ClientProfiles implements AutoCloseable {
+
+    /** Name of the profile configured with the {@code aws.*} properties */
+    public static final String DEFAULT_PROFILE = "default";
+
+    private final SortedMap<String, Profile> profiles;
+    private final Function<Profile, S3Client> clientFactory;
+    private final Function<Profile, S3Presigner> presignerFactory;
+    private final Map<String, S3Client> clients = new ConcurrentHashMap<>();
+    private final Map<String, S3Presigner> presigners = new ConcurrentHashMap<>();
+
+    /**
+     * @param profiles Profiles by name
+     * @param clientFactory Builder of the client of a profile
+     * @param presignerFactory Builder of the presigner of a profile
+     */
+    public S3ClientProfiles(Map<String, Profile> profiles, Function<Profile, S3Client> clientFactory,
+                            Function<Profile, S3Presigner> presignerFactory) {
+        this.profiles = new TreeMap<>(profiles);
+        this.clientFactory = clientFactory;
+        this.presignerFactory = presignerFactory;
+    }
+
+    /**
+     * Gets every profile
+     * @return Profiles by name, in name order
+     */
+    public SortedMap<String, Profile> profiles() {
+        return profiles;
+    }
+
+    /**
+     * Checks if a profile exists
+     * @param profileName Profile name
+     * @return true if the profile is configured
+     */
+    public boolean exists(String profileName) {
+        return profiles.containsKey(profileName);
+    }
+
+    /**
+     * Gets the client of a profile, building it on first use
+     * @param profileName Profile name
+     * @return S3 client of the profile
+     * @throws IllegalArgumentException if the profile does not exist
+     */
+    public S3Client client(String profileName) {
+        Profile profile = require(profileName);
+        return clients.computeIfAbsent(profileName, name -> clientFactory.apply(profile));
+    }
+
+    /**
+     * Gets the presigner of a profile, building it on first use
+     * @param profileName Profile name
+     * @return S3 presigner of the profile
+     * @throws IllegalArgumentException if the profile does not exist
+     */
+    public S3Presigner presigner(String profileName) {
+        Profile profile = require(profileName);
+        return presigners.computeIfAbsent(profileName, name -> presignerFactory.apply(profile));
+    }
+
+    /**
+     * Creates a client forwarding every call to the client of the profile selected at call time
+     * @param profileName Supplier of the selected profile name
+     * @return Routing S3 client, which must not be closed
+     */
+    public S3Client routingClient(Supplier<String> profileName) {
+        return routing(S3Client.class, () -> client(profileName.get()));
+    }
+
+    /**
+     * Creates a presigner forwarding every call to the presigner of the profile selected at call time
+     * @param profileName Supplier of the selected profile name
+     * @return Routing S3 presigner, which must not be closed
+     */
+    public S3Presigner routingPresigner(Supplier<String> profileName) {
+        return routing(S3Presigner.class, () -> presigner(profileName.get()));
+    }
+
+    /**
+     * Closes every client and presigner built so far
+     */
+    @Override
+    public void close() {
+        clients.values().forEach(S3Client::close);
+        presigners.values().forEach(S3Presigner::close);
+        clients.clear();
+        presigners.clear();
+    }
+
+    private Profile require(String profileName) {
+        Profile profile = profiles.get(profileName);
+        if (profile == null) {
+            throw new IllegalArgumentException("Profile '" + profileName + "' does not exist.");
+        }
+        return profile;
+    }
+
+    private static <T> T routing(Class<T> type, Supplier<T> target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Routing" + type.getSimpleName();
+                };
+            }
+            try {
+                return method.invoke(target.get(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }));
+    }
+}
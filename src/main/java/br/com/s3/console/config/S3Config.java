@@ -1,21 +1,41 @@
 package br.com.s3.console.config;
 
+import br.com.s3.console.concurrent.AdaptiveConcurrencyLimiter;
+import br.com.s3.console.concurrent.ConcurrencyLimitingInterceptor;
+import br.com.s3.console.config.ProfileProperties.Profile;
+import br.com.s3.console.context.ProfileContext;
+import br.com.s3.console.job.Job;
+import br.com.s3.console.job.JobCancellationInterceptor;
+import br.com.s3.console.trace.TimingDnsResolver;
+import br.com.s3.console.trace.TimingSocketFactory;
+import br.com.s3.console.trace.TraceWriter;
+import br.com.s3.console.trace.TracingInterceptor;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Configuration class for AWS S3 client
  */
 @Configuration
+@EnableConfigurationProperties({RetryProperties.class, ProfileProperties.class})
 public class S3Config {
 
     @Value("${aws.s3.endpoint}")
@@ -31,31 +51,109 @@ public class S3Config {
     private String secretKey;
 
     /**
-     * Creates an S3Client bean configured for LocalStack
-     * @return Configured S3Client
+     * Creates the registry of the clients of every endpoint profile.
+     * The {@code default} profile is configured for LocalStack with the {@code aws.*} properties.
+     * Every request acquires a permit from the shared adaptive concurrency limiter,
+     * and retries and attempt timeouts follow the policy of its class of operation.
+     * Requests are measured for the optional request trace, including DNS and TLS connect times
+     * when tracing is enabled at startup, and the requests of cancelled background jobs are refused.
+     * @param profileProperties Additional named profiles
+     * @param concurrencyLimiter Limiter shared by all S3 requests
+     * @param retryProperties Retry policies per class of operation
+     * @param traceWriter Writer of the request trace
+     * @return Client registry, closed with the application context
      */
     @Bean
-    public S3Client s3Client() {
-        return S3Client.builder()
-                .endpointOverride(URI.create(endpoint))
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(accessKey, secretKey)))
-                .forcePathStyle(true) // Required for LocalStack
-                .build();
+    public S3ClientProfiles s3ClientProfiles(ProfileProperties profileProperties,
+                                             AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                             RetryProperties retryProperties, TraceWriter traceWriter) {
+        Map<String, Profile> profiles = new HashMap<>();
+        if (profileProperties.profiles() != null) {
+            profiles.putAll(profileProperties.profiles());
+        }
+        profiles.put(S3ClientProfiles.DEFAULT_PROFILE, new Profile(endpoint, region, accessKey, secretKey));
+
+        return new S3ClientProfiles(profiles,
+                profile -> s3Client(profile, concurrencyLimiter, retryProperties, traceWriter),
+                S3Config::s3Presigner);
     }
 
     /**
-     * Creates an S3Presigner bean configured for LocalStack
-     * @return Configured S3Presigner
+     * Creates an S3Client bean forwarding every call to the client of the selected profile,
+     * or of the profile a background job was submitted under
+     * @param s3ClientProfiles Client registry
+     * @param profileContext Selected profile
+     * @return Routing S3Client
      */
-    @Bean
-    public S3Presigner s3Presigner() {
-        return S3Presigner.builder()
-                .endpointOverride(URI.create(endpoint))
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                        AwsBasicCredentials.create(accessKey, secretKey)))
-                .build();
+    @Bean(destroyMethod = "")
+    public S3Client s3Client(S3ClientProfiles s3ClientProfiles, ProfileContext profileContext) {
+        return s3ClientProfiles.routingClient(() -> operationProfile(profileContext));
+    }
+
+    /**
+     * Creates an S3Presigner bean forwarding every call to the presigner of the selected profile,
+     * or of the profile a background job was submitted under
+     * @param s3ClientProfiles Client registry
+     * @param profileContext Selected profile
+     * @return Routing S3Presigner
+     */
+    @Bean(destroyMethod = "")
+    public S3Presigner s3Presigner(S3ClientProfiles s3ClientProfiles, ProfileContext profileContext) {
+        return s3ClientProfiles.routingPresigner(() -> operationProfile(profileContext));
+    }
+
+    /**
+     * Profile of the running operation: background jobs keep the profile selected when they were submitted
+     */
+    private static String operationProfile(ProfileContext profileContext) {
+        Job job = Job.current();
+        return job != null ? job.profile() : profileContext.getCurrentProfile();
+    }
+
+    private static S3Client s3Client(Profile profile, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                     RetryProperties retryProperties, TraceWriter traceWriter) {
+        OperationPolicyInterceptor operationPolicies = new OperationPolicyInterceptor(retryProperties);
+        ApacheHttpClient.Builder httpClient = ApacheHttpClient.builder();
+        if (traceWriter.isEnabled()) {
+            // Connections are only timed when tracing is on as the client is built
+            httpClient.dnsResolver(new TimingDnsResolver())
+                    .socketFactory(new TimingSocketFactory(SSLConnectionSocketFactory.getSocketFactory()));
+        }
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(profile.region()))
+                .credentialsProvider(credentialsProvider(profile))
+                .httpClientBuilder(httpClient)
+                .overrideConfiguration(configuration -> configuration
+                        .retryPolicy(operationPolicies.retryPolicy())
+                        // Traced first so that the total time includes waiting for a concurrency permit
+                        .addExecutionInterceptor(new TracingInterceptor(traceWriter))
+                        // Requests of cancelled jobs are refused before they wait for a permit
+                        .addExecutionInterceptor(new JobCancellationInterceptor())
+                        .addExecutionInterceptor(new ConcurrencyLimitingInterceptor(concurrencyLimiter))
+                        .addExecutionInterceptor(operationPolicies));
+        if (profile.endpoint() != null) {
+            builder.endpointOverride(URI.create(profile.endpoint()))
+                    .forcePathStyle(true); // Required for LocalStack
+        }
+        return builder.build();
+    }
+
+    private static S3Presigner s3Presigner(Profile profile) {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(Region.of(profile.region()))
+                .credentialsProvider(credentialsProvider(profile));
+        if (profile.endpoint() != null) {
+            builder.endpointOverride(URI.create(profile.endpoint()))
+                    .serviceConfiguration(S3Configuration.builder()
+                            .pathStyleAccessEnabled(true) // Required for LocalStack
+                            .build());
+        }
+        return builder.build();
+    }
+
+    private static AwsCredentialsProvider credentialsProvider(Profile profile) {
+        return profile.accessKey() != null
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(profile.accessKey(), profile.secretKey()))
+                : DefaultCredentialsProvider.create();
     }
-} 
\ No newline at end of file
+}
@@ -3,12 +3,14 @@ package br.com.s3.console.context;
 import org.springframework.stereotype.Component;
 
 /**
- * Singleton class to store the selected bucket context
+ * Singleton class to store the selected bucket context.
+ * Commands read the selection once, when they are submitted, and hand the bucket name down to the
+ * services, so selecting another bucket never changes the bucket of an operation already running.
  */
 @Component
 public class BucketContext {
     
-    private String currentBucket;
+    private volatile String currentBucket;
     
     /**
      * Sets the current bucket
@@ -26,6 +28,19 @@ public class BucketContext {
         return currentBucket;
     }
     
+    /**
+     * Resolves the bucket of an operation: the bucket given to the command, or else the current bucket
+     * @param bucket Bucket given with the {@code --bucket} option, or null to use the current bucket
+     * @return Bucket name, or null if no bucket is given and none is selected
+     */
+    public String resolveBucket(String bucket) {
+        if (bucket != null && !bucket.isEmpty()) {
+            return bucket;
+        }
+        String selected = currentBucket;
+        return selected != null && !selected.isEmpty() ? selected : null;
+    }
+    
     /**
      * Checks if a bucket is selected
      * @return true if a bucket is selected, false otherwise
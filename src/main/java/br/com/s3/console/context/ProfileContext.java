@@ -0,0 +1,29 @@
+package br.com.s3.console.context;
+
+import br.com.s3.console.config.S3ClientProfiles;
+import org.springframework.stereotype.Component;
+
+/**
+ * Singleton class to store the selected endpoint profile
+ */
+@Component
+public class ProfileContext {
+
+    private volatile String currentProfile = S3ClientProfiles.DEFAULT_PROFILE;
+
+    /**
+     * Sets the current profile
+     * @param profileName Profile name
+     */
+    public void setCurrentProfile(String profileName) {
+        this.currentProfile = profileName;
+    }
+
+    /**
+     * Gets the current profile
+     * @return Current profile name, {@code default} until another profile is selected
+     */
+    public String getCurrentProfile() {
+        return currentProfile;
+    }
+}
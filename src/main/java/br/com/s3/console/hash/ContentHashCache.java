@@ -0,0 +1,149 @@
+package br.com.s3.console.hash;
+
+import br.com.s3.console.buffer.BufferPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of the SHA-256 digests of local files, keyed by path, size and modification time,
+ * so that files left unchanged since they were last hashed are not read again.
+ * The cache is a tab-separated text file loaded on first use and rewritten by {@link #save()}.
+ */
+@Component
+public class ContentHashCache {
+
+    private static final int HASH_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path cacheFile;
+    private final BufferPool bufferPool;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile boolean loaded;
+
+    public ContentHashCache(@Value("${console.hash-cache.file}") String cacheFile, BufferPool bufferPool) {
+        this.cacheFile = Path.of(cacheFile);
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Gets the SHA-256 digest of a file, reading the file only when its size or modification time
+     * changed since it was last hashed. Safe to call from many threads, each hashing its own file.
+     *
+     * @param file Local file
+     * @return Lowercase hexadecimal digest
+     */
+    public String sha256(Path file) throws IOException {
+        load();
+        String path = file.toAbsolutePath().normalize().toString();
+        // Read before hashing, so a file modified while it is read is hashed again next time
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+
+        Entry entry = entries.get(path);
+        if (entry != null && entry.size() == attributes.size() && entry.modified() == modified) {
+            return entry.sha256();
+        }
+        String sha256 = digest(file);
+        entries.put(path, new Entry(attributes.size(), modified, sha256));
+        dirty.set(true);
+        return sha256;
+    }
+
+    /**
+     * Writes the cache to disk if it changed since it was loaded or last saved.
+     * The file is replaced atomically, so a failed save keeps the previous cache.
+     */
+    public synchronized void save() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path temp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    Entry value = entry.getValue();
+                    writer.write(value.size() + "\t" + value.modified() + "\t" + value.sha256() + "\t" + entry.getKey());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            throw new UncheckedIOException("Error writing hash cache: " + e.getMessage(), e);
+        }
+    }
+
+    private void load() throws IOException {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (Files.exists(cacheFile)) {
+                try (Stream<String> lines = Files.lines(cacheFile)) {
+                    lines.forEach(this::loadLine);
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private void loadLine(String line) {
+        String[] fields = line.split("\t", 4);
+        if (fields.length < 4) {
+            return;
+        }
+        try {
+            entries.put(fields[3], new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2]));
+        } catch (NumberFormatException e) {
+            // A damaged line only costs hashing its file again
+        }
+    }
+
+    private String digest(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             BufferPool.Lease lease = bufferPool.lease(HASH_BUFFER_SIZE)) {
+            ByteBuffer buffer = lease.buffer();
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear().limit(HASH_BUFFER_SIZE);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(long size, long modified, String sha256) {
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.s3.console.index;
+
+/**
+ * Layout of an object index file. Sections are written one after another and located through
+ * a fixed-size trailer at the end of the file:
+ * <pre>
+ * keys         front-coded key blocks of {@value #BLOCK_SIZE} keys, sorted by UTF-8 bytes
+ * block index  long offset of every key block
+ * sizes        long size of every object
+ * mtimes       long last-modified epoch millis of every object
+ * classes      byte storage class code of every object
+ * dictionary   storage class names (short length + UTF-8 bytes), code 0 being "no storage class"
+ * trailer      see the TRAILER_* offsets
+ * </pre>
+ * The first key of a block is stored whole, the following ones as the length shared with the
+ * previous key plus the remaining suffix, all lengths being unsigned varints.
+ */
+final class IndexFormat {
+
+    static final int MAGIC = 0x53334958;
+    static final int VERSION = 1;
+    static final int BLOCK_SIZE = 16;
+
+    static final int TRAILER_SIZE = 80;
+    static final int TRAILER_MAGIC = 0;
+    static final int TRAILER_VERSION = 4;
+    static final int TRAILER_COUNT = 8;
+    static final int TRAILER_BLOCK_COUNT = 16;
+    static final int TRAILER_CLASS_COUNT = 20;
+    static final int TRAILER_BLOCK_INDEX_OFFSET = 24;
+    static final int TRAILER_SIZES_OFFSET = 32;
+    static final int TRAILER_MTIMES_OFFSET = 40;
+    static final int TRAILER_CLASSES_OFFSET = 48;
+    static final int TRAILER_DICTIONARY_OFFSET = 56;
+    static final int TRAILER_TOTAL_BYTES = 64;
+    static final int TRAILER_CREATED = 72;
+
+    private IndexFormat() {
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.s3.console.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only memory mapping of a file of any size.
+ * The file is mapped in chunks that overlap by {@link #MAX_RECORD_SIZE}, so that any record
+ * starting in a chunk can be read from that chunk alone.
+ * The chunks are unmapped by the garbage collector once the file is unreachable.
+ */
+final class MappedFile {
+
+    static final int MAX_RECORD_SIZE = 64 * 1024;
+    private static final long CHUNK_SIZE = 1L << 30;
+
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+
+    private MappedFile(MappedByteBuffer[] chunks, long size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    static MappedFile map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) Math.max(1, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = i * CHUNK_SIZE;
+                long length = Math.min(size - start, CHUNK_SIZE + MAX_RECORD_SIZE);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(0, length));
+            }
+            // The mappings stay valid after the channel is closed
+            return new MappedFile(chunks, size);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long getLong(long offset) {
+        return chunks[(int) (offset / CHUNK_SIZE)].getLong((int) (offset % CHUNK_SIZE));
+    }
+
+    int getInt(long offset) {
+        return chunks[(int) (offset / CHUNK_SIZE)].getInt((int) (offset % CHUNK_SIZE));
+    }
+
+    byte get(long offset) {
+        return chunks[(int) (offset / CHUNK_SIZE)].get((int) (offset % CHUNK_SIZE));
+    }
+
+    /**
+     * Gets a buffer positioned at an offset, valid for at least {@link #MAX_RECORD_SIZE} bytes
+     * or up to the end of the file
+     */
+    ByteBuffer at(long offset) {
+        ByteBuffer chunk = chunks[(int) (offset / CHUNK_SIZE)].duplicate();
+        chunk.position((int) (offset % CHUNK_SIZE));
+        return chunk;
+    }
+}
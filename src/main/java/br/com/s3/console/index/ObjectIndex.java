@@ -0,0 +1,241 @@
+package br.com.s3.console.index;
+
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read-only, memory-mapped view of an object index file written by {@link ObjectIndexWriter}.
+ * Prefix lookups binary search the first key of each block, so they only touch the pages
+ * holding the matching keys and their columns.
+ * Closing the index refuses new streams; the mapping is released by the garbage collector once the
+ * index and every stream returned by {@link #objects(String)} are unreachable, so open streams keep reading.
+ */
+public class ObjectIndex implements Closeable {
+
+    private final MappedFile file;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final long count;
+    private final int blockCount;
+    private final long blockIndexOffset;
+    private final long sizesOffset;
+    private final long mtimesOffset;
+    private final long classesOffset;
+    private final long totalBytes;
+    private final Instant created;
+    private final String[] storageClasses;
+
+    private ObjectIndex(MappedFile file) throws IOException {
+        this.file = file;
+        long trailer = file.size() - IndexFormat.TRAILER_SIZE;
+        if (trailer < 0 || file.getInt(trailer + IndexFormat.TRAILER_MAGIC) != IndexFormat.MAGIC) {
+            throw new IOException("Not an object index file");
+        }
+        if (file.getInt(trailer + IndexFormat.TRAILER_VERSION) != IndexFormat.VERSION) {
+            throw new IOException("Unsupported object index version");
+        }
+        this.count = file.getLong(trailer + IndexFormat.TRAILER_COUNT);
+        this.blockCount = file.getInt(trailer + IndexFormat.TRAILER_BLOCK_COUNT);
+        this.blockIndexOffset = file.getLong(trailer + IndexFormat.TRAILER_BLOCK_INDEX_OFFSET);
+        this.sizesOffset = file.getLong(trailer + IndexFormat.TRAILER_SIZES_OFFSET);
+        this.mtimesOffset = file.getLong(trailer + IndexFormat.TRAILER_MTIMES_OFFSET);
+        this.classesOffset = file.getLong(trailer + IndexFormat.TRAILER_CLASSES_OFFSET);
+        this.totalBytes = file.getLong(trailer + IndexFormat.TRAILER_TOTAL_BYTES);
+        this.created = Instant.ofEpochMilli(file.getLong(trailer + IndexFormat.TRAILER_CREATED));
+
+        int classCount = file.getInt(trailer + IndexFormat.TRAILER_CLASS_COUNT);
+        this.storageClasses = new String[classCount];
+        ByteBuffer dictionary = file.at(file.getLong(trailer + IndexFormat.TRAILER_DICTIONARY_OFFSET));
+        for (int i = 0; i < classCount; i++) {
+            byte[] name = new byte[dictionary.getShort()];
+            dictionary.get(name);
+            storageClasses[i] = name.length == 0 ? null : new String(name, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Maps an index file
+     * @param path Index file
+     * @return Index view
+     * @throws IOException if the file cannot be mapped or is not an index
+     */
+    public static ObjectIndex open(Path path) throws IOException {
+        return new ObjectIndex(MappedFile.map(path));
+    }
+
+    /**
+     * @return Number of indexed objects
+     */
+    public long objectCount() {
+        return count;
+    }
+
+    /**
+     * @return Sum of the sizes of the indexed objects
+     */
+    public long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return Time the index was written
+     */
+    public Instant created() {
+        return created;
+    }
+
+    /**
+     * Streams the indexed objects under a prefix in key order.
+     * Objects carry their key, size, last-modified time and storage class.
+     * The stream keeps reading the file after the index is closed.
+     *
+     * @param prefix Key prefix, empty for every object
+     * @return Stream of objects
+     * @throws IllegalStateException if the index is closed
+     */
+    public Stream<S3Object> objects(String prefix) {
+        if (closed.get()) {
+            throw new IllegalStateException("The object index was closed, it may have been refreshed. Try again.");
+        }
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new Cursor(prefixBytes, startBlock(prefixBytes)), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Closes the index, after which no new stream can be opened
+     */
+    @Override
+    public void close() {
+        closed.set(true);
+    }
+
+    /**
+     * Finds the last block whose first key is lower than the prefix, where the first match may be
+     */
+    private int startBlock(byte[] prefix) {
+        int low = 0;
+        int high = blockCount - 1;
+        int result = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            ByteBuffer block = file.at(file.getLong(blockIndexOffset + (long) middle * Long.BYTES));
+            byte[] firstKey = new byte[readVarint(block)];
+            block.get(firstKey);
+            if (Arrays.compareUnsigned(firstKey, prefix) < 0) {
+                result = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return result;
+    }
+
+    static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Sequential decoder over the key blocks, starting at a block and stopping past the prefix
+     */
+    private final class Cursor implements Iterator<S3Object> {
+
+        private final byte[] prefix;
+        private long position;
+        private ByteBuffer block;
+        private byte[] key = new byte[0];
+        private S3Object next;
+        private boolean done;
+
+        Cursor(byte[] prefix, int startBlock) {
+            this.prefix = prefix;
+            this.position = (long) startBlock * IndexFormat.BLOCK_SIZE;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                if (position >= count) {
+                    done = true;
+                    break;
+                }
+                decodeKey();
+                long index = position++;
+                int order = compareToPrefix();
+                if (order < 0) {
+                    continue;
+                }
+                if (order > 0) {
+                    done = true;
+                    break;
+                }
+                next = S3Object.builder()
+                        .key(new String(key, StandardCharsets.UTF_8))
+                        .size(file.getLong(sizesOffset + index * Long.BYTES))
+                        .lastModified(Instant.ofEpochMilli(file.getLong(mtimesOffset + index * Long.BYTES)))
+                        .storageClass(storageClasses[file.get(classesOffset + index) & 0xFF])
+                        .build();
+            }
+            return next != null;
+        }
+
+        @Override
+        public S3Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            S3Object result = next;
+            next = null;
+            return result;
+        }
+
+        private void decodeKey() {
+            if (position % IndexFormat.BLOCK_SIZE == 0) {
+                long blockNumber = position / IndexFormat.BLOCK_SIZE;
+                block = file.at(file.getLong(blockIndexOffset + blockNumber * Long.BYTES));
+                key = new byte[readVarint(block)];
+                block.get(key);
+                return;
+            }
+            int shared = readVarint(block);
+            int suffixLength = readVarint(block);
+            byte[] current = Arrays.copyOf(key, shared + suffixLength);
+            block.get(current, shared, suffixLength);
+            key = current;
+        }
+
+        /**
+         * @return negative while the key sorts before the prefix, zero if it starts with it, positive once past it
+         */
+        private int compareToPrefix() {
+            int length = Math.min(key.length, prefix.length);
+            int order = Arrays.compareUnsigned(key, 0, length, prefix, 0, length);
+            if (order != 0) {
+                return order;
+            }
+            return key.length < prefix.length ? -1 : 0;
+        }
+    }
+}
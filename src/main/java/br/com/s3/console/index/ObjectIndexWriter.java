@@ -0,0 +1,240 @@
+package br.com.s3.console.index;
+
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming writer of an object index file. Objects must be added in S3 key order;
+ * memory use does not depend on the number of objects, since every column is spooled
+ * to its own temporary file and concatenated when the writer is closed.
+ * The index only replaces the target file once it is complete.
+ */
+public class ObjectIndexWriter implements AutoCloseable {
+
+    private static final int WRITE_BUFFER_SIZE = 256 * 1024;
+
+    private final Path target;
+    private final Path keysFile;
+    private final Path blockIndexFile;
+    private final Path sizesFile;
+    private final Path mtimesFile;
+    private final Path classesFile;
+    private final CountingOutputStream keys;
+    private final DataOutputStream blockIndex;
+    private final DataOutputStream sizes;
+    private final DataOutputStream mtimes;
+    private final OutputStream classes;
+    private final Map<String, Integer> classCodes = new HashMap<>();
+    private final List<String> classNames = new ArrayList<>(List.of(""));
+
+    private byte[] previousKey;
+    private long count;
+    private long totalBytes;
+    private boolean closed;
+
+    /**
+     * @param target Index file to create or replace
+     * @throws IOException if the temporary files cannot be created
+     */
+    public ObjectIndexWriter(Path target) throws IOException {
+        this.target = target;
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        String name = target.getFileName().toString();
+        this.keysFile = Files.createTempFile(directory, name, ".keys");
+        this.blockIndexFile = Files.createTempFile(directory, name, ".blocks");
+        this.sizesFile = Files.createTempFile(directory, name, ".sizes");
+        this.mtimesFile = Files.createTempFile(directory, name, ".mtimes");
+        this.classesFile = Files.createTempFile(directory, name, ".classes");
+        this.keys = new CountingOutputStream(open(keysFile));
+        this.blockIndex = new DataOutputStream(open(blockIndexFile));
+        this.sizes = new DataOutputStream(open(sizesFile));
+        this.mtimes = new DataOutputStream(open(mtimesFile));
+        this.classes = open(classesFile);
+    }
+
+    /**
+     * Appends an object to the index
+     * @param object Listed object, with a key greater than the previous one
+     * @throws IOException if the object cannot be written
+     * @throws IllegalArgumentException if the object is out of order
+     */
+    public void add(S3Object object) throws IOException {
+        byte[] key = object.key().getBytes(StandardCharsets.UTF_8);
+        if (previousKey != null && Arrays.compareUnsigned(previousKey, key) >= 0) {
+            throw new IllegalArgumentException("Index keys must be added in order: '" + object.key() + "'");
+        }
+
+        if (count % IndexFormat.BLOCK_SIZE == 0) {
+            blockIndex.writeLong(keys.written);
+            writeVarint(keys, key.length);
+            keys.write(key);
+        } else {
+            int shared = Arrays.mismatch(previousKey, key);
+            shared = shared < 0 ? Math.min(previousKey.length, key.length) : shared;
+            writeVarint(keys, shared);
+            writeVarint(keys, key.length - shared);
+            keys.write(key, shared, key.length - shared);
+        }
+
+        long size = object.size() != null ? object.size() : 0;
+        sizes.writeLong(size);
+        mtimes.writeLong(object.lastModified() != null ? object.lastModified().toEpochMilli() : 0);
+        classes.write(classCode(object.storageClassAsString()));
+        previousKey = key;
+        totalBytes += size;
+        count++;
+    }
+
+    /**
+     * Completes the index and moves it over the target file
+     * @throws IOException if the index cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            closeAll();
+            long blockIndexOffset = Files.size(keysFile);
+            long sizesOffset = blockIndexOffset + Files.size(blockIndexFile);
+            long mtimesOffset = sizesOffset + Files.size(sizesFile);
+            long classesOffset = mtimesOffset + Files.size(mtimesFile);
+            long dictionaryOffset = classesOffset + Files.size(classesFile);
+
+            try (OutputStream out = Files.newOutputStream(keysFile, StandardOpenOption.APPEND)) {
+                Files.copy(blockIndexFile, out);
+                Files.copy(sizesFile, out);
+                Files.copy(mtimesFile, out);
+                Files.copy(classesFile, out);
+
+                DataOutputStream dictionary = new DataOutputStream(out);
+                for (String className : classNames) {
+                    byte[] bytes = className.getBytes(StandardCharsets.UTF_8);
+                    dictionary.writeShort(bytes.length);
+                    dictionary.write(bytes);
+                }
+
+                ByteBuffer trailer = ByteBuffer.allocate(IndexFormat.TRAILER_SIZE)
+                        .putInt(IndexFormat.TRAILER_MAGIC, IndexFormat.MAGIC)
+                        .putInt(IndexFormat.TRAILER_VERSION, IndexFormat.VERSION)
+                        .putLong(IndexFormat.TRAILER_COUNT, count)
+                        .putInt(IndexFormat.TRAILER_BLOCK_COUNT, (int) ((count + IndexFormat.BLOCK_SIZE - 1) / IndexFormat.BLOCK_SIZE))
+                        .putInt(IndexFormat.TRAILER_CLASS_COUNT, classNames.size())
+                        .putLong(IndexFormat.TRAILER_BLOCK_INDEX_OFFSET, blockIndexOffset)
+                        .putLong(IndexFormat.TRAILER_SIZES_OFFSET, sizesOffset)
+                        .putLong(IndexFormat.TRAILER_MTIMES_OFFSET, mtimesOffset)
+                        .putLong(IndexFormat.TRAILER_CLASSES_OFFSET, classesOffset)
+                        .putLong(IndexFormat.TRAILER_DICTIONARY_OFFSET, dictionaryOffset)
+                        .putLong(IndexFormat.TRAILER_TOTAL_BYTES, totalBytes)
+                        .putLong(IndexFormat.TRAILER_CREATED, Instant.now().toEpochMilli());
+                out.write(trailer.array());
+            }
+            Files.move(keysFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            deleteTemporaryFiles();
+        }
+    }
+
+    /**
+     * Discards the partially written index, leaving the target file untouched
+     */
+    public void abort() {
+        closed = true;
+        try {
+            closeAll();
+        } catch (IOException e) {
+            // The files are deleted anyway
+        }
+        deleteTemporaryFiles();
+    }
+
+    private int classCode(String storageClass) {
+        if (storageClass == null) {
+            return 0;
+        }
+        return classCodes.computeIfAbsent(storageClass, name -> {
+            classNames.add(name);
+            return classNames.size() - 1;
+        });
+    }
+
+    private void closeAll() throws IOException {
+        IOException failure = null;
+        for (OutputStream out : List.of(keys, blockIndex, sizes, mtimes, classes)) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void deleteTemporaryFiles() {
+        for (Path file : List.of(keysFile, blockIndexFile, sizesFile, mtimesFile, classesFile)) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Leftover temporary files are harmless
+            }
+        }
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        return new BufferedOutputStream(Files.newOutputStream(file), WRITE_BUFFER_SIZE);
+    }
+
+    static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Output stream keeping track of the number of bytes written, used for block offsets
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long written;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written += len;
+        }
+    }
+}
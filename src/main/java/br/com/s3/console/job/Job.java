@@ -0,0 +1,215 @@
+package br.com.s3.console.job;
+
+import br.com.s3.console.transfer.TransferProgress;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operation running in the background under the {@link JobScheduler}.
+ * The job is bound to its thread and to every thread started from it, so S3 requests made on
+ * behalf of the job know its priority and endpoint profile and are refused once the job is cancelled.
+ */
+public final class Job {
+
+    private static final InheritableThreadLocal<Job> CURRENT = new InheritableThreadLocal<>();
+
+    /**
+     * Work of a job
+     */
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * Runs the work
+         * @param progress Listener to report the transferred objects, parts and bytes to
+         * @return Message describing the result
+         */
+        String run(TransferProgress progress) throws Exception;
+    }
+
+    private final long id;
+    private final String description;
+    private final String profile;
+    private final JobPriority priority;
+    private final Task task;
+    private final TransferProgress progress = new TransferProgress();
+    private final Instant submittedAt = Instant.now();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private JobState state = JobState.QUEUED;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String result;
+    private String error;
+    private Thread thread;
+
+    Job(long id, String description, String profile, JobPriority priority, Task task) {
+        this.id = id;
+        this.description = description;
+        this.profile = profile;
+        this.priority = priority;
+        this.task = task;
+    }
+
+    /**
+     * @return Job the current thread works for, or null outside background jobs
+     */
+    public static Job current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return Priority of the current thread, interactive outside background jobs
+     */
+    public static JobPriority currentPriority() {
+        Job job = CURRENT.get();
+        return job != null ? job.priority : JobPriority.INTERACTIVE;
+    }
+
+    /**
+     * Runs the task on the calling thread, unless the job was cancelled while queued
+     */
+    void run() {
+        synchronized (this) {
+            if (state != JobState.QUEUED) {
+                return;
+            }
+            state = JobState.RUNNING;
+            startedAt = Instant.now();
+            thread = Thread.currentThread();
+        }
+
+        CURRENT.set(this);
+        try {
+            String message = task.run(progress);
+            finish(JobState.SUCCEEDED, message, null);
+        } catch (Exception e) {
+            finish(JobState.FAILED, null, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private synchronized void finish(JobState outcome, String message, String failure) {
+        // A cancelled job keeps its state, whatever its task made of the interruption
+        if (state == JobState.RUNNING) {
+            state = outcome;
+            result = message;
+            error = failure;
+        }
+        thread = null;
+        // The interrupt of a cancellation is consumed here, the thread still hands its slot over
+        Thread.interrupted();
+        finishedAt = Instant.now();
+        finished.countDown();
+    }
+
+    /**
+     * Cancels the job. A queued job never starts; a running job is interrupted, which aborts its
+     * requests in flight, and every further request it makes is refused.
+     *
+     * @return false if the job had already finished
+     */
+    synchronized boolean cancel() {
+        switch (state) {
+            case QUEUED -> {
+                state = JobState.CANCELLED;
+                finishedAt = Instant.now();
+                finished.countDown();
+                return true;
+            }
+            case RUNNING -> {
+                state = JobState.CANCELLED;
+                thread.interrupt();
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Waits for the job to finish
+     * @param timeout Longest time to wait, or null to wait without limit
+     * @return true if the job finished
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean await(Duration timeout) throws InterruptedException {
+        if (timeout == null) {
+            finished.await();
+            return true;
+        }
+        return finished.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    /**
+     * @return Endpoint profile selected when the job was submitted, used by all its requests
+     */
+    public String profile() {
+        return profile;
+    }
+
+    public JobPriority priority() {
+        return priority;
+    }
+
+    public TransferProgress progress() {
+        return progress;
+    }
+
+    public Instant submittedAt() {
+        return submittedAt;
+    }
+
+    public synchronized JobState state() {
+        return state;
+    }
+
+    public synchronized Instant startedAt() {
+        return startedAt;
+    }
+
+    public synchronized Instant finishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * @return Message of the task when the job succeeded, null otherwise
+     */
+    public synchronized String result() {
+        return result;
+    }
+
+    /**
+     * @return Error message when the job failed, null otherwise
+     */
+    public synchronized String error() {
+        return error;
+    }
+
+    /**
+     * @return true once the job was cancelled, even while it is still stopping
+     */
+    public synchronized boolean isCancelled() {
+        return state == JobState.CANCELLED;
+    }
+
+    /**
+     * @return true once the job is over and holds no resources anymore
+     */
+    public synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.s3.console.job;
+
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+
+/**
+ * S3 client interceptor refusing the requests, and the retries of requests, of cancelled jobs.
+ * Aborting a multipart upload is still allowed, so that a cancelled upload does not leave its
+ * parts behind in the bucket.
+ */
+public class JobCancellationInterceptor implements ExecutionInterceptor {
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        checkCancelled(context.request());
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        checkCancelled(context.request());
+    }
+
+    private static void checkCancelled(SdkRequest request) {
+        Job job = Job.current();
+        if (job != null && job.isCancelled() && !(request instanceof AbortMultipartUploadRequest)) {
+            throw AbortedException.builder().message("Job " + job.id() + " was cancelled").build();
+        }
+    }
+}
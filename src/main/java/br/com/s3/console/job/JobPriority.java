@@ -0,0 +1,19 @@
+package br.com.s3.console.job;
+
+/**
+ * Priority class of the S3 requests of a job. Requests of higher classes take free request slots
+ * of the adaptive concurrency limit before the requests of lower ones; queued jobs still start
+ * in submission order.
+ */
+public enum JobPriority {
+
+    /**
+     * Reads the user is waiting for, including every command run in the foreground
+     */
+    INTERACTIVE,
+
+    /**
+     * Long-running copies, uploads and transfers
+     */
+    BULK
+}
@@ -0,0 +1,174 @@
+package br.com.s3.console.job;
+
+import br.com.s3.console.context.ProfileContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs commands as background jobs, each on its own virtual thread, within a global budget of
+ * jobs running at the same time. Queued jobs start in submission order, whatever their priority:
+ * the priority of a job only applies to its S3 requests, which share the clients of the console
+ * and count against the adaptive concurrency limit, where interactive requests are served before bulk ones.
+ */
+@Component
+public class JobScheduler {
+
+    private final int maxRunning;
+    private final ProfileContext profileContext;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<Job> queue = new ArrayDeque<>();
+    private final Map<Long, Job> jobs = new TreeMap<>();
+    private long lastId;
+    private int running;
+
+    public JobScheduler(@Value("${console.jobs.max-running}") int maxRunning, ProfileContext profileContext,
+                        MeterRegistry meterRegistry) {
+        if (maxRunning < 1) {
+            throw new IllegalArgumentException("Invalid number of running jobs: " + maxRunning);
+        }
+        this.maxRunning = maxRunning;
+        this.profileContext = profileContext;
+
+        Gauge.builder("s3.jobs.running", this, JobScheduler::running)
+                .description("Background jobs running")
+                .register(meterRegistry);
+        Gauge.builder("s3.jobs.queued", this, JobScheduler::queued)
+                .description("Background jobs waiting for a slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Submits a job, started as soon as the budget allows.
+     * The job keeps the endpoint profile selected at submission, even if another one is selected while it runs.
+     * @param description Description shown by the job commands
+     * @param priority Priority class of the requests of the job
+     * @param task Work of the job
+     * @return Submitted job
+     */
+    public Job submit(String description, JobPriority priority, Job.Task task) {
+        lock.lock();
+        try {
+            Job job = new Job(++lastId, description, profileContext.getCurrentProfile(), priority, task);
+            jobs.put(job.id(), job);
+            queue.add(job);
+            dispatch();
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Every job of the session, in submission order
+     */
+    public List<Job> jobs() {
+        lock.lock();
+        try {
+            return new ArrayList<>(jobs.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds a job
+     * @param id Job number
+     * @return Job with that number
+     * @throws IllegalArgumentException if there is no such job
+     */
+    public Job job(long id) {
+        lock.lock();
+        try {
+            Job job = jobs.get(id);
+            if (job == null) {
+                throw new IllegalArgumentException("Job " + id + " does not exist. Use the 'jobs' command to see the jobs.");
+            }
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels a queued or running job
+     * @param id Job number
+     * @return false if the job had already finished
+     * @throws IllegalArgumentException if there is no such job
+     */
+    public boolean cancel(long id) {
+        Job job = job(id);
+        lock.lock();
+        try {
+            // Cancelled jobs are skipped by dispatch(), removing them now only frees memory
+            queue.remove(job);
+        } finally {
+            lock.unlock();
+        }
+        return job.cancel();
+    }
+
+    /**
+     * Starts queued jobs while the budget allows. Must be called with the lock held.
+     */
+    private void dispatch() {
+        while (running < maxRunning && !queue.isEmpty()) {
+            Job job = queue.poll();
+            if (job.state() != JobState.QUEUED) {
+                continue;
+            }
+            running++;
+            Thread.ofVirtual().name("job-" + job.id()).start(() -> {
+                try {
+                    job.run();
+                } finally {
+                    lock.lock();
+                    try {
+                        running--;
+                        dispatch();
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Cancels every unfinished job when the console exits
+     */
+    @PreDestroy
+    public void shutdown() {
+        for (Job job : jobs()) {
+            job.cancel();
+        }
+    }
+
+    private int running() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
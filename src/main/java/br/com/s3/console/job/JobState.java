@@ -0,0 +1,32 @@
+package br.com.s3.console.job;
+
+/**
+ * Lifecycle of a background job
+ */
+public enum JobState {
+
+    /**
+     * The job waits for a slot of the concurrency budget
+     */
+    QUEUED,
+
+    /**
+     * The job is running
+     */
+    RUNNING,
+
+    /**
+     * The job finished successfully
+     */
+    SUCCEEDED,
+
+    /**
+     * The job ended with an error
+     */
+    FAILED,
+
+    /**
+     * The job was cancelled, it may still be stopping its requests in flight
+     */
+    CANCELLED
+}
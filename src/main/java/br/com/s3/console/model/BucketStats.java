@@ -0,0 +1,21 @@
+package br.com.s3.console.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Aggregated figures about the objects under a bucket prefix
+ *
+ * @param objects Number of objects
+ * @param bytes Sum of the object sizes
+ * @param largestKey Key of the largest object, or null if there are no objects
+ * @param largestSize Size of the largest object
+ * @param oldest Earliest last-modified time, or null if there are no objects
+ * @param newest Latest last-modified time, or null if there are no objects
+ * @param objectsByStorageClass Number of objects per storage class
+ * @param bytesByStorageClass Bytes per storage class
+ */
+public record BucketStats(long objects, long bytes, String largestKey, long largestSize, Instant oldest,
+                          Instant newest, Map<String, Long> objectsByStorageClass,
+                          Map<String, Long> bytesByStorageClass) {
+}
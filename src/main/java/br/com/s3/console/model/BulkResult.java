@@ -0,0 +1,23 @@
+package br.com.s3.console.model;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a bulk operation over many objects
+ *
+ * @param objects Number of objects processed
+ * @param bytes Number of bytes processed
+ * @param skipped Number of objects skipped
+ * @param elapsed Wall-clock duration of the operation
+ */
+public record BulkResult(long objects, long bytes, long skipped, Duration elapsed) {
+
+    /**
+     * Gets the average throughput of the operation
+     * @return Bytes per second, or zero when no time has elapsed
+     */
+    public double bytesPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis > 0 ? bytes * 1000.0 / millis : 0;
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.s3.console.model;
+
+import br.com.s3.console.util.KeyGlob;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.util.regex.Pattern;
+
+/**
+ * Predicates selecting objects for the {@code find} command. Null predicates do not restrict the search.
+ */
+public final class FindCriteria {
+
+    private static final String REGEX_METACHARACTERS = "\\.[]{}()*+?^$|";
+    private static final String REGEX_QUANTIFIERS = "*+?{";
+    private static final String DEFAULT_STORAGE_CLASS = "STANDARD";
+
+    private final String glob;
+    private final Pattern globPattern;
+    private final Pattern regex;
+    private final Long minSize;
+    private final Long maxSize;
+    private final Instant modifiedAfter;
+    private final Instant modifiedBefore;
+    private final String storageClass;
+
+    /**
+     * @param glob Glob that whole keys must match
+     * @param regex Regular expression searched in keys
+     * @param minSize Minimum size in bytes (inclusive)
+     * @param maxSize Maximum size in bytes (inclusive)
+     * @param modifiedAfter Earliest last-modified time (inclusive)
+     * @param modifiedBefore Latest last-modified time (exclusive)
+     * @param storageClass Storage class, objects without one are STANDARD
+     */
+    public FindCriteria(String glob, Pattern regex, Long minSize, Long maxSize, Instant modifiedAfter,
+                        Instant modifiedBefore, String storageClass) {
+        this.glob = glob;
+        this.globPattern = glob != null ? KeyGlob.toPattern(glob) : null;
+        this.regex = regex;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.modifiedAfter = modifiedAfter;
+        this.modifiedBefore = modifiedBefore;
+        this.storageClass = storageClass;
+    }
+
+    /**
+     * Checks if an object satisfies every predicate
+     * @param object Listed object
+     * @return true if the object is selected
+     */
+    public boolean matches(S3Object object) {
+        return (globPattern == null || globPattern.matcher(object.key()).matches())
+                && (regex == null || regex.matcher(object.key()).find())
+                && (minSize == null || object.size() >= minSize)
+                && (maxSize == null || object.size() <= maxSize)
+                && (modifiedAfter == null || !object.lastModified().isBefore(modifiedAfter))
+                && (modifiedBefore == null || object.lastModified().isBefore(modifiedBefore))
+                && (storageClass == null || storageClass.equalsIgnoreCase(object.storageClassAsString() != null
+                        ? object.storageClassAsString() : DEFAULT_STORAGE_CLASS));
+    }
+
+    /**
+     * Gets the longest literal prefix every selected key must start with
+     * @return Listing prefix, empty if keys may start with anything
+     */
+    public String listingPrefix() {
+        String globPrefix = glob != null ? KeyGlob.literalPrefix(glob) : "";
+        String regexPrefix = regex != null ? regexPrefix(regex.pattern()) : "";
+        return globPrefix.length() >= regexPrefix.length() ? globPrefix : regexPrefix;
+    }
+
+    /**
+     * Checks if a directory-by-directory walk can skip subtrees, which is the case unless
+     * the glob crosses directories with {@code **} right after its literal prefix
+     * @return true if a delimiter walk is worth it
+     */
+    public boolean isPrunable() {
+        if (glob == null) {
+            return false;
+        }
+        String rest = glob.substring(KeyGlob.literalPrefix(glob).length());
+        int slash = rest.indexOf('/');
+        int anyDepth = rest.indexOf("**");
+        return anyDepth < 0 || (slash >= 0 && slash < anyDepth);
+    }
+
+    /**
+     * Checks if a selected key may exist under a directory prefix
+     * @param directory Directory prefix ending with "/"
+     * @return false if the whole subtree can be skipped
+     */
+    public boolean mayContain(String directory) {
+        return glob == null || KeyGlob.mayMatchUnder(glob, directory);
+    }
+
+    private static String regexPrefix(String pattern) {
+        if (!pattern.startsWith("^") || hasTopLevelAlternation(pattern)) {
+            // With an alternative such as "^a|b" keys may start with anything
+            return "";
+        }
+        int end = 1;
+        while (end < pattern.length() && REGEX_METACHARACTERS.indexOf(pattern.charAt(end)) < 0) {
+            end++;
+        }
+        if (end < pattern.length() && REGEX_QUANTIFIERS.indexOf(pattern.charAt(end)) >= 0) {
+            // The last literal character is optional or repeated
+            end--;
+        }
+        return pattern.substring(1, Math.max(1, end));
+    }
+
+    private static boolean hasTopLevelAlternation(String pattern) {
+        int groupDepth = 0;
+        int classDepth = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == 'Q') {
+                    // Skip a quoted section up to its \E
+                    int end = pattern.indexOf("\\E", i + 2);
+                    i = end < 0 ? pattern.length() : end + 1;
+                } else {
+                    i++;
+                }
+            } else if (c == '[') {
+                classDepth++;
+            } else if (c == ']' && classDepth > 0) {
+                classDepth--;
+            } else if (classDepth == 0) {
+                if (c == '(') {
+                    groupDepth++;
+                } else if (c == ')' && groupDepth > 0) {
+                    groupDepth--;
+                } else if (c == '|' && groupDepth == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
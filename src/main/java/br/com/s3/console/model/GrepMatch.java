@@ -0,0 +1,11 @@
+package br.com.s3.console.model;
+
+/**
+ * Line of an object matching a search pattern
+ *
+ * @param key Object key
+ * @param lineNumber Line number, starting at 1
+ * @param line Matching line
+ */
+public record GrepMatch(String key, long lineNumber, String line) {
+}
@@ -0,0 +1,15 @@
+package br.com.s3.console.model;
+
+import java.time.Instant;
+
+/**
+ * Summary of the local object index of a bucket
+ *
+ * @param bucketName Indexed bucket
+ * @param objects Number of indexed objects
+ * @param bytes Sum of the sizes of the indexed objects
+ * @param created Time the index was last written
+ * @param fileSize Size of the index file in bytes
+ */
+public record IndexInfo(String bucketName, long objects, long bytes, Instant created, long fileSize) {
+}
@@ -0,0 +1,17 @@
+package br.com.s3.console.model;
+
+/**
+ * File formats that bucket inventories can be exported to
+ */
+public enum InventoryFormat {
+
+    /**
+     * Comma-separated values with a header line
+     */
+    CSV,
+
+    /**
+     * One JSON object per line
+     */
+    NDJSON
+}
@@ -0,0 +1,31 @@
+package br.com.s3.console.model;
+
+import br.com.s3.console.util.KeyOrder;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Disjoint slice of a bucket keyspace, listed by a single paginator.
+ * A range covers every key from its head (inclusive) up to the end key (exclusive).
+ *
+ * @param head First object of the range, or null when the range starts at the beginning of the prefix
+ * @param endKey First key of the next range, or null when the range runs to the end of the prefix
+ */
+public record KeyRange(S3Object head, String endKey) {
+
+    /**
+     * Gets the key to be used as {@code StartAfter} when paginating the range
+     * @return Key of the head object or null if the range has no head
+     */
+    public String startAfter() {
+        return head != null ? head.key() : null;
+    }
+
+    /**
+     * Checks if a key is past the end of the range, in the order S3 lists keys
+     * @param key Object key
+     * @return true if the key belongs to a following range, false otherwise
+     */
+    public boolean isPastEnd(String key) {
+        return endKey != null && KeyOrder.compare(key, endKey) >= 0;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.s3.console.model;
+
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectAttributesRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListBucketsRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectVersionsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+
+/**
+ * Classes of S3 operations that get their own retry policy and attempt timeout
+ */
+public enum OperationClass {
+
+    /**
+     * Object and bucket reads (GET and HEAD)
+     */
+    READ,
+
+    /**
+     * Listings of buckets, objects, versions, uploads and parts
+     */
+    LIST,
+
+    /**
+     * Every operation that changes state, such as uploads, copies and deletes
+     */
+    WRITE;
+
+    /**
+     * Classifies a request
+     * @param request SDK request
+     * @return Class of the operation
+     */
+    public static OperationClass of(SdkRequest request) {
+        if (request instanceof GetObjectRequest || request instanceof HeadObjectRequest
+                || request instanceof HeadBucketRequest || request instanceof GetObjectAttributesRequest) {
+            return READ;
+        }
+        if (request instanceof ListObjectsV2Request || request instanceof ListObjectsRequest
+                || request instanceof ListObjectVersionsRequest || request instanceof ListBucketsRequest
+                || request instanceof ListMultipartUploadsRequest || request instanceof ListPartsRequest) {
+            return LIST;
+        }
+        return WRITE;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.s3.console.model;
+
+/**
+ * File stored in an archive object of a pack
+ *
+ * @param path Path of the file relative to the packed directory, with '/' separators
+ * @param archive Number of the archive object holding the file
+ * @param offset Position of the first byte of the file in the archive
+ * @param length Size of the file in bytes
+ */
+public record PackMember(String path, int archive, long offset, long length) {
+}
@@ -0,0 +1,17 @@
+package br.com.s3.console.model;
+
+/**
+ * HTTP methods that presigned URLs can be generated for
+ */
+public enum PresignMethod {
+
+    /**
+     * Download the object
+     */
+    GET,
+
+    /**
+     * Upload the object
+     */
+    PUT
+}
@@ -0,0 +1,11 @@
+package br.com.s3.console.model;
+
+/**
+ * Outcome of emptying a bucket before deleting it
+ *
+ * @param versions Number of object versions deleted
+ * @param deleteMarkers Number of delete markers removed
+ * @param multipartUploads Number of in-progress multipart uploads aborted
+ */
+public record PurgeResult(long versions, long deleteMarkers, long multipartUploads) {
+}
@@ -0,0 +1,17 @@
+package br.com.s3.console.model;
+
+/**
+ * Strategies used to discover split points of a bucket keyspace
+ */
+public enum SplitStrategy {
+
+    /**
+     * Probes the keyspace with single-key listings spread over the key alphabet
+     */
+    SAMPLE,
+
+    /**
+     * Splits on the common prefixes returned by a delimiter listing
+     */
+    DELIMITER
+}
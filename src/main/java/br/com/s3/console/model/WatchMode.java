@@ -0,0 +1,16 @@
+package br.com.s3.console.model;
+
+/**
+ * Strategy used by the {@code watch-bucket} command to find new objects
+ */
+public enum WatchMode {
+
+    /** Lists only the keys after the last seen key, for keys that always grow (dates, sequences) */
+    START_AFTER,
+
+    /** Lists the whole prefix and compares the ETags with the previous listing */
+    SNAPSHOT,
+
+    /** Polls with START_AFTER and switches to SNAPSHOT if a periodic check finds missed changes */
+    AUTO
+}
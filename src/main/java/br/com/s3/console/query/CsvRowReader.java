@@ -0,0 +1,113 @@
+package br.com.s3.console.query;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader for delimited text with a header line.
+ * Follows RFC 4180 quoting: quoted fields may hold delimiters, line breaks and doubled quotes.
+ */
+public class CsvRowReader implements RowReader {
+
+    private static final int END = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private List<String> header;
+    private int lookahead = -2;
+
+    /**
+     * @param reader Buffered source of the content
+     * @param delimiter Field delimiter
+     */
+    public CsvRowReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        if (header == null) {
+            header = readRecord();
+            if (header == null) {
+                return null;
+            }
+        }
+
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        Map<String, Object> row = new LinkedHashMap<>(header.size() * 2);
+        for (int i = 0; i < header.size(); i++) {
+            row.put(header.get(i), i < record.size() ? record.get(i) : null);
+        }
+        return row;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == END) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == END) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == END) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (lookahead != -2) {
+            int c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (lookahead == -2) {
+            lookahead = reader.read();
+        }
+        return lookahead;
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.s3.console.query;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming reader for JSON-lines content, one object per row.
+ * Nested objects are flattened into dotted column names and arrays are kept as JSON text.
+ */
+public class JsonRowReader implements RowReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+
+    /**
+     * @param reader Buffered source of the content
+     * @throws IOException if the parser cannot be created
+     */
+    public JsonRowReader(Reader reader) throws IOException {
+        this.parser = JSON_FACTORY.createParser(reader);
+    }
+
+    @Override
+    public Map<String, Object> next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at line " + parser.currentLocation().getLineNr());
+        }
+        Map<String, Object> row = new LinkedHashMap<>();
+        readObject("", row);
+        return row;
+    }
+
+    private void readObject(String path, Map<String, Object> row) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String column = path + parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (value) {
+                case START_OBJECT -> readObject(column + ".", row);
+                case START_ARRAY -> row.put(column, arrayText());
+                case VALUE_STRING -> row.put(column, parser.getText());
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> row.put(column, parser.getDecimalValue());
+                case VALUE_TRUE, VALUE_FALSE -> row.put(column, parser.getBooleanValue());
+                default -> row.put(column, null);
+            }
+        }
+    }
+
+    private String arrayText() throws IOException {
+        StringWriter text = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(text)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return text.toString();
+    }
+}
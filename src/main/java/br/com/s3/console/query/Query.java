@@ -0,0 +1,33 @@
+package br.com.s3.console.query;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Parsed query run over the rows of CSV and JSON-lines objects
+ *
+ * @param columns Projected columns, empty to keep every column
+ * @param countOnly true when only the number of matching rows is wanted ({@code COUNT(*)})
+ * @param filter Predicate selecting the rows
+ * @param limit Maximum number of rows, or zero for no limit
+ */
+public record Query(List<String> columns, boolean countOnly, Predicate<Map<String, Object>> filter, long limit) {
+
+    /**
+     * Applies the projection to a matching row
+     * @param row Row read from an object
+     * @return Row with only the projected columns, in projection order
+     */
+    public Map<String, Object> project(Map<String, Object> row) {
+        if (columns.isEmpty()) {
+            return row;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (String column : columns) {
+            projected.put(column, row.get(column));
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,311 @@
+package br.com.s3.console.query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Parser for the small SQL-like language accepted by the {@code query} command:
+ * <pre>
+ * SELECT *|COUNT(*)|column[, column...] [WHERE condition] [LIMIT n]
+ * </pre>
+ * Conditions combine comparisons ({@code = != <> < <= > >= LIKE}, {@code IS [NOT] NULL})
+ * with {@code AND}, {@code OR}, {@code NOT} and parentheses. Columns holding a dot are nested
+ * JSON fields, and columns with spaces are written between double quotes.
+ */
+public final class QueryParser {
+
+    private final List<String> tokens;
+    private int position;
+
+    private QueryParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses a query expression
+     * @param expression Query text
+     * @return Parsed query
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    public static Query parse(String expression) {
+        return new QueryParser(tokenize(expression)).query();
+    }
+
+    private Query query() {
+        expectKeyword("SELECT");
+        List<String> columns = new ArrayList<>();
+        boolean countOnly = false;
+        if (accept("*")) {
+            // every column
+        } else if (acceptKeyword("COUNT")) {
+            expect("(");
+            expect("*");
+            expect(")");
+            countOnly = true;
+        } else {
+            do {
+                columns.add(column());
+            } while (accept(","));
+        }
+
+        Predicate<Map<String, Object>> filter = row -> true;
+        if (acceptKeyword("WHERE")) {
+            filter = or();
+        }
+
+        long limit = 0;
+        if (acceptKeyword("LIMIT")) {
+            String value = next("row limit");
+            try {
+                limit = Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw invalid("LIMIT expects a number but found '" + value + "'");
+            }
+            if (limit <= 0) {
+                throw invalid("LIMIT must be positive");
+            }
+        }
+
+        if (position < tokens.size()) {
+            throw invalid("unexpected '" + tokens.get(position) + "'");
+        }
+        return new Query(List.copyOf(columns), countOnly, filter, limit);
+    }
+
+    private Predicate<Map<String, Object>> or() {
+        Predicate<Map<String, Object>> predicate = and();
+        while (acceptKeyword("OR")) {
+            predicate = predicate.or(and());
+        }
+        return predicate;
+    }
+
+    private Predicate<Map<String, Object>> and() {
+        Predicate<Map<String, Object>> predicate = not();
+        while (acceptKeyword("AND")) {
+            predicate = predicate.and(not());
+        }
+        return predicate;
+    }
+
+    private Predicate<Map<String, Object>> not() {
+        if (acceptKeyword("NOT")) {
+            return not().negate();
+        }
+        if (accept("(")) {
+            Predicate<Map<String, Object>> predicate = or();
+            expect(")");
+            return predicate;
+        }
+        return comparison();
+    }
+
+    private Predicate<Map<String, Object>> comparison() {
+        String column = column();
+
+        if (acceptKeyword("IS")) {
+            boolean negated = acceptKeyword("NOT");
+            expectKeyword("NULL");
+            return negated ? row -> row.get(column) != null : row -> row.get(column) == null;
+        }
+        if (acceptKeyword("LIKE")) {
+            Pattern pattern = likePattern(literal());
+            return row -> {
+                Object value = row.get(column);
+                return value != null && pattern.matcher(value.toString()).matches();
+            };
+        }
+
+        String operator = next("comparison operator");
+        Object literal = literal();
+        IntPredicate test = switch (operator) {
+            case "=" -> result -> result == 0;
+            case "!=", "<>" -> result -> result != 0;
+            case "<" -> result -> result < 0;
+            case "<=" -> result -> result <= 0;
+            case ">" -> result -> result > 0;
+            case ">=" -> result -> result >= 0;
+            default -> throw invalid("unknown operator '" + operator + "'");
+        };
+        return row -> {
+            Integer result = compare(row.get(column), literal);
+            return result != null && test.test(result);
+        };
+    }
+
+    /**
+     * Compares a row value with a literal, numerically when both are numbers
+     * @return Comparison result, or null when either side is missing so that no comparison matches
+     */
+    static Integer compare(Object value, Object literal) {
+        if (value == null || literal == null) {
+            return null;
+        }
+        if (literal instanceof Boolean) {
+            return value.toString().equalsIgnoreCase(literal.toString()) ? 0 : 1;
+        }
+        BigDecimal left = number(value);
+        BigDecimal right = number(literal);
+        if (left != null && right != null) {
+            return left.compareTo(right);
+        }
+        return value.toString().compareTo(literal.toString());
+    }
+
+    private static BigDecimal number(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        if (value instanceof String text && !text.isEmpty()
+                && (Character.isDigit(text.charAt(0)) || text.charAt(0) == '-')) {
+            try {
+                return new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Pattern likePattern(Object literal) {
+        if (!(literal instanceof String text)) {
+            throw invalid("LIKE expects a string");
+        }
+        StringBuilder regex = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '%' -> regex.append(".*");
+                case '_' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private String column() {
+        String token = next("column name");
+        if (token.startsWith("\"")) {
+            return token.substring(1, token.length() - 1).replace("\"\"", "\"");
+        }
+        if (!Character.isLetter(token.charAt(0)) && token.charAt(0) != '_') {
+            throw invalid("expected a column name but found '" + token + "'");
+        }
+        return token;
+    }
+
+    private Object literal() {
+        String token = next("value");
+        if (token.startsWith("'")) {
+            return token.substring(1, token.length() - 1).replace("''", "'");
+        }
+        switch (token.toUpperCase(Locale.ROOT)) {
+            case "NULL":
+                return null;
+            case "TRUE":
+                return Boolean.TRUE;
+            case "FALSE":
+                return Boolean.FALSE;
+            default:
+                try {
+                    return new BigDecimal(token);
+                } catch (NumberFormatException e) {
+                    throw invalid("expected a value but found '" + token + "'");
+                }
+        }
+    }
+
+    private String next(String expected) {
+        if (position >= tokens.size()) {
+            throw invalid("expected " + expected + " but the query ended");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean accept(String symbol) {
+        if (position < tokens.size() && tokens.get(position).equals(symbol)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!accept(symbol)) {
+            throw invalid("expected '" + symbol + "'");
+        }
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) {
+            throw invalid("expected " + keyword);
+        }
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'' || c == '"') {
+                int end = i + 1;
+                while (true) {
+                    if (end >= expression.length()) {
+                        throw invalid("unterminated " + (c == '\'' ? "string" : "column name"));
+                    }
+                    if (expression.charAt(end) == c) {
+                        if (end + 1 < expression.length() && expression.charAt(end + 1) == c) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                tokens.add(expression.substring(i, end + 1));
+                i = end + 1;
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '.'
+                    || (c == '-' && i + 1 < expression.length() && Character.isDigit(expression.charAt(i + 1)))) {
+                int end = i + 1;
+                while (end < expression.length() && (Character.isLetterOrDigit(expression.charAt(end))
+                        || expression.charAt(end) == '_' || expression.charAt(end) == '.')) {
+                    end++;
+                }
+                tokens.add(expression.substring(i, end));
+                i = end;
+            } else if ((c == '!' || c == '<' || c == '>') && i + 1 < expression.length()
+                    && (expression.charAt(i + 1) == '=' || (c == '<' && expression.charAt(i + 1) == '>'))) {
+                tokens.add(expression.substring(i, i + 2));
+                i += 2;
+            } else if ("=<>(),*".indexOf(c) >= 0) {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else {
+                throw invalid("unexpected character '" + c + "'");
+            }
+        }
+        return tokens;
+    }
+
+    private static IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException("Invalid query: " + message);
+    }
+}
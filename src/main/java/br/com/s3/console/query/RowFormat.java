@@ -0,0 +1,30 @@
+package br.com.s3.console.query;
+
+import java.util.Locale;
+
+/**
+ * Row-oriented object formats understood by the {@code query} command
+ */
+public enum RowFormat {
+    CSV,
+    JSON;
+
+    /**
+     * Guesses the format of an object from its key, ignoring a trailing {@code .gz}
+     * @param key Object key
+     * @return Format matching the extension, or null if the extension is unknown
+     */
+    public static RowFormat fromKey(String key) {
+        String name = key.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith(".csv") || name.endsWith(".tsv")) {
+            return CSV;
+        }
+        if (name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON;
+        }
+        return null;
+    }
+}
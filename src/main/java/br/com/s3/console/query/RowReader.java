@@ -0,0 +1,17 @@
+package br.com.s3.console.query;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Pull-based reader producing one row at a time, so that objects are never held in memory whole
+ */
+public interface RowReader {
+
+    /**
+     * Reads the next row
+     * @return Column values by column name, or null at the end of the content
+     * @throws IOException if the content cannot be read or parsed
+     */
+    Map<String, Object> next() throws IOException;
+}
@@ -1,5 +1,15 @@
 package br.com.s3.console.service;
 
+import br.com.s3.console.config.ProfileProperties.Profile;
+import br.com.s3.console.job.Job;
+import br.com.s3.console.model.BucketStats;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.transfer.TransferProgress;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Statistic;
 import org.springframework.shell.table.ArrayTableModel;
 import org.springframework.shell.table.BorderStyle;
 import org.springframework.shell.table.TableBuilder;
@@ -7,15 +17,28 @@ import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.s3.model.Bucket;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Service responsible for formatting and printing console output
  */
 @Service
 public class PrinterService {
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int PROGRESS_BAR_WIDTH = 24;
+    private static final DateTimeFormatter LINE_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
 
     /**
      * Formats a list of buckets as a table for console output
@@ -78,6 +101,310 @@ public class PrinterService {
         return buildTable(data, "Files in bucket '" + bucketName + "':");
     }
     
+    /**
+     * Formats aggregated bucket figures as a per storage class table followed by totals
+     * 
+     * @param stats Aggregated figures
+     * @param location Bucket and prefix the figures refer to
+     * @return Formatted string with the table representation
+     */
+    public String formatBucketStats(BucketStats stats, String location) {
+        if (stats.objects() == 0) {
+            return "No objects found in '" + location + "'.";
+        }
+        
+        // Create table header
+        String[][] data = new String[stats.objectsByStorageClass().size() + 2][3];
+        data[0] = new String[]{"Storage Class", "Objects", "Size"};
+        
+        int row = 1;
+        for (Map.Entry<String, Long> entry : stats.objectsByStorageClass().entrySet()) {
+            data[row++] = new String[]{
+                    entry.getKey(),
+                    String.valueOf(entry.getValue()),
+                    formatBytes(stats.bytesByStorageClass().get(entry.getKey()))
+            };
+        }
+        data[row] = new String[]{"Total", String.valueOf(stats.objects()), formatBytes(stats.bytes())};
+        
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")
+                .withZone(ZoneId.systemDefault());
+        return buildTable(data, "Statistics of '" + location + "':")
+                + "Largest object: " + stats.largestKey() + " (" + formatBytes(stats.largestSize()) + ")\n"
+                + "Oldest modification: " + (stats.oldest() != null ? formatter.format(stats.oldest()) : "N/A") + "\n"
+                + "Newest modification: " + (stats.newest() != null ? formatter.format(stats.newest()) : "N/A");
+    }
+    
+    /**
+     * Formats application meters as a table for console output
+     * 
+     * @param meters Meters to display, in display order
+     * @return Formatted string with one row per meter
+     */
+    public String formatMetrics(List<Meter> meters) {
+        if (meters.isEmpty()) {
+            return "No metrics available.";
+        }
+        
+        String[][] data = new String[meters.size() + 1][2];
+        data[0] = new String[]{"Metric", "Value"};
+        
+        for (int i = 0; i < meters.size(); i++) {
+            StringBuilder value = new StringBuilder();
+            for (Measurement measurement : meters.get(i).measure()) {
+                if (!value.isEmpty()) {
+                    value.append(", ");
+                }
+                if (measurement.getStatistic() != Statistic.VALUE
+                        && measurement.getStatistic() != Statistic.COUNT) {
+                    value.append(measurement.getStatistic().getTagValueRepresentation()).append('=');
+                }
+                double number = measurement.getValue();
+                value.append(number == Math.rint(number) && !Double.isInfinite(number)
+                        ? String.valueOf((long) number)
+                        : String.format(Locale.ROOT, "%.2f", number));
+            }
+            data[i + 1] = new String[]{meters.get(i).getId().getName(), value.toString()};
+        }
+        
+        return buildTable(data, "Metrics:");
+    }
+    
+    /**
+     * Formats the endpoint profiles as a table for console output
+     * 
+     * @param profiles Profiles by name, in display order
+     * @param currentProfile Name of the selected profile, marked with an asterisk
+     * @return Formatted string with one row per profile
+     */
+    public String formatProfiles(Map<String, Profile> profiles, String currentProfile) {
+        String[][] data = new String[profiles.size() + 1][3];
+        data[0] = new String[]{"Name", "Endpoint", "Region"};
+        
+        int row = 1;
+        for (Map.Entry<String, Profile> entry : profiles.entrySet()) {
+            data[row++] = new String[]{
+                    entry.getKey().equals(currentProfile) ? "* " + entry.getKey() : entry.getKey(),
+                    entry.getValue().endpoint() != null ? entry.getValue().endpoint() : "AWS",
+                    entry.getValue().region()
+            };
+        }
+        
+        return buildTable(data, "Endpoint profiles:");
+    }
+    
+    /**
+     * Formats the outcome of a bulk operation as a single summary line
+     * 
+     * @param action Past-tense verb describing the operation (e.g. "Copied")
+     * @param result Outcome of the operation
+     * @return Formatted summary with counts, volume and throughput
+     */
+    public String formatBulkResult(String action, BulkResult result) {
+        StringBuilder summary = new StringBuilder()
+                .append(action).append(' ')
+                .append(result.objects()).append(" object(s), ")
+                .append(formatBytes(result.bytes()));
+        
+        if (result.skipped() > 0) {
+            summary.append(", skipped ").append(result.skipped());
+        }
+        
+        return summary.append(String.format(Locale.ROOT, " in %.1f s (%s/s)",
+                        result.elapsed().toMillis() / 1000.0, formatBytes((long) result.bytesPerSecond())))
+                .toString();
+    }
+    
+    /**
+     * Formats the progress of a transfer as a single line with a bar, when the total size is known,
+     * the recent and average rates, the estimated time left, the state of the parts and, for
+     * operations over several objects, the number of objects done
+     * 
+     * @param progress Snapshot of the progress
+     * @return Formatted progress line
+     */
+    public String formatProgress(TransferProgress.Snapshot progress) {
+        StringBuilder line = new StringBuilder();
+        if (progress.totalBytes() > 0) {
+            double ratio = Math.min(1.0, (double) progress.bytesDone() / progress.totalBytes());
+            int filled = (int) (ratio * PROGRESS_BAR_WIDTH);
+            line.append('[').append("#".repeat(filled)).append("-".repeat(PROGRESS_BAR_WIDTH - filled))
+                    .append(String.format(Locale.ROOT, "] %3d%% ", (int) (ratio * 100)))
+                    .append(formatBytes(progress.bytesDone())).append(" / ").append(formatBytes(progress.totalBytes()));
+        } else {
+            line.append(formatBytes(progress.bytesDone()));
+        }
+        
+        line.append("  ").append(formatBytes((long) progress.rate())).append("/s")
+                .append(" (avg ").append(formatBytes((long) progress.averageRate())).append("/s)");
+        if (progress.eta() != null) {
+            line.append("  ETA ").append(formatDuration(progress.eta()));
+        }
+        if (progress.partsQueued() + progress.partsUploading() + progress.partsCompleted() > 0) {
+            line.append("  parts: ").append(progress.partsUploading()).append(" uploading, ")
+                    .append(progress.partsQueued()).append(" queued, ")
+                    .append(progress.partsCompleted()).append(" done");
+        }
+        long objects = progress.objectsCompleted() + progress.objectsFailed() + progress.objectsActive();
+        if (objects > 1) {
+            line.append("  objects: ").append(progress.objectsCompleted()).append(" done, ")
+                    .append(progress.objectsActive()).append(" active");
+            if (progress.objectsFailed() > 0) {
+                line.append(", ").append(progress.objectsFailed()).append(" failed");
+            }
+        }
+        return line.toString();
+    }
+    
+    /**
+     * Formats the background jobs as a table for console output
+     * 
+     * @param jobs Jobs in submission order
+     * @return Formatted string with one row per job
+     */
+    public String formatJobsTable(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return "No jobs submitted.";
+        }
+        
+        String[][] data = new String[jobs.size() + 1][5];
+        data[0] = new String[]{"Id", "State", "Priority", "Description", "Transferred"};
+        
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            TransferProgress.Snapshot progress = job.progress().snapshot();
+            data[i + 1] = new String[]{
+                    String.valueOf(job.id()),
+                    job.state().name().toLowerCase(Locale.ROOT),
+                    job.priority().name().toLowerCase(Locale.ROOT),
+                    job.description(),
+                    progress.totalBytes() > 0
+                            ? formatBytes(progress.bytesDone()) + " / " + formatBytes(progress.totalBytes())
+                            : formatBytes(progress.bytesDone())
+            };
+        }
+        
+        return buildTable(data, "Jobs:");
+    }
+    
+    /**
+     * Formats the confirmation of a job submitted to run in the background
+     * 
+     * @param job Submitted job
+     * @return Formatted line pointing to the job commands
+     */
+    public String formatJobSubmitted(Job job) {
+        return "Job " + job.id() + " submitted: " + job.description()
+                + ". Use 'job-status --id " + job.id() + "' to follow it.";
+    }
+    
+    /**
+     * Formats the state of a background job, with its progress while it runs and its
+     * result or error once it is over
+     * 
+     * @param job Background job
+     * @return Formatted multi-line status
+     */
+    public String formatJobStatus(Job job) {
+        StringBuilder status = new StringBuilder()
+                .append("Job ").append(job.id()).append(": ").append(job.description())
+                .append(" (").append(job.priority().name().toLowerCase(Locale.ROOT)).append(")\n")
+                .append("State: ").append(job.state().name().toLowerCase(Locale.ROOT));
+        
+        Instant startedAt = job.startedAt();
+        Instant finishedAt = job.finishedAt();
+        if (startedAt == null) {
+            if (job.isCancelled()) {
+                status.append(" before it started");
+            }
+        } else if (finishedAt == null && job.isCancelled()) {
+            status.append(", stopping");
+        } else {
+            status.append(finishedAt != null ? " after " : " for ")
+                    .append(formatDuration(Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now())));
+        }
+        
+        if (startedAt != null) {
+            status.append("\nProgress: ").append(formatProgress(job.progress().snapshot()));
+        }
+        if (job.result() != null) {
+            status.append("\nResult: ").append(job.result());
+        }
+        if (job.error() != null) {
+            status.append("\nError: ").append(job.error());
+        }
+        return status.toString();
+    }
+        
+            private static String formatDuration(Duration duration) {
+        long seconds = duration.toSeconds();
+        return seconds >= 3600
+                ? String.format(Locale.ROOT, "%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60)
+                : String.format(Locale.ROOT, "%d:%02d", seconds / 60, seconds % 60);
+    }
+    
+    /**
+     * Formats a byte count using binary units
+     * 
+     * @param bytes Number of bytes
+     * @return Human readable size (e.g. "1.5 MiB")
+     */
+    public String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        
+        String[] units = {"KiB", "MiB", "GiB", "TiB", "PiB"};
+        double value = bytes;
+        int unit = -1;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format(Locale.ROOT, "%.1f %s", value, units[unit]);
+    }
+    
+    /**
+     * Formats an S3 object as a single line with its size, last modification date and key
+     * 
+     * @param object S3 object to display
+     * @return Formatted line
+     */
+    public String formatObjectLine(S3Object object) {
+        return String.format(Locale.ROOT, "%10s  %s  %s", formatBytes(object.size()),
+                LINE_DATE_FORMATTER.format(object.lastModified()), object.key());
+    }
+    
+    /**
+     * Formats a query result row as a single line JSON object
+     * 
+     * @param row Column values by column name
+     * @return JSON text of the row
+     */
+    public String formatRow(Map<String, Object> row) {
+        StringWriter text = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(text)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, Object> column : row.entrySet()) {
+                generator.writeFieldName(column.getKey());
+                Object value = column.getValue();
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return text.toString();
+    }
+    
     /**
      * Builds a formatted table from data
      * 
@@ -1,62 +1,160 @@
 package br.com.s3.console.service;
 
-import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.buffer.BufferPool;
+import br.com.s3.console.concurrent.RequestHedger;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.transfer.TransferListener;
+import br.com.s3.console.transfer.TransferMetrics;
+import br.com.s3.console.util.FileChannels;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.ResponseInputStream;
-import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 public class S3BucketFileService {
 
+    private static final int STREAM_BUFFER_SIZE = 8 * 1024;
+    private static final int DOWNLOAD_BUFFER_SIZE = 1024 * 1024;
+    private static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+    private static final int DEFAULT_PART_CONCURRENCY = 4;
+    private static final int TAIL_CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_TAIL_CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+    /**
+     * Concurrent paginators of the listings of whole prefixes
+     */
+    private static final int LISTING_PARALLELISM = 4;
+    private static final int DELETE_BATCH_SIZE = 1000;
+
     private final S3Client s3Client;
-    private final BucketContext bucketContext;
+    private final S3ListingService s3ListingService;
+    private final RequestHedger requestHedger;
+    private final S3MultipartUploadService s3MultipartUploadService;
+    private final BufferPool bufferPool;
+    private final TransferMetrics transferMetrics;
 
-    public S3BucketFileService(S3Client s3Client, BucketContext bucketContext) {
+    public S3BucketFileService(S3Client s3Client, S3ListingService s3ListingService, RequestHedger requestHedger,
+                               S3MultipartUploadService s3MultipartUploadService, BufferPool bufferPool,
+                               TransferMetrics transferMetrics) {
         this.s3Client = s3Client;
-        this.bucketContext = bucketContext;
+        this.s3ListingService = s3ListingService;
+        this.requestHedger = requestHedger;
+        this.s3MultipartUploadService = s3MultipartUploadService;
+        this.bufferPool = bufferPool;
+        this.transferMetrics = transferMetrics;
     }
 
     /**
-     * Lists all objects in the current S3 bucket
+     * Lists all objects in an S3 bucket
+     * @param bucketName Bucket name
      * @return List of S3 objects
      */
-    public List<S3Object> listObjects() {
-        checkBucketSelected();
-        
+    public List<S3Object> listObjects(String bucketName) {
+        return listObjects(bucketName, "");
+    }
+
+    /**
+     * Lists the objects under a prefix of an S3 bucket, following every page
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @return List of S3 objects in key order
+     */
+    public List<S3Object> listObjects(String bucketName, String prefix) {
+        try (Stream<S3Object> objects = streamObjects(bucketName, prefix, LISTING_PARALLELISM, true)) {
+            return objects.toList();
+        }
+    }
+
+    /**
+     * Lists the objects under a prefix of an S3 bucket whose keys sort after a given key.
+     * S3 skips the earlier keys server-side, so polling for new keys of an append-style layout
+     * (dated or sequential keys) costs a single request once the listing has caught up.
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param startAfter Key to list after, or null to list from the start of the prefix
+     * @return S3 objects in key order, following every page
+     */
+    public List<S3Object> listObjectsAfter(String bucketName, String prefix, String startAfter) {
         try {
-            ListObjectsV2Request request = ListObjectsV2Request.builder()
-                    .bucket(bucketContext.getCurrentBucket())
-                    .build();
-            
-            ListObjectsV2Response response = s3Client.listObjectsV2(request);
-            return response.contents();
+            List<S3Object> objects = new ArrayList<>();
+            String continuationToken = null;
+            ListObjectsV2Response response;
+            do {
+                response = s3Client.listObjectsV2(ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .prefix(prefix.isEmpty() ? null : prefix)
+                        .startAfter(continuationToken == null ? startAfter : null)
+                        .continuationToken(continuationToken)
+                        .build());
+                objects.addAll(response.contents());
+                continuationToken = response.nextContinuationToken();
+            } while (Boolean.TRUE.equals(response.isTruncated()) && continuationToken != null);
+            return objects;
         } catch (S3Exception e) {
             throw new RuntimeException("Error listing objects from bucket: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Streams every object under a prefix of an S3 bucket,
+     * listing disjoint key ranges concurrently.
+     * The returned stream must be closed once consumed.
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param parallelism Number of concurrent paginators
+     * @param ordered true to return objects in key order
+     * @return Stream of S3 objects
+     */
+    public Stream<S3Object> streamObjects(String bucketName, String prefix, int parallelism, boolean ordered) {
+        return s3ListingService.listObjects(bucketName, prefix, parallelism, SplitStrategy.SAMPLE, ordered);
+    }
+
     /**
      * Downloads an object from S3
+     * @param bucketName Bucket name
      * @param key Object key
      * @param destinationPath Destination path to save the file
      * @return Path of the downloaded file
      */
-    public Path downloadObject(String key, String destinationPath) {
-        checkBucketSelected();
-        
+    public Path downloadObject(String bucketName, String key, String destinationPath) {
+        return downloadObject(bucketName, key, destinationPath, false, TransferListener.NONE);
+    }
+
+    /**
+     * Downloads an object from S3, writing it through a file channel with positional writes
+     * @param bucketName Bucket name
+     * @param key Object key
+     * @param destinationPath Destination path to save the file
+     * @param preallocate true to extend the file to the size of the object before writing it
+     * @param listener Listener notified of the bytes written
+     * @return Path of the downloaded file
+     */
+    public Path downloadObject(String bucketName, String key, String destinationPath, boolean preallocate,
+                               TransferListener listener) {
+        TransferListener progress = TransferListener.of(listener, transferMetrics);
+        boolean started = false;
         try {
             GetObjectRequest request = GetObjectRequest.builder()
-                    .bucket(bucketContext.getCurrentBucket())
+                    .bucket(bucketName)
                     .key(key)
                     .build();
             
@@ -68,25 +166,178 @@ public class S3BucketFileService {
                 file.getParentFile().mkdirs();
             }
             
-            ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request);
-            Files.copy(response, filePath, StandardCopyOption.REPLACE_EXISTING);
+            try (ResponseInputStream<GetObjectResponse> response = getObject(request);
+                 FileChannel output = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 BufferPool.Lease lease = bufferPool.lease(DOWNLOAD_BUFFER_SIZE)) {
+                Long size = response.response().contentLength();
+                progress.transferStarted(key, size != null ? size : -1);
+                started = true;
+                if (preallocate && size != null) {
+                    FileChannels.preallocate(output, size);
+                }
+                long written;
+                try {
+                    written = FileChannels.transfer(response, output, 0, lease.buffer(),
+                            count -> progress.bytesTransferred(key, count));
+                } catch (IOException | RuntimeException e) {
+                    // Drop the connection instead of draining the rest of the object, as when a job is cancelled
+                    response.abort();
+                    throw e;
+                }
+                if (output.size() > written) {
+                    // The object was shorter than announced
+                    output.truncate(written);
+                }
+            }
             
+            progress.transferCompleted(key);
             return filePath;
         } catch (Exception e) {
+            if (started) {
+                progress.transferFailed(key, e);
+            }
             throw new RuntimeException("Error downloading object: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Streams a byte range of an object to an output stream with a single ranged GET
+     * @param bucketName Bucket name
+     * @param key Object key
+     * @param offset First byte to read
+     * @param length Number of bytes to read, or a negative value to read until the end
+     * @param output Stream receiving the bytes
+     * @return Number of bytes written
+     */
+    public long streamRange(String bucketName, String key, long offset, long length, OutputStream output) {
+        if (length == 0) {
+            return 0;
+        }
+        String range = "bytes=" + offset + "-" + (length > 0 ? String.valueOf(offset + length - 1) : "");
+        try (ResponseInputStream<GetObjectResponse> response = getRange(bucketName, key, range)) {
+            return response == null ? 0 : copy(response, output, Long.MAX_VALUE);
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading object: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the beginning of an object, stopping after a number of lines or bytes.
+     * When limited by lines, the connection is aborted as soon as enough lines were read.
+     * @param bucketName Bucket name
+     * @param key Object key
+     * @param maxBytes Number of bytes to read, or zero to limit by lines
+     * @param maxLines Number of lines to read when not limited by bytes
+     * @param output Stream receiving the bytes
+     * @return Number of bytes written
+     */
+    public long streamHead(String bucketName, String key, long maxBytes, int maxLines, OutputStream output) {
+        if (maxBytes > 0) {
+            return streamRange(bucketName, key, 0, maxBytes, output);
+        }
+        ResponseInputStream<GetObjectResponse> response = null;
+        try {
+            response = getRange(bucketName, key, "bytes=0-");
+            if (response == null) {
+                return 0;
+            }
+            
+            long written = 0;
+            int lines = 0;
+            try (BufferPool.Lease lease = bufferPool.lease(STREAM_BUFFER_SIZE)) {
+                ByteBuffer buffer = lease.buffer();
+                byte[] bytes = buffer.array();
+                int offset = buffer.arrayOffset();
+                int read;
+                while (lines < maxLines && (read = response.read(bytes, offset, buffer.limit())) != -1) {
+                    int end = 0;
+                    while (end < read && lines < maxLines) {
+                        if (bytes[offset + end++] == '\n') {
+                            lines++;
+                        }
+                    }
+                    output.write(bytes, offset, end);
+                    written += end;
+                }
+            }
+            output.flush();
+            
+            if (lines >= maxLines) {
+                // Stop the transfer instead of draining the rest of the object
+                response.abort();
+            }
+            return written;
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading object: " + e.getMessage(), e);
+        } finally {
+            closeQuietly(response);
+        }
+    }
+
+    /**
+     * Streams the end of an object using suffix range requests.
+     * When limited by lines, the suffix window grows only if it does not hold enough lines.
+     * @param bucketName Bucket name
+     * @param key Object key
+     * @param maxBytes Number of bytes to read, or zero to limit by lines
+     * @param maxLines Number of lines to read when not limited by bytes
+     * @param output Stream receiving the bytes
+     * @return Number of bytes written
+     */
+    public long streamTail(String bucketName, String key, long maxBytes, int maxLines, OutputStream output) {
+        try {
+            if (maxBytes > 0) {
+                try (ResponseInputStream<GetObjectResponse> response =
+                             getRange(bucketName, key, "bytes=-" + maxBytes)) {
+                    return response == null ? 0 : copy(response, output, Long.MAX_VALUE);
+                }
+            }
+            
+            if (maxLines <= 0) {
+                return 0;
+            }
+            
+            int window = TAIL_CHUNK_SIZE;
+            while (true) {
+                try (BufferPool.Lease lease = bufferPool.lease(window)) {
+                    ByteBuffer data = lease.buffer();
+                    boolean wholeObject;
+                    try (ResponseInputStream<GetObjectResponse> response =
+                                 getRange(bucketName, key, "bytes=-" + window)) {
+                        if (response == null) {
+                            return 0;
+                        }
+                        int read = response.readNBytes(data.array(), data.arrayOffset(), data.limit());
+                        data.limit(read);
+                        wholeObject = data.limit() < window || isWholeObject(response.response().contentRange());
+                    }
+                    
+                    int start = tailLinesStart(data, maxLines);
+                    if (start >= 0 || wholeObject || window >= MAX_TAIL_CHUNK_SIZE) {
+                        data.position(Math.max(start, 0));
+                        int written = data.remaining();
+                        output.write(data.array(), data.arrayOffset() + data.position(), written);
+                        output.flush();
+                        return written;
+                    }
+                }
+                window = Math.min(window * 4, MAX_TAIL_CHUNK_SIZE);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Error reading object: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Deletes an object from S3
+     * @param bucketName Bucket name
      * @param key Object key
      */
-    public void deleteObject(String key) {
-        checkBucketSelected();
-        
+    public void deleteObject(String bucketName, String key) {
         try {
             DeleteObjectRequest request = DeleteObjectRequest.builder()
-                    .bucket(bucketContext.getCurrentBucket())
+                    .bucket(bucketName)
                     .key(key)
                     .build();
             
@@ -98,71 +349,217 @@ public class S3BucketFileService {
 
     /**
      * Uploads a file to S3
+     * @param bucketName Bucket name
      * @param filePath Local file path
      * @param key Object key in S3
      */
-    public void uploadObject(String filePath, String key) {
-        checkBucketSelected();
-        
+    public void uploadObject(String bucketName, String filePath, String key) {
+        uploadObject(bucketName, filePath, key, DEFAULT_PART_SIZE, DEFAULT_PART_CONCURRENCY, TransferListener.NONE);
+    }
+
+    /**
+     * Uploads a file to S3, in concurrent parts read into pooled buffers when it is larger than one part
+     * @param bucketName Bucket name
+     * @param filePath Local file path
+     * @param key Object key in S3
+     * @param partSize Size of the uploaded parts
+     * @param partConcurrency Number of concurrent part uploads
+     * @param listener Listener notified of the parts and bytes uploaded
+     * @return Number of bytes uploaded
+     */
+    public long uploadObject(String bucketName, String filePath, String key, long partSize, int partConcurrency,
+                             TransferListener listener) {
+        return uploadObject(bucketName, filePath, key, Map.of(), partSize, partConcurrency, listener);
+    }
+
+    /**
+     * Uploads a file to S3 with user metadata, in concurrent parts read into pooled buffers
+     * when it is larger than one part
+     * @param bucketName Bucket name
+     * @param filePath Local file path
+     * @param key Object key in S3
+     * @param metadata User metadata of the object
+     * @param partSize Size of the uploaded parts
+     * @param partConcurrency Number of concurrent part uploads
+     * @param listener Listener notified of the parts and bytes uploaded
+     * @return Number of bytes uploaded
+     */
+    public long uploadObject(String bucketName, String filePath, String key, Map<String, String> metadata,
+                             long partSize, int partConcurrency, TransferListener listener) {
+        TransferListener progress = TransferListener.of(listener, transferMetrics);
+        boolean started = false;
         try {
-            File file = new File(filePath);
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucketContext.getCurrentBucket())
-                    .key(key)
-                    .build();
-            
-            s3Client.putObject(request, RequestBody.fromFile(file));
+            Path file = Path.of(filePath);
+            progress.transferStarted(key, Files.size(file));
+            started = true;
+            long uploaded = s3MultipartUploadService.uploadFile(s3Client, bucketName, key, file, null, metadata,
+                    partSize, partConcurrency, progress);
+            progress.transferCompleted(key);
+            return uploaded;
         } catch (Exception e) {
+            if (started) {
+                progress.transferFailed(key, e);
+            }
             throw new RuntimeException("Error uploading object: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Deletes all objects from the S3 bucket
-     * @return Number of objects deleted
+     * Uploads a stream of unknown length, such as standard input or a named pipe, to S3
+     * without staging it on disk. Parts are uploaded concurrently while the next ones are read.
+     *
+     * @param bucketName Bucket name
+     * @param content Stream to upload, read to its end
+     * @param key Object key in S3
+     * @param contentType Content type of the object, or null for binary content
+     * @param partSize Size of the uploaded parts
+     * @param partConcurrency Number of concurrent part uploads
+     * @param listener Listener notified of the parts and bytes uploaded
+     * @return Number of bytes uploaded
      */
-    public int deleteAllObjects() {
-        checkBucketSelected();
-        
+    public long uploadStream(String bucketName, InputStream content, String key, String contentType, long partSize,
+                             int partConcurrency, TransferListener listener) {
+        TransferListener progress = TransferListener.of(listener, transferMetrics);
+        progress.transferStarted(key, -1);
         try {
-            ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
-                    .bucket(bucketContext.getCurrentBucket())
-                    .build();
-            
-            ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
-            List<S3Object> objects = listResponse.contents();
-            
-            if (objects.isEmpty()) {
-                return 0;
+            long uploaded = s3MultipartUploadService.upload(s3Client, bucketName, key, content,
+                    contentType, Map.of(), partSize, partConcurrency, progress);
+            progress.transferCompleted(key);
+            return uploaded;
+        } catch (S3Exception e) {
+            progress.transferFailed(key, e);
+            throw new RuntimeException("Error uploading object: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            progress.transferFailed(key, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes all objects from an S3 bucket, listing it with the listing engine
+     * and deleting the keys in batches of 1000 as they are listed
+     * @param bucketName Bucket name
+     * @return Number of objects deleted
+     */
+    public int deleteAllObjects(String bucketName) {
+        int deleted = 0;
+        List<ObjectIdentifier> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        try (Stream<S3Object> objects = streamObjects(bucketName, "", LISTING_PARALLELISM, false)) {
+            Iterator<S3Object> iterator = objects.iterator();
+            while (iterator.hasNext()) {
+                batch.add(ObjectIdentifier.builder().key(iterator.next().key()).build());
+                if (batch.size() == DELETE_BATCH_SIZE || !iterator.hasNext()) {
+                    deleted += deleteBatch(bucketName, batch);
+                    batch.clear();
+                }
             }
-            
-            // Create a list of objects for deletion
-            List<ObjectIdentifier> objectsToDelete = objects.stream()
-                    .map(obj -> ObjectIdentifier.builder().key(obj.key()).build())
-                    .collect(Collectors.toList());
-            
-            // Create the batch deletion request
-            DeleteObjectsRequest deleteRequest = DeleteObjectsRequest.builder()
-                    .bucket(bucketContext.getCurrentBucket())
-                    .delete(Delete.builder().objects(objectsToDelete).build())
-                    .build();
-            
-            // Execute the batch deletion
-            DeleteObjectsResponse deleteResponse = s3Client.deleteObjects(deleteRequest);
-            
-            return deleteResponse.deleted().size();
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes up to 1000 objects with a single DeleteObjects request
+     * @return Number of objects deleted
+     */
+    private int deleteBatch(String bucketName, List<ObjectIdentifier> batch) {
+        DeleteObjectsResponse response;
+        try {
+            response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder().objects(batch).build())
+                    .build());
         } catch (S3Exception e) {
             throw new RuntimeException("Error clearing bucket: " + e.getMessage(), e);
         }
+        if (!response.errors().isEmpty()) {
+            S3Error error = response.errors().get(0);
+            throw new RuntimeException("Error deleting object '" + error.key() + "': " + error.message()
+                    + " (" + response.errors().size() + " object(s) not deleted)");
+        }
+        return response.deleted().size();
     }
     
     /**
-     * Checks if a bucket is selected
-     * @throws IllegalStateException if no bucket is selected
+     * Issues a ranged GET on a bucket
+     * @return Response stream, or null when the object is empty and the range cannot be satisfied
      */
-    private void checkBucketSelected() {
-        if (!bucketContext.hasBucketSelected()) {
-            throw new IllegalStateException("No bucket selected. Use the 'use-bucket' command to select a bucket.");
+    private ResponseInputStream<GetObjectResponse> getRange(String bucketName, String key, String range) {
+        try {
+            return getObject(GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .range(range)
+                    .build());
+        } catch (S3Exception e) {
+            if (e.statusCode() == RANGE_NOT_SATISFIABLE) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Copies up to a number of bytes through a buffer leased from the pool
+     */
+    private long copy(InputStream input, OutputStream output, long limit) throws IOException {
+        long written = 0;
+        try (BufferPool.Lease lease = bufferPool.lease(STREAM_BUFFER_SIZE)) {
+            ByteBuffer buffer = lease.buffer();
+            byte[] bytes = buffer.array();
+            int offset = buffer.arrayOffset();
+            int read;
+            while (written < limit
+                    && (read = input.read(bytes, offset, (int) Math.min(buffer.capacity(), limit - written))) != -1) {
+                output.write(bytes, offset, read);
+                written += read;
+            }
+        }
+        output.flush();
+        return written;
+    }
+
+    /**
+     * Finds where the last lines of a buffer begin, ignoring a trailing line break
+     * @param data Buffer holding the end of an object from index zero up to its limit
+     * @return Index of the first byte of the last lines, or -1 if the buffer holds fewer lines
+     */
+    static int tailLinesStart(ByteBuffer data, int lines) {
+        int end = data.limit();
+        if (end > 0 && data.get(end - 1) == '\n') {
+            end--;
+        }
+        int found = 0;
+        for (int i = end - 1; i >= 0; i--) {
+            if (data.get(i) == '\n' && ++found == lines) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWholeObject(String contentRange) {
+        // Content-Range has the form "bytes first-last/total"
+        return contentRange != null && contentRange.startsWith("bytes 0-");
+    }
+
+    /**
+     * Issues a GET hedged against slow responses, aborting the response that loses the race
+     */
+    private ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        return requestHedger.call("GetObject", () -> s3Client.getObject(request), response -> {
+            response.abort();
+            closeQuietly(response);
+        });
+    }
+    
+    private static void closeQuietly(InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // The stream was aborted or already fully consumed
         }
     }
 } 
\ No newline at end of file
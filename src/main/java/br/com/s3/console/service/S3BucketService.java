@@ -1,21 +1,35 @@
 package br.com.s3.console.service;
 
+import br.com.s3.console.concurrent.BulkExecutor;
 import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.PurgeResult;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class S3BucketService {
 
     private final S3Client s3Client;
     private final BucketContext bucketContext;
+    private final BulkExecutor bulkExecutor;
 
-    public S3BucketService(S3Client s3Client, BucketContext bucketContext) {
+    public S3BucketService(S3Client s3Client, BucketContext bucketContext, BulkExecutor bulkExecutor) {
         this.s3Client = s3Client;
         this.bucketContext = bucketContext;
+        this.bulkExecutor = bulkExecutor;
     }
 
     /**
@@ -53,9 +67,10 @@ public class S3BucketService {
      */
     public void deleteBucket(String bucketName) {
         try {
-            // Check if the bucket is empty
+            // Check if the bucket is empty, a single key is enough to know
             ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
                     .bucket(bucketName)
+                    .maxKeys(1)
                     .build();
             
             ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
@@ -63,22 +78,129 @@ public class S3BucketService {
                 throw new RuntimeException("The bucket is not empty. Empty it before deleting.");
             }
             
-            DeleteBucketRequest request = DeleteBucketRequest.builder()
-                    .bucket(bucketName)
-                    .build();
+            deleteEmptyBucket(bucketName);
+        } catch (S3Exception e) {
+            throw new RuntimeException("Error deleting bucket: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Empties and deletes a bucket, removing every object version, delete marker
+     * and in-progress multipart upload with concurrent batch requests
+     * @param bucketName Bucket name
+     * @param parallelism Number of concurrent delete batches and aborts
+     * @return Summary of what was removed before deleting the bucket
+     */
+    public PurgeResult forceDeleteBucket(String bucketName, int parallelism) {
+        try {
+            AtomicLong versions = new AtomicLong();
+            AtomicLong deleteMarkers = new AtomicLong();
             
-            s3Client.deleteBucket(request);
+            // Each version listing page holds up to 1000 entries, exactly one DeleteObjects batch
+            bulkExecutor.forEach(pages((ListObjectVersionsResponse previous) -> listVersionsPage(bucketName, previous),
+                    page -> Boolean.TRUE.equals(page.isTruncated())), parallelism, page -> {
+                List<ObjectIdentifier> batch = new ArrayList<>(page.versions().size() + page.deleteMarkers().size());
+                page.versions().forEach(version -> batch.add(identifier(version.key(), version.versionId())));
+                page.deleteMarkers().forEach(marker -> batch.add(identifier(marker.key(), marker.versionId())));
+                if (batch.isEmpty()) {
+                    return;
+                }
+                
+                deleteBatch(bucketName, batch);
+                versions.addAndGet(page.versions().size());
+                deleteMarkers.addAndGet(page.deleteMarkers().size());
+            });
             
-            // If the deleted bucket is the current one, clear the context
-            if (bucketContext.getCurrentBucket() != null && 
-                bucketContext.getCurrentBucket().equals(bucketName)) {
-                bucketContext.clearCurrentBucket();
-            }
+            long aborted = bulkExecutor.forEach(
+                    pages((ListMultipartUploadsResponse previous) -> listUploadsPage(bucketName, previous),
+                            page -> Boolean.TRUE.equals(page.isTruncated())).flatMap(page -> page.uploads().stream()),
+                    parallelism,
+                    upload -> s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                            .bucket(bucketName)
+                            .key(upload.key())
+                            .uploadId(upload.uploadId())
+                            .build()));
+            
+            deleteEmptyBucket(bucketName);
+            return new PurgeResult(versions.get(), deleteMarkers.get(), aborted);
         } catch (S3Exception e) {
             throw new RuntimeException("Error deleting bucket: " + e.getMessage(), e);
         }
     }
 
+    private void deleteEmptyBucket(String bucketName) {
+        DeleteBucketRequest request = DeleteBucketRequest.builder()
+                .bucket(bucketName)
+                .build();
+        
+        s3Client.deleteBucket(request);
+        
+        // If the deleted bucket is the current one, clear the context
+        if (bucketContext.getCurrentBucket() != null && 
+            bucketContext.getCurrentBucket().equals(bucketName)) {
+            bucketContext.clearCurrentBucket();
+        }
+    }
+
+    private void deleteBatch(String bucketName, List<ObjectIdentifier> batch) {
+        DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder().objects(batch).quiet(true).build())
+                .build());
+        
+        if (!response.errors().isEmpty()) {
+            S3Error error = response.errors().get(0);
+            throw new RuntimeException("Error deleting object '" + error.key() + "': " + error.message());
+        }
+    }
+
+    private ListObjectVersionsResponse listVersionsPage(String bucketName, ListObjectVersionsResponse previous) {
+        return s3Client.listObjectVersions(ListObjectVersionsRequest.builder()
+                .bucket(bucketName)
+                .keyMarker(previous != null ? previous.nextKeyMarker() : null)
+                .versionIdMarker(previous != null ? previous.nextVersionIdMarker() : null)
+                .build());
+    }
+
+    private ListMultipartUploadsResponse listUploadsPage(String bucketName, ListMultipartUploadsResponse previous) {
+        return s3Client.listMultipartUploads(ListMultipartUploadsRequest.builder()
+                .bucket(bucketName)
+                .keyMarker(previous != null ? previous.nextKeyMarker() : null)
+                .uploadIdMarker(previous != null ? previous.nextUploadIdMarker() : null)
+                .build());
+    }
+
+    private static ObjectIdentifier identifier(String key, String versionId) {
+        return ObjectIdentifier.builder().key(key).versionId(versionId).build();
+    }
+
+    /**
+     * Lazily fetches marker-paginated listing pages, requesting the next page only when consumed
+     */
+    private static <T> Stream<T> pages(UnaryOperator<T> nextPage, Predicate<T> isTruncated) {
+        Iterator<T> iterator = new Iterator<>() {
+            private T previous;
+            private boolean exhausted;
+            
+            @Override
+            public boolean hasNext() {
+                return !exhausted;
+            }
+            
+            @Override
+            public T next() {
+                if (exhausted) {
+                    throw new NoSuchElementException();
+                }
+                T page = nextPage.apply(previous);
+                exhausted = !isTruncated.test(page);
+                previous = page;
+                return page;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
     /**
      * Checks if a bucket exists
      * @param bucketName Bucket name
@@ -0,0 +1,303 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.concurrent.RequestHedger;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.SplitStrategy;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for server-side copies, so that no object bytes pass through the console
+ */
+@Service
+public class S3CopyService {
+
+    static final long MAX_SINGLE_COPY_SIZE = 5L * 1024 * 1024 * 1024;
+    static final long MIN_PART_SIZE = 512L * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+    private static final int DELETE_BATCH_SIZE = 1000;
+    /**
+     * Concurrent part copies of each large object of a prefix copy, which already copies many objects at once
+     */
+    static final int PREFIX_PART_CONCURRENCY = 4;
+
+    private final S3Client s3Client;
+    private final S3ListingService s3ListingService;
+    private final BulkExecutor bulkExecutor;
+    private final RequestHedger requestHedger;
+
+    public S3CopyService(S3Client s3Client, S3ListingService s3ListingService, BulkExecutor bulkExecutor,
+                         RequestHedger requestHedger) {
+        this.s3Client = s3Client;
+        this.s3ListingService = s3ListingService;
+        this.bulkExecutor = bulkExecutor;
+        this.requestHedger = requestHedger;
+    }
+
+    /**
+     * Copies an object server-side, looking up its size first
+     *
+     * @param sourceBucket Source bucket name
+     * @param sourceKey Source object key
+     * @param destinationBucket Destination bucket name
+     * @param destinationKey Destination object key
+     * @param parallelism Number of concurrent part copies for multipart copies
+     * @return Number of bytes copied
+     */
+    public long copyObject(String sourceBucket, String sourceKey, String destinationBucket, String destinationKey,
+                           int parallelism) {
+        HeadObjectResponse head = headObject(sourceBucket, sourceKey);
+        copyObject(sourceBucket, sourceKey, head.contentLength(), destinationBucket, destinationKey, parallelism);
+        return head.contentLength();
+    }
+
+    /**
+     * Copies an object of known size server-side.
+     * Objects up to 5 GB use a single CopyObject, larger ones a parallel multipart copy.
+     *
+     * @param sourceBucket Source bucket name
+     * @param sourceKey Source object key
+     * @param size Size of the source object in bytes
+     * @param destinationBucket Destination bucket name
+     * @param destinationKey Destination object key
+     * @param parallelism Number of concurrent part copies for multipart copies
+     */
+    public void copyObject(String sourceBucket, String sourceKey, long size, String destinationBucket,
+                           String destinationKey, int parallelism) {
+        try {
+            if (size <= MAX_SINGLE_COPY_SIZE) {
+                s3Client.copyObject(CopyObjectRequest.builder()
+                        .sourceBucket(sourceBucket)
+                        .sourceKey(sourceKey)
+                        .destinationBucket(destinationBucket)
+                        .destinationKey(destinationKey)
+                        .build());
+            } else {
+                multipartCopy(sourceBucket, sourceKey, size, destinationBucket, destinationKey, parallelism);
+            }
+        } catch (S3Exception e) {
+            throw new RuntimeException("Error copying object: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Moves an object server-side by copying it and deleting the source
+     *
+     * @param sourceBucket Source bucket name
+     * @param sourceKey Source object key
+     * @param destinationBucket Destination bucket name
+     * @param destinationKey Destination object key
+     * @param parallelism Number of concurrent part copies for multipart copies
+     * @return Number of bytes moved
+     */
+    public long moveObject(String sourceBucket, String sourceKey, String destinationBucket, String destinationKey,
+                           int parallelism) {
+        if (sourceBucket.equals(destinationBucket) && sourceKey.equals(destinationKey)) {
+            throw new IllegalArgumentException("The source and destination of a move must differ.");
+        }
+        long size = copyObject(sourceBucket, sourceKey, destinationBucket, destinationKey, parallelism);
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(sourceBucket).key(sourceKey).build());
+        } catch (S3Exception e) {
+            throw new RuntimeException("Error deleting source object: " + e.getMessage(), e);
+        }
+        return size;
+    }
+
+    /**
+     * Copies every object under a prefix to another prefix, running many copies concurrently.
+     * Objects over 5 GB are copied in {@link #PREFIX_PART_CONCURRENCY} concurrent parts each,
+     * so the requests in flight stay bounded by a small multiple of the parallelism.
+     *
+     * @param sourceBucket Source bucket name
+     * @param sourcePrefix Source key prefix
+     * @param destinationBucket Destination bucket name
+     * @param destinationPrefix Destination key prefix replacing the source prefix
+     * @param parallelism Number of concurrent copies
+     * @param deleteSource true to delete each source object once copied (move)
+     * @return Summary of the copied objects
+     * @throws IllegalArgumentException if the destination is nested in the source, or is the source of a move
+     */
+    public BulkResult copyPrefix(String sourceBucket, String sourcePrefix, String destinationBucket,
+                                 String destinationPrefix, int parallelism, boolean deleteSource) {
+        if (deleteSource && sourceBucket.equals(destinationBucket) && sourcePrefix.equals(destinationPrefix)) {
+            // Every copied object would be deleted right after being copied onto itself
+            throw new IllegalArgumentException("The source and destination of a move must differ.");
+        }
+        if (sourceBucket.equals(destinationBucket) && !sourcePrefix.equals(destinationPrefix)
+                && destinationPrefix.startsWith(sourcePrefix)) {
+            throw new IllegalArgumentException("The destination prefix must not be nested inside the source prefix.");
+        }
+
+        long start = System.nanoTime();
+        AtomicLong bytes = new AtomicLong();
+        DeleteBatcher deleteBatcher = deleteSource ? new DeleteBatcher(sourceBucket) : null;
+
+        long copied;
+        try (Stream<S3Object> objects = s3ListingService.listObjects(sourceBucket, sourcePrefix, parallelism,
+                SplitStrategy.SAMPLE, false)) {
+            copied = bulkExecutor.forEach(objects, parallelism, object -> {
+                String destinationKey = destinationPrefix + object.key().substring(sourcePrefix.length());
+                copyObject(sourceBucket, object.key(), object.size(), destinationBucket, destinationKey,
+                        PREFIX_PART_CONCURRENCY);
+                bytes.addAndGet(object.size());
+                if (deleteBatcher != null) {
+                    deleteBatcher.add(object.key());
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            // The sources copied before the failure are still deleted, without hiding the failure
+            if (deleteBatcher != null) {
+                try {
+                    deleteBatcher.flush();
+                } catch (RuntimeException flushFailure) {
+                    e.addSuppressed(flushFailure);
+                }
+            }
+            throw e;
+        }
+        if (deleteBatcher != null) {
+            deleteBatcher.flush();
+        }
+
+        return new BulkResult(copied, bytes.get(), 0, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void multipartCopy(String sourceBucket, String sourceKey, long size, String destinationBucket,
+                               String destinationKey, int parallelism) {
+        HeadObjectResponse head = headObject(sourceBucket, sourceKey);
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(destinationBucket)
+                .key(destinationKey)
+                .contentType(head.contentType())
+                .metadata(head.metadata())
+                .build()).uploadId();
+
+        try {
+            long partSize = partSize(size);
+            int partCount = (int) ((size + partSize - 1) / partSize);
+            List<CompletedPart> parts = new ArrayList<>(partCount);
+
+            bulkExecutor.forEach(LongStream.range(0, partCount).boxed(), parallelism, index -> {
+                long first = index * partSize;
+                long last = Math.min(size, first + partSize) - 1;
+                int partNumber = (int) (index + 1);
+                UploadPartCopyResponse response = s3Client.uploadPartCopy(UploadPartCopyRequest.builder()
+                        .sourceBucket(sourceBucket)
+                        .sourceKey(sourceKey)
+                        .destinationBucket(destinationBucket)
+                        .destinationKey(destinationKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .copySourceRange("bytes=" + first + "-" + last)
+                        .build());
+                CompletedPart part = CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(response.copyPartResult().eTag())
+                        .build();
+                synchronized (parts) {
+                    parts.add(part);
+                }
+            });
+
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(destinationBucket)
+                    .key(destinationKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (RuntimeException e) {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(destinationBucket)
+                        .key(destinationKey)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Picks the smallest part size that keeps the copy within the multipart part limit
+     */
+    static long partSize(long size) {
+        return Math.max(MIN_PART_SIZE, (size + MAX_PARTS - 1) / MAX_PARTS);
+    }
+
+    private HeadObjectResponse headObject(String bucketName, String key) {
+        try {
+            HeadObjectRequest request = HeadObjectRequest.builder().bucket(bucketName).key(key).build();
+            return requestHedger.call("HeadObject", () -> s3Client.headObject(request), response -> { });
+        } catch (S3Exception e) {
+            throw new RuntimeException("Error reading object metadata: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Collects copied source keys and deletes them in batches of 1000
+     */
+    private final class DeleteBatcher {
+
+        private final String bucketName;
+        private final ConcurrentLinkedQueue<ObjectIdentifier> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicLong size = new AtomicLong();
+
+        DeleteBatcher(String bucketName) {
+            this.bucketName = bucketName;
+        }
+
+        void add(String key) {
+            pending.add(ObjectIdentifier.builder().key(key).build());
+            if (size.incrementAndGet() % DELETE_BATCH_SIZE == 0) {
+                deleteBatch();
+            }
+        }
+
+        void flush() {
+            while (!pending.isEmpty()) {
+                deleteBatch();
+            }
+        }
+
+        private void deleteBatch() {
+            List<ObjectIdentifier> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+            ObjectIdentifier identifier;
+            while (batch.size() < DELETE_BATCH_SIZE && (identifier = pending.poll()) != null) {
+                batch.add(identifier);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            DeleteObjectsResponse response;
+            try {
+                response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                        .bucket(bucketName)
+                        .delete(Delete.builder().objects(batch).quiet(true).build())
+                        .build());
+            } catch (S3Exception e) {
+                throw new RuntimeException("Error deleting source objects: " + e.getMessage(), e);
+            }
+            // Quiet responses only list the keys that could not be deleted
+            if (!response.errors().isEmpty()) {
+                S3Error error = response.errors().get(0);
+                throw new RuntimeException("Error deleting source object '" + error.key() + "': " + error.message()
+                        + " (" + response.errors().size() + " source object(s) not deleted)");
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.concurrent.RequestHedger;
+import br.com.s3.console.hash.ContentHashCache;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.transfer.TransferListener;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for uploading local directory trees, optionally skipping the files
+ * whose content is already stored under their key
+ */
+@Service
+public class S3DirectoryUploadService {
+
+    /**
+     * User metadata holding the SHA-256 digest of the content of deduplicated uploads
+     */
+    public static final String SHA256_METADATA = "sha256";
+
+    private static final int NOT_FOUND = 404;
+
+    private final S3Client s3Client;
+    private final S3BucketFileService s3BucketFileService;
+    private final ContentHashCache contentHashCache;
+    private final BulkExecutor bulkExecutor;
+    private final RequestHedger requestHedger;
+
+    public S3DirectoryUploadService(S3Client s3Client, S3BucketFileService s3BucketFileService,
+                                    ContentHashCache contentHashCache, BulkExecutor bulkExecutor,
+                                    RequestHedger requestHedger) {
+        this.s3Client = s3Client;
+        this.s3BucketFileService = s3BucketFileService;
+        this.contentHashCache = contentHashCache;
+        this.bulkExecutor = bulkExecutor;
+        this.requestHedger = requestHedger;
+    }
+
+    /**
+     * Uploads every file of a directory tree concurrently, under the relative paths of the files.
+     * With deduplication each file is hashed with SHA-256 on the upload threads, and its upload is
+     * skipped when the object under its key already carries the same digest; uploaded objects store
+     * their digest as metadata for the next run. Digests of files whose size and modification time
+     * did not change are taken from the local hash cache instead of reading the files again.
+     *
+     * @param bucketName Bucket name
+     * @param directory Local directory to upload
+     * @param prefix Key prefix prepended to the relative paths of the files
+     * @param dedup Whether to skip the files whose content is already stored
+     * @param partSize Size of the uploaded parts of large files
+     * @param partConcurrency Number of concurrent part uploads of each large file
+     * @param parallelism Number of files hashed and uploaded concurrently
+     * @param listener Listener notified of the parts and bytes uploaded
+     * @return Summary of the uploaded files, unchanged files counted as skipped
+     */
+    public BulkResult uploadDirectory(String bucketName, Path directory, String prefix, boolean dedup, long partSize,
+                                      int partConcurrency, int parallelism, TransferListener listener) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Directory '" + directory + "' does not exist.");
+        }
+
+        long start = System.nanoTime();
+        AtomicLong uploaded = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+
+        try (Stream<Path> files = Files.walk(directory).filter(Files::isRegularFile)) {
+            bulkExecutor.forEach(files, parallelism, file -> {
+                String key = prefix + S3DirectoryWatchService.toKey(directory.relativize(file));
+                long size = dedup
+                        ? upload(bucketName, file, key, partSize, partConcurrency, listener)
+                        : s3BucketFileService.uploadObject(bucketName, file.toString(), key, partSize,
+                                partConcurrency, listener);
+                if (size < 0) {
+                    skipped.incrementAndGet();
+                } else {
+                    uploaded.incrementAndGet();
+                    bytes.addAndGet(size);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading directory: " + e.getMessage(), e);
+        } finally {
+            if (dedup) {
+                contentHashCache.save();
+            }
+        }
+
+        return new BulkResult(uploaded.get(), bytes.get(), skipped.get(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Uploads a file with its SHA-256 digest as metadata, unless the object under its key
+     * already carries the same digest
+     *
+     * @param bucketName Bucket name
+     * @param file Local file
+     * @param key Object key in S3
+     * @param partSize Size of the uploaded parts of large files
+     * @param partConcurrency Number of concurrent part uploads
+     * @param listener Listener notified of the parts and bytes uploaded
+     * @return Number of bytes uploaded, or -1 if the upload was skipped
+     */
+    public long uploadIfChanged(String bucketName, Path file, String key, long partSize, int partConcurrency,
+                                TransferListener listener) {
+        try {
+            return upload(bucketName, file, key, partSize, partConcurrency, listener);
+        } finally {
+            contentHashCache.save();
+        }
+    }
+
+    private long upload(String bucketName, Path file, String key, long partSize, int partConcurrency,
+                        TransferListener listener) {
+        String sha256;
+        try {
+            sha256 = contentHashCache.sha256(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error hashing file: " + e.getMessage(), e);
+        }
+        if (sha256.equals(storedSha256(bucketName, key))) {
+            return -1;
+        }
+        return s3BucketFileService.uploadObject(bucketName, file.toString(), key, Map.of(SHA256_METADATA, sha256),
+                partSize, partConcurrency, listener);
+    }
+
+    /**
+     * Gets the digest stored with an object
+     * @return Digest, or null if the object does not exist or was not uploaded with one
+     */
+    private String storedSha256(String bucketName, String key) {
+        try {
+            HeadObjectRequest request = HeadObjectRequest.builder().bucket(bucketName).key(key).build();
+            HeadObjectResponse head = requestHedger.call("HeadObject", () -> s3Client.headObject(request), response -> { });
+            return head.metadata().get(SHA256_METADATA);
+        } catch (S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return null;
+            }
+            throw new RuntimeException("Error reading object metadata: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.BulkResult;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for mirroring a local directory into a bucket as its files change
+ */
+@Service
+public class S3DirectoryWatchService {
+
+    private final S3BucketFileService s3BucketFileService;
+    private final BulkExecutor bulkExecutor;
+
+    public S3DirectoryWatchService(S3BucketFileService s3BucketFileService, BulkExecutor bulkExecutor) {
+        this.s3BucketFileService = s3BucketFileService;
+        this.bulkExecutor = bulkExecutor;
+    }
+
+    /**
+     * Listener notified of each file handled by a directory watch, from the upload threads
+     */
+    public interface UploadListener {
+
+        /**
+         * @param file Uploaded file
+         * @param key Object key it was uploaded to
+         */
+        void uploaded(Path file, String key);
+
+        /**
+         * @param file File that could not be uploaded, it is not retried until it changes again
+         * @param error Upload failure
+         */
+        void failed(Path file, Exception error);
+    }
+
+    /**
+     * Watches a directory tree and uploads the files created or modified under it into a bucket.
+     * Bursts of events are coalesced: a file is uploaded once no event has touched it for the debounce
+     * time and its size is still the one seen at its last event, so files being written are held back
+     * until the writer stops. Ready files are uploaded concurrently, and subdirectories created during
+     * the watch are watched too. The watch ends when the duration elapses or the calling thread is interrupted.
+     *
+     * @param directory Local directory to watch
+     * @param bucketName Bucket receiving the files
+     * @param prefix Key prefix prepended to the relative paths of the files
+     * @param debounce Quiet time after the last event of a file before it is uploaded
+     * @param duration How long to watch, or zero to watch until interrupted
+     * @param parallelism Number of concurrent uploads
+     * @param listener Listener notified of each upload
+     * @return Summary of the uploaded files, failures counted as skipped
+     */
+    public BulkResult watch(Path directory, String bucketName, String prefix, Duration debounce, Duration duration,
+                            int parallelism, UploadListener listener) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Directory '" + directory + "' does not exist.");
+        }
+
+        long start = System.nanoTime();
+        long deadline = duration.isZero() ? Long.MAX_VALUE : start + duration.toNanos();
+        AtomicLong uploaded = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        Map<Path, PendingFile> pending = new HashMap<>();
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey, Path> directories = new HashMap<>();
+            register(directory, watchService, directories, pending, false);
+
+            while (!Thread.currentThread().isInterrupted() && System.nanoTime() < deadline) {
+                WatchKey key = watchService.poll(Math.min(nextWakeUp(pending, debounce), deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+                // Drain every queued key so that a burst is handled as a single batch
+                while (key != null) {
+                    handleEvents(key, directories, watchService, pending, directory);
+                    key = watchService.poll();
+                }
+
+                List<Path> ready = takeReady(pending, debounce);
+                if (!ready.isEmpty()) {
+                    bulkExecutor.forEach(ready.stream(), parallelism, file -> {
+                        String objectKey = prefix + toKey(directory.relativize(file));
+                        try {
+                            long size = Files.size(file);
+                            s3BucketFileService.uploadObject(bucketName, file.toString(), objectKey);
+                            uploaded.incrementAndGet();
+                            bytes.addAndGet(size);
+                            listener.uploaded(file, objectKey);
+                        } catch (NoSuchFileException e) {
+                            // Deleted before it could be uploaded
+                        } catch (IOException | RuntimeException e) {
+                            failed.incrementAndGet();
+                            listener.failed(file, e);
+                        }
+                    });
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // The watch was stopped while waiting for events
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error watching directory: " + e.getMessage(), e);
+        }
+
+        return new BulkResult(uploaded.get(), bytes.get(), failed.get(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void handleEvents(WatchKey key, Map<WatchKey, Path> directories, WatchService watchService,
+                              Map<Path, PendingFile> pending, Path root) throws IOException {
+        Path parent = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost, every file of the tree may have changed
+                register(root, watchService, directories, pending, true);
+                continue;
+            }
+            if (parent == null) {
+                continue;
+            }
+            Path path = parent.resolve((Path) event.context());
+            if (Files.isDirectory(path)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    // Files may have been written into the new directory before it was registered
+                    register(path, watchService, directories, pending, true);
+                }
+            } else if (event.kind() != StandardWatchEventKinds.ENTRY_DELETE) {
+                touch(path, pending);
+            } else {
+                pending.remove(path);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    /**
+     * Watches a directory and its subdirectories
+     * @param markFiles true to mark the files found as changed
+     */
+    private static void register(Path directory, WatchService watchService, Map<WatchKey, Path> directories,
+                                 Map<Path, PendingFile> pending, boolean markFiles) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    directories.put(path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), path);
+                } else if (markFiles && Files.isRegularFile(path)) {
+                    touch(path, pending);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // A path vanished during the walk
+            if (!(e.getCause() instanceof NoSuchFileException)) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static void touch(Path file, Map<Path, PendingFile> pending) {
+        try {
+            pending.put(file, new PendingFile(Files.size(file), System.nanoTime()));
+        } catch (IOException e) {
+            pending.remove(file);
+        }
+    }
+
+    /**
+     * Removes the files that stayed untouched for the debounce time with a stable size
+     * @return Files ready to upload
+     */
+    private static List<Path> takeReady(Map<Path, PendingFile> pending, Duration debounce) {
+        List<Path> ready = new ArrayList<>();
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Path, PendingFile>> entries = pending.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Path, PendingFile> entry = entries.next();
+            if (now - entry.getValue().lastEventNanos() < debounce.toNanos()) {
+                continue;
+            }
+            try {
+                long size = Files.size(entry.getKey());
+                if (size == entry.getValue().size()) {
+                    ready.add(entry.getKey());
+                    entries.remove();
+                } else {
+                    // Still being written without events, wait for another quiet period
+                    entry.setValue(new PendingFile(size, now));
+                }
+            } catch (IOException e) {
+                entries.remove();
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Gets how long to wait for events before the next pending file may be ready
+     * @return Nanoseconds to wait, at least one millisecond
+     */
+    private static long nextWakeUp(Map<Path, PendingFile> pending, Duration debounce) {
+        long now = System.nanoTime();
+        long wait = debounce.toNanos();
+        for (PendingFile file : pending.values()) {
+            wait = Math.min(wait, file.lastEventNanos() + debounce.toNanos() - now);
+        }
+        return Math.max(wait, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    static String toKey(Path relativePath) {
+        return relativePath.toString().replace(relativePath.getFileSystem().getSeparator(), "/");
+    }
+
+    /**
+     * File waiting for its quiet period
+     *
+     * @param size Size seen at the last event
+     * @param lastEventNanos Time of the last event
+     */
+    private record PendingFile(long size, long lastEventNanos) {
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.model.FindCriteria;
+import br.com.s3.console.model.SplitStrategy;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for locating objects by key pattern, size, date and storage class
+ */
+@Service
+public class S3FindService {
+
+    private final S3ListingService s3ListingService;
+    private final S3IndexService s3IndexService;
+
+    public S3FindService(S3ListingService s3ListingService, S3IndexService s3IndexService) {
+        this.s3ListingService = s3ListingService;
+        this.s3IndexService = s3IndexService;
+    }
+
+    /**
+     * Finds the objects matching the given criteria.
+     * The listing is narrowed to the literal prefix of the key pattern. When the glob rules out
+     * whole directories, the bucket is walked with delimiter listings that skip those subtrees;
+     * otherwise the prefix is listed flat with concurrent paginators.
+     * The stream is lazy, so limiting it stops further listing requests, and it must be closed.
+     * With the local index, the prefix is looked up in the index and S3 is not contacted.
+     *
+     * @param bucketName Bucket name
+     * @param criteria Predicates selecting the objects
+     * @param parallelism Number of concurrent paginators for flat listings
+     * @param fromIndex true to search the local index instead of listing the bucket
+     * @return Stream of matching objects
+     */
+    public Stream<S3Object> find(String bucketName, FindCriteria criteria, int parallelism, boolean fromIndex) {
+        String prefix = criteria.listingPrefix();
+        Stream<S3Object> objects;
+        if (fromIndex) {
+            objects = s3IndexService.require(bucketName).objects(prefix);
+        } else if (criteria.isPrunable()) {
+            objects = s3ListingService.walkObjects(bucketName, prefix, criteria::mayContain);
+        } else {
+            objects = s3ListingService.listObjects(bucketName, prefix, parallelism, SplitStrategy.SAMPLE, false);
+        }
+        return objects.filter(criteria::matches);
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.concurrent.ItemHandoff;
+import br.com.s3.console.model.GrepMatch;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.util.ContentStreams;
+import br.com.s3.console.util.KeyGlob;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for searching the contents of many objects concurrently
+ */
+@Service
+public class S3GrepService {
+
+    private static final int MATCH_QUEUE_CAPACITY = 1024;
+
+    private final S3Client s3Client;
+    private final S3ListingService s3ListingService;
+    private final BulkExecutor bulkExecutor;
+
+    public S3GrepService(S3Client s3Client, S3ListingService s3ListingService, BulkExecutor bulkExecutor) {
+        this.s3Client = s3Client;
+        this.s3ListingService = s3ListingService;
+        this.bulkExecutor = bulkExecutor;
+    }
+
+    /**
+     * Searches every object matching a key glob for lines matching a regular expression.
+     * Objects are streamed concurrently and gzip content is decompressed on the fly.
+     * Matches are handed to the sink on the calling thread through a bounded queue,
+     * so a slow sink holds back the readers.
+     *
+     * @param bucketName Bucket name
+     * @param glob Key glob selecting the objects to search, its literal prefix narrows the listing
+     * @param pattern Pattern searched in each line
+     * @param maxCount Maximum number of matches before stopping, or zero for no limit
+     * @param parallelism Number of objects read concurrently
+     * @param sink Consumer receiving the matches
+     * @return Number of matches reported
+     */
+    public long grep(String bucketName, String glob, Pattern pattern, long maxCount, int parallelism,
+                     Consumer<GrepMatch> sink) {
+        Pattern keyPattern = KeyGlob.toPattern(glob);
+        AtomicLong found = new AtomicLong();
+
+        return ItemHandoff.<GrepMatch>run("Search", MATCH_QUEUE_CAPACITY, matches -> {
+            try (Stream<S3Object> objects = s3ListingService.listObjects(bucketName, KeyGlob.literalPrefix(glob),
+                    parallelism, SplitStrategy.SAMPLE, false)) {
+                bulkExecutor.forEach(
+                        objects.filter(object -> keyPattern.matcher(object.key()).matches())
+                                .takeWhile(object -> !matches.isStopped()),
+                        parallelism,
+                        object -> searchObject(bucketName, object.key(), pattern, maxCount, found, matches));
+            }
+        }, sink);
+    }
+
+    private void searchObject(String bucketName, String key, Pattern pattern, long maxCount, AtomicLong found,
+                              ItemHandoff<GrepMatch> matches) {
+        ResponseInputStream<GetObjectResponse> response = s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                ContentStreams.decoded(response), StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while (!matches.isStopped() && (line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!pattern.matcher(line).find()) {
+                    continue;
+                }
+                long count = found.incrementAndGet();
+                if (maxCount > 0 && count > maxCount) {
+                    matches.stop();
+                    break;
+                }
+                matches.put(new GrepMatch(key, lineNumber, line));
+                if (maxCount > 0 && count == maxCount) {
+                    matches.stop();
+                }
+            }
+            if (matches.isStopped()) {
+                // Stop the transfer instead of draining the rest of the object
+                response.abort();
+            }
+        } catch (IOException e) {
+            // The reader does not own the response yet when decoding its first bytes fails
+            response.abort();
+            throw new RuntimeException("Error reading object '" + key + "': " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            response.abort();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search interrupted", e);
+        }
+    }
+}
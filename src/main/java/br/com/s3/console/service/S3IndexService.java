@@ -0,0 +1,204 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.context.ProfileContext;
+import br.com.s3.console.index.ObjectIndex;
+import br.com.s3.console.index.ObjectIndexWriter;
+import br.com.s3.console.model.IndexInfo;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.util.KeyOrder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for the opt-in local object indexes, one memory-mapped file per bucket,
+ * which let listing-heavy commands run without contacting S3. Indexes are kept in a directory
+ * per endpoint profile, since buckets of the same name on different endpoints are unrelated.
+ * Each index is mapped once and closed when it is refreshed, dropped or replaced on disk.
+ */
+@Service
+public class S3IndexService {
+
+    private static final String INDEX_EXTENSION = ".idx";
+
+    private final S3ListingService s3ListingService;
+    private final ProfileContext profileContext;
+    private final Path indexDirectory;
+    private final Map<Path, MappedIndex> mappedIndexes = new HashMap<>();
+
+    public S3IndexService(S3ListingService s3ListingService, ProfileContext profileContext,
+                          @Value("${console.index.directory}") String indexDirectory) {
+        this.s3ListingService = s3ListingService;
+        this.profileContext = profileContext;
+        this.indexDirectory = Path.of(indexDirectory);
+    }
+
+    /**
+     * Builds or refreshes the index of a bucket.
+     * Only the given prefix is listed again; entries outside it are carried over from the
+     * current index, so refreshing the prefixes known to have changed is much cheaper than
+     * a full rebuild. The listing and the current index are merged as ordered streams,
+     * so memory use does not depend on the size of the bucket.
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix to list again, empty to rebuild the whole index
+     * @param parallelism Number of concurrent paginators
+     * @return Summary of the written index
+     */
+    public IndexInfo refresh(String bucketName, String prefix, int parallelism) {
+        Path path = indexPath(bucketName);
+        try {
+            ObjectIndex current = !prefix.isEmpty() ? open(path).orElse(null) : null;
+            ObjectIndexWriter writer = new ObjectIndexWriter(path);
+            try (Stream<S3Object> listed = s3ListingService.listObjects(bucketName, prefix, parallelism,
+                    SplitStrategy.SAMPLE, true);
+                 Stream<S3Object> previous = current != null ? current.objects("") : Stream.empty()) {
+                Iterator<S3Object> old = previous.iterator();
+                S3Object entry = old.hasNext() ? old.next() : null;
+
+                while (entry != null && KeyOrder.compare(entry.key(), prefix) < 0) {
+                    writer.add(entry);
+                    entry = old.hasNext() ? old.next() : null;
+                }
+                Iterator<S3Object> fresh = listed.iterator();
+                while (fresh.hasNext()) {
+                    writer.add(fresh.next());
+                }
+                // Stale entries under the prefix are replaced by the listing
+                while (entry != null && entry.key().startsWith(prefix)) {
+                    entry = old.hasNext() ? old.next() : null;
+                }
+                while (entry != null) {
+                    writer.add(entry);
+                    entry = old.hasNext() ? old.next() : null;
+                }
+                writer.close();
+                release(path);
+            } catch (IOException | RuntimeException e) {
+                writer.abort();
+                throw e;
+            }
+            return info(bucketName, path).orElseThrow();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing index: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens the index of a bucket
+     * @param bucketName Bucket name
+     * @return Memory-mapped index, or empty if the bucket is not indexed
+     */
+    public Optional<ObjectIndex> open(String bucketName) {
+        return open(indexPath(bucketName));
+    }
+
+    private synchronized Optional<ObjectIndex> open(Path path) {
+        try {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                release(path);
+                return Optional.empty();
+            }
+            MappedIndex mapped = mappedIndexes.get(path);
+            if (mapped == null || !mapped.isCurrent(attributes)) {
+                // The file was written again, possibly by another console
+                release(path);
+                mapped = new MappedIndex(ObjectIndex.open(path), attributes.fileKey(), attributes.lastModifiedTime());
+                mappedIndexes.put(path, mapped);
+            }
+            return Optional.of(mapped.index());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading index: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens the index of a bucket, failing if there is none
+     * @param bucketName Bucket name
+     * @return Memory-mapped index
+     * @throws IllegalStateException if the bucket is not indexed
+     */
+    public ObjectIndex require(String bucketName) {
+        return open(bucketName).orElseThrow(() -> new IllegalStateException(
+                "Bucket '" + bucketName + "' is not indexed. Use the 'refresh-index' command to index it."));
+    }
+
+    /**
+     * Gets a summary of the index of a bucket
+     * @param bucketName Bucket name
+     * @return Index summary, or empty if the bucket is not indexed
+     */
+    public Optional<IndexInfo> info(String bucketName) {
+        return info(bucketName, indexPath(bucketName));
+    }
+
+    private Optional<IndexInfo> info(String bucketName, Path path) {
+        return open(path).map(index -> {
+            try {
+                return new IndexInfo(bucketName, index.objectCount(), index.totalBytes(), index.created(),
+                        Files.size(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading index: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Deletes the index of a bucket
+     * @param bucketName Bucket name
+     * @return true if an index was deleted
+     */
+    public boolean drop(String bucketName) {
+        Path path = indexPath(bucketName);
+        release(path);
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error deleting index: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the index file of a bucket of the current endpoint profile
+     */
+    private Path indexPath(String bucketName) {
+        return indexDirectory.resolve(profileContext.getCurrentProfile()).resolve(bucketName + INDEX_EXTENSION);
+    }
+
+    /**
+     * Closes the mapped index of a file; streams still reading it keep working
+     */
+    private synchronized void release(Path path) {
+        MappedIndex mapped = mappedIndexes.remove(path);
+        if (mapped != null) {
+            mapped.index().close();
+        }
+    }
+
+    /**
+     * Mapped index with the identity of the file it was mapped from
+     */
+    private record MappedIndex(ObjectIndex index, Object fileKey, FileTime modified) {
+
+        boolean isCurrent(BasicFileAttributes attributes) {
+            return Objects.equals(fileKey, attributes.fileKey()) && modified.equals(attributes.lastModifiedTime());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.model.InventoryFormat;
+import br.com.s3.console.model.SplitStrategy;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service responsible for exporting bucket listings to machine-readable inventory files
+ */
+@Service
+public class S3InventoryService {
+
+    private static final String[] COLUMNS = {"key", "size", "etag", "last_modified", "storage_class"};
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 100_000;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final S3ListingService s3ListingService;
+
+    public S3InventoryService(S3ListingService s3ListingService) {
+        this.s3ListingService = s3ListingService;
+    }
+
+    /**
+     * Writes the key, size, ETag, last-modified time and storage class of every object under a prefix to a file.
+     * Rows are written as listing pages arrive, so memory use does not depend on the size of the bucket.
+     * Files ending with {@code .gz} are gzip-compressed.
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param format Output format
+     * @param output File to write, replaced only once the inventory is complete
+     * @param sorted true to write rows in key order, false to write them as pages arrive
+     * @param parallelism Number of concurrent paginators
+     * @param progress Consumer notified with the number of rows written every 100,000 rows
+     * @return Number of rows written
+     */
+    public long export(String bucketName, String prefix, InventoryFormat format, Path output, boolean sorted,
+                       int parallelism, LongConsumer progress) {
+        Path temporary = null;
+        try {
+            // Rows go to a file next to the output, which only replaces it once the whole listing is written
+            Path directory = output.toAbsolutePath().getParent();
+            temporary = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+            long count;
+            try (Stream<S3Object> objects = s3ListingService.listObjects(bucketName, prefix, parallelism,
+                    SplitStrategy.SAMPLE, sorted);
+                 Writer writer = openWriter(temporary, output)) {
+                InventoryWriter rows = format == InventoryFormat.CSV ? new CsvWriter(writer) : new JsonLinesWriter(writer);
+                count = 0;
+                Iterator<S3Object> iterator = objects.iterator();
+                while (iterator.hasNext()) {
+                    rows.write(iterator.next());
+                    if (++count % PROGRESS_INTERVAL == 0) {
+                        progress.accept(count);
+                    }
+                }
+                rows.finish();
+            }
+            Files.move(temporary, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            temporary = null;
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing inventory: " + e.getMessage(), e);
+        } finally {
+            if (temporary != null) {
+                deleteQuietly(temporary);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // A leftover temporary file is harmless
+        }
+    }
+
+    private static Writer openWriter(Path file, Path output) throws IOException {
+        OutputStream stream = Files.newOutputStream(file);
+        if (output.getFileName().toString().endsWith(GZIP_EXTENSION)) {
+            stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Removes the quotes S3 wraps ETags in
+     */
+    static String etag(S3Object object) {
+        String etag = object.eTag();
+        if (etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            return etag.substring(1, etag.length() - 1);
+        }
+        return etag;
+    }
+
+    private interface InventoryWriter {
+
+        void write(S3Object object) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements InventoryWriter {
+
+        private final Writer writer;
+
+        CsvWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(S3Object object) throws IOException {
+            writeField(object.key());
+            writer.write(',');
+            writeField(object.size() != null ? object.size().toString() : null);
+            writer.write(',');
+            writeField(etag(object));
+            writer.write(',');
+            writeField(object.lastModified() != null ? object.lastModified().toString() : null);
+            writer.write(',');
+            writeField(object.storageClassAsString());
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() {
+            // the header is the only framing
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class JsonLinesWriter implements InventoryWriter {
+
+        private final JsonGenerator generator;
+
+        JsonLinesWriter(Writer writer) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(writer)
+                    .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(S3Object object) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField(COLUMNS[0], object.key());
+            if (object.size() != null) {
+                generator.writeNumberField(COLUMNS[1], object.size());
+            } else {
+                generator.writeNullField(COLUMNS[1]);
+            }
+            generator.writeStringField(COLUMNS[2], etag(object));
+            generator.writeStringField(COLUMNS[3],
+                    object.lastModified() != null ? object.lastModified().toString() : null);
+            generator.writeStringField(COLUMNS[4], object.storageClassAsString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
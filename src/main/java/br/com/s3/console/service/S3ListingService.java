@@ -0,0 +1,501 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.model.KeyRange;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.util.KeyOrder;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Listing engine that splits a bucket keyspace into disjoint ranges
+ * and paginates them concurrently
+ */
+@Service
+public class S3ListingService {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int QUEUED_PAGES_PER_RANGE = 2;
+    private static final int OVERSPLIT_FACTOR = 4;
+    private static final int MAX_SAMPLING_ROUNDS = 4;
+    private static final char FIRST_PROBE_CHAR = ' ';
+    private static final char LAST_PROBE_CHAR = '~';
+    private static final String DELIMITER = "/";
+
+    private final S3Client s3Client;
+
+    public S3ListingService(S3Client s3Client) {
+        this.s3Client = s3Client;
+    }
+
+    /**
+     * Lists all objects under a prefix, paginating disjoint key ranges concurrently.
+     * The returned stream must be closed to release the listing workers.
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param parallelism Number of concurrent paginators
+     * @param strategy Strategy used to discover split points
+     * @param ordered true to return objects in key order, false to return them as pages arrive
+     * @return Stream of S3 objects
+     */
+    public Stream<S3Object> listObjects(String bucketName, String prefix, int parallelism,
+                                        SplitStrategy strategy, boolean ordered) {
+        if (parallelism <= 1) {
+            Iterator<S3Object> iterator = new PaginatingIterator(bucketName, prefix);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                    iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+
+        ExecutorService executor = newExecutor(parallelism);
+        try {
+            List<KeyRange> ranges = discoverRanges(bucketName, prefix, parallelism * OVERSPLIT_FACTOR, strategy, executor);
+            RangeFeed feed = new RangeFeed(ranges, ordered);
+            for (int i = 0; i < ranges.size(); i++) {
+                int index = i;
+                executor.submit(() -> feed.run(index, page -> listRange(bucketName, prefix, ranges.get(index), page)));
+            }
+            executor.shutdown();
+
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                            feed, (ordered ? Spliterator.ORDERED : 0) | Spliterator.NONNULL), false)
+                    .onClose(executor::shutdownNow);
+        } catch (RuntimeException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+    }
+
+    /**
+     * Discovers split points and returns the disjoint key ranges covering a prefix
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param partitions Desired number of ranges
+     * @param strategy Strategy used to discover split points
+     * @return Key ranges sorted by key, the first one starting at the beginning of the prefix
+     */
+    public List<KeyRange> discoverRanges(String bucketName, String prefix, int partitions, SplitStrategy strategy) {
+        ExecutorService executor = newExecutor(Math.max(1, partitions));
+        try {
+            return discoverRanges(bucketName, prefix, partitions, strategy, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lists every object of a single key range, delivering one page at a time
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param range Key range to list
+     * @param pageConsumer Consumer receiving the pages of the range in key order
+     */
+    public void listRange(String bucketName, String prefix, KeyRange range, Consumer<List<S3Object>> pageConsumer) {
+        if (range.head() != null) {
+            pageConsumer.accept(List.of(range.head()));
+        }
+
+        String continuationToken = null;
+        do {
+            ListObjectsV2Response response = list(ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .prefix(prefix)
+                    .startAfter(continuationToken == null ? range.startAfter() : null)
+                    .continuationToken(continuationToken)
+                    .maxKeys(PAGE_SIZE)
+                    .build());
+
+            List<S3Object> page = response.contents();
+            int end = 0;
+            while (end < page.size() && !range.isPastEnd(page.get(end).key())) {
+                end++;
+            }
+            if (end > 0) {
+                pageConsumer.accept(end == page.size() ? page : page.subList(0, end));
+            }
+            if (end < page.size()) {
+                return;
+            }
+
+            continuationToken = Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null;
+        } while (continuationToken != null);
+    }
+
+    /**
+     * Lists objects under a prefix one directory level at a time using delimiter listings,
+     * never descending into the common prefixes rejected by the given predicate.
+     * Pages are requested lazily as the stream is consumed, so a short-circuiting
+     * consumer issues only the requests it needs.
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix to start from, empty for the whole bucket
+     * @param descend Predicate deciding whether a common prefix (ending with "/") is listed
+     * @return Stream of S3 objects
+     */
+    public Stream<S3Object> walkObjects(String bucketName, String prefix, Predicate<String> descend) {
+        Iterator<S3Object> iterator = new WalkingIterator(bucketName, prefix, descend);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private List<KeyRange> discoverRanges(String bucketName, String prefix, int partitions,
+                                          SplitStrategy strategy, ExecutorService executor) {
+        if (partitions <= 1) {
+            return List.of(new KeyRange(null, null));
+        }
+
+        List<S3Object> heads = strategy == SplitStrategy.DELIMITER
+                ? delimiterHeads(bucketName, prefix, partitions, executor)
+                : sampledHeads(bucketName, prefix, partitions, executor);
+
+        List<S3Object> boundaries = pickEvenly(heads, partitions - 1);
+        List<KeyRange> ranges = new ArrayList<>(boundaries.size() + 1);
+        S3Object previous = null;
+        for (S3Object boundary : boundaries) {
+            ranges.add(new KeyRange(previous, boundary.key()));
+            previous = boundary;
+        }
+        ranges.add(new KeyRange(previous, null));
+        return ranges;
+    }
+
+    /**
+     * Probes the keyspace with single-key listings spread over the printable alphabet.
+     * When every probe lands under a longer common prefix, probing is repeated one level deeper.
+     */
+    private List<S3Object> sampledHeads(String bucketName, String prefix, int partitions, ExecutorService executor) {
+        TreeMap<String, S3Object> heads = new TreeMap<>(KeyOrder.COMPARATOR);
+        String base = prefix;
+
+        for (int round = 0; round < MAX_SAMPLING_ROUNDS && heads.size() < partitions - 1; round++) {
+            List<String> probes = new ArrayList<>();
+            int alphabetSize = LAST_PROBE_CHAR - FIRST_PROBE_CHAR + 1;
+            int probeCount = Math.min(alphabetSize, partitions * 2);
+            for (int i = 0; i < probeCount; i++) {
+                probes.add(base + (char) (FIRST_PROBE_CHAR + (long) i * alphabetSize / probeCount));
+            }
+
+            List<S3Object> found = invokeAll(executor, probes, probe -> firstObject(bucketName, prefix, probe));
+            found.forEach(object -> heads.put(object.key(), object));
+            if (found.isEmpty()) {
+                break;
+            }
+
+            String commonPrefix = commonPrefix(found);
+            if (commonPrefix.length() <= base.length()) {
+                break;
+            }
+            base = commonPrefix;
+        }
+        return new ArrayList<>(heads.values());
+    }
+
+    /**
+     * Uses the first object of each common prefix returned by a delimiter listing as a split point
+     */
+    private List<S3Object> delimiterHeads(String bucketName, String prefix, int partitions, ExecutorService executor) {
+        List<String> commonPrefixes = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            ListObjectsV2Response response = list(ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .prefix(prefix)
+                    .delimiter(DELIMITER)
+                    .continuationToken(continuationToken)
+                    .maxKeys(PAGE_SIZE)
+                    .build());
+            response.commonPrefixes().stream().map(CommonPrefix::prefix).forEach(commonPrefixes::add);
+            continuationToken = Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null;
+        } while (continuationToken != null);
+
+        List<String> selected = pickEvenly(commonPrefixes, partitions - 1);
+        return invokeAll(executor, selected, commonPrefix -> firstObject(bucketName, commonPrefix, null));
+    }
+
+    private S3Object firstObject(String bucketName, String prefix, String startAfter) {
+        List<S3Object> contents = list(ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .startAfter(startAfter)
+                .maxKeys(1)
+                .build()).contents();
+        return contents.isEmpty() ? null : contents.get(0);
+    }
+
+    private ListObjectsV2Response list(ListObjectsV2Request request) {
+        try {
+            return s3Client.listObjectsV2(request);
+        } catch (S3Exception e) {
+            throw new RuntimeException("Error listing objects from bucket: " + e.getMessage(), e);
+        }
+    }
+
+    private static <T, R> List<R> invokeAll(ExecutorService executor, List<T> inputs, Function<T, R> task) {
+        List<Future<R>> futures = new ArrayList<>(inputs.size());
+        for (T input : inputs) {
+            futures.add(executor.submit(() -> task.apply(input)));
+        }
+
+        List<R> results = new ArrayList<>(inputs.size());
+        try {
+            for (Future<R> future : futures) {
+                R result = future.get();
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while discovering split points", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        }
+        return results;
+    }
+
+    private static String commonPrefix(List<S3Object> objects) {
+        String common = objects.get(0).key();
+        for (S3Object object : objects) {
+            int length = 0;
+            String key = object.key();
+            while (length < common.length() && length < key.length() && common.charAt(length) == key.charAt(length)) {
+                length++;
+            }
+            common = common.substring(0, length);
+        }
+        return common;
+    }
+
+    private static <T> List<T> pickEvenly(List<T> items, int count) {
+        if (items.size() <= count) {
+            return items;
+        }
+        List<T> picked = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            picked.add(items.get((int) ((long) i * items.size() / (count + 1))));
+        }
+        return picked;
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("s3-listing-", 0).factory());
+    }
+
+    /**
+     * Bounded hand-off between the range workers and the stream consumer.
+     * In ordered mode every range has its own queue and ranges are drained in key order,
+     * otherwise all ranges share a single queue.
+     */
+    private static final class RangeFeed implements Iterator<S3Object> {
+
+        private static final Object END_OF_RANGE = new Object();
+
+        private final List<BlockingQueue<Object>> queues;
+        private final boolean ordered;
+        private int remainingRanges;
+        private int currentQueue;
+        private Iterator<S3Object> currentPage = Collections.emptyIterator();
+
+        RangeFeed(List<KeyRange> ranges, boolean ordered) {
+            this.ordered = ordered;
+            this.remainingRanges = ranges.size();
+            if (ordered) {
+                this.queues = new ArrayList<>(ranges.size());
+                for (int i = 0; i < ranges.size(); i++) {
+                    queues.add(new ArrayBlockingQueue<>(QUEUED_PAGES_PER_RANGE + 1));
+                }
+            } else {
+                this.queues = List.of(new ArrayBlockingQueue<>(ranges.size() * QUEUED_PAGES_PER_RANGE + 1));
+            }
+        }
+
+        void run(int rangeIndex, Consumer<Consumer<List<S3Object>>> lister) {
+            BlockingQueue<Object> queue = queues.get(ordered ? rangeIndex : 0);
+            try {
+                lister.accept(page -> put(queue, page));
+                put(queue, END_OF_RANGE);
+            } catch (RuntimeException e) {
+                if (!Thread.currentThread().isInterrupted()) {
+                    put(queue, e);
+                }
+            }
+        }
+
+        private static void put(BlockingQueue<Object> queue, Object item) {
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Listing cancelled", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPage.hasNext()) {
+                if (remainingRanges == 0) {
+                    return false;
+                }
+                Object item = take();
+                if (item == END_OF_RANGE) {
+                    remainingRanges--;
+                    if (ordered) {
+                        currentQueue++;
+                    }
+                } else if (item instanceof RuntimeException e) {
+                    throw e;
+                } else {
+                    @SuppressWarnings("unchecked")
+                    List<S3Object> page = (List<S3Object>) item;
+                    currentPage = page.iterator();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public S3Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentPage.next();
+        }
+
+        private Object take() {
+            try {
+                return Objects.requireNonNull(queues.get(currentQueue).take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Listing interrupted", e);
+            }
+        }
+    }
+
+    /**
+     * Lazily walks a prefix one directory level at a time, skipping rejected subtrees
+     */
+    private final class WalkingIterator implements Iterator<S3Object> {
+
+        private final String bucketName;
+        private final Predicate<String> descend;
+        private final Deque<String> pendingPrefixes = new ArrayDeque<>();
+        private final List<String> children = new ArrayList<>();
+        private Iterator<S3Object> currentPage = Collections.emptyIterator();
+        private String currentPrefix;
+        private String continuationToken;
+
+        WalkingIterator(String bucketName, String prefix, Predicate<String> descend) {
+            this.bucketName = bucketName;
+            this.descend = descend;
+            this.pendingPrefixes.push(prefix);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPage.hasNext() && (continuationToken != null || !pendingPrefixes.isEmpty())) {
+                if (continuationToken == null) {
+                    currentPrefix = pendingPrefixes.pop();
+                }
+                ListObjectsV2Response response = list(ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .prefix(currentPrefix)
+                        .delimiter(DELIMITER)
+                        .continuationToken(continuationToken)
+                        .maxKeys(PAGE_SIZE)
+                        .build());
+                currentPage = response.contents().iterator();
+                response.commonPrefixes().stream()
+                        .map(CommonPrefix::prefix)
+                        .filter(descend)
+                        .forEach(children::add);
+                continuationToken = Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null;
+                if (continuationToken == null) {
+                    // Push in reverse so that subdirectories are visited in key order
+                    for (int i = children.size() - 1; i >= 0; i--) {
+                        pendingPrefixes.push(children.get(i));
+                    }
+                    children.clear();
+                }
+            }
+            return currentPage.hasNext();
+        }
+
+        @Override
+        public S3Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentPage.next();
+        }
+    }
+
+    /**
+     * Lazily paginates a whole prefix on the caller thread
+     */
+    private final class PaginatingIterator implements Iterator<S3Object> {
+
+        private final String bucketName;
+        private final String prefix;
+        private Iterator<S3Object> currentPage = Collections.emptyIterator();
+        private String continuationToken;
+        private boolean exhausted;
+
+        PaginatingIterator(String bucketName, String prefix) {
+            this.bucketName = bucketName;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPage.hasNext() && !exhausted) {
+                ListObjectsV2Response response = list(ListObjectsV2Request.builder()
+                        .bucket(bucketName)
+                        .prefix(prefix)
+                        .continuationToken(continuationToken)
+                        .maxKeys(PAGE_SIZE)
+                        .build());
+                currentPage = response.contents().iterator();
+                continuationToken = Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null;
+                exhausted = continuationToken == null;
+            }
+            return currentPage.hasNext();
+        }
+
+        @Override
+        public S3Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentPage.next();
+        }
+    }
+}
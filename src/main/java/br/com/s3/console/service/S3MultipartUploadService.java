@@ -0,0 +1,395 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.buffer.BufferPool;
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.transfer.PartState;
+import br.com.s3.console.transfer.TransferListener;
+import br.com.s3.console.util.FileChannels;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Service responsible for multipart uploads of streams of unknown length and of local files,
+ * split into parts while they are read
+ */
+@Service
+public class S3MultipartUploadService {
+
+    /** Smallest part accepted by S3, except for the last one */
+    public static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    /** Largest number of parts of a multipart upload */
+    public static final int MAX_PARTS = 10_000;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final BulkExecutor bulkExecutor;
+    private final BufferPool bufferPool;
+
+    public S3MultipartUploadService(BulkExecutor bulkExecutor, BufferPool bufferPool) {
+        this.bulkExecutor = bulkExecutor;
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Uploads a stream to an object without knowing its length in advance.
+     * A stream that ends within the first part is sent with a single PutObject. Longer streams
+     * become a multipart upload whose parts are uploaded concurrently while the next ones are
+     * still being read, and the upload is completed at the end of the stream or aborted on failure.
+     * Part buffers are leased from the shared {@link BufferPool} and recycled, so at most
+     * {@code partSize × (partConcurrency + 1)} bytes are held. Two buffers are always leased so
+     * that reading can overlap uploading; the others are only taken while the pool has room,
+     * so fewer parts are in flight when the memory limit is reached.
+     *
+     * @param s3Client Client of the destination
+     * @param bucketName Destination bucket name
+     * @param key Destination object key
+     * @param content Stream to upload, read to its end but not closed
+     * @param contentType Content type of the object, or null for binary content
+     * @param metadata User metadata of the object
+     * @param partSize Size of the parts, raised to 5 MiB when smaller
+     * @param partConcurrency Number of concurrent part uploads
+     * @param listener Listener notified of the state of every part and of the bytes uploaded
+     * @return Number of bytes uploaded
+     * @throws IllegalArgumentException if two part buffers do not fit in the buffer memory limit
+     * @throws IllegalStateException if the stream needs more than 10,000 parts
+     */
+    public long upload(S3Client s3Client, String bucketName, String key, InputStream content, String contentType,
+                       Map<String, String> metadata, long partSize, int partConcurrency, TransferListener listener) {
+        if (partSize > BufferPool.MAX_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Part size must not exceed 1 GiB.");
+        }
+        int bufferSize = (int) Math.max(partSize, MIN_PART_SIZE);
+        checkBuffers(bufferSize);
+        String type = contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+        PartSource source = (number, buffer) -> content.readNBytes(buffer.array(), buffer.arrayOffset(), buffer.limit());
+        try (PartReader reader = new PartReader(bufferPool, source, bufferSize, Math.max(1, partConcurrency) + 1)) {
+            return uploadParts(s3Client, bucketName, key, type, metadata, reader, partConcurrency, listener,
+                    part -> reader.recycle(part.lease()));
+        }
+    }
+
+    /**
+     * Uploads a local file, in concurrent parts when it is larger than one part.
+     * Parts are read with positional reads into buffers leased from the shared {@link BufferPool},
+     * like the parts of streams, so at most {@code partSize × (partConcurrency + 1)} bytes are held.
+     * The file may be written or truncated while it is uploaded, as in watched directories: bytes
+     * are only read once, when their part is, and a file that became shorter fails the upload.
+     *
+     * @param s3Client Client of the destination
+     * @param bucketName Destination bucket name
+     * @param key Destination object key
+     * @param file Local file to upload
+     * @param contentType Content type of the object, or null to guess it from the file name
+     * @param metadata User metadata of the object
+     * @param partSize Size of the parts, raised to 5 MiB when smaller and to fit the file in 10,000 parts
+     * @param partConcurrency Number of concurrent part uploads
+     * @param listener Listener notified of the state of every part and of the bytes uploaded
+     * @return Number of bytes uploaded
+     * @throws IOException if the file cannot be read or ends before the size it had when the upload started
+     * @throws IllegalArgumentException if two part buffers do not fit in the buffer memory limit
+     */
+    public long uploadFile(S3Client s3Client, String bucketName, String key, Path file, String contentType,
+                           Map<String, String> metadata, long partSize, int partConcurrency,
+                           TransferListener listener) throws IOException {
+        if (partSize > BufferPool.MAX_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Part size must not exceed 1 GiB.");
+        }
+        long size = Files.size(file);
+        long effectivePartSize = Math.max(Math.max(partSize, MIN_PART_SIZE), (size + MAX_PARTS - 1) / MAX_PARTS);
+        if (effectivePartSize > BufferPool.MAX_BUFFER_SIZE) {
+            throw new IllegalArgumentException("File is too large to be uploaded in " + MAX_PARTS + " parts.");
+        }
+        // Files within one part only need a buffer of their size
+        int bufferSize = (int) Math.max(1, Math.min(effectivePartSize, size));
+        checkBuffers(bufferSize);
+        String type = contentType != null ? contentType : Files.probeContentType(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            PartSource source = (number, buffer) -> {
+                long offset = (number - 1) * effectivePartSize;
+                if (offset >= size) {
+                    return 0;
+                }
+                buffer.limit((int) Math.min(effectivePartSize, size - offset));
+                FileChannels.readFully(channel, buffer, offset);
+                return buffer.position();
+            };
+            try (PartReader reader = new PartReader(bufferPool, source, bufferSize, Math.max(1, partConcurrency) + 1)) {
+                return uploadParts(s3Client, bucketName, key, type != null ? type : DEFAULT_CONTENT_TYPE, metadata,
+                        reader, partConcurrency, listener, part -> reader.recycle(part.lease()));
+            }
+        } catch (UncheckedIOException e) {
+            throw new IOException(e.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Checks that the two part buffers an upload always leases fit in the buffer memory limit
+     */
+    private void checkBuffers(int bufferSize) {
+        if (!bufferPool.fits(bufferSize, PartReader.MIN_BUFFERS)) {
+            throw new IllegalArgumentException("Part size of " + bufferSize + " bytes is too large for the buffer"
+                    + " memory limit of " + bufferPool.maxMemory() + " bytes, two parts must fit in"
+                    + " console.buffers.max-memory.");
+        }
+    }
+
+    /**
+     * Uploads parts with a single PutObject when there is at most one, as a multipart upload otherwise
+     * @param release Called once the upload of a part is over
+     */
+    private long uploadParts(S3Client s3Client, String bucketName, String key, String type,
+                             Map<String, String> metadata, Iterator<Part> partIterator, int partConcurrency,
+                             TransferListener listener, Consumer<Part> release) {
+        Part first = partIterator.hasNext() ? partIterator.next() : null;
+        if (!partIterator.hasNext()) {
+            try {
+                s3Client.putObject(PutObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .contentType(type)
+                                .metadata(metadata)
+                                .build(),
+                        first != null ? body(first, type) : RequestBody.empty());
+                long length = first != null ? first.length() : 0;
+                listener.bytesTransferred(key, length);
+                return length;
+            } finally {
+                if (first != null) {
+                    release.accept(first);
+                }
+            }
+        }
+
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(type)
+                .metadata(metadata)
+                .build()).uploadId();
+
+        try {
+            List<CompletedPart> parts = new ArrayList<>();
+            AtomicLong bytes = new AtomicLong();
+            Stream<Part> remaining = StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                    partIterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+            Stream<Part> queued = Stream.concat(Stream.of(first), remaining)
+                    .peek(part -> listener.partChanged(key, part.number(), PartState.QUEUED));
+
+            bulkExecutor.forEach(queued, partConcurrency, part -> {
+                listener.partChanged(key, part.number(), PartState.UPLOADING);
+                try {
+                    String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                                    .bucket(bucketName)
+                                    .key(key)
+                                    .uploadId(uploadId)
+                                    .partNumber(part.number())
+                                    .contentLength((long) part.length())
+                                    .build(),
+                            body(part, type)).eTag();
+                    synchronized (parts) {
+                        parts.add(CompletedPart.builder().partNumber(part.number()).eTag(eTag).build());
+                    }
+                    bytes.addAndGet(part.length());
+                    listener.bytesTransferred(key, part.length());
+                    listener.partChanged(key, part.number(), PartState.COMPLETED);
+                } catch (RuntimeException e) {
+                    listener.partChanged(key, part.number(), PartState.FAILED);
+                    throw e;
+                } finally {
+                    release.accept(part);
+                }
+            });
+
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            return bytes.get();
+        } catch (RuntimeException e) {
+            // An interrupted thread cannot send requests, yet a cancelled upload must still be aborted
+            boolean interrupted = Thread.interrupted();
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (RuntimeException abortFailure) {
+                e.addSuppressed(abortFailure);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a request body over a part buffer, re-readable for retries and without copying it first.
+     * The HTTP client copies the body from the array of the buffer into its own buffers as it writes the request.
+     */
+    private static RequestBody body(Part part, String contentType) {
+        ByteBuffer buffer = part.buffer();
+        byte[] bytes = buffer.array();
+        int offset = buffer.arrayOffset() + buffer.position();
+        int length = buffer.remaining();
+        return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(bytes, offset, length), length,
+                contentType);
+    }
+
+    /**
+     * Part whose contents are the remaining bytes of a pooled buffer
+     */
+    private record Part(int number, ByteBuffer buffer, BufferPool.Lease lease) {
+
+        int length() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Source of the contents of parts
+     */
+    @FunctionalInterface
+    private interface PartSource {
+
+        /**
+         * Reads a part into the array of a buffer, from its start up to its limit
+         * @param number Number of the part, starting at 1
+         * @param buffer Cleared buffer whose limit is the part size
+         * @return Number of bytes read, 0 once there are no more parts
+         */
+        int read(int number, ByteBuffer buffer) throws IOException;
+    }
+
+    /**
+     * Iterator splitting a source into parts, reading each one only when it is requested.
+     * Buffers are leased from the pool and must be recycled once their part is uploaded;
+     * closing the reader hands every buffer back to the pool.
+     */
+    private static final class PartReader implements Iterator<Part>, AutoCloseable {
+
+        private static final int MIN_BUFFERS = 2;
+
+        private final BufferPool bufferPool;
+        private final PartSource source;
+        private final int partSize;
+        private final int maxBuffers;
+        private final BlockingQueue<BufferPool.Lease> freeBuffers;
+        private final List<BufferPool.Lease> leases = new ArrayList<>();
+        private int partNumber;
+        private Part next;
+        private boolean finished;
+
+        PartReader(BufferPool bufferPool, PartSource source, int partSize, int maxBuffers) {
+            this.bufferPool = bufferPool;
+            this.source = source;
+            this.partSize = partSize;
+            this.maxBuffers = Math.max(MIN_BUFFERS, maxBuffers);
+            this.freeBuffers = new ArrayBlockingQueue<>(this.maxBuffers);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                BufferPool.Lease lease = takeBuffer();
+                ByteBuffer buffer = lease.buffer().clear().limit(partSize);
+                try {
+                    // Read straight into the array of the buffer, filling the whole part unless the source ends
+                    buffer.limit(source.read(partNumber + 1, buffer)).position(0);
+                    if (!buffer.hasRemaining()) {
+                        finished = true;
+                        recycle(lease);
+                    } else if (partNumber == MAX_PARTS) {
+                        recycle(lease);
+                        throw new IllegalStateException("The stream needs more than " + MAX_PARTS
+                                + " parts, use a larger part size.");
+                    } else {
+                        next = new Part(++partNumber, buffer, lease);
+                    }
+                } catch (IOException e) {
+                    recycle(lease);
+                    throw new UncheckedIOException("Error reading part " + (partNumber + 1) + ": " + e.getMessage(), e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Part next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Part part = next;
+            next = null;
+            return part;
+        }
+
+        void recycle(BufferPool.Lease lease) {
+            freeBuffers.offer(lease);
+        }
+
+        private BufferPool.Lease takeBuffer() {
+            BufferPool.Lease lease = freeBuffers.poll();
+            if (lease != null) {
+                return lease;
+            }
+            if (leases.isEmpty()) {
+                leases.addAll(bufferPool.lease(partSize, MIN_BUFFERS));
+                freeBuffers.addAll(leases.subList(1, leases.size()));
+                return leases.getFirst();
+            }
+            if (leases.size() < maxBuffers && (lease = bufferPool.tryLease(partSize)) != null) {
+                leases.add(lease);
+                return lease;
+            }
+            try {
+                return freeBuffers.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Upload interrupted", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            leases.forEach(BufferPool.Lease::close);
+        }
+    }
+}
@@ -0,0 +1,609 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.PackMember;
+import br.com.s3.console.transfer.TransferListener;
+import br.com.s3.console.transfer.TransferMetrics;
+import br.com.s3.console.util.KeyGlob;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for packs: many small files concatenated into a few large archive objects,
+ * with an index of the offset and length of every file stored alongside them, so that files are
+ * uploaded with a handful of requests and each one can still be read with a single ranged GET.
+ * <p>
+ * Every upload of a pack named {@code data/images} writes a new generation, named after the time of
+ * the upload and a random suffix: the objects {@code data/images/<generation>/archive-00000},
+ * {@code data/images/<generation>/archive-00001}, ... and the index {@code data/images/<generation>/index.tsv},
+ * whose lines hold the archive number, offset, length and relative path of each file, separated by tabs,
+ * sorted by path. Backslashes, tabs and line breaks in paths are escaped as {@code \\}, {@code \t},
+ * {@code \n} and {@code \r}. The small object {@code data/images/index-blocks.tsv} names the current
+ * generation on its first line, then holds the offset, length and first path of every block of about
+ * {@link #INDEX_BLOCK_SIZE} bytes of the index, so a single file is looked up by reading one block
+ * instead of the whole index. It is written last, with a single request, so repacking switches readers
+ * to the new generation at once and never changes the objects an earlier index points into.
+ * Packs written before generations existed have no generation line, and their archives and index
+ * sit right under the pack name.
+ */
+@Service
+public class S3PackService {
+
+    static final String INDEX_NAME = "index.tsv";
+    static final String INDEX_BLOCKS_NAME = "index-blocks.tsv";
+    static final String GENERATION_FIELD = "generation";
+    /**
+     * Size above which a new block of the index is started
+     */
+    static final int INDEX_BLOCK_SIZE = 64 * 1024;
+    /**
+     * Longest run of unwanted bytes between two files read and discarded instead of starting another request
+     */
+    static final long MAX_GAP = 1024 * 1024;
+    /**
+     * Largest byte range read with a single request when unpacking
+     */
+    static final long MAX_RUN_SIZE = 64L * 1024 * 1024;
+    private static final String ARCHIVE_CONTENT_TYPE = "application/octet-stream";
+    private static final String INDEX_CONTENT_TYPE = "text/tab-separated-values";
+
+    private final S3BucketFileService s3BucketFileService;
+    private final BulkExecutor bulkExecutor;
+    private final TransferMetrics transferMetrics;
+
+    public S3PackService(S3BucketFileService s3BucketFileService, BulkExecutor bulkExecutor,
+                         TransferMetrics transferMetrics) {
+        this.s3BucketFileService = s3BucketFileService;
+        this.bulkExecutor = bulkExecutor;
+        this.transferMetrics = transferMetrics;
+    }
+
+    /**
+     * Packs every file of a directory tree into archive objects of about the given size, then writes
+     * the index. Each archive is streamed from the files into a pipelined multipart upload, so nothing
+     * is staged on disk. Files larger than the archive size get an archive of their own.
+     * Packing again into an existing pack writes a new generation next to the previous one, which is
+     * left in place for the readers that already loaded its index.
+     *
+     * @param bucketName Bucket name
+     * @param directory Local directory to pack
+     * @param pack Name of the pack, used as the key prefix of its objects
+     * @param archiveSize Size above which a new archive is started
+     * @param partSize Size of the uploaded parts of the archives
+     * @param partConcurrency Number of concurrent part uploads
+     * @param listener Listener notified of the parts and bytes uploaded
+     * @return Summary of the packed files
+     */
+    public BulkResult packUpload(String bucketName, Path directory, String pack, long archiveSize, long partSize,
+                                 int partConcurrency, TransferListener listener) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Directory '" + directory + "' does not exist.");
+        }
+        String name = packName(pack);
+        String generation = newGeneration();
+        long start = System.nanoTime();
+
+        List<PackMember> members = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(directory)) {
+            int archive = 0;
+            long offset = 0;
+            for (Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+                long size = Files.size(file);
+                if (offset > 0 && offset + size > archiveSize) {
+                    archive++;
+                    offset = 0;
+                }
+                members.add(new PackMember(S3DirectoryWatchService.toKey(directory.relativize(file)), archive, offset,
+                        size));
+                offset += size;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading directory: " + e.getMessage(), e);
+        }
+
+        long bytes = 0;
+        int from = 0;
+        while (from < members.size()) {
+            int archive = members.get(from).archive();
+            int to = from;
+            while (to < members.size() && members.get(to).archive() == archive) {
+                to++;
+            }
+            try (InputStream content = new ArchiveInputStream(directory, members.subList(from, to).iterator())) {
+                bytes += s3BucketFileService.uploadStream(bucketName, content, archiveKey(name, generation, archive),
+                        ARCHIVE_CONTENT_TYPE, partSize, partConcurrency, listener);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading file: " + e.getMessage(), e);
+            }
+            from = to;
+        }
+
+        // The block list is written last, so a pack whose upload failed keeps pointing to its previous generation
+        byte[] index = formatIndex(members);
+        s3BucketFileService.uploadStream(bucketName, new ByteArrayInputStream(index), indexKey(name, generation),
+                INDEX_CONTENT_TYPE, partSize, 1, TransferListener.NONE);
+        byte[] blocks = (GENERATION_FIELD + '\t' + generation + '\n' + formatBlocks(index, INDEX_BLOCK_SIZE))
+                .getBytes(StandardCharsets.UTF_8);
+        s3BucketFileService.uploadStream(bucketName, new ByteArrayInputStream(blocks), indexBlocksKey(name),
+                INDEX_CONTENT_TYPE, partSize, 1, TransferListener.NONE);
+
+        return new BulkResult(members.size(), bytes, 0, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Reads the index of a pack
+     * @param bucketName Bucket name
+     * @param pack Name of the pack
+     * @return Files of the pack, in path order
+     */
+    public List<PackMember> readIndex(String bucketName, String pack) {
+        String name = packName(pack);
+        return readIndex(bucketName, name, readBlocks(bucketName, name).generation());
+    }
+
+    private List<PackMember> readIndex(String bucketName, String name, String generation) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        s3BucketFileService.streamRange(bucketName, indexKey(name, generation), 0, -1, content);
+        return parseIndex(content.toString(StandardCharsets.UTF_8));
+    }
+
+    private IndexBlocks readBlocks(String bucketName, String name) {
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        s3BucketFileService.streamRange(bucketName, indexBlocksKey(name), 0, -1, blocks);
+        return parseBlocks(blocks.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Streams a file of a pack, or a byte range of it, with a single ranged GET on its archive.
+     * The file is looked up in the one block of the index that can hold its path.
+     *
+     * @param bucketName Bucket name
+     * @param pack Name of the pack
+     * @param path Path of the file in the pack
+     * @param offset First byte of the file to read
+     * @param length Number of bytes to read, or a negative value to read until the end of the file
+     * @param output Stream receiving the bytes
+     * @return Number of bytes written
+     * @throws IllegalArgumentException if the file is not in the pack
+     */
+    public long catMember(String bucketName, String pack, String path, long offset, long length, OutputStream output) {
+        String name = packName(pack);
+        IndexBlocks blocks = readBlocks(bucketName, name);
+        PackMember member = findMember(bucketName, name, blocks, path)
+                .orElseThrow(() -> new IllegalArgumentException("File '" + path + "' is not in pack '" + name + "'."));
+
+        long first = Math.min(Math.max(0, offset), member.length());
+        long available = member.length() - first;
+        return s3BucketFileService.streamRange(bucketName, archiveKey(name, blocks.generation(), member.archive()),
+                member.offset() + first, length < 0 ? available : Math.min(length, available), output);
+    }
+
+    private Optional<PackMember> findMember(String bucketName, String name, IndexBlocks blocks, String path) {
+        // Last block starting at or before the path, the only one that can hold it
+        IndexBlock block = null;
+        for (IndexBlock candidate : blocks.blocks()) {
+            if (candidate.firstPath().compareTo(path) > 0) {
+                break;
+            }
+            block = candidate;
+        }
+        if (block == null) {
+            return Optional.empty();
+        }
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        s3BucketFileService.streamRange(bucketName, indexKey(name, blocks.generation()), block.offset(), block.length(),
+                content);
+        return parseIndex(content.toString(StandardCharsets.UTF_8)).stream()
+                .filter(candidate -> candidate.path().equals(path))
+                .findFirst();
+    }
+
+    /**
+     * Extracts the files of a pack, or those matching a glob, into a local directory.
+     * Files close to each other in the same archive are read together with one ranged GET,
+     * and these requests run concurrently.
+     *
+     * @param bucketName Bucket name
+     * @param pack Name of the pack
+     * @param glob Glob the paths of the extracted files must match, or null for every file
+     * @param destination Local directory receiving the files under their paths
+     * @param parallelism Number of concurrent requests
+     * @param listener Listener notified of the bytes written to each file
+     * @return Summary of the extracted files
+     */
+    public BulkResult unpackDownload(String bucketName, String pack, String glob, Path destination, int parallelism,
+                                     TransferListener listener) {
+        String name = packName(pack);
+        String generation = readBlocks(bucketName, name).generation();
+        long start = System.nanoTime();
+        Pattern pattern = glob != null ? KeyGlob.toPattern(glob) : null;
+        List<PackMember> selected = readIndex(bucketName, name, generation).stream()
+                .filter(member -> pattern == null || pattern.matcher(member.path()).matches())
+                .sorted(Comparator.comparingInt(PackMember::archive).thenComparingLong(PackMember::offset))
+                .toList();
+
+        // Checked before any byte is written, so that a hostile index cannot escape the destination
+        Path root = destination.toAbsolutePath().normalize();
+        selected.forEach(member -> resolve(root, member.path()));
+
+        TransferListener progress = TransferListener.of(listener, transferMetrics);
+        AtomicLong bytes = new AtomicLong();
+        bulkExecutor.forEach(runs(selected).stream(), parallelism, run -> {
+            PackMember first = run.getFirst();
+            PackMember last = run.getLast();
+            try (MemberWriter writer = new MemberWriter(root, run, progress)) {
+                s3BucketFileService.streamRange(bucketName, archiveKey(name, generation, first.archive()),
+                        first.offset(), last.offset() + last.length() - first.offset(), writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing file: " + e.getMessage(), e);
+            }
+            bytes.addAndGet(run.stream().mapToLong(PackMember::length).sum());
+        });
+
+        return new BulkResult(selected.size(), bytes.get(), 0, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Groups files sorted by archive and offset into runs read with a single ranged GET each:
+     * a file joins the previous run when it is in the same archive, at most {@link #MAX_GAP} bytes
+     * after it, and the run stays within {@link #MAX_RUN_SIZE} bytes
+     */
+    static List<List<PackMember>> runs(List<PackMember> members) {
+        List<List<PackMember>> runs = new ArrayList<>();
+        List<PackMember> run = new ArrayList<>();
+        long runStart = 0;
+        long runEnd = 0;
+        for (PackMember member : members) {
+            boolean joins = !run.isEmpty()
+                    && member.archive() == run.getFirst().archive()
+                    && member.offset() - runEnd <= MAX_GAP
+                    && member.offset() + member.length() - runStart <= MAX_RUN_SIZE;
+            if (!joins && !run.isEmpty()) {
+                runs.add(run);
+                run = new ArrayList<>();
+            }
+            if (run.isEmpty()) {
+                runStart = member.offset();
+            }
+            run.add(member);
+            runEnd = member.offset() + member.length();
+        }
+        if (!run.isEmpty()) {
+            runs.add(run);
+        }
+        return runs;
+    }
+
+    /**
+     * Formats the index lines of the files, sorted by path
+     */
+    static byte[] formatIndex(List<PackMember> members) {
+        StringBuilder index = new StringBuilder();
+        members.stream().sorted(Comparator.comparing(PackMember::path)).forEach(member ->
+                index.append(member.archive()).append('\t')
+                        .append(member.offset()).append('\t')
+                        .append(member.length()).append('\t')
+                        .append(escape(member.path())).append('\n'));
+        return index.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Splits an index into blocks of whole lines of about the given size, and formats the offset,
+     * length and first path of each one
+     */
+    static String formatBlocks(byte[] index, int blockSize) {
+        StringBuilder blocks = new StringBuilder();
+        int start = 0;
+        while (start < index.length) {
+            int end = start;
+            while (end < index.length && (end == start || end - start < blockSize)) {
+                end = nextLine(index, end);
+            }
+            String firstLine = new String(index, start, nextLine(index, start) - start - 1, StandardCharsets.UTF_8);
+            blocks.append(start).append('\t')
+                    .append(end - start).append('\t')
+                    .append(firstLine.split("\t", 4)[3]).append('\n');
+            start = end;
+        }
+        return blocks.toString();
+    }
+
+    static List<PackMember> parseIndex(String index) {
+        return index.lines()
+                .filter(line -> !line.isEmpty())
+                .map(line -> {
+                    String[] fields = line.split("\t", 4);
+                    if (fields.length < 4) {
+                        throw new IllegalStateException("Invalid pack index line: " + line);
+                    }
+                    return new PackMember(unescape(fields[3]), Integer.parseInt(fields[0]), Long.parseLong(fields[1]),
+                            Long.parseLong(fields[2]));
+                })
+                .toList();
+    }
+
+    static IndexBlocks parseBlocks(String content) {
+        List<String> lines = content.lines().filter(line -> !line.isEmpty()).toList();
+        String generation = null;
+        if (!lines.isEmpty() && lines.getFirst().startsWith(GENERATION_FIELD + '\t')) {
+            generation = lines.getFirst().substring(GENERATION_FIELD.length() + 1);
+            lines = lines.subList(1, lines.size());
+        }
+        List<IndexBlock> blocks = lines.stream()
+                .map(line -> {
+                    String[] fields = line.split("\t", 3);
+                    if (fields.length < 3) {
+                        throw new IllegalStateException("Invalid pack index block line: " + line);
+                    }
+                    return new IndexBlock(Long.parseLong(fields[0]), Long.parseLong(fields[1]), unescape(fields[2]));
+                })
+                .toList();
+        return new IndexBlocks(generation, blocks);
+    }
+
+    /**
+     * Escapes the characters that would split an index line or field
+     */
+    static String escape(String path) {
+        StringBuilder escaped = new StringBuilder(path.length());
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    static String unescape(String field) {
+        StringBuilder path = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '\\') {
+                path.append(c);
+                continue;
+            }
+            if (++i == field.length()) {
+                throw new IllegalStateException("Invalid escape at the end of pack index path: " + field);
+            }
+            switch (field.charAt(i)) {
+                case '\\' -> path.append('\\');
+                case 't' -> path.append('\t');
+                case 'n' -> path.append('\n');
+                case 'r' -> path.append('\r');
+                default -> throw new IllegalStateException("Invalid escape in pack index path: " + field);
+            }
+        }
+        return path.toString();
+    }
+
+    private static int nextLine(byte[] index, int position) {
+        while (index[position] != '\n') {
+            position++;
+        }
+        return position + 1;
+    }
+
+    static String packName(String pack) {
+        String name = pack.replaceAll("/+$", "");
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Pack name must not be empty.");
+        }
+        return name;
+    }
+
+    /**
+     * Names a generation after the time of the upload, with a random suffix so that uploads started
+     * in the same millisecond do not share it
+     */
+    static String newGeneration() {
+        return Long.toString(System.currentTimeMillis(), Character.MAX_RADIX) + "-"
+                + HexFormat.of().toHexDigits((short) ThreadLocalRandom.current().nextInt());
+    }
+
+    static String archiveKey(String name, String generation, int archive) {
+        return generationPrefix(name, generation) + String.format(Locale.ROOT, "archive-%05d", archive);
+    }
+
+    static String indexKey(String name, String generation) {
+        return generationPrefix(name, generation) + INDEX_NAME;
+    }
+
+    private static String generationPrefix(String name, String generation) {
+        return generation != null ? name + "/" + generation + "/" : name + "/";
+    }
+
+    static String indexBlocksKey(String name) {
+        return name + "/" + INDEX_BLOCKS_NAME;
+    }
+
+    private static Path resolve(Path root, String path) {
+        Path file = root.resolve(path).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new IllegalArgumentException("File '" + path + "' would be written outside of '" + root + "'.");
+        }
+        return file;
+    }
+
+    /**
+     * Byte range of the index whose paths sort at or after the first path of the block
+     *
+     * @param offset Position of the first line of the block in the index
+     * @param length Size of the block in bytes
+     * @param firstPath Path of the first line of the block
+     */
+    record IndexBlock(long offset, long length, String firstPath) {
+    }
+
+    /**
+     * Contents of the block list of a pack
+     *
+     * @param generation Generation whose index and archives are current, null for packs written without generations
+     * @param blocks Blocks of the index, in path order
+     */
+    record IndexBlocks(String generation, List<IndexBlock> blocks) {
+    }
+
+    /**
+     * Concatenation of the files of an archive, each one opened when the previous one is exhausted
+     * and cut at the length recorded in the index
+     */
+    private static final class ArchiveInputStream extends InputStream {
+
+        private final Path directory;
+        private final Iterator<PackMember> members;
+        private PackMember member;
+        private InputStream current;
+        private long remaining;
+
+        ArchiveInputStream(Path directory, Iterator<PackMember> members) {
+            this.directory = directory;
+            this.members = members;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (current == null || remaining == 0) {
+                close();
+                if (!members.hasNext()) {
+                    return -1;
+                }
+                member = members.next();
+                current = Files.newInputStream(directory.resolve(member.path()));
+                remaining = member.length();
+            }
+            int read = current.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read < 0) {
+                throw new IOException("File '" + member.path() + "' was truncated while it was packed");
+            }
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Splits the bytes of a run of an archive into the files of its members, discarding the gaps between them
+     */
+    private static final class MemberWriter extends OutputStream {
+
+        private final Path root;
+        private final List<PackMember> members;
+        private final TransferListener listener;
+        private int next;
+        private long position;
+        private PackMember member;
+        private OutputStream current;
+
+        MemberWriter(Path root, List<PackMember> members, TransferListener listener) {
+            this.root = root;
+            this.members = members;
+            this.listener = listener;
+            this.position = members.getFirst().offset();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            while (length > 0) {
+                openReady();
+                int count = current == null
+                        // Gap before the next member, or bytes past the last one
+                        ? (int) (next < members.size() ? Math.min(length, members.get(next).offset() - position) : length)
+                        : (int) Math.min(length, member.offset() + member.length() - position);
+                if (current != null) {
+                    current.write(buffer, offset, count);
+                    listener.bytesTransferred(member.path(), count);
+                }
+                position += count;
+                offset += count;
+                length -= count;
+                if (current != null && position == member.offset() + member.length()) {
+                    finishMember();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Empty members at the end of the run have no bytes to trigger their creation
+            openReady();
+            if (current != null) {
+                current.close();
+                current = null;
+                IOException error = new IOException("Archive ended before the end of '" + member.path() + "'");
+                listener.transferFailed(member.path(), error);
+                throw error;
+            }
+            if (next < members.size()) {
+                throw new IOException("Archive ended before '" + members.get(next).path() + "'");
+            }
+        }
+
+        private void openReady() throws IOException {
+            while (current == null && next < members.size() && members.get(next).offset() <= position) {
+                member = members.get(next++);
+                Path file = resolve(root, member.path());
+                Files.createDirectories(file.getParent());
+                current = Files.newOutputStream(file);
+                listener.transferStarted(member.path(), member.length());
+                if (member.length() == 0) {
+                    finishMember();
+                }
+            }
+        }
+
+        private void finishMember() throws IOException {
+            current.close();
+            current = null;
+            listener.transferCompleted(member.path());
+        }
+    }
+}
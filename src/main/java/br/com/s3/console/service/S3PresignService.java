@@ -0,0 +1,92 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.PresignMethod;
+import br.com.s3.console.model.SplitStrategy;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for generating presigned URLs offline, without calling S3.
+ * The presigner caches the derived SigV4 signing key per day, region and credentials,
+ * so a batch signed with the shared presigner derives it only once.
+ */
+@Service
+public class S3PresignService {
+
+    static final Duration MAX_EXPIRY = Duration.ofDays(7);
+
+    private final S3Presigner s3Presigner;
+    private final S3ListingService s3ListingService;
+    private final BulkExecutor bulkExecutor;
+
+    public S3PresignService(S3Presigner s3Presigner, S3ListingService s3ListingService, BulkExecutor bulkExecutor) {
+        this.s3Presigner = s3Presigner;
+        this.s3ListingService = s3ListingService;
+        this.bulkExecutor = bulkExecutor;
+    }
+
+    /**
+     * Generates a presigned URL for a single object
+     *
+     * @param bucketName Bucket name
+     * @param key Object key
+     * @param method HTTP method the URL grants
+     * @param expiry Validity of the URL, up to 7 days
+     * @return Presigned URL
+     */
+    public URL presign(String bucketName, String key, PresignMethod method, Duration expiry) {
+        checkExpiry(expiry);
+
+        return switch (method) {
+            case GET -> s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                    .signatureDuration(expiry)
+                    .getObjectRequest(GetObjectRequest.builder().bucket(bucketName).key(key).build())
+                    .build()).url();
+            case PUT -> s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                    .signatureDuration(expiry)
+                    .putObjectRequest(PutObjectRequest.builder().bucket(bucketName).key(key).build())
+                    .build()).url();
+        };
+    }
+
+    /**
+     * Generates presigned URLs for every object under a prefix, signing in parallel
+     * while the listing streams in. URLs are handed to the sink as soon as they are signed,
+     * in no particular order.
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param method HTTP method the URLs grant
+     * @param expiry Validity of the URLs, up to 7 days
+     * @param parallelism Number of concurrent signers
+     * @param sink Consumer receiving each key with its URL, called from several threads
+     * @return Number of URLs generated
+     */
+    public long presignPrefix(String bucketName, String prefix, PresignMethod method, Duration expiry,
+                              int parallelism, BiConsumer<String, URL> sink) {
+        checkExpiry(expiry);
+
+        try (Stream<S3Object> objects = s3ListingService.listObjects(bucketName, prefix, parallelism,
+                SplitStrategy.SAMPLE, false)) {
+            return bulkExecutor.forEach(objects, parallelism,
+                    object -> sink.accept(object.key(), presign(bucketName, object.key(), method, expiry)));
+        }
+    }
+
+    private static void checkExpiry(Duration expiry) {
+        if (expiry.isNegative() || expiry.isZero() || expiry.compareTo(MAX_EXPIRY) > 0) {
+            throw new IllegalArgumentException("Expiry must be between 1 second and 7 days.");
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.concurrent.ItemHandoff;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.query.CsvRowReader;
+import br.com.s3.console.query.JsonRowReader;
+import br.com.s3.console.query.Query;
+import br.com.s3.console.query.RowFormat;
+import br.com.s3.console.query.RowReader;
+import br.com.s3.console.util.ContentStreams;
+import br.com.s3.console.util.KeyGlob;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for running filter and projection queries over CSV and JSON-lines objects.
+ * Rows are parsed while the objects stream in, so only the matching rows are ever kept.
+ */
+@Service
+public class S3QueryService {
+
+    private static final int ROW_QUEUE_CAPACITY = 1024;
+
+    private final S3Client s3Client;
+    private final S3ListingService s3ListingService;
+    private final BulkExecutor bulkExecutor;
+
+    public S3QueryService(S3Client s3Client, S3ListingService s3ListingService, BulkExecutor bulkExecutor) {
+        this.s3Client = s3Client;
+        this.s3ListingService = s3ListingService;
+        this.bulkExecutor = bulkExecutor;
+    }
+
+    /**
+     * Runs a query over every object matching a key glob.
+     * Objects are parsed concurrently and gzip content is decompressed on the fly. Once the
+     * query limit is reached no more objects are listed and in-flight transfers are aborted.
+     * Matching rows are handed to the sink on the calling thread through a bounded queue.
+     *
+     * @param bucketName Bucket name
+     * @param glob Key glob selecting the objects to query, its literal prefix narrows the listing
+     * @param query Parsed query
+     * @param format Format of the objects, or null to pick it from each key and skip unknown ones
+     * @param delimiter Field delimiter of CSV objects
+     * @param parallelism Number of objects parsed concurrently
+     * @param sink Consumer receiving the projected rows, not called for {@code COUNT(*)} queries
+     * @return Number of matching rows
+     */
+    public long query(String bucketName, String glob, Query query, RowFormat format, char delimiter,
+                      int parallelism, Consumer<Map<String, Object>> sink) {
+        Pattern keyPattern = KeyGlob.toPattern(glob);
+        AtomicLong matched = new AtomicLong();
+
+        ItemHandoff.<Map<String, Object>>run("Query", ROW_QUEUE_CAPACITY, rows -> {
+            try (Stream<S3Object> objects = s3ListingService.listObjects(bucketName, KeyGlob.literalPrefix(glob),
+                    parallelism, SplitStrategy.SAMPLE, false)) {
+                bulkExecutor.forEach(
+                        objects.filter(object -> keyPattern.matcher(object.key()).matches())
+                                .filter(object -> format != null || RowFormat.fromKey(object.key()) != null)
+                                .takeWhile(object -> !rows.isStopped()),
+                        parallelism,
+                        object -> queryObject(bucketName, object.key(),
+                                format != null ? format : RowFormat.fromKey(object.key()), delimiter, query,
+                                matched, rows));
+            }
+        }, sink);
+
+        return query.limit() > 0 ? Math.min(matched.get(), query.limit()) : matched.get();
+    }
+
+    private void queryObject(String bucketName, String key, RowFormat format, char delimiter, Query query,
+                             AtomicLong matched, ItemHandoff<Map<String, Object>> rows) {
+        ResponseInputStream<GetObjectResponse> response = s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                ContentStreams.decoded(response), StandardCharsets.UTF_8))) {
+            RowReader rowReader = format == RowFormat.CSV
+                    ? new CsvRowReader(reader, delimiter)
+                    : new JsonRowReader(reader);
+            Map<String, Object> row;
+            while (!rows.isStopped() && (row = rowReader.next()) != null) {
+                if (!query.filter().test(row)) {
+                    continue;
+                }
+                long count = matched.incrementAndGet();
+                if (query.limit() > 0 && count > query.limit()) {
+                    rows.stop();
+                    break;
+                }
+                if (!query.countOnly()) {
+                    rows.put(query.project(row));
+                }
+                if (query.limit() > 0 && count == query.limit()) {
+                    rows.stop();
+                }
+            }
+            if (rows.isStopped()) {
+                // Stop the transfer instead of draining the rest of the object
+                response.abort();
+            }
+        } catch (IOException e) {
+            // The reader does not own the response yet when decoding its first bytes fails
+            response.abort();
+            throw new RuntimeException("Error reading object '" + key + "': " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            response.abort();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Query interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.util.KeyOrder;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for replicating a bucket or prefix into another bucket with server-side copies
+ */
+@Service
+public class S3ReplicationService {
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+
+    private final S3ListingService s3ListingService;
+    private final S3CopyService s3CopyService;
+    private final BulkExecutor bulkExecutor;
+
+    public S3ReplicationService(S3ListingService s3ListingService, S3CopyService s3CopyService, BulkExecutor bulkExecutor) {
+        this.s3ListingService = s3ListingService;
+        this.s3CopyService = s3CopyService;
+        this.bulkExecutor = bulkExecutor;
+    }
+
+    /**
+     * Replicates every object under a source prefix into a destination bucket.
+     * Source and destination listings are consumed as ordered streams and merge-joined,
+     * so keys already present with the same ETag and size are skipped without extra requests.
+     *
+     * @param sourceBucket Source bucket name
+     * @param sourcePrefix Source key prefix, empty for the whole bucket
+     * @param destinationBucket Destination bucket name
+     * @param destinationPrefix Destination key prefix replacing the source prefix
+     * @param parallelism Number of concurrent copies
+     * @param progressListener Listener notified periodically with the running totals
+     * @return Summary of the replicated objects
+     */
+    public BulkResult replicate(String sourceBucket, String sourcePrefix, String destinationBucket,
+                                String destinationPrefix, int parallelism, Consumer<BulkResult> progressListener) {
+        if (sourceBucket.equals(destinationBucket)
+                && (sourcePrefix.startsWith(destinationPrefix) || destinationPrefix.startsWith(sourcePrefix))) {
+            throw new IllegalArgumentException("Source and destination prefixes must not overlap in the same bucket.");
+        }
+
+        long start = System.nanoTime();
+        AtomicLong copied = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        AtomicLong lastReport = new AtomicLong(start);
+
+        try (Stream<S3Object> source = s3ListingService.listObjects(sourceBucket, sourcePrefix, parallelism,
+                SplitStrategy.SAMPLE, true);
+             Stream<S3Object> destination = s3ListingService.listObjects(destinationBucket, destinationPrefix,
+                     parallelism, SplitStrategy.SAMPLE, true)) {
+
+            DestinationCursor cursor = new DestinationCursor(destination.iterator());
+            Stream<S3Object> pending = source.filter(object -> {
+                S3Object existing = cursor.seek(destinationKey(object, sourcePrefix, destinationPrefix));
+                if (isSameContent(object, existing)) {
+                    skipped.incrementAndGet();
+                    return false;
+                }
+                return true;
+            });
+
+            bulkExecutor.forEach(pending, parallelism, object -> {
+                s3CopyService.copyObject(sourceBucket, object.key(), object.size(), destinationBucket,
+                        destinationKey(object, sourcePrefix, destinationPrefix), S3CopyService.PREFIX_PART_CONCURRENCY);
+                copied.incrementAndGet();
+                bytes.addAndGet(object.size());
+
+                long now = System.nanoTime();
+                long last = lastReport.get();
+                if (now - last >= Duration.ofMillis(PROGRESS_INTERVAL_MILLIS).toNanos()
+                        && lastReport.compareAndSet(last, now)) {
+                    progressListener.accept(new BulkResult(copied.get(), bytes.get(), skipped.get(),
+                            Duration.ofNanos(now - start)));
+                }
+            });
+        }
+
+        return new BulkResult(copied.get(), bytes.get(), skipped.get(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static String destinationKey(S3Object object, String sourcePrefix, String destinationPrefix) {
+        return destinationPrefix + object.key().substring(sourcePrefix.length());
+    }
+
+    private static boolean isSameContent(S3Object source, S3Object destination) {
+        return destination != null
+                && Objects.equals(source.size(), destination.size())
+                && Objects.equals(source.eTag(), destination.eTag());
+    }
+
+    /**
+     * Forward-only cursor over the ordered destination listing
+     */
+    private static final class DestinationCursor {
+
+        private final Iterator<S3Object> iterator;
+        private S3Object current;
+
+        DestinationCursor(Iterator<S3Object> iterator) {
+            this.iterator = iterator;
+            this.current = iterator.hasNext() ? iterator.next() : null;
+        }
+
+        /**
+         * Advances past every key lower than the given one, in the order S3 lists keys
+         * @return Destination object with the given key, or null if absent
+         */
+        S3Object seek(String key) {
+            while (current != null && KeyOrder.compare(current.key(), key) < 0) {
+                current = iterator.hasNext() ? iterator.next() : null;
+            }
+            return current != null && current.key().equals(key) ? current : null;
+        }
+    }
+}
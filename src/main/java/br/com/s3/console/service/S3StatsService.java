@@ -0,0 +1,77 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.model.BucketStats;
+import br.com.s3.console.model.SplitStrategy;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for aggregating object counts and sizes of a bucket or prefix
+ */
+@Service
+public class S3StatsService {
+
+    private static final String DEFAULT_STORAGE_CLASS = "STANDARD";
+
+    private final S3ListingService s3ListingService;
+    private final S3IndexService s3IndexService;
+
+    public S3StatsService(S3ListingService s3ListingService, S3IndexService s3IndexService) {
+        this.s3ListingService = s3ListingService;
+        this.s3IndexService = s3IndexService;
+    }
+
+    /**
+     * Aggregates the objects under a prefix in a single pass
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param parallelism Number of concurrent paginators when listing
+     * @param fromIndex true to read the local index instead of listing the bucket
+     * @return Aggregated figures
+     */
+    public BucketStats stats(String bucketName, String prefix, int parallelism, boolean fromIndex) {
+        long objects = 0;
+        long bytes = 0;
+        String largestKey = null;
+        long largestSize = 0;
+        Instant oldest = null;
+        Instant newest = null;
+        Map<String, Long> objectsByStorageClass = new TreeMap<>();
+        Map<String, Long> bytesByStorageClass = new TreeMap<>();
+
+        try (Stream<S3Object> stream = fromIndex
+                ? s3IndexService.require(bucketName).objects(prefix)
+                : s3ListingService.listObjects(bucketName, prefix, parallelism, SplitStrategy.SAMPLE, false)) {
+            Iterator<S3Object> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                S3Object object = iterator.next();
+                long size = object.size() != null ? object.size() : 0;
+                objects++;
+                bytes += size;
+                if (largestKey == null || size > largestSize) {
+                    largestKey = object.key();
+                    largestSize = size;
+                }
+                Instant modified = object.lastModified();
+                if (modified != null) {
+                    oldest = oldest == null || modified.isBefore(oldest) ? modified : oldest;
+                    newest = newest == null || modified.isAfter(newest) ? modified : newest;
+                }
+                String storageClass = object.storageClassAsString() != null
+                        ? object.storageClassAsString() : DEFAULT_STORAGE_CLASS;
+                objectsByStorageClass.merge(storageClass, 1L, Long::sum);
+                bytesByStorageClass.merge(storageClass, size, Long::sum);
+            }
+        }
+
+        return new BucketStats(objects, bytes, largestKey, largestSize, oldest, newest,
+                objectsByStorageClass, bytesByStorageClass);
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.config.S3ClientProfiles;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.transfer.TransferListener;
+import br.com.s3.console.transfer.TransferMetrics;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for streaming objects from one endpoint profile into another.
+ * Objects are read from the source and written to the destination without touching the local disk.
+ */
+@Service
+public class S3TransferService {
+
+    private final S3ClientProfiles s3ClientProfiles;
+    private final S3MultipartUploadService s3MultipartUploadService;
+    private final BulkExecutor bulkExecutor;
+    private final TransferMetrics transferMetrics;
+
+    public S3TransferService(S3ClientProfiles s3ClientProfiles, S3MultipartUploadService s3MultipartUploadService,
+                             BulkExecutor bulkExecutor, TransferMetrics transferMetrics) {
+        this.s3ClientProfiles = s3ClientProfiles;
+        this.s3MultipartUploadService = s3MultipartUploadService;
+        this.bulkExecutor = bulkExecutor;
+        this.transferMetrics = transferMetrics;
+    }
+
+    /**
+     * Transfers every object under a prefix of a source profile into a bucket of a destination profile.
+     * Each object larger than a part is downloaded in a single GET and split into parts while it
+     * streams in; parts are uploaded concurrently while the rest of the object is still downloading.
+     * Part buffers are recycled, so at most {@code partSize × (partConcurrency + 1)} bytes are held
+     * per object and {@code parallelism} times that overall.
+     *
+     * @param sourceProfile Source profile name
+     * @param sourceBucket Source bucket name
+     * @param sourcePrefix Source key prefix, empty for the whole bucket
+     * @param destinationProfile Destination profile name
+     * @param destinationBucket Destination bucket name
+     * @param destinationPrefix Destination key prefix replacing the source prefix
+     * @param partSize Size of the uploaded parts, raised to 5 MiB or to fit 10,000 parts when needed
+     * @param partConcurrency Number of concurrent part uploads per object
+     * @param parallelism Number of objects transferred concurrently
+     * @param listener Listener notified of every object, part and byte transferred, by all workers
+     * @return Summary of the transferred objects
+     */
+    public BulkResult transfer(String sourceProfile, String sourceBucket, String sourcePrefix,
+                               String destinationProfile, String destinationBucket, String destinationPrefix,
+                               long partSize, int partConcurrency, int parallelism, TransferListener listener) {
+        if (sourceProfile.equals(destinationProfile) && sourceBucket.equals(destinationBucket)
+                && (sourcePrefix.startsWith(destinationPrefix) || destinationPrefix.startsWith(sourcePrefix))) {
+            throw new IllegalArgumentException("Source and destination prefixes must not overlap in the same bucket.");
+        }
+
+        S3Client source = s3ClientProfiles.client(sourceProfile);
+        S3Client destination = s3ClientProfiles.client(destinationProfile);
+        long start = System.nanoTime();
+        AtomicLong transferred = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        TransferListener progress = TransferListener.of(listener, transferMetrics);
+
+        try (Stream<S3Object> objects = new S3ListingService(source).listObjects(sourceBucket, sourcePrefix,
+                parallelism, SplitStrategy.SAMPLE, false)) {
+            bulkExecutor.forEach(objects, parallelism, object -> {
+                String destinationKey = destinationPrefix + object.key().substring(sourcePrefix.length());
+                progress.transferStarted(destinationKey, object.size());
+                try {
+                    long size = transferObject(source, sourceBucket, object.key(), destination, destinationBucket,
+                            destinationKey, partSize, partConcurrency, progress);
+                    transferred.incrementAndGet();
+                    bytes.addAndGet(size);
+                    progress.transferCompleted(destinationKey);
+                } catch (RuntimeException e) {
+                    progress.transferFailed(destinationKey, e);
+                    throw e;
+                }
+            });
+        }
+
+        return new BulkResult(transferred.get(), bytes.get(), 0, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Streams a single object from a source client into a destination client
+     *
+     * @return Number of bytes transferred
+     */
+    long transferObject(S3Client source, String sourceBucket, String sourceKey, S3Client destination,
+                        String destinationBucket, String destinationKey, long partSize, int partConcurrency,
+                        TransferListener listener) {
+        ResponseInputStream<GetObjectResponse> response = source.getObject(GetObjectRequest.builder()
+                .bucket(sourceBucket)
+                .key(sourceKey)
+                .build());
+
+        try {
+            GetObjectResponse head = response.response();
+            long size = head.contentLength();
+            long uploaded = s3MultipartUploadService.upload(destination, destinationBucket, destinationKey, response,
+                    head.contentType(), head.metadata(),
+                    Math.max(partSize, (size + S3MultipartUploadService.MAX_PARTS - 1) / S3MultipartUploadService.MAX_PARTS),
+                    partConcurrency, listener);
+            response.close();
+            return uploaded;
+        } catch (IOException e) {
+            response.abort();
+            throw new UncheckedIOException("Error reading object '" + sourceKey + "': " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            // Stop the download instead of draining the rest of the object
+            response.abort();
+            throw e;
+        }
+    }
+}
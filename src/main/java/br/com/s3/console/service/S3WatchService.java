@@ -0,0 +1,148 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.model.WatchMode;
+import br.com.s3.console.util.KeyOrder;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service responsible for tailing a bucket, reporting objects as they appear
+ */
+@Service
+public class S3WatchService {
+
+    /** Number of polls between two snapshot checks in AUTO mode */
+    static final int SNAPSHOT_CHECK_INTERVAL = 10;
+
+    private final S3BucketFileService s3BucketFileService;
+
+    public S3WatchService(S3BucketFileService s3BucketFileService) {
+        this.s3BucketFileService = s3BucketFileService;
+    }
+
+    /**
+     * Watches a prefix of a bucket, notifying the listener of every object created or
+     * overwritten after the watch started. Objects already present are not reported.
+     * The poll interval starts at the minimum, doubles after every poll that finds nothing up to
+     * the maximum, and drops back to the minimum as soon as something is found, so an idle
+     * bucket costs few requests while bursts are picked up quickly.
+     * The watch ends when the duration elapses or the calling thread is interrupted.
+     *
+     * @param bucketName Bucket name
+     * @param prefix Key prefix, empty for the whole bucket
+     * @param mode Strategy used to find new objects
+     * @param minInterval Shortest time between two polls
+     * @param maxInterval Longest time between two polls
+     * @param duration How long to watch, or zero to watch until interrupted
+     * @param parallelism Number of concurrent paginators of the snapshot listings
+     * @param listener Listener notified of each new or changed object, on the calling thread
+     * @return Number of objects reported
+     */
+    public long watch(String bucketName, String prefix, WatchMode mode, Duration minInterval, Duration maxInterval,
+                      Duration duration, int parallelism, Consumer<S3Object> listener) {
+        long deadline = duration.isZero() ? Long.MAX_VALUE : System.nanoTime() + duration.toNanos();
+        Map<String, String> snapshot = mode != WatchMode.START_AFTER ? snapshot(bucketName, prefix, parallelism) : null;
+        String lastKey = mode == WatchMode.START_AFTER ? lastKey(bucketName, prefix, parallelism)
+                : snapshot.keySet().stream().max(KeyOrder.COMPARATOR).orElse(null);
+
+        WatchMode current = mode;
+        Duration interval = minInterval;
+        long reported = 0;
+        long polls = 0;
+        while (pause(interval, deadline)) {
+            polls++;
+            List<S3Object> found;
+            if (current == WatchMode.SNAPSHOT
+                    || (current == WatchMode.AUTO && polls % SNAPSHOT_CHECK_INTERVAL == 0)) {
+                found = diff(bucketName, prefix, parallelism, snapshot);
+                String lastSeen = lastKey;
+                if (current == WatchMode.AUTO && found.stream().anyMatch(object -> lastSeen != null
+                        && KeyOrder.compare(object.key(), lastSeen) <= 0)) {
+                    // Keys do not only grow, polling after the last key would keep missing changes
+                    current = WatchMode.SNAPSHOT;
+                }
+            } else {
+                found = s3BucketFileService.listObjectsAfter(bucketName, prefix, lastKey);
+                if (snapshot != null) {
+                    found.forEach(object -> snapshot.put(object.key(), object.eTag()));
+                }
+            }
+
+            for (S3Object object : found) {
+                if (lastKey == null || KeyOrder.compare(object.key(), lastKey) > 0) {
+                    lastKey = object.key();
+                }
+                listener.accept(object);
+            }
+            reported += found.size();
+            interval = found.isEmpty() ? min(interval.multipliedBy(2), maxInterval) : minInterval;
+        }
+        return reported;
+    }
+
+    private Map<String, String> snapshot(String bucketName, String prefix, int parallelism) {
+        Map<String, String> snapshot = new HashMap<>();
+        try (Stream<S3Object> objects = s3BucketFileService.streamObjects(bucketName, prefix, parallelism, false)) {
+            objects.forEach(object -> snapshot.put(object.key(), object.eTag()));
+        }
+        return snapshot;
+    }
+
+    private String lastKey(String bucketName, String prefix, int parallelism) {
+        try (Stream<S3Object> objects = s3BucketFileService.streamObjects(bucketName, prefix, parallelism, true)) {
+            return objects.reduce((first, second) -> second).map(S3Object::key).orElse(null);
+        }
+    }
+
+    /**
+     * Lists the prefix again and replaces the snapshot with the listing
+     * @return Objects that are new or whose ETag changed, in key order
+     */
+    private List<S3Object> diff(String bucketName, String prefix, int parallelism, Map<String, String> snapshot) {
+        List<S3Object> changed = new ArrayList<>();
+        Map<String, String> listed = new HashMap<>();
+        try (Stream<S3Object> objects = s3BucketFileService.streamObjects(bucketName, prefix, parallelism, false)) {
+            objects.forEach(object -> {
+                listed.put(object.key(), object.eTag());
+                if (!snapshot.containsKey(object.key()) || !Objects.equals(snapshot.get(object.key()), object.eTag())) {
+                    changed.add(object);
+                }
+            });
+        }
+        snapshot.clear();
+        snapshot.putAll(listed);
+        changed.sort((first, second) -> KeyOrder.compare(first.key(), second.key()));
+        return changed;
+    }
+
+    /**
+     * Sleeps for the poll interval, cut short by the deadline
+     * @return false if the watch is over
+     */
+    private static boolean pause(Duration interval, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(Math.min(interval.toNanos(), remaining)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return System.nanoTime() < deadline;
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
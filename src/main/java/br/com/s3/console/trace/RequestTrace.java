@@ -0,0 +1,23 @@
+package br.com.s3.console.trace;
+
+/**
+ * Timings and outcome of one S3 request, written as a line of the request trace.
+ * Durations are in nanoseconds, with -1 when they could not be measured.
+ *
+ * @param timestamp Epoch milliseconds when the request started
+ * @param operation SDK operation name, such as GetObject
+ * @param bucket Bucket name, or null for operations without one
+ * @param key Object key, or null for operations without one
+ * @param bytes Bytes sent in the request body, or announced by the response when nothing was sent
+ * @param status HTTP status of the last attempt, or 0 if no response was received
+ * @param attempts Number of HTTP attempts, retries included
+ * @param dnsNanos Time spent resolving host names
+ * @param connectNanos Time spent opening TLS connections
+ * @param ttfbNanos Time from sending the last attempt to receiving its response headers
+ * @param totalNanos Time of the whole call, waiting for a concurrency permit and retries included
+ * @param error Failure message, or null when the request succeeded
+ */
+public record RequestTrace(long timestamp, String operation, String bucket, String key, long bytes, int status,
+                           int attempts, long dnsNanos, long connectNanos, long ttfbNanos, long totalNanos,
+                           String error) {
+}
@@ -0,0 +1,33 @@
+package br.com.s3.console.trace;
+
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Resolves host names with the system resolver, recording the time spent in the request trace
+ */
+public class TimingDnsResolver implements DnsResolver {
+
+    private final DnsResolver delegate;
+
+    public TimingDnsResolver() {
+        this(SystemDefaultDnsResolver.INSTANCE);
+    }
+
+    TimingDnsResolver(DnsResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        long start = System.nanoTime();
+        try {
+            return delegate.resolve(host);
+        } finally {
+            TracingInterceptor.recordDns(System.nanoTime() - start);
+        }
+    }
+}
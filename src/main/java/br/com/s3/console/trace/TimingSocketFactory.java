@@ -0,0 +1,44 @@
+package br.com.s3.console.trace;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Opens TLS connections through another socket factory, recording the time spent connecting and
+ * handshaking in the request trace. The HTTP client only lets the TLS factory be replaced, so plain
+ * HTTP connections are not measured.
+ */
+public class TimingSocketFactory implements LayeredConnectionSocketFactory {
+
+    private final LayeredConnectionSocketFactory delegate;
+
+    public TimingSocketFactory(LayeredConnectionSocketFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Socket createSocket(HttpContext context) throws IOException {
+        return delegate.createSocket(context);
+    }
+
+    @Override
+    public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress, HttpContext context) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        } finally {
+            TracingInterceptor.recordConnect(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+        return delegate.createLayeredSocket(socket, target, port, context);
+    }
+}
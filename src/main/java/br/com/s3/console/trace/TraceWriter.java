@@ -0,0 +1,186 @@
+package br.com.s3.console.trace;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes request traces to a JSON-lines file on a background thread.
+ * Requests only enqueue their trace, never waiting on the disk: when the queue is full the trace
+ * is dropped and counted, and the writer drains the queue in batches with one flush per batch.
+ */
+@Component
+public class TraceWriter {
+
+    private static final int QUEUE_CAPACITY = 16 * 1024;
+    private static final int BATCH_SIZE = 512;
+    private static final long POLL_MILLIS = 200;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final BlockingQueue<RequestTrace> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Counter dropped;
+    private volatile Path file;
+    private volatile boolean stopping;
+    private Thread writerThread;
+
+    public TraceWriter(@Value("${console.trace.enabled}") boolean enabled,
+                       @Value("${console.trace.file}") String file,
+                       MeterRegistry meterRegistry) {
+        this.dropped = Counter.builder("s3.trace.dropped")
+                .description("Request traces dropped because the trace writer fell behind")
+                .register(meterRegistry);
+        if (enabled) {
+            start(Path.of(file));
+        }
+    }
+
+    /**
+     * @return true if requests are being traced
+     */
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * @return File receiving the traces, or null when tracing is off
+     */
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Starts tracing into a file, appending to it if it exists. A running trace is stopped first.
+     * @param target Trace file
+     */
+    public synchronized void start(Path target) {
+        stop();
+        BufferedWriter writer;
+        try {
+            Path parent = target.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening trace file: " + e.getMessage(), e);
+        }
+        file = target;
+        stopping = false;
+        writerThread = Thread.ofPlatform().name("s3-trace-writer").daemon().start(() -> drain(writer));
+    }
+
+    /**
+     * Stops tracing, writing the traces still queued.
+     * The writer is asked to stop rather than interrupted, since an interrupt would close the file under it.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (writerThread == null) {
+            return;
+        }
+        file = null;
+        stopping = true;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+
+    /**
+     * Queues a trace without blocking
+     * @param trace Request trace
+     */
+    public void offer(RequestTrace trace) {
+        if (file != null && !queue.offer(trace)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain(BufferedWriter writer) {
+        List<RequestTrace> batch = new ArrayList<>(BATCH_SIZE);
+        try (writer; JsonGenerator generator = JSON_FACTORY.createGenerator(writer)
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)) {
+            generator.setRootValueSeparator(null);
+            while (true) {
+                // Read before polling, so the traces queued before stop() are still written
+                boolean last = stopping;
+                RequestTrace first;
+                try {
+                    first = last ? queue.poll() : queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // An unexpected interrupt ends tracing once the queued traces are written
+                    file = null;
+                    stopping = true;
+                    continue;
+                }
+                if (first == null) {
+                    if (last) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (RequestTrace trace : batch) {
+                    write(generator, trace);
+                }
+                generator.flush();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            // Tracing must never break the console, stop writing and let the queue be dropped
+            file = null;
+        }
+        queue.clear();
+    }
+
+    private static void write(JsonGenerator generator, RequestTrace trace) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("ts", Instant.ofEpochMilli(trace.timestamp()).toString());
+        generator.writeStringField("op", trace.operation());
+        generator.writeStringField("bucket", trace.bucket());
+        generator.writeStringField("key", trace.key());
+        generator.writeNumberField("bytes", trace.bytes());
+        generator.writeNumberField("status", trace.status());
+        generator.writeNumberField("attempts", trace.attempts());
+        writeMillis(generator, "dns_ms", trace.dnsNanos());
+        writeMillis(generator, "connect_ms", trace.connectNanos());
+        writeMillis(generator, "ttfb_ms", trace.ttfbNanos());
+        writeMillis(generator, "total_ms", trace.totalNanos());
+        if (trace.error() != null) {
+            generator.writeStringField("error", trace.error());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeMillis(JsonGenerator generator, String field, long nanos) throws IOException {
+        if (nanos < 0) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, Math.round(nanos / NANOS_PER_MILLI * 1000) / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.s3.console.trace;
+
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpHeaders;
+
+/**
+ * S3 client interceptor that measures every request and hands its trace to the {@link TraceWriter}.
+ * The sync client runs each attempt on the calling thread, so the current execution is kept in a
+ * thread local where {@link TimingDnsResolver} and {@link TimingSocketFactory} add their timings.
+ * For streamed downloads the call ends when the response headers arrive, before the body is read.
+ */
+public class TracingInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Execution> EXECUTION = new ExecutionAttribute<>("TraceExecution");
+    private static final ThreadLocal<Execution> CURRENT = new ThreadLocal<>();
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String DECODED_CONTENT_LENGTH = "x-amz-decoded-content-length";
+
+    private final TraceWriter traceWriter;
+
+    public TracingInterceptor(TraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        if (traceWriter.isEnabled()) {
+            executionAttributes.putAttribute(EXECUTION, new Execution());
+        }
+    }
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        Execution execution = executionAttributes.getAttribute(EXECUTION);
+        if (execution != null) {
+            execution.attempts++;
+            execution.attemptStartNanos = System.nanoTime();
+            // Signed chunked uploads announce the payload size apart from the encoded length
+            execution.requestBytes = context.httpRequest().firstMatchingHeader(DECODED_CONTENT_LENGTH)
+                    .map(Long::parseLong)
+                    .orElseGet(() -> contentLength(context.httpRequest()));
+            CURRENT.set(execution);
+        }
+    }
+
+    @Override
+    public void afterTransmission(Context.AfterTransmission context, ExecutionAttributes executionAttributes) {
+        Execution execution = executionAttributes.getAttribute(EXECUTION);
+        if (execution != null) {
+            execution.ttfbNanos = System.nanoTime() - execution.attemptStartNanos;
+            execution.status = context.httpResponse().statusCode();
+            execution.responseBytes = contentLength(context.httpResponse());
+        }
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        finish(context.request(), executionAttributes, null);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Throwable failure = context.exception();
+        finish(context.request(), executionAttributes,
+                failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName());
+    }
+
+    private void finish(SdkRequest request, ExecutionAttributes executionAttributes, String error) {
+        Execution execution = executionAttributes.getAttribute(EXECUTION);
+        if (execution == null || execution.finished) {
+            return;
+        }
+        execution.finished = true;
+        CURRENT.remove();
+        traceWriter.offer(new RequestTrace(
+                execution.timestamp,
+                executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME),
+                request.getValueForField("Bucket", String.class).orElse(null),
+                request.getValueForField("Key", String.class).orElse(null),
+                execution.requestBytes > 0 ? execution.requestBytes : Math.max(execution.responseBytes, 0),
+                execution.status,
+                execution.attempts,
+                execution.dnsNanos,
+                execution.connectNanos,
+                execution.attempts > 0 ? execution.ttfbNanos : -1,
+                System.nanoTime() - execution.startNanos,
+                error));
+    }
+
+    /**
+     * Adds time spent resolving host names to the execution running on this thread
+     */
+    static void recordDns(long nanos) {
+        Execution execution = CURRENT.get();
+        if (execution != null) {
+            execution.dnsNanos = Math.max(execution.dnsNanos, 0) + nanos;
+        }
+    }
+
+    /**
+     * Adds time spent opening connections to the execution running on this thread
+     */
+    static void recordConnect(long nanos) {
+        Execution execution = CURRENT.get();
+        if (execution != null) {
+            execution.connectNanos = Math.max(execution.connectNanos, 0) + nanos;
+        }
+    }
+
+    private static long contentLength(SdkHttpHeaders headers) {
+        return headers.firstMatchingHeader(CONTENT_LENGTH).map(Long::parseLong).orElse(-1L);
+    }
+
+    /**
+     * Measurements of one execution, only touched by the thread running it
+     */
+    private static final class Execution {
+
+        private final long timestamp = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private int attempts;
+        private long attemptStartNanos;
+        private long ttfbNanos = -1;
+        private int status;
+        private long requestBytes = -1;
+        private long responseBytes = -1;
+        private long dnsNanos = -1;
+        private long connectNanos = -1;
+        private boolean finished;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.s3.console.transfer;
+
+/**
+ * Progress of a single part of a multipart upload
+ */
+public enum PartState {
+
+    /**
+     * The part was read and waits for an upload slot
+     */
+    QUEUED,
+
+    /**
+     * The part is being uploaded
+     */
+    UPLOADING,
+
+    /**
+     * The part was uploaded
+     */
+    COMPLETED,
+
+    /**
+     * The upload of the part failed
+     */
+    FAILED
+}
@@ -0,0 +1,92 @@
+package br.com.s3.console.transfer;
+
+import java.util.List;
+
+/**
+ * Receives the progress of uploads and downloads. One listener may follow several objects
+ * transferred concurrently, so implementations must be thread-safe and cheap: they are called
+ * from the transferring threads for every chunk written and every part uploaded.
+ */
+public interface TransferListener {
+
+    /**
+     * Listener ignoring every event
+     */
+    TransferListener NONE = new TransferListener() {
+    };
+
+    /**
+     * Called when the transfer of an object begins
+     * @param key Object key
+     * @param totalBytes Size of the object, or -1 when it is not known in advance
+     */
+    default void transferStarted(String key, long totalBytes) {
+    }
+
+    /**
+     * Called when bytes of an object were written to their destination
+     * @param key Object key
+     * @param bytes Number of bytes written since the last call
+     */
+    default void bytesTransferred(String key, long bytes) {
+    }
+
+    /**
+     * Called when a part of a multipart upload changes state
+     * @param key Object key
+     * @param partNumber Part number, starting at 1
+     * @param state New state of the part
+     */
+    default void partChanged(String key, int partNumber, PartState state) {
+    }
+
+    /**
+     * Called when the transfer of an object succeeded
+     * @param key Object key
+     */
+    default void transferCompleted(String key) {
+    }
+
+    /**
+     * Called when the transfer of an object failed
+     * @param key Object key
+     * @param error Cause of the failure
+     */
+    default void transferFailed(String key, Exception error) {
+    }
+
+    /**
+     * Combines listeners into one notifying each of them in order
+     * @param listeners Listeners to notify
+     * @return Combined listener
+     */
+    static TransferListener of(TransferListener... listeners) {
+        List<TransferListener> all = List.of(listeners);
+        return new TransferListener() {
+            @Override
+            public void transferStarted(String key, long totalBytes) {
+                all.forEach(listener -> listener.transferStarted(key, totalBytes));
+            }
+
+            @Override
+            public void bytesTransferred(String key, long bytes) {
+                all.forEach(listener -> listener.bytesTransferred(key, bytes));
+            }
+
+            @Override
+            public void partChanged(String key, int partNumber, PartState state) {
+                all.forEach(listener -> listener.partChanged(key, partNumber, state));
+            }
+
+            @Override
+            public void transferCompleted(String key) {
+                all.forEach(listener -> listener.transferCompleted(key));
+            }
+
+            @Override
+            public void transferFailed(String key, Exception error) {
+                all.forEach(listener -> listener.transferFailed(key, error));
+            }
+        };
+    }
+}
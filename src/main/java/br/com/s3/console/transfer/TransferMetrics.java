@@ -0,0 +1,80 @@
+package br.com.s3.console.transfer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener publishing the progress of every upload and download as metrics, so that the
+ * {@code metrics} command shows transfer volume and throughput across all operations
+ */
+@Component
+public class TransferMetrics implements TransferListener {
+
+    private final TransferProgress progress = new TransferProgress();
+    private final Counter bytes;
+    private final Counter objectsCompleted;
+    private final Counter objectsFailed;
+    private final Counter partsCompleted;
+    private final Counter partsFailed;
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        this.bytes = Counter.builder("s3.transfer.bytes")
+                .description("Bytes uploaded and downloaded")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.objectsCompleted = Counter.builder("s3.transfer.objects.completed")
+                .description("Objects uploaded or downloaded")
+                .register(meterRegistry);
+        this.objectsFailed = Counter.builder("s3.transfer.objects.failed")
+                .description("Objects whose upload or download failed")
+                .register(meterRegistry);
+        this.partsCompleted = Counter.builder("s3.transfer.parts.completed")
+                .description("Parts of multipart uploads uploaded")
+                .register(meterRegistry);
+        this.partsFailed = Counter.builder("s3.transfer.parts.failed")
+                .description("Parts of multipart uploads whose upload failed")
+                .register(meterRegistry);
+        Gauge.builder("s3.transfer.active", progress, aggregate -> aggregate.snapshot().objectsActive())
+                .description("Objects being uploaded or downloaded")
+                .register(meterRegistry);
+        Gauge.builder("s3.transfer.rate", progress, TransferProgress::rate)
+                .description("Smoothed recent transfer rate")
+                .baseUnit("bytes/s")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void transferStarted(String key, long totalBytes) {
+        progress.transferStarted(key, totalBytes);
+    }
+
+    @Override
+    public void bytesTransferred(String key, long count) {
+        progress.bytesTransferred(key, count);
+        bytes.increment(count);
+    }
+
+    @Override
+    public void partChanged(String key, int partNumber, PartState state) {
+        progress.partChanged(key, partNumber, state);
+        if (state == PartState.COMPLETED) {
+            partsCompleted.increment();
+        } else if (state == PartState.FAILED) {
+            partsFailed.increment();
+        }
+    }
+
+    @Override
+    public void transferCompleted(String key) {
+        progress.transferCompleted(key);
+        objectsCompleted.increment();
+    }
+
+    @Override
+    public void transferFailed(String key, Exception error) {
+        progress.transferFailed(key, error);
+        objectsFailed.increment();
+    }
+}
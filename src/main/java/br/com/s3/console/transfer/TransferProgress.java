@@ -0,0 +1,169 @@
+package br.com.s3.console.transfer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener aggregating the progress of every object of an operation, however many workers
+ * transfer them. Workers only add to striped counters, so reporting never makes them contend;
+ * the smoothed rate is sampled by the worker reporting bytes once per sampling interval, and
+ * totals and the estimated time left are derived when a snapshot is taken. Reading the
+ * progress never changes it, so any number of readers can poll it at any interval.
+ */
+public class TransferProgress implements TransferListener {
+
+    private static final double RATE_SMOOTHING = 0.5;
+    private static final long MIN_SAMPLE_NANOS = 100_000_000;
+
+    private final LongAdder bytesDone = new LongAdder();
+    private final LongAdder totalBytes = new LongAdder();
+    private final LongAdder unknownSizes = new LongAdder();
+    private final LongAdder objectsStarted = new LongAdder();
+    private final LongAdder objectsCompleted = new LongAdder();
+    private final LongAdder objectsFailed = new LongAdder();
+    private final LongAdder partsCompleted = new LongAdder();
+    private final LongAdder partsFailed = new LongAdder();
+    private final Map<String, PartState> activeParts = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    // Checked without the lock on every report, updated with the lock held
+    private volatile long lastSampleNanos = startNanos;
+    private long lastSampleBytes;
+    private double rate;
+
+    @Override
+    public void transferStarted(String key, long totalBytes) {
+        objectsStarted.increment();
+        if (totalBytes >= 0) {
+            this.totalBytes.add(totalBytes);
+        } else {
+            unknownSizes.increment();
+        }
+    }
+
+    @Override
+    public void bytesTransferred(String key, long bytes) {
+        bytesDone.add(bytes);
+        long now = System.nanoTime();
+        if (now - lastSampleNanos >= MIN_SAMPLE_NANOS) {
+            sample(now);
+        }
+    }
+
+    @Override
+    public void partChanged(String key, int partNumber, PartState state) {
+        String part = key + '#' + partNumber;
+        switch (state) {
+            case QUEUED, UPLOADING -> activeParts.put(part, state);
+            case COMPLETED -> {
+                activeParts.remove(part);
+                partsCompleted.increment();
+            }
+            case FAILED -> {
+                activeParts.remove(part);
+                partsFailed.increment();
+            }
+        }
+    }
+
+    @Override
+    public void transferCompleted(String key) {
+        objectsCompleted.increment();
+    }
+
+    @Override
+    public void transferFailed(String key, Exception error) {
+        objectsFailed.increment();
+        // Parts read ahead of the failure are never uploaded
+        activeParts.keySet().removeIf(part -> part.startsWith(key + '#'));
+    }
+
+    /**
+     * Gets the smoothed recent rate without changing any state, for readers such as gauges
+     * @return Rate in bytes per second
+     */
+    public synchronized double rate() {
+        return rate(System.nanoTime(), bytesDone.sum());
+    }
+
+    /**
+     * Takes a snapshot of the progress without changing it
+     * @return Current totals, rates and estimated time left
+     */
+    public synchronized Snapshot snapshot() {
+        long now = System.nanoTime();
+        long bytes = bytesDone.sum();
+        long elapsed = now - startNanos;
+        double recentRate = rate(now, bytes);
+        double averageRate = elapsed > 0 ? bytes * 1e9 / elapsed : 0;
+
+        long total = unknownSizes.sum() > 0 ? -1 : totalBytes.sum();
+        double etaRate = recentRate > 0 ? recentRate : averageRate;
+        Duration eta = total >= 0 && etaRate > 0
+                ? Duration.ofMillis((long) (Math.max(0, total - bytes) * 1000 / etaRate))
+                : null;
+
+        int queued = 0;
+        int uploading = 0;
+        for (PartState state : activeParts.values()) {
+            if (state == PartState.QUEUED) {
+                queued++;
+            } else {
+                uploading++;
+            }
+        }
+
+        long started = objectsStarted.sum();
+        long completed = objectsCompleted.sum();
+        long failed = objectsFailed.sum();
+        return new Snapshot(bytes, total, completed, failed, started - completed - failed, queued, uploading,
+                partsCompleted.sum(), partsFailed.sum(), recentRate, averageRate, eta, Duration.ofNanos(elapsed));
+    }
+
+    private synchronized void sample(long now) {
+        if (now - lastSampleNanos < MIN_SAMPLE_NANOS) {
+            // Another worker took the sample
+            return;
+        }
+        long bytes = bytesDone.sum();
+        rate = rate(now, bytes);
+        lastSampleNanos = now;
+        lastSampleBytes = bytes;
+    }
+
+    /**
+     * Smoothed rate extended to a point in time, which also decays the rate while no bytes are
+     * reported. Must be called with the lock held.
+     */
+    private double rate(long now, long bytes) {
+        if (now - lastSampleNanos < MIN_SAMPLE_NANOS) {
+            return rate;
+        }
+        double sample = (bytes - lastSampleBytes) * 1e9 / (now - lastSampleNanos);
+        return lastSampleBytes == 0 && rate == 0 ? sample : rate + RATE_SMOOTHING * (sample - rate);
+    }
+
+    /**
+     * Progress of an operation at a point in time
+     *
+     * @param bytesDone Bytes written to their destination
+     * @param totalBytes Size of the objects started so far, or -1 if any of them has an unknown size
+     * @param objectsCompleted Objects transferred
+     * @param objectsFailed Objects whose transfer failed
+     * @param objectsActive Objects being transferred
+     * @param partsQueued Parts read and waiting for an upload slot
+     * @param partsUploading Parts being uploaded
+     * @param partsCompleted Parts uploaded
+     * @param partsFailed Parts whose upload failed
+     * @param rate Smoothed recent rate in bytes per second
+     * @param averageRate Average rate since the start in bytes per second
+     * @param eta Estimated time left, or null when the total size or the rate is not known
+     * @param elapsed Time since the start
+     */
+    public record Snapshot(long bytesDone, long totalBytes, long objectsCompleted, long objectsFailed,
+                           long objectsActive, int partsQueued, int partsUploading, long partsCompleted,
+                           long partsFailed, double rate, double averageRate, Duration eta, Duration elapsed) {
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.s3.console.util;
+
+import java.util.Locale;
+
+/**
+ * Parsing of human readable byte sizes such as {@code 512}, {@code 64K}, {@code 10MB} or {@code 1.5GiB}.
+ * Units are always binary (1K = 1024 bytes).
+ */
+public final class ByteSizes {
+
+    private static final String UNITS = "BKMGTP";
+
+    private ByteSizes() {
+    }
+
+    /**
+     * Parses a byte size
+     * @param text Size with an optional unit
+     * @return Number of bytes
+     * @throws IllegalArgumentException if the text is not a valid size
+     */
+    public static long parse(String text) {
+        String value = text.trim().toUpperCase(Locale.ROOT);
+        if (value.endsWith("IB")) {
+            value = value.substring(0, value.length() - 2);
+        } else if (value.length() > 1 && value.endsWith("B") && !Character.isDigit(value.charAt(value.length() - 2))) {
+            value = value.substring(0, value.length() - 1);
+        }
+
+        int unit = 0;
+        if (!value.isEmpty() && UNITS.indexOf(value.charAt(value.length() - 1)) >= 0) {
+            unit = UNITS.indexOf(value.charAt(value.length() - 1));
+            value = value.substring(0, value.length() - 1).trim();
+        }
+
+        try {
+            double number = Double.parseDouble(value);
+            if (number < 0) {
+                throw new IllegalArgumentException("Invalid size: " + text);
+            }
+            return (long) (number * Math.pow(1024, unit));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size: " + text, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.s3.console.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Helpers for reading object contents
+ */
+public final class ContentStreams {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
+    private ContentStreams() {
+    }
+
+    /**
+     * Wraps a stream so that gzip content, detected by its magic bytes, is decompressed on the fly
+     * @param input Raw object content
+     * @return Buffered stream yielding the decoded content
+     * @throws IOException if the content cannot be read
+     */
+    public static InputStream decoded(InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+
+        if (first == GZIP_MAGIC_FIRST && second == GZIP_MAGIC_SECOND) {
+            return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+        }
+        return buffered;
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.s3.console.util;
+
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.LongConsumer;
+
+/**
+ * Local file I/O of transfers through NIO channels, with positional reads and writes and
+ * file-to-file copies done by the kernel
+ */
+public final class FileChannels {
+
+    private static final ByteBuffer ZERO = ByteBuffer.allocateDirect(1);
+
+    private FileChannels() {
+    }
+
+    /**
+     * Writes everything a stream delivers to a file, starting at a position.
+     * When the source is a file stream the kernel copies the bytes with
+     * {@link FileChannel#transferFrom}; any other source is read straight into the array of the
+     * given buffer and written with positional writes, since {@link java.nio.channels.Channels#newChannel}
+     * would move it through an extra 8 KiB array.
+     *
+     * @param source Stream read until its end
+     * @param target File channel receiving the bytes
+     * @param position Position of the first byte in the file
+     * @param buffer Heap buffer used for sources that are not files
+     * @param progress Consumer receiving the number of bytes of every write
+     * @return Number of bytes written
+     */
+    public static long transfer(InputStream source, FileChannel target, long position, ByteBuffer buffer,
+                                LongConsumer progress) throws IOException {
+        long written = 0;
+        if (source instanceof FileInputStream fileStream) {
+            FileChannel file = fileStream.getChannel();
+            long remaining = file.size() - file.position();
+            while (written < remaining) {
+                long count = target.transferFrom(file, position + written, remaining - written);
+                if (count <= 0) {
+                    break;
+                }
+                written += count;
+                progress.accept(count);
+            }
+            return written;
+        }
+
+        buffer.clear();
+        int read;
+        while ((read = source.read(buffer.array(), buffer.arrayOffset(), buffer.capacity())) != -1) {
+            buffer.limit(read);
+            while (buffer.hasRemaining()) {
+                written += target.write(buffer, position + written);
+            }
+            progress.accept(read);
+            buffer.clear();
+        }
+        return written;
+    }
+
+    /**
+     * Extends a file to its final size before it is written, so that its length is settled in
+     * one step instead of growing with every write. The JDK cannot reserve disk blocks, so on
+     * most file systems the extension is sparse until the bytes are written.
+     *
+     * @param channel File channel opened for writing
+     * @param size Final size of the file
+     */
+    public static void preallocate(FileChannel channel, long size) throws IOException {
+        if (size > channel.size()) {
+            channel.write(ZERO.duplicate(), size - 1);
+        }
+    }
+
+    /**
+     * Fills the remaining bytes of a buffer with positional reads, which leave the position of the
+     * channel alone so that several threads can read parts of the same file. A file that ends before
+     * the buffer is full, for example because it was truncated while being read, fails the read.
+     *
+     * @param channel File channel opened for reading
+     * @param buffer Buffer whose remaining bytes are filled
+     * @param position Position in the file of the first byte to read
+     * @throws EOFException if the file ends before the buffer is full
+     */
+    public static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("The file ended at byte " + offset + " while " + buffer.remaining()
+                        + " more bytes were expected, it may have been truncated.");
+            }
+            offset += read;
+        }
+    }
+}
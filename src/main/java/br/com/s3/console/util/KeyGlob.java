@@ -0,0 +1,96 @@
+package br.com.s3.console.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Glob patterns over object keys.
+ * {@code *} and {@code ?} do not cross a {@code /}, {@code **} matches across segments
+ * and {@code [...]} matches a character class.
+ */
+public final class KeyGlob {
+
+    private static final String WILDCARDS = "*?[";
+    private static final String REGEX_SPECIALS = "\\.^$|()+{}]";
+
+    private KeyGlob() {
+    }
+
+    /**
+     * Compiles a glob into a regular expression matching whole keys
+     * @param glob Glob pattern
+     * @return Compiled pattern
+     */
+    public static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() * 2);
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i += 2;
+                    continue;
+                }
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else if (c == '[') {
+                int close = glob.indexOf(']', i + 1);
+                if (close < 0) {
+                    regex.append("\\[");
+                } else {
+                    String body = glob.substring(i + 1, close);
+                    regex.append('[')
+                            .append(body.startsWith("!") ? "^" + body.substring(1) : body)
+                            .append(']');
+                    i = close;
+                }
+            } else {
+                if (REGEX_SPECIALS.indexOf(c) >= 0) {
+                    regex.append('\\');
+                }
+                regex.append(c);
+            }
+            i++;
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Gets the literal part of a glob before its first wildcard, usable as a listing prefix
+     * @param glob Glob pattern
+     * @return Longest literal prefix, empty if the glob starts with a wildcard
+     */
+    public static String literalPrefix(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            if (WILDCARDS.indexOf(glob.charAt(i)) >= 0) {
+                return glob.substring(0, i);
+            }
+        }
+        return glob;
+    }
+
+    /**
+     * Tells whether any key under a directory prefix could match a glob,
+     * so that delimiter listings can skip whole subtrees
+     * @param glob Glob pattern
+     * @param directory Directory prefix ending with "/"
+     * @return false only if no key under the directory can match
+     */
+    public static boolean mayMatchUnder(String glob, String directory) {
+        String[] globSegments = glob.split("/", -1);
+        String[] directorySegments = directory.split("/");
+        for (int i = 0; i < directorySegments.length; i++) {
+            if (i >= globSegments.length) {
+                return false;
+            }
+            if (globSegments[i].contains("**")) {
+                return true;
+            }
+            if (i == globSegments.length - 1 || !toPattern(globSegments[i]).matcher(directorySegments[i]).matches()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.s3.console.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Order of object keys in S3 listings: by their unsigned UTF-8 bytes. It differs from
+ * {@link String#compareTo(String)}, which compares UTF-16 code units, when keys mix characters
+ * at or above U+E000 with characters outside the Basic Multilingual Plane.
+ */
+public final class KeyOrder {
+
+    /**
+     * Comparator sorting keys the way S3 lists them
+     */
+    public static final Comparator<String> COMPARATOR = KeyOrder::compare;
+
+    private KeyOrder() {
+    }
+
+    /**
+     * Compares keys the way S3 orders them, by their unsigned UTF-8 bytes
+     * @param first First key
+     * @param second Second key
+     * @return Negative, zero or positive as the first key sorts before, equal to or after the second
+     */
+    public static int compare(String first, String second) {
+        return Arrays.compareUnsigned(first.getBytes(StandardCharsets.UTF_8), second.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.s3.console.buffer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for BufferPool class")
+class BufferPoolTest {
+
+    private static final int KIB = 1024;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Given a released buffer, when a buffer of the same class is leased, then it should be reused")
+    void givenReleasedBuffer_whenLeasedAgain_thenShouldBeReused() {
+        // given
+        BufferPool pool = new BufferPool(DataSize.ofKilobytes(64), meterRegistry);
+        ByteBuffer first;
+        try (BufferPool.Lease lease = pool.lease(5 * KIB)) {
+            first = lease.buffer();
+            first.put((byte) 1);
+        }
+
+        // when
+        try (BufferPool.Lease lease = pool.lease(7 * KIB)) {
+
+            // then
+            assertThat(lease.buffer()).isSameAs(first);
+            assertThat(lease.buffer().hasArray()).isTrue();
+            assertThat(lease.buffer().capacity()).isEqualTo(8 * KIB);
+            assertThat(lease.buffer().position()).isZero();
+            assertThat(lease.buffer().limit()).isEqualTo(7 * KIB);
+            assertThat(pool.leasedBytes()).isEqualTo(8 * KIB);
+        }
+        assertThat(pool.leasedBytes()).isZero();
+        assertThat(pool.allocatedBytes()).isEqualTo(8 * KIB);
+        assertThat(meterRegistry.get("s3.buffers.allocated").gauge().value()).isEqualTo(8 * KIB);
+    }
+
+    @Test
+    @DisplayName("Given idle buffers of another class, when the limit is reached, then they should be dropped to make room")
+    void givenIdleBuffersOfOtherClass_whenLimitReached_thenShouldEvictThem() {
+        // given
+        BufferPool pool = new BufferPool(DataSize.ofKilobytes(32), meterRegistry);
+        pool.lease(4 * KIB, 4).forEach(BufferPool.Lease::close);
+
+        // when
+        try (BufferPool.Lease lease = pool.lease(32 * KIB)) {
+
+            // then
+            assertThat(lease.buffer().capacity()).isEqualTo(32 * KIB);
+            assertThat(pool.allocatedBytes()).isEqualTo(32 * KIB);
+        }
+    }
+
+    @Test
+    @DisplayName("Given a full pool, when tryLease is called, then it should return null without waiting")
+    void givenFullPool_whenTryLease_thenShouldReturnNull() {
+        // given
+        BufferPool pool = new BufferPool(DataSize.ofKilobytes(16), meterRegistry);
+        List<BufferPool.Lease> leases = pool.lease(8 * KIB, 2);
+
+        // when
+        BufferPool.Lease lease = pool.tryLease(4 * KIB);
+
+        // then
+        assertThat(lease).isNull();
+        leases.forEach(BufferPool.Lease::close);
+        assertThat(pool.tryLease(4 * KIB)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Given a full pool, when lease is called, then it should wait for a release and record the wait")
+    void givenFullPool_whenLease_thenShouldWaitForRelease() throws Exception {
+        // given
+        BufferPool pool = new BufferPool(DataSize.ofKilobytes(16), meterRegistry);
+        BufferPool.Lease held = pool.lease(16 * KIB);
+
+        // when
+        CompletableFuture<BufferPool.Lease> waiting = CompletableFuture.supplyAsync(() -> pool.lease(8 * KIB));
+        Thread.sleep(100);
+        boolean leasedWhileFull = waiting.isDone();
+        held.close();
+        held.close();
+        BufferPool.Lease lease = waiting.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(leasedWhileFull).isFalse();
+        assertThat(lease.buffer().capacity()).isEqualTo(8 * KIB);
+        assertThat(pool.leasedBytes()).isEqualTo(8 * KIB);
+        assertThat(meterRegistry.get("s3.buffers.lease-wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given buffers larger than the limit, when lease is called, then it should reject them instead of bypassing the limit")
+    void givenBuffersLargerThanLimit_whenLease_thenShouldReject() {
+        // given
+        BufferPool pool = new BufferPool(DataSize.ofKilobytes(16), meterRegistry);
+
+        // when/then
+        assertThat(pool.fits(8 * KIB, 2)).isTrue();
+        assertThat(pool.fits(8 * KIB, 3)).isFalse();
+        assertThatThrownBy(() -> pool.lease(8 * KIB, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("console.buffers.max-memory");
+        assertThatThrownBy(() -> pool.lease(20 * KIB))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(pool.tryLease(20 * KIB)).isNull();
+        assertThat(pool.allocatedBytes()).isZero();
+        assertThatThrownBy(() -> pool.lease(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
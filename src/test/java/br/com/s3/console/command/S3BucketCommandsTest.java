@@ -1,8 +1,15 @@
 package br.com.s3.console.command;
 
 import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.BucketStats;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.InventoryFormat;
+import br.com.s3.console.model.PurgeResult;
 import br.com.s3.console.service.PrinterService;
 import br.com.s3.console.service.S3BucketService;
+import br.com.s3.console.service.S3InventoryService;
+import br.com.s3.console.service.S3ReplicationService;
+import br.com.s3.console.service.S3StatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,12 +19,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.s3.model.Bucket;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +45,15 @@ class S3BucketCommandsTest {
     @Mock
     private PrinterService printerService;
 
+    @Mock
+    private S3ReplicationService s3ReplicationService;
+
+    @Mock
+    private S3StatsService s3StatsService;
+
+    @Mock
+    private S3InventoryService s3InventoryService;
+
     @InjectMocks
     private S3BucketCommands s3BucketCommands;
 
@@ -145,7 +166,7 @@ class S3BucketCommandsTest {
         doNothing().when(s3BucketService).deleteBucket(bucketName);
 
         // when
-        String result = s3BucketCommands.deleteBucket(bucketName);
+        String result = s3BucketCommands.deleteBucket(bucketName, false, 16);
 
         // then
         assertThat(result).isEqualTo("Bucket 'bucket-to-delete' deleted successfully.");
@@ -153,6 +174,23 @@ class S3BucketCommandsTest {
         verify(s3BucketService, times(1)).deleteBucket(bucketName);
     }
 
+    @Test
+    @DisplayName("Given non-empty bucket and force flag, when deleteBucket is called, then it should purge and delete the bucket")
+    void givenForceFlag_whenDeleteBucket_thenShouldPurgeAndDeleteBucket() {
+        // given
+        String bucketName = "versioned-bucket";
+        when(s3BucketService.bucketExists(bucketName)).thenReturn(true);
+        when(s3BucketService.forceDeleteBucket(bucketName, 16)).thenReturn(new PurgeResult(1500, 20, 2));
+
+        // when
+        String result = s3BucketCommands.deleteBucket(bucketName, true, 16);
+
+        // then
+        assertThat(result).isEqualTo("Bucket '" + bucketName + "' deleted successfully after removing 1500 version(s), "
+                + "20 delete marker(s) and aborting 2 multipart upload(s).");
+        verify(s3BucketService, never()).deleteBucket(anyString());
+    }
+
     @Test
     @DisplayName("Given non-existing bucket, when deleteBucket is called, then it should return error message")
     void givenNonExistingBucket_whenDeleteBucket_thenShouldReturnErrorMessage() {
@@ -161,7 +199,7 @@ class S3BucketCommandsTest {
         when(s3BucketService.bucketExists(bucketName)).thenReturn(false);
 
         // when
-        String result = s3BucketCommands.deleteBucket(bucketName);
+        String result = s3BucketCommands.deleteBucket(bucketName, false, 16);
 
         // then
         assertThat(result).isEqualTo("Bucket 'non-existing-bucket' does not exist.");
@@ -178,7 +216,7 @@ class S3BucketCommandsTest {
         doThrow(new RuntimeException("Error deleting bucket")).when(s3BucketService).deleteBucket(bucketName);
 
         // when
-        String result = s3BucketCommands.deleteBucket(bucketName);
+        String result = s3BucketCommands.deleteBucket(bucketName, false, 16);
 
         // then
         assertThat(result).isEqualTo("Error deleting bucket: Error deleting bucket");
@@ -267,4 +305,112 @@ class S3BucketCommandsTest {
         verify(bucketContext, times(1)).hasBucketSelected();
         verify(bucketContext, never()).getCurrentBucket();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Given selected bucket and existing destination, when replicate is called, then it should return the summary")
+    void givenExistingDestination_whenReplicate_thenShouldReturnSummary() {
+        // given
+        BulkResult bulkResult = new BulkResult(5, 500, 2, Duration.ofSeconds(1));
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(s3BucketService.bucketExists("bucket2")).thenReturn(true);
+        when(s3ReplicationService.replicate(eq("bucket1"), eq("data/"), eq("bucket2"), eq("data/"), eq(32), any()))
+                .thenReturn(bulkResult);
+        when(printerService.formatBulkResult("Replicated", bulkResult)).thenReturn("Replicated 5 object(s)");
+
+        // when
+        String result = s3BucketCommands.replicate("bucket2", "data/", null, 32, false, null);
+
+        // then
+        assertThat(result).isEqualTo("Replicated 5 object(s)");
+    }
+
+    @Test
+    @DisplayName("Given missing destination bucket, when replicate is called, then it should return does not exist message")
+    void givenMissingDestination_whenReplicate_thenShouldReturnDoesNotExistMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(s3BucketService.bucketExists("bucket2")).thenReturn(false);
+
+        // when
+        String result = s3BucketCommands.replicate("bucket2", "", null, 32, false, null);
+
+        // then
+        assertThat(result).startsWith("Bucket 'bucket2' does not exist.");
+        verifyNoInteractions(s3ReplicationService);
+    }
+
+    @Test
+    @DisplayName("Given no bucket selected, when replicate is called, then it should return no bucket message")
+    void givenNoBucketSelected_whenReplicate_thenShouldReturnNoBucketMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn(null);
+
+        // when
+        String result = s3BucketCommands.replicate("bucket2", "", null, 32, false, null);
+
+        // then
+        assertThat(result).startsWith("No bucket selected");
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when bucketStats is called, then it should return formatted stats")
+    void givenSelectedBucket_whenBucketStats_thenShouldReturnFormattedStats() {
+        // given
+        BucketStats stats = new BucketStats(2, 30, "b.txt", 20, Instant.EPOCH, Instant.EPOCH,
+                Map.of("STANDARD", 2L), Map.of("STANDARD", 30L));
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(s3StatsService.stats("bucket1", "logs/", 16, true)).thenReturn(stats);
+        when(printerService.formatBucketStats(stats, "bucket1/logs/")).thenReturn("Formatted stats");
+
+        // when
+        String result = s3BucketCommands.bucketStats("logs/", true, 16, null);
+
+        // then
+        assertThat(result).isEqualTo("Formatted stats");
+    }
+
+    @Test
+    @DisplayName("Given missing index, when bucketStats is called, then it should return error message")
+    void givenMissingIndex_whenBucketStats_thenShouldReturnErrorMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(s3StatsService.stats("bucket1", "", 16, true))
+                .thenThrow(new IllegalStateException("Bucket 'bucket1' is not indexed."));
+
+        // when
+        String result = s3BucketCommands.bucketStats("", true, 16, null);
+
+        // then
+        assertThat(result).isEqualTo("Error computing bucket stats: Bucket 'bucket1' is not indexed.");
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when exportInventory is called, then it should report the exported objects")
+    void givenSelectedBucket_whenExportInventory_thenShouldReportExportedObjects() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(s3InventoryService.export(eq("bucket1"), eq("logs/"), eq(InventoryFormat.NDJSON),
+                eq(Path.of("inventory.ndjson.gz")), eq(true), eq(16), any())).thenReturn(42L);
+
+        // when
+        String result = s3BucketCommands.exportInventory("inventory.ndjson.gz", "logs/", InventoryFormat.NDJSON, true, 16, null);
+
+        // then
+        assertThat(result).isEqualTo("42 object(s) exported into 'inventory.ndjson.gz'.");
+    }
+
+    @Test
+    @DisplayName("Given export failure, when exportInventory is called, then it should return error message")
+    void givenExportFailure_whenExportInventory_thenShouldReturnErrorMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(s3InventoryService.export(eq("bucket1"), eq(""), eq(InventoryFormat.CSV), any(), anyBoolean(), anyInt(),
+                any())).thenThrow(new RuntimeException("Error writing inventory: disk full"));
+
+        // when
+        String result = s3BucketCommands.exportInventory("inventory.csv", "", InventoryFormat.CSV, false, 16, null);
+
+        // then
+        assertThat(result).isEqualTo("Error exporting inventory: Error writing inventory: disk full");
+    }
+}
@@ -1,25 +1,50 @@
 package br.com.s3.console.command;
 
 import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.index.ObjectIndex;
+import br.com.s3.console.job.Job;
+import br.com.s3.console.job.JobPriority;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.WatchMode;
 import br.com.s3.console.service.PrinterService;
 import br.com.s3.console.service.S3BucketFileService;
+import br.com.s3.console.service.S3CopyService;
+import br.com.s3.console.service.S3DirectoryUploadService;
+import br.com.s3.console.service.S3DirectoryWatchService;
+import br.com.s3.console.service.S3IndexService;
+import br.com.s3.console.service.S3PackService;
+import br.com.s3.console.service.S3WatchService;
+import br.com.s3.console.transfer.TransferProgress;
+import org.jline.terminal.Terminal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +60,30 @@ class S3BucketFileCommandsTest {
     @Mock
     private PrinterService printerService;
 
+    @Mock
+    private S3CopyService s3CopyService;
+
+    @Mock
+    private Terminal terminal;
+
+    @Mock
+    private S3IndexService s3IndexService;
+
+    @Mock
+    private S3WatchService s3WatchService;
+
+    @Mock
+    private S3DirectoryWatchService s3DirectoryWatchService;
+
+    @Mock
+    private S3DirectoryUploadService s3DirectoryUploadService;
+
+    @Mock
+    private S3PackService s3PackService;
+
+    @Mock
+    private JobScheduler jobScheduler;
+
     @InjectMocks
     private S3BucketFileCommands s3BucketFileCommands;
 
@@ -63,33 +112,67 @@ class S3BucketFileCommandsTest {
                 .storageClass("STANDARD")
                 .build();
         
-        lenient().when(bucketContext.getCurrentBucket()).thenReturn(bucketName);
+        lenient().when(bucketContext.resolveBucket(null)).thenReturn(bucketName);
     }
 
     @Test
     @DisplayName("Given selected bucket with objects, when listFiles is called, then it should return formatted list")
     void givenSelectedBucketWithObjects_whenListFiles_thenShouldReturnFormattedList() {
         // given
-        when(s3BucketFileService.listObjects()).thenReturn(Arrays.asList(object1, object2));
+        when(s3BucketFileService.listObjects(bucketName, "")).thenReturn(Arrays.asList(object1, object2));
         when(printerService.formatObjectsTable(any(), eq(bucketName))).thenReturn("Formatted objects table");
 
         // when
-        String result = s3BucketFileCommands.listFiles();
+        String result = s3BucketFileCommands.listFiles("", false, null);
 
         // then
         assertThat(result).isEqualTo("Formatted objects table");
-        verify(s3BucketFileService, times(1)).listObjects();
+        verify(s3BucketFileService, times(1)).listObjects(bucketName, "");
         verify(printerService, times(1)).formatObjectsTable(any(), eq(bucketName));
     }
 
+    @Test
+    @DisplayName("Given index, when listFiles is called with useIndex, then it should list from the index")
+    void givenIndex_whenListFilesFromIndex_thenShouldListFromIndex() {
+        // given
+        ObjectIndex index = mock(ObjectIndex.class);
+        when(s3IndexService.require(bucketName)).thenReturn(index);
+        when(index.objects("logs/")).thenReturn(Stream.of(object1, object2));
+        when(printerService.formatObjectsTable(List.of(object1, object2), bucketName)).thenReturn("Indexed table");
+
+        // when
+        String result = s3BucketFileCommands.listFiles("logs/", true, null);
+
+        // then
+        assertThat(result).isEqualTo("Indexed table");
+        verify(s3BucketFileService, never()).listObjects(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Given index with more files than a page, when listFiles is called with useIndex, then it should say the listing is cut")
+    void givenLargeIndex_whenListFilesFromIndex_thenShouldReportTruncation() {
+        // given
+        ObjectIndex index = mock(ObjectIndex.class);
+        when(s3IndexService.require(bucketName)).thenReturn(index);
+        when(index.objects("")).thenReturn(Stream.generate(() -> object1));
+        when(printerService.formatObjectsTable(argThat(objects -> objects.size() == 1000), eq(bucketName)))
+                .thenReturn("Indexed table");
+
+        // when
+        String result = s3BucketFileCommands.listFiles("", true, null);
+
+        // then
+        assertThat(result).isEqualTo("Indexed table\nShowing the first 1000 files only. Use a longer prefix to list the rest.");
+    }
+
     @Test
     @DisplayName("Given error listing files, when listFiles is called, then it should return error message")
     void givenErrorListingFiles_whenListFiles_thenShouldReturnErrorMessage() {
         // given
-        when(s3BucketFileService.listObjects()).thenThrow(new IllegalStateException("No bucket selected"));
+        when(s3BucketFileService.listObjects(bucketName, "")).thenThrow(new IllegalStateException("No bucket selected"));
 
         // when
-        String result = s3BucketFileCommands.listFiles();
+        String result = s3BucketFileCommands.listFiles("", false, null);
 
         // then
         assertThat(result).isEqualTo("No bucket selected");
@@ -103,14 +186,14 @@ class S3BucketFileCommandsTest {
         String destination = tempDir.toString();
         Path downloadedPath = tempDir.resolve(key);
         
-        when(s3BucketFileService.downloadObject(key, destination)).thenReturn(downloadedPath);
+        when(s3BucketFileService.downloadObject(eq(bucketName), eq(key), eq(destination), eq(true), any())).thenReturn(downloadedPath);
 
         // when
-        String result = s3BucketFileCommands.downloadFile(key, destination);
+        String result = s3BucketFileCommands.downloadFile(key, destination, true, false, null);
 
         // then
         assertThat(result).isEqualTo("File downloaded successfully: " + downloadedPath);
-        verify(s3BucketFileService, times(1)).downloadObject(key, destination);
+        verify(s3BucketFileService, times(1)).downloadObject(eq(bucketName), eq(key), eq(destination), eq(true), any());
     }
 
     @Test
@@ -119,14 +202,46 @@ class S3BucketFileCommandsTest {
         // given
         String key = "file.txt";
         String destination = tempDir.toString();
-        when(s3BucketFileService.downloadObject(anyString(), anyString()))
-            .thenThrow(new IllegalStateException("No bucket selected"));
+        when(s3BucketFileService.downloadObject(anyString(), anyString(), anyString(), anyBoolean(), any()))
+            .thenThrow(new RuntimeException("S3 error"));
 
         // when
-        String result = s3BucketFileCommands.downloadFile(key, destination);
+        String result = s3BucketFileCommands.downloadFile(key, destination, false, false, null);
 
         // then
-        assertThat(result).isEqualTo("No bucket selected");
+        assertThat(result).isEqualTo("Error downloading file: S3 error");
+    }
+
+    @Test
+    @DisplayName("Given a background download, when the current bucket changes before it runs, then it should download from the bucket selected at submission")
+    void givenBackgroundDownload_whenCurrentBucketChanges_thenShouldUseSubmittedBucket() throws Exception {
+        // given
+        ArgumentCaptor<Job.Task> task = ArgumentCaptor.forClass(Job.Task.class);
+        s3BucketFileCommands.downloadFile("file.txt", tempDir.toString(), false, true, null);
+        verify(jobScheduler).submit(eq("download-file " + bucketName + "/file.txt"), eq(JobPriority.BULK),
+                task.capture());
+
+        // when
+        lenient().when(bucketContext.resolveBucket(null)).thenReturn("other-bucket");
+        task.getValue().run(new TransferProgress());
+
+        // then
+        verify(s3BucketFileService).downloadObject(eq(bucketName), eq("file.txt"), eq(tempDir.toString()), eq(false),
+                any());
+    }
+
+    @Test
+    @DisplayName("Given a bucket option, when deleteFile is called, then it should delete from that bucket instead of the current one")
+    void givenBucketOption_whenDeleteFile_thenShouldUseThatBucket() {
+        // given
+        when(bucketContext.resolveBucket("archive")).thenReturn("archive");
+
+        // when
+        String result = s3BucketFileCommands.deleteFile("file.txt", "archive");
+
+        // then
+        assertThat(result).isEqualTo("File 'file.txt' deleted successfully from bucket 'archive'");
+        verify(s3BucketFileService).deleteObject("archive", "file.txt");
     }
 
     @Test
@@ -134,14 +249,14 @@ class S3BucketFileCommandsTest {
     void givenSelectedBucketAndValidKey_whenDeleteFile_thenShouldDeleteFile() {
         // given
         String key = "file.txt";
-        doNothing().when(s3BucketFileService).deleteObject(key);
+        doNothing().when(s3BucketFileService).deleteObject(bucketName, key);
 
         // when
-        String result = s3BucketFileCommands.deleteFile(key);
+        String result = s3BucketFileCommands.deleteFile(key, null);
 
         // then
         assertThat(result).isEqualTo("File '" + key + "' deleted successfully from bucket '" + bucketName + "'");
-        verify(s3BucketFileService, times(1)).deleteObject(key);
+        verify(s3BucketFileService, times(1)).deleteObject(bucketName, key);
     }
 
     @Test
@@ -149,14 +264,14 @@ class S3BucketFileCommandsTest {
     void givenErrorDeletingFile_whenDeleteFile_thenShouldReturnErrorMessage() {
         // given
         String key = "file.txt";
-        doThrow(new IllegalStateException("No bucket selected"))
-            .when(s3BucketFileService).deleteObject(key);
+        doThrow(new RuntimeException("S3 error"))
+            .when(s3BucketFileService).deleteObject(bucketName, key);
 
         // when
-        String result = s3BucketFileCommands.deleteFile(key);
+        String result = s3BucketFileCommands.deleteFile(key, null);
 
         // then
-        assertThat(result).isEqualTo("No bucket selected");
+        assertThat(result).isEqualTo("Error deleting file: S3 error");
     }
 
     @Test
@@ -165,14 +280,14 @@ class S3BucketFileCommandsTest {
         // given
         String filePath = tempDir.resolve("file.txt").toString();
         String key = "file.txt";
-        doNothing().when(s3BucketFileService).uploadObject(filePath, key);
+        when(s3BucketFileService.uploadObject(eq(bucketName), eq(filePath), eq(key), eq(16L * 1024 * 1024), eq(8), any())).thenReturn(12L);
 
         // when
-        String result = s3BucketFileCommands.uploadFile(filePath, key);
+        String result = s3BucketFileCommands.uploadFile(filePath, key, "16MB", 8, false, false, null);
 
         // then
         assertThat(result).isEqualTo("File '" + filePath + "' uploaded successfully to bucket '" + bucketName + "' with key '" + key + "'");
-        verify(s3BucketFileService, times(1)).uploadObject(filePath, key);
+        verify(s3BucketFileService, times(1)).uploadObject(eq(bucketName), eq(filePath), eq(key), eq(16L * 1024 * 1024), eq(8), any());
     }
 
     @Test
@@ -181,55 +296,291 @@ class S3BucketFileCommandsTest {
         // given
         String filePath = tempDir.resolve("file.txt").toString();
         String key = "file.txt";
-        doThrow(new IllegalStateException("No bucket selected"))
-            .when(s3BucketFileService).uploadObject(filePath, key);
+        doThrow(new RuntimeException("S3 error"))
+            .when(s3BucketFileService).uploadObject(eq(bucketName), eq(filePath), eq(key), eq(8L * 1024 * 1024), eq(4), any());
 
         // when
-        String result = s3BucketFileCommands.uploadFile(filePath, key);
+        String result = s3BucketFileCommands.uploadFile(filePath, key, "8MB", 4, false, false, null);
 
         // then
-        assertThat(result).isEqualTo("No bucket selected");
+        assertThat(result).isEqualTo("Error uploading file: S3 error");
+    }
+
+    @Test
+    @DisplayName("Given an unchanged file, when uploadFile is called with dedup, then it should report the skipped upload")
+    void givenUnchangedFile_whenUploadFileWithDedup_thenShouldReportSkippedUpload() {
+        // given
+        String filePath = tempDir.resolve("file.txt").toString();
+        when(s3DirectoryUploadService.uploadIfChanged(eq(bucketName), eq(Path.of(filePath)), eq("file.txt"),
+                eq(8L * 1024 * 1024), eq(4), any())).thenReturn(-1L);
+
+        // when
+        String result = s3BucketFileCommands.uploadFile(filePath, "", "8MB", 4, true, false, null);
+
+        // then
+        assertThat(result).isEqualTo("File '" + filePath + "' is unchanged in bucket '" + bucketName + "' with key 'file.txt', upload skipped");
+        verify(s3BucketFileService, never()).uploadObject(anyString(), anyString(), anyString(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Given a directory, when uploadDir is called with dedup, then it should upload it and return the summary")
+    void givenDirectory_whenUploadDirWithDedup_thenShouldReturnSummary() {
+        // given
+        BulkResult bulkResult = new BulkResult(3, 300, 7, Duration.ofSeconds(1));
+        when(s3DirectoryUploadService.uploadDirectory(eq(bucketName), eq(tempDir), eq("artifacts/"), eq(true),
+                eq(8L * 1024 * 1024), eq(1), eq(16), any())).thenReturn(bulkResult);
+        when(printerService.formatBulkResult("Uploaded", bulkResult)).thenReturn("Uploaded 3 object(s), skipped 7");
+
+        // when
+        String result = s3BucketFileCommands.uploadDir(tempDir.toString(), "artifacts/", true, "8MB", 16, false, null);
+
+        // then
+        assertThat(result).isEqualTo("Uploaded 3 object(s), skipped 7");
     }
 
     @Test
     @DisplayName("Given selected bucket with objects, when clearBucket is called, then it should clear the bucket")
     void givenSelectedBucketWithObjects_whenClearBucket_thenShouldClearBucket() {
         // given
-        when(s3BucketFileService.deleteAllObjects()).thenReturn(2);
+        when(s3BucketFileService.deleteAllObjects(bucketName)).thenReturn(2);
 
         // when
-        String result = s3BucketFileCommands.clearBucket();
+        String result = s3BucketFileCommands.clearBucket(null);
 
         // then
         assertThat(result).isEqualTo("2 file(s) deleted from bucket '" + bucketName + "'.");
-        verify(s3BucketFileService, times(1)).deleteAllObjects();
+        verify(s3BucketFileService, times(1)).deleteAllObjects(bucketName);
     }
 
     @Test
     @DisplayName("Given selected empty bucket, when clearBucket is called, then it should return already empty message")
     void givenSelectedEmptyBucket_whenClearBucket_thenShouldReturnAlreadyEmptyMessage() {
         // given
-        when(s3BucketFileService.deleteAllObjects()).thenReturn(0);
+        when(s3BucketFileService.deleteAllObjects(bucketName)).thenReturn(0);
 
         // when
-        String result = s3BucketFileCommands.clearBucket();
+        String result = s3BucketFileCommands.clearBucket(null);
 
         // then
         assertThat(result).isEqualTo("Bucket '" + bucketName + "' is already empty.");
-        verify(s3BucketFileService, times(1)).deleteAllObjects();
+        verify(s3BucketFileService, times(1)).deleteAllObjects(bucketName);
     }
 
     @Test
     @DisplayName("Given error clearing bucket, when clearBucket is called, then it should return error message")
     void givenErrorClearingBucket_whenClearBucket_thenShouldReturnErrorMessage() {
         // given
-        when(s3BucketFileService.deleteAllObjects())
-            .thenThrow(new IllegalStateException("No bucket selected"));
+        when(s3BucketFileService.deleteAllObjects(bucketName))
+            .thenThrow(new RuntimeException("S3 error"));
 
         // when
-        String result = s3BucketFileCommands.clearBucket();
+        String result = s3BucketFileCommands.clearBucket(null);
 
         // then
-        assertThat(result).isEqualTo("No bucket selected");
+        assertThat(result).isEqualTo("Error clearing bucket: S3 error");
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when copyFile is called without destination bucket, then it should copy within the current bucket")
+    void givenSelectedBucket_whenCopyFile_thenShouldCopyWithinCurrentBucket() {
+        // when
+        String result = s3BucketFileCommands.copyFile("a.txt", "b.txt", "", 8, null);
+
+        // then
+        assertThat(result).isEqualTo("File 'a.txt' copied to '" + bucketName + "/b.txt'");
+        verify(s3CopyService, times(1)).copyObject(bucketName, "a.txt", bucketName, "b.txt", 8);
+    }
+
+    @Test
+    @DisplayName("Given no bucket selected, when moveFile is called, then it should return no bucket message")
+    void givenNoBucketSelected_whenMoveFile_thenShouldReturnNoBucketMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn(null);
+
+        // when
+        String result = s3BucketFileCommands.moveFile("a.txt", "b.txt", "", 8, null);
+
+        // then
+        assertThat(result).startsWith("No bucket selected");
+        verifyNoInteractions(s3CopyService);
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when moveFile is called with destination bucket, then it should move across buckets")
+    void givenDestinationBucket_whenMoveFile_thenShouldMoveAcrossBuckets() {
+        // when
+        String result = s3BucketFileCommands.moveFile("a.txt", "b.txt", "other-bucket", 8, null);
+
+        // then
+        assertThat(result).isEqualTo("File 'a.txt' moved to 'other-bucket/b.txt'");
+        verify(s3CopyService, times(1)).moveObject(bucketName, "a.txt", "other-bucket", "b.txt", 8);
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when moveFiles is called, then it should return the formatted summary")
+    void givenSelectedBucket_whenMoveFiles_thenShouldReturnSummary() {
+        // given
+        BulkResult bulkResult = new BulkResult(2, 30, 0, Duration.ofSeconds(1));
+        when(s3CopyService.copyPrefix(bucketName, "in/", bucketName, "out/", 16, true)).thenReturn(bulkResult);
+        when(printerService.formatBulkResult("Moved", bulkResult)).thenReturn("Moved 2 object(s)");
+
+        // when
+        String result = s3BucketFileCommands.moveFiles("in/", "out/", "", 16, false, null);
+
+        // then
+        assertThat(result).isEqualTo("Moved 2 object(s)");
+    }
+
+    @Test
+    @DisplayName("Given copy error, when copyFiles is called, then it should return error message")
+    void givenCopyError_whenCopyFiles_thenShouldReturnErrorMessage() {
+        // given
+        when(s3CopyService.copyPrefix(bucketName, "in/", bucketName, "out/", 16, false))
+                .thenThrow(new RuntimeException("S3 error"));
+
+        // when
+        String result = s3BucketFileCommands.copyFiles("in/", "out/", "", 16, false, null);
+
+        // then
+        assertThat(result).isEqualTo("Error copying files: S3 error");
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when catFile is called, then it should stream the range to the terminal")
+    void givenSelectedBucket_whenCatFile_thenShouldStreamToTerminal() {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(terminal.output()).thenReturn(output);
+
+        // when
+        String result = s3BucketFileCommands.catFile("file.txt", 0, -1, null, null);
+
+        // then
+        assertThat(result).isNull();
+        verify(s3BucketFileService, times(1)).streamRange(bucketName, "file.txt", 0, -1, output);
+    }
+
+    @Test
+    @DisplayName("Given a pack, when catFile is called with the pack, then it should stream the file from the pack")
+    void givenPack_whenCatFileWithPack_thenShouldStreamPackMember() {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(terminal.output()).thenReturn(output);
+
+        // when
+        String result = s3BucketFileCommands.catFile("img/001.png", 0, -1, "datasets/images", null);
+
+        // then
+        assertThat(result).isNull();
+        verify(s3PackService).catMember(bucketName, "datasets/images", "img/001.png", 0, -1, output);
+        verify(s3BucketFileService, never()).streamRange(anyString(), anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when tailFile is called, then it should stream the last lines to the terminal")
+    void givenSelectedBucket_whenTailFile_thenShouldStreamLastLines() {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(terminal.output()).thenReturn(output);
+
+        // when
+        String result = s3BucketFileCommands.tailFile("app.log", 100, 0, null);
+
+        // then
+        assertThat(result).isNull();
+        verify(s3BucketFileService, times(1)).streamTail(bucketName, "app.log", 0, 100, output);
+    }
+
+    @Test
+    @DisplayName("Given error reading file, when headFile is called, then it should return error message")
+    void givenErrorReadingFile_whenHeadFile_thenShouldReturnErrorMessage() {
+        // given
+        when(s3BucketFileService.streamHead(eq(bucketName), eq("file.txt"), eq(0L), eq(10), any()))
+                .thenThrow(new RuntimeException("Error reading object: S3 error"));
+
+        // when
+        String result = s3BucketFileCommands.headFile("file.txt", 10, 0, null);
+
+        // then
+        assertThat(result).isEqualTo("Error reading file: Error reading object: S3 error");
+    }
+
+    @Test
+    @DisplayName("Given a bucket option, when watchBucket is called, then it should watch that bucket and print each new file")
+    void givenBucketOption_whenWatchBucket_thenShouldPrintNewFiles() {
+        // given
+        S3Object object = S3Object.builder().key("in/new.csv").size(10L).lastModified(Instant.now()).build();
+        StringWriter output = new StringWriter();
+        when(bucketContext.resolveBucket("drop")).thenReturn("drop");
+        when(terminal.writer()).thenReturn(new PrintWriter(output));
+        when(printerService.formatObjectLine(object)).thenReturn("in/new.csv");
+        when(s3WatchService.watch(eq("drop"), eq("in/"), eq(WatchMode.AUTO), eq(Duration.ofSeconds(1)), eq(Duration.ofSeconds(30)),
+                eq(Duration.ofSeconds(60)), eq(4), any())).thenAnswer(invocation -> {
+                    invocation.<Consumer<S3Object>>getArgument(7).accept(object);
+                    return 1L;
+                });
+
+        // when
+        String result = s3BucketFileCommands.watchBucket("in/", WatchMode.AUTO, null, 1, 30, 60, 4, "drop");
+
+        // then
+        assertThat(result).isEqualTo("1 new file(s) seen in bucket 'drop'.");
+        assertThat(output.toString()).contains("in/new.csv");
+        verify(s3BucketFileService, never()).downloadObject(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Given no bucket selected, when watchBucket is called, then it should return no bucket message")
+    void givenNoBucketSelected_whenWatchBucket_thenShouldReturnNoBucketMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn(null);
+
+        // when
+        String result = s3BucketFileCommands.watchBucket("", WatchMode.AUTO, null, 1, 30, 0, 4, null);
+
+        // then
+        assertThat(result).isEqualTo("No bucket selected. Use the 'use-bucket' command to select a bucket.");
+        verifyNoInteractions(s3WatchService);
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when watchDir is called, then it should report each upload and the summary")
+    void givenSelectedBucket_whenWatchDir_thenShouldReportUploads() {
+        // given
+        BulkResult bulkResult = new BulkResult(1, 10, 0, Duration.ofSeconds(5));
+        StringWriter output = new StringWriter();
+        when(terminal.writer()).thenReturn(new PrintWriter(output));
+        when(s3DirectoryWatchService.watch(eq(tempDir), eq(bucketName), eq("in/"), eq(Duration.ofMillis(500)), eq(Duration.ofSeconds(5)),
+                eq(8), any())).thenAnswer(invocation -> {
+                    invocation.<S3DirectoryWatchService.UploadListener>getArgument(6)
+                            .uploaded(tempDir.resolve("a.txt"), "in/a.txt");
+                    return bulkResult;
+                });
+        when(printerService.formatBulkResult("Uploaded", bulkResult)).thenReturn("Uploaded 1 object(s)");
+
+        // when
+        String result = s3BucketFileCommands.watchDir(tempDir.toString(), "in/", 500, 5, 8, null);
+
+        // then
+        assertThat(result).isEqualTo("Uploaded 1 object(s)");
+        assertThat(output.toString()).contains("Uploaded: " + tempDir.resolve("a.txt") + " -> in/a.txt");
+    }
+
+    @Test
+    @DisplayName("Given a source file, when uploadStream is called, then it should stream it into the current bucket")
+    void givenSourceFile_whenUploadStream_thenShouldReturnSuccessMessage() throws Exception {
+        // given
+        Path source = Files.writeString(tempDir.resolve("dump.sql"), "select 1;");
+        when(bucketContext.resolveBucket(null)).thenReturn("backups");
+        when(s3BucketFileService.uploadStream(eq("backups"), any(), eq("dump.sql"), eq("text/plain"), eq(16L * 1024 * 1024), eq(2),
+                any()))
+                .thenReturn(9L);
+        when(printerService.formatBytes(9)).thenReturn("9 B");
+
+        // when
+        String result = s3BucketFileCommands.uploadStream("dump.sql", source.toString(), "text/plain", "16MB", 2, null);
+
+        // then
+        assertThat(result).isEqualTo("Stream uploaded successfully to bucket 'backups' with key 'dump.sql' (9 B)");
     }
-}
\ No newline at end of file
+}
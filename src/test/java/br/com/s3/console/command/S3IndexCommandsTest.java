@@ -0,0 +1,96 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.IndexInfo;
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.service.S3IndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3IndexCommands class")
+class S3IndexCommandsTest {
+
+    @Mock
+    private S3IndexService s3IndexService;
+
+    @Mock
+    private BucketContext bucketContext;
+
+    @Spy
+    private PrinterService printerService = new PrinterService();
+
+    @InjectMocks
+    private S3IndexCommands s3IndexCommands;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(bucketContext.resolveBucket(null)).thenReturn("test-bucket");
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when refreshIndex is called, then it should report the indexed objects")
+    void givenSelectedBucket_whenRefreshIndex_thenShouldReportIndexedObjects() {
+        // given
+        when(s3IndexService.refresh("test-bucket", "logs/", 16))
+                .thenReturn(new IndexInfo("test-bucket", 3, 2048, Instant.EPOCH, 512));
+
+        // when
+        String result = s3IndexCommands.refreshIndex("logs/", 16, null);
+
+        // then
+        assertThat(result).startsWith("Index of bucket 'test-bucket' refreshed in ")
+                .endsWith("3 object(s), 2.0 KiB indexed in 512 B.");
+    }
+
+    @Test
+    @DisplayName("Given no index, when indexInfo and dropIndex are called, then it should report it")
+    void givenNoIndex_whenIndexInfoAndDrop_thenShouldReportIt() {
+        // given
+        when(s3IndexService.info("test-bucket")).thenReturn(Optional.empty());
+        when(s3IndexService.drop("test-bucket")).thenReturn(false);
+
+        // when/then
+        assertThat(s3IndexCommands.indexInfo(null)).isEqualTo("Bucket 'test-bucket' is not indexed.");
+        assertThat(s3IndexCommands.dropIndex(null)).isEqualTo("Bucket 'test-bucket' is not indexed.");
+    }
+
+    @Test
+    @DisplayName("Given refresh failure, when refreshIndex is called, then it should return error message")
+    void givenRefreshFailure_whenRefreshIndex_thenShouldReturnErrorMessage() {
+        // given
+        when(s3IndexService.refresh("test-bucket", "", 16)).thenThrow(new RuntimeException("boom"));
+
+        // when
+        String result = s3IndexCommands.refreshIndex("", 16, null);
+
+        // then
+        assertThat(result).isEqualTo("Error refreshing index: boom");
+    }
+
+    @Test
+    @DisplayName("Given no bucket selected, when refreshIndex is called, then it should return no bucket message")
+    void givenNoBucketSelected_whenRefreshIndex_thenShouldReturnNoBucketMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn(null);
+
+        // when
+        String result = s3IndexCommands.refreshIndex("", 16, null);
+
+        // then
+        assertThat(result).startsWith("No bucket selected");
+        verifyNoInteractions(s3IndexService);
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.ProfileContext;
+import br.com.s3.console.job.Job;
+import br.com.s3.console.job.JobPriority;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.service.PrinterService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for S3JobCommands class")
+class S3JobCommandsTest {
+
+    private final JobScheduler jobScheduler = new JobScheduler(1, new ProfileContext(), new SimpleMeterRegistry());
+    private final S3JobCommands s3JobCommands = new S3JobCommands(jobScheduler, new PrinterService());
+
+    @AfterEach
+    void tearDown() {
+        jobScheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Given no jobs, when jobs is called, then it should report it")
+    void givenNoJobs_whenJobs_thenShouldReportIt() {
+        assertThat(s3JobCommands.jobs()).isEqualTo("No jobs submitted.");
+        assertThat(s3JobCommands.waitJob(null, 0)).isEqualTo("No jobs running.");
+    }
+
+    @Test
+    @DisplayName("Given a submitted job, when wait is called, then it should return its result")
+    void givenSubmittedJob_whenWait_thenShouldReturnResult() {
+        // given
+        Job job = jobScheduler.submit("copy-files a/ -> b/", JobPriority.BULK, progress -> "Copied 2 object(s)");
+
+        // when
+        String result = s3JobCommands.waitJob(job.id(), 5);
+
+        // then
+        assertThat(result).contains("Job 1: copy-files a/ -> b/ (bulk)", "State: succeeded", "Result: Copied 2 object(s)");
+        assertThat(s3JobCommands.jobs()).startsWith("Jobs:").contains("copy-files a/ -> b/", "succeeded");
+    }
+
+    @Test
+    @DisplayName("Given a running job, when cancelJob is called, then it should cancel it once")
+    void givenRunningJob_whenCancelJob_thenShouldCancelIt() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        Job job = jobScheduler.submit("transfer", JobPriority.BULK, progress -> {
+            release.await();
+            return "done";
+        });
+
+        // when
+        String result = s3JobCommands.cancelJob(job.id());
+
+        // then
+        assertThat(result).isEqualTo("Job 1 cancelled.");
+        assertThat(s3JobCommands.waitJob(job.id(), 5)).contains("State: cancelled");
+        assertThat(s3JobCommands.cancelJob(job.id())).isEqualTo("Job 1 has already finished.");
+    }
+
+    @Test
+    @DisplayName("Given a job that does not finish in time, when wait is called with a timeout, then it should report the timeout")
+    void givenSlowJob_whenWaitWithTimeout_thenShouldReportTimeout() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        jobScheduler.submit("upload-file big.bin", JobPriority.BULK, progress -> {
+            release.await();
+            return "done";
+        });
+
+        // when
+        String result = s3JobCommands.waitJob(null, 1);
+        release.countDown();
+
+        // then
+        assertThat(result).isEqualTo("Timed out waiting for job 1.");
+    }
+
+    @Test
+    @DisplayName("Given an unknown job, when jobStatus is called, then it should return does not exist message")
+    void givenUnknownJob_whenJobStatus_thenShouldReturnDoesNotExistMessage() {
+        assertThat(s3JobCommands.jobStatus(7)).startsWith("Job 7 does not exist.");
+        assertThat(s3JobCommands.cancelJob(7)).startsWith("Job 7 does not exist.");
+    }
+}
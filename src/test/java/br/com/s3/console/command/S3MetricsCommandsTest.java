@@ -0,0 +1,64 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.trace.TraceWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for S3MetricsCommands class")
+class S3MetricsCommandsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TraceWriter traceWriter = new TraceWriter(false, "unused", new SimpleMeterRegistry());
+    private final S3MetricsCommands s3MetricsCommands = new S3MetricsCommands(meterRegistry, new PrinterService(),
+            traceWriter);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Given S3 and other meters, when metrics is called, then it should only show the S3 meters")
+    void givenMeters_whenMetrics_thenShouldOnlyShowS3Meters() {
+        // given
+        meterRegistry.gauge("s3.concurrency.limit", new AtomicInteger(24));
+        meterRegistry.counter("s3.concurrency.overloads").increment(3);
+        meterRegistry.counter("jvm.other").increment();
+
+        // when
+        String result = s3MetricsCommands.metrics();
+
+        // then
+        assertThat(result).startsWith("Metrics:")
+                .contains("s3.concurrency.limit", "24", "s3.concurrency.overloads", "3")
+                .doesNotContain("jvm.other");
+    }
+
+    @Test
+    @DisplayName("Given no S3 meters, when metrics is called, then it should report it")
+    void givenNoMeters_whenMetrics_thenShouldReportIt() {
+        assertThat(s3MetricsCommands.metrics()).isEqualTo("No metrics available.");
+    }
+
+    @Test
+    @DisplayName("Given a trace file, when traceRequests is called, then it should start and stop tracing")
+    void givenTraceFile_whenTraceRequests_thenShouldStartAndStopTracing() {
+        // given
+        Path file = tempDir.resolve("trace.jsonl");
+
+        // when/then
+        assertThat(s3MetricsCommands.traceRequests(null, false)).isEqualTo("Request tracing is off.");
+        assertThat(s3MetricsCommands.traceRequests(file.toString(), false))
+                .isEqualTo("Tracing requests into '" + file + "'.");
+        assertThat(traceWriter.isEnabled()).isTrue();
+        assertThat(s3MetricsCommands.traceRequests(null, true)).isEqualTo("Request tracing stopped.");
+        assertThat(traceWriter.isEnabled()).isFalse();
+    }
+}
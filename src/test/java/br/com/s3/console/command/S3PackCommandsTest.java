@@ -0,0 +1,110 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.job.Job;
+import br.com.s3.console.job.JobPriority;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.service.S3PackService;
+import org.jline.terminal.Terminal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3PackCommands class")
+class S3PackCommandsTest {
+
+    @Mock
+    private S3PackService s3PackService;
+
+    @Mock
+    private BucketContext bucketContext;
+
+    @Mock
+    private PrinterService printerService;
+
+    @Mock
+    private JobScheduler jobScheduler;
+
+    @Mock
+    private Terminal terminal;
+
+    @InjectMocks
+    private S3PackCommands s3PackCommands;
+
+    @Test
+    @DisplayName("Given no bucket selected, when packUpload is called, then it should return no bucket selected message")
+    void givenNoBucketSelected_whenPackUpload_thenShouldReturnNoBucketSelectedMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn(null);
+
+        // when
+        String result = s3PackCommands.packUpload("./data", "packs/data", "256MB", "8MB", 4, false, null);
+
+        // then
+        assertThat(result).isEqualTo("No bucket selected. Use the 'use-bucket' command to select a bucket.");
+        verifyNoInteractions(s3PackService);
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when packUpload is called, then it should pack the directory and return the summary")
+    void givenSelectedBucket_whenPackUpload_thenShouldReturnSummary() {
+        // given
+        BulkResult bulkResult = new BulkResult(1000, 4096000, 0, Duration.ofSeconds(2));
+        when(bucketContext.resolveBucket(null)).thenReturn("test-bucket");
+        when(s3PackService.packUpload(eq("test-bucket"), eq(Path.of("./data")), eq("packs/data"), eq(64L * 1024 * 1024),
+                eq(8L * 1024 * 1024), eq(4), any())).thenReturn(bulkResult);
+        when(printerService.formatBulkResult("Packed", bulkResult)).thenReturn("Packed 1000 object(s)");
+
+        // when
+        String result = s3PackCommands.packUpload("./data", "packs/data", "64MB", "8MB", 4, false, null);
+
+        // then
+        assertThat(result).isEqualTo("Packed 1000 object(s)");
+    }
+
+    @Test
+    @DisplayName("Given background option, when unpackDownload is called, then it should submit a bulk job")
+    void givenBackground_whenUnpackDownload_thenShouldSubmitJob() {
+        // given
+        Job job = mock(Job.class);
+        when(bucketContext.resolveBucket("archive")).thenReturn("archive");
+        when(jobScheduler.submit(eq("unpack-download packs/data"), eq(JobPriority.BULK), any())).thenReturn(job);
+        when(printerService.formatJobSubmitted(job)).thenReturn("Job 1 submitted.");
+
+        // when
+        String result = s3PackCommands.unpackDownload("packs/data", "./out", "**.csv", 16, true, "archive");
+
+        // then
+        assertThat(result).isEqualTo("Job 1 submitted.");
+        verifyNoInteractions(s3PackService);
+    }
+
+    @Test
+    @DisplayName("Given error reading the pack, when unpackDownload is called, then it should return error message")
+    void givenError_whenUnpackDownload_thenShouldReturnErrorMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn("test-bucket");
+        when(s3PackService.unpackDownload(eq("test-bucket"), eq("packs/data"), eq(null), eq(Path.of(".")), eq(16), any()))
+                .thenThrow(new RuntimeException("Error reading object: Not Found"));
+
+        // when
+        String result = s3PackCommands.unpackDownload("packs/data", ".", null, 16, false, null);
+
+        // then
+        assertThat(result).isEqualTo("Error unpacking files: Error reading object: Not Found");
+    }
+}
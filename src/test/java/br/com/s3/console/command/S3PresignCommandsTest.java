@@ -0,0 +1,149 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.PresignMethod;
+import br.com.s3.console.service.S3PresignService;
+import org.jline.terminal.Terminal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3PresignCommands class")
+class S3PresignCommandsTest {
+
+    @Mock
+    private S3PresignService s3PresignService;
+
+    @Mock
+    private BucketContext bucketContext;
+
+    @Mock
+    private Terminal terminal;
+
+    @InjectMocks
+    private S3PresignCommands s3PresignCommands;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(bucketContext.resolveBucket(null)).thenReturn("test-bucket");
+    }
+
+    @Test
+    @DisplayName("Given key, when presign is called, then it should return the URL")
+    void givenKey_whenPresign_thenShouldReturnUrl() throws Exception {
+        // given
+        URL url = new URL("http://localhost:4566/test-bucket/file.txt?X-Amz-Signature=abc");
+        when(s3PresignService.presign("test-bucket", "file.txt", PresignMethod.GET, Duration.ofSeconds(60)))
+                .thenReturn(url);
+
+        // when
+        String result = s3PresignCommands.presign("file.txt", null, PresignMethod.GET, 60, "", 8, null);
+
+        // then
+        assertThat(result).isEqualTo(url.toString());
+    }
+
+    @Test
+    @DisplayName("Given prefix and output file, when presign is called, then it should write one line per URL")
+    @SuppressWarnings("unchecked")
+    void givenPrefixAndOutputFile_whenPresign_thenShouldWriteUrls() throws Exception {
+        // given
+        Path output = tempDir.resolve("urls.tsv");
+        URL url = new URL("http://localhost:4566/test-bucket/data/a.csv?X-Amz-Signature=abc");
+        when(s3PresignService.presignPrefix(eq("test-bucket"), eq("data/"), eq(PresignMethod.GET),
+                eq(Duration.ofSeconds(3600)), eq(8), any())).thenAnswer(invocation -> {
+            BiConsumer<String, URL> sink = invocation.getArgument(5);
+            sink.accept("data/a.csv", url);
+            return 1L;
+        });
+
+        // when
+        String result = s3PresignCommands.presign(null, "data/", PresignMethod.GET, 3600, output.toString(), 8, null);
+
+        // then
+        assertThat(result).isEqualTo("1 URL(s) generated into '" + output + "'.");
+        assertThat(Files.readAllLines(output)).containsExactly("data/a.csv\t" + url);
+        verifyNoInteractions(terminal);
+    }
+
+    @Test
+    @DisplayName("Given a console that cannot be written, when presign is called with a prefix, then it should return error message")
+    @SuppressWarnings("unchecked")
+    void givenFailingConsole_whenPresignPrefix_thenShouldReturnErrorMessage() throws Exception {
+        // given
+        Writer broken = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        when(terminal.writer()).thenReturn(new PrintWriter(broken));
+        URL url = new URL("http://localhost:4566/test-bucket/data/a.csv?X-Amz-Signature=abc");
+        when(s3PresignService.presignPrefix(eq("test-bucket"), eq("data/"), eq(PresignMethod.GET),
+                eq(Duration.ofSeconds(3600)), eq(8), any())).thenAnswer(invocation -> {
+            BiConsumer<String, URL> sink = invocation.getArgument(5);
+            sink.accept("data/a.csv", url);
+            return 1L;
+        });
+
+        // when
+        String result = s3PresignCommands.presign(null, "data/", PresignMethod.GET, 3600, "", 8, null);
+
+        // then
+        assertThat(result).isEqualTo("Error generating presigned URLs: Error writing URLs to the console.");
+    }
+
+    @Test
+    @DisplayName("Given both key and prefix, when presign is called, then it should return usage message")
+    void givenKeyAndPrefix_whenPresign_thenShouldReturnUsageMessage() {
+        // when
+        String result = s3PresignCommands.presign("file.txt", "data/", PresignMethod.GET, 3600, "", 8, null);
+
+        // then
+        assertThat(result).isEqualTo("Provide either --key or --prefix.");
+        verifyNoInteractions(s3PresignService);
+    }
+
+    @Test
+    @DisplayName("Given no bucket selected, when presign is called, then it should return no bucket message")
+    void givenNoBucketSelected_whenPresign_thenShouldReturnNoBucketMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn(null);
+
+        // when
+        String result = s3PresignCommands.presign("file.txt", null, PresignMethod.GET, 3600, "", 8, null);
+
+        // then
+        assertThat(result).startsWith("No bucket selected");
+    }
+}
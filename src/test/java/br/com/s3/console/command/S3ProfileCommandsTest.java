@@ -0,0 +1,150 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.config.S3ClientProfiles;
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.context.ProfileContext;
+import br.com.s3.console.job.JobPriority;
+import br.com.s3.console.job.JobScheduler;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.service.S3TransferService;
+import org.jline.terminal.Terminal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3ProfileCommands class")
+class S3ProfileCommandsTest {
+
+    @Mock
+    private S3ClientProfiles s3ClientProfiles;
+
+    @Mock
+    private ProfileContext profileContext;
+
+    @Mock
+    private BucketContext bucketContext;
+
+    @Mock
+    private S3TransferService s3TransferService;
+
+    @Mock
+    private PrinterService printerService;
+
+    @Mock
+    private JobScheduler jobScheduler;
+
+    @Mock
+    private Terminal terminal;
+
+    @InjectMocks
+    private S3ProfileCommands s3ProfileCommands;
+
+    @Test
+    @DisplayName("Given an existing profile, when useProfile is called, then it should select it and clear the bucket")
+    void givenExistingProfile_whenUseProfile_thenShouldSelectProfileAndClearBucket() {
+        // given
+        when(s3ClientProfiles.exists("minio")).thenReturn(true);
+
+        // when
+        String result = s3ProfileCommands.useProfile("minio");
+
+        // then
+        assertThat(result).isEqualTo("Profile 'minio' selected successfully.");
+        verify(profileContext).setCurrentProfile("minio");
+        verify(bucketContext).clearCurrentBucket();
+    }
+
+    @Test
+    @DisplayName("Given an unknown profile, when useProfile is called, then it should return does not exist message")
+    void givenUnknownProfile_whenUseProfile_thenShouldReturnDoesNotExistMessage() {
+        // given
+        when(s3ClientProfiles.exists("aws")).thenReturn(false);
+
+        // when
+        String result = s3ProfileCommands.useProfile("aws");
+
+        // then
+        assertThat(result).startsWith("Profile 'aws' does not exist.");
+        verifyNoInteractions(profileContext, bucketContext);
+    }
+
+    @Test
+    @DisplayName("Given selected bucket and existing destination profile, when transfer is called, then it should return the summary")
+    void givenExistingDestinationProfile_whenTransfer_thenShouldReturnSummary() {
+        // given
+        BulkResult bulkResult = new BulkResult(3, 300, 0, Duration.ofSeconds(1));
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(profileContext.getCurrentProfile()).thenReturn("default");
+        when(s3ClientProfiles.exists("minio")).thenReturn(true);
+        when(s3TransferService.transfer(eq("default"), eq("bucket1"), eq("data/"), eq("minio"), eq("bucket2"),
+                eq("data/"), eq(16L * 1024 * 1024), eq(4), eq(2), any())).thenReturn(bulkResult);
+        when(printerService.formatBulkResult("Transferred", bulkResult)).thenReturn("Transferred 3 object(s)");
+
+        // when
+        String result = s3ProfileCommands.transfer("minio", "bucket2", "data/", null, "16MB", 4, 2, false, null);
+
+        // then
+        assertThat(result).isEqualTo("Transferred 3 object(s)");
+    }
+
+    @Test
+    @DisplayName("Given the background option, when transfer is called, then it should submit a bulk job instead of transferring")
+    void givenBackgroundOption_whenTransfer_thenShouldSubmitBulkJob() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(profileContext.getCurrentProfile()).thenReturn("default");
+        when(s3ClientProfiles.exists("minio")).thenReturn(true);
+        when(printerService.formatJobSubmitted(any())).thenReturn("Job 1 submitted");
+
+        // when
+        String result = s3ProfileCommands.transfer("minio", "bucket2", "data/", "copy/", "8MB", 4, 4, true, null);
+
+        // then
+        assertThat(result).isEqualTo("Job 1 submitted");
+        verify(jobScheduler).submit(eq("transfer default:bucket1/data/ -> minio:bucket2/copy/"), eq(JobPriority.BULK),
+                any());
+        verifyNoInteractions(s3TransferService);
+    }
+
+    @Test
+    @DisplayName("Given no bucket selected, when transfer is called, then it should return no bucket message")
+    void givenNoBucketSelected_whenTransfer_thenShouldReturnNoBucketMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn(null);
+
+        // when
+        String result = s3ProfileCommands.transfer("minio", "bucket2", "", null, "8MB", 4, 4, false, null);
+
+        // then
+        assertThat(result).isEqualTo("No bucket selected. Use the 'use-bucket' command to select a bucket.");
+        verifyNoInteractions(s3TransferService);
+    }
+
+    @Test
+    @DisplayName("Given a failing transfer, when transfer is called, then it should return the error message")
+    void givenFailingTransfer_whenTransfer_thenShouldReturnErrorMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn("bucket1");
+        when(s3ClientProfiles.exists("minio")).thenReturn(true);
+        when(s3TransferService.transfer(any(), any(), any(), any(), any(), any(), anyLong(), anyInt(), anyInt(), any()))
+                .thenThrow(new IllegalArgumentException("Source and destination prefixes must not overlap in the same bucket."));
+
+        // when
+        String result = s3ProfileCommands.transfer("minio", "bucket2", "", null, "8MB", 4, 4, false, null);
+
+        // then
+        assertThat(result).isEqualTo("Error transferring objects: Source and destination prefixes must not overlap in the same bucket.");
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.s3.console.command;
+
+import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.GrepMatch;
+import br.com.s3.console.model.FindCriteria;
+import br.com.s3.console.query.Query;
+import br.com.s3.console.query.RowFormat;
+import br.com.s3.console.service.PrinterService;
+import br.com.s3.console.service.S3FindService;
+import br.com.s3.console.service.S3GrepService;
+import br.com.s3.console.service.S3QueryService;
+import org.jline.terminal.Terminal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3SearchCommands class")
+class S3SearchCommandsTest {
+
+    @Mock
+    private S3GrepService s3GrepService;
+
+    @Mock
+    private S3QueryService s3QueryService;
+
+    @Mock
+    private S3FindService s3FindService;
+
+    @Mock
+    private BucketContext bucketContext;
+
+    @Mock
+    private PrinterService printerService;
+
+    @Mock
+    private Terminal terminal;
+
+    @InjectMocks
+    private S3SearchCommands s3SearchCommands;
+
+    private StringWriter output;
+
+    @BeforeEach
+    void setUp() {
+        output = new StringWriter();
+        lenient().when(terminal.writer()).thenReturn(new PrintWriter(output));
+        lenient().when(bucketContext.resolveBucket(null)).thenReturn("test-bucket");
+    }
+
+    @Test
+    @DisplayName("Given matching files, when grepFiles is called, then it should print key, line number and line")
+    @SuppressWarnings("unchecked")
+    void givenMatchingFiles_whenGrepFiles_thenShouldPrintMatches() {
+        // given
+        when(s3GrepService.grep(eq("test-bucket"), eq("logs/*.gz"), any(Pattern.class), eq(5L), eq(16), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<GrepMatch> sink = invocation.getArgument(5);
+                    sink.accept(new GrepMatch("logs/a.gz", 12, "ERROR id=42"));
+                    return 1L;
+                });
+
+        // when
+        String result = s3SearchCommands.grepFiles("id=42", "logs/", "*.gz", 5, false, 16, null);
+
+        // then
+        assertThat(result).isEqualTo("1 match(es) found.");
+        assertThat(output.toString()).contains("logs/a.gz:12:ERROR id=42");
+    }
+
+    @Test
+    @DisplayName("Given invalid regex, when grepFiles is called, then it should return error message")
+    void givenInvalidRegex_whenGrepFiles_thenShouldReturnErrorMessage() {
+        // when
+        String result = s3SearchCommands.grepFiles("(", "", "**", 0, false, 16, null);
+
+        // then
+        assertThat(result).startsWith("Error searching files:");
+        verify(s3GrepService, never()).grep(anyString(), anyString(), any(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Given no bucket selected, when grepFiles is called, then it should return no bucket message")
+    void givenNoBucketSelected_whenGrepFiles_thenShouldReturnNoBucketMessage() {
+        // given
+        when(bucketContext.resolveBucket(null)).thenReturn(null);
+
+        // when
+        String result = s3SearchCommands.grepFiles("x", "", "**", 0, false, 16, null);
+
+        // then
+        assertThat(result).startsWith("No bucket selected");
+    }
+
+    @Test
+    @DisplayName("Given query, when query is called, then it should print each row and the match count")
+    @SuppressWarnings("unchecked")
+    void givenQuery_whenQuery_thenShouldPrintRows() {
+        // given
+        when(printerService.formatRow(Map.of("id", "1"))).thenReturn("{\"id\":\"1\"}");
+        when(s3QueryService.query(eq("test-bucket"), eq("data/*.tsv"), any(Query.class), eq(RowFormat.CSV),
+                eq('\t'), eq(8), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<Map<String, Object>> sink = invocation.getArgument(6);
+                    sink.accept(Map.of("id", "1"));
+                    return 1L;
+                });
+
+        // when
+        String result = s3SearchCommands.query("SELECT id LIMIT 1", "data/", "*.tsv", RowFormat.CSV, "\\t", 8, null);
+
+        // then
+        assertThat(result).isEqualTo("1 row(s) matched.");
+        assertThat(output.toString()).contains("{\"id\":\"1\"}");
+    }
+
+    @Test
+    @DisplayName("Given invalid query, when query is called, then it should return error message")
+    void givenInvalidQuery_whenQuery_thenShouldReturnErrorMessage() {
+        // when
+        String result = s3SearchCommands.query("SELECT", "", "**", null, ",", 8, null);
+
+        // then
+        assertThat(result).startsWith("Error running query: Invalid query:");
+        verifyNoInteractions(s3QueryService);
+    }
+
+    @Test
+    @DisplayName("Given limit, when find is called, then it should print at most that many files")
+    void givenLimit_whenFind_thenShouldPrintAtMostLimit() {
+        // given
+        ArgumentCaptor<FindCriteria> criteria = ArgumentCaptor.forClass(FindCriteria.class);
+        S3Object first = S3Object.builder().key("logs/a.gz").size(2048L).build();
+        S3Object second = S3Object.builder().key("logs/b.gz").size(4096L).build();
+        when(s3FindService.find(eq("test-bucket"), criteria.capture(), eq(16), eq(false)))
+                .thenReturn(Stream.of(first, second, S3Object.builder().key("logs/c.gz").build()));
+        when(printerService.formatObjectLine(any(S3Object.class)))
+                .thenAnswer(invocation -> invocation.<S3Object>getArgument(0).key());
+
+        // when
+        String result = s3SearchCommands.find("logs/", "*.gz", null, "1K", null, null, null, null, 2, false, 16, null);
+
+        // then
+        assertThat(result).isEqualTo("2 file(s) found.");
+        assertThat(output.toString()).contains("logs/a.gz", "logs/b.gz").doesNotContain("logs/c.gz");
+        assertThat(criteria.getValue().listingPrefix()).isEqualTo("logs/");
+        assertThat(criteria.getValue().matches(S3Object.builder().key("logs/x.gz").size(10L).build())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given invalid size, when find is called, then it should return error message")
+    void givenInvalidSize_whenFind_thenShouldReturnErrorMessage() {
+        // when
+        String result = s3SearchCommands.find("", "**", null, "huge", null, null, null, null, 0, false, 16, null);
+
+        // then
+        assertThat(result).isEqualTo("Error finding files: Invalid size: huge");
+        verifyNoInteractions(s3FindService);
+    }
+
+    @Test
+    @DisplayName("Given dates, instants and ages, when parseTime is called, then it should resolve them to instants")
+    void givenTimeSpecs_whenParseTime_thenShouldResolveInstants() {
+        Instant now = Instant.parse("2024-06-10T12:00:00Z");
+
+        assertThat(S3SearchCommands.parseTime("7d", now)).isEqualTo(Instant.parse("2024-06-03T12:00:00Z"));
+        assertThat(S3SearchCommands.parseTime("90M", now)).isEqualTo(Instant.parse("2024-06-10T10:30:00Z"));
+        assertThat(S3SearchCommands.parseTime("2024-01-31", now)).isEqualTo(Instant.parse("2024-01-31T00:00:00Z"));
+        assertThat(S3SearchCommands.parseTime("2024-01-31T10:15:00Z", now)).isEqualTo(Instant.parse("2024-01-31T10:15:00Z"));
+    }
+}
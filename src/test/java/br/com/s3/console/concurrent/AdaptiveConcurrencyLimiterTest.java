@@ -0,0 +1,149 @@
+package br.com.s3.console.concurrent;
+
+import br.com.s3.console.concurrent.AdaptiveConcurrencyLimiter.Outcome;
+import br.com.s3.console.job.JobPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for AdaptiveConcurrencyLimiter class")
+class AdaptiveConcurrencyLimiterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Given healthy saturated rounds, when released, then the limit should grow by at most one per round")
+    void givenHealthyRounds_whenReleased_thenLimitShouldGrowAdditively() throws InterruptedException {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 100, meterRegistry);
+
+        // when
+        for (int round = 0; round < 3; round++) {
+            List<Long> tokens = new ArrayList<>();
+            for (int i = 0; i < limiter.limit(); i++) {
+                tokens.add(limiter.acquire());
+            }
+            tokens.forEach(token -> limiter.release(token, Outcome.SUCCESS));
+        }
+
+        // then
+        assertThat(limiter.limit()).isBetween(5, 7);
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(meterRegistry.get("s3.concurrency.limit").gauge().value()).isEqualTo(limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Given a burst of throttled requests, when released, then the limit should be halved once")
+    void givenThrottledBurst_whenReleased_thenLimitShouldBeHalvedOnce() throws InterruptedException {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(32, 1, 100, meterRegistry);
+        List<Long> tokens = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tokens.add(limiter.acquire());
+        }
+
+        // when
+        tokens.forEach(token -> limiter.release(token, Outcome.OVERLOAD));
+
+        // then
+        assertThat(limiter.limit()).isEqualTo(16);
+        assertThat(meterRegistry.get("s3.concurrency.overloads").counter().count()).isEqualTo(10);
+
+        // and a request sent after the cut may cut it again
+        limiter.release(limiter.acquire(), Outcome.OVERLOAD);
+        assertThat(limiter.limit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Given repeated overloads, when released, then the limit should not drop below the minimum")
+    void givenRepeatedOverloads_whenReleased_thenLimitShouldKeepMinimum() throws InterruptedException {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 100, meterRegistry);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            limiter.release(limiter.acquire(), Outcome.OVERLOAD);
+        }
+        limiter.release(limiter.acquire(), Outcome.IGNORE);
+
+        // then
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given the limit is in use, when acquire is called, then it should wait for a release")
+    void givenLimitInUse_whenAcquire_thenShouldWaitForRelease() throws InterruptedException {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, meterRegistry);
+        long token = limiter.acquire();
+        AtomicBoolean acquired = new AtomicBoolean();
+
+        // when
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                limiter.acquire();
+                acquired.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        TimeUnit.MILLISECONDS.sleep(50);
+        boolean acquiredBeforeRelease = acquired.get();
+        limiter.release(token, Outcome.SUCCESS);
+        waiter.join(5_000);
+
+        // then
+        assertThat(acquiredBeforeRelease).isFalse();
+        assertThat(acquired).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given bulk and interactive requests waiting, when a permit is released, then the interactive request should get it")
+    void givenBulkAndInteractiveWaiting_whenReleased_thenInteractiveShouldGoFirst() throws InterruptedException {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, meterRegistry);
+        long token = limiter.acquire();
+        List<JobPriority> order = Collections.synchronizedList(new ArrayList<>());
+        Thread bulk = Thread.ofVirtual().start(() -> acquireAndRelease(limiter, JobPriority.BULK, order));
+        TimeUnit.MILLISECONDS.sleep(50);
+        Thread interactive = Thread.ofVirtual().start(() -> acquireAndRelease(limiter, JobPriority.INTERACTIVE, order));
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        // when
+        limiter.release(token, Outcome.SUCCESS);
+        bulk.join(5_000);
+        interactive.join(5_000);
+
+        // then
+        assertThat(order).containsExactly(JobPriority.INTERACTIVE, JobPriority.BULK);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private static void acquireAndRelease(AdaptiveConcurrencyLimiter limiter, JobPriority priority,
+                                          List<JobPriority> order) {
+        try {
+            long token = limiter.acquire(priority);
+            order.add(priority);
+            limiter.release(token, Outcome.SUCCESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Given invalid bounds, when created, then it should throw IllegalArgumentException")
+    void givenInvalidBounds_whenCreated_thenShouldThrow() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(4, 8, 2, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
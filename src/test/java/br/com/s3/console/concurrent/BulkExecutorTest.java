@@ -0,0 +1,78 @@
+package br.com.s3.console.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for BulkExecutor class")
+class BulkExecutorTest {
+
+    private final BulkExecutor bulkExecutor = new BulkExecutor();
+
+    @Test
+    @DisplayName("Given many items, when forEach is called, then it should process all of them within the parallelism bound")
+    void givenManyItems_whenForEach_thenShouldProcessAllWithinBound() {
+        // given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // when
+        long processed = bulkExecutor.forEach(IntStream.range(0, 200).boxed(), 4, item -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+        });
+
+        // then
+        assertThat(processed).isEqualTo(200);
+        assertThat(maxInFlight.get()).isBetween(1, 4);
+    }
+
+    @Test
+    @DisplayName("Given failing action, when forEach is called, then it should stop and rethrow the failure")
+    void givenFailingAction_whenForEach_thenShouldRethrowFailure() {
+        // given
+        AtomicInteger started = new AtomicInteger();
+
+        // when/then
+        assertThatThrownBy(() -> bulkExecutor.forEach(IntStream.range(0, 10_000).boxed(), 2, item -> {
+            started.incrementAndGet();
+            if (item == 5) {
+                throw new RuntimeException("Copy failed");
+            }
+        }))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Copy failed");
+
+        assertThat(started.get()).isLessThan(10_000);
+    }
+
+    @Test
+    @DisplayName("Given action throwing an error, when forEach is called, then it should rethrow the error instead of reporting success")
+    void givenActionThrowingError_whenForEach_thenShouldRethrowError() {
+        // given
+        AtomicInteger processed = new AtomicInteger();
+
+        // when/then
+        assertThatThrownBy(() -> bulkExecutor.forEach(IntStream.range(0, 100).boxed(), 4, item -> {
+            if (item == 3) {
+                throw new AssertionError("Part check failed");
+            }
+            processed.incrementAndGet();
+        }))
+                .isInstanceOf(AssertionError.class)
+                .hasMessage("Part check failed");
+
+        assertThat(processed.get()).isLessThan(100);
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.s3.console.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.net.SocketTimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests for ConcurrencyLimitingInterceptor class")
+class ConcurrencyLimitingInterceptorTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 100, new SimpleMeterRegistry());
+    private final ConcurrencyLimitingInterceptor interceptor = new ConcurrencyLimitingInterceptor(limiter);
+
+    @Test
+    @DisplayName("Given a request retried after a 503, when it succeeds, then the permit should be released as an overload")
+    void givenRetriedThrottledRequest_whenSucceeds_thenShouldReleaseAsOverload() {
+        // given
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        Context.AfterTransmission transmission = mock(Context.AfterTransmission.class);
+        when(transmission.httpResponse()).thenReturn(SdkHttpResponse.builder().statusCode(503).build());
+
+        // when
+        interceptor.beforeExecution(mock(Context.BeforeExecution.class), attributes);
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        interceptor.afterTransmission(transmission, attributes);
+        interceptor.afterExecution(mock(Context.AfterExecution.class), attributes);
+        interceptor.onExecutionFailure(mock(Context.FailedExecution.class), attributes);
+
+        // then
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Given a missing key, when the request fails, then the limit should be kept")
+    void givenMissingKey_whenRequestFails_thenShouldKeepLimit() {
+        // given
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        Context.FailedExecution failure = mock(Context.FailedExecution.class);
+        when(failure.exception()).thenReturn(NoSuchKeyException.builder().statusCode(404).build());
+
+        // when
+        interceptor.beforeExecution(mock(Context.BeforeExecution.class), attributes);
+        interceptor.onExecutionFailure(failure, attributes);
+
+        // then
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.limit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Given failures, when isOverload is called, then only throttling and timeouts should count")
+    void givenFailures_whenIsOverload_thenOnlyThrottlingAndTimeoutsShouldCount() {
+        assertThat(ConcurrencyLimitingInterceptor.isOverload(S3Exception.builder().statusCode(503).build())).isTrue();
+        assertThat(ConcurrencyLimitingInterceptor.isOverload(S3Exception.builder().statusCode(429).build())).isTrue();
+        assertThat(ConcurrencyLimitingInterceptor.isOverload(ApiCallTimeoutException.create(1000))).isTrue();
+        assertThat(ConcurrencyLimitingInterceptor.isOverload(SdkClientException.builder()
+                .cause(new SocketTimeoutException("Read timed out")).build())).isTrue();
+        assertThat(ConcurrencyLimitingInterceptor.isOverload(S3Exception.builder().statusCode(403).build())).isFalse();
+        assertThat(ConcurrencyLimitingInterceptor.isOverload(new IllegalStateException())).isFalse();
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.s3.console.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for ItemHandoff class")
+class ItemHandoffTest {
+
+    @Test
+    @DisplayName("Given more items than the queue holds, when run is called, then it should pass all of them to the sink in order")
+    void givenManyItems_whenRun_thenShouldPassAllToSink() {
+        // given
+        List<Integer> received = new ArrayList<>();
+
+        // when
+        long consumed = ItemHandoff.<Integer>run("Test", 2, handoff -> {
+            for (int i = 0; i < 100; i++) {
+                put(handoff, i);
+            }
+        }, received::add);
+
+        // then
+        assertThat(consumed).isEqualTo(100);
+        assertThat(received).hasSize(100).startsWith(0, 1, 2).endsWith(99);
+    }
+
+    @Test
+    @DisplayName("Given failing producer, when run is called, then it should rethrow the failure after consuming the items handed off")
+    void givenFailingProducer_whenRun_thenShouldRethrowFailure() {
+        // given
+        List<String> received = new ArrayList<>();
+
+        // when/then
+        assertThatThrownBy(() -> ItemHandoff.<String>run("Test", 4, handoff -> {
+            put(handoff, "first");
+            throw new RuntimeException("Read failed");
+        }, received::add))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Read failed");
+
+        assertThat(received).containsExactly("first");
+    }
+
+    @Test
+    @DisplayName("Given failing sink, when run is called, then it should stop the blocked producer and rethrow the failure")
+    void givenFailingSink_whenRun_thenShouldStopProducer() throws InterruptedException {
+        // given
+        AtomicBoolean producerStopped = new AtomicBoolean();
+
+        // when/then
+        assertThatThrownBy(() -> ItemHandoff.<Integer>run("Test", 1, handoff -> {
+            try {
+                for (int i = 0; !handoff.isStopped(); i++) {
+                    handoff.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                producerStopped.set(true);
+            }
+        }, item -> {
+            throw new IllegalStateException("Sink failed");
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Sink failed");
+
+        for (int attempt = 0; attempt < 100 && !producerStopped.get(); attempt++) {
+            Thread.sleep(10);
+        }
+        assertThat(producerStopped).isTrue();
+    }
+
+    private static <T> void put(ItemHandoff<T> handoff, T item) {
+        try {
+            handoff.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
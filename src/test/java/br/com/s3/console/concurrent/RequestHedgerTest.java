@@ -0,0 +1,153 @@
+package br.com.s3.console.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for RequestHedger class")
+class RequestHedgerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestHedger requestHedger = new RequestHedger(true, 0.95, Duration.ofMillis(1), meterRegistry);
+
+    @Test
+    @DisplayName("Given a request slower than the percentile, when called, then the duplicate should win and the late response be discarded")
+    void givenSlowRequest_whenCalled_thenDuplicateShouldWin() throws InterruptedException {
+        // given
+        warmUp();
+        // A warm-up call may itself have been hedged on a busy machine
+        double hedgedBefore = meterRegistry.get("s3.hedging.hedged").counter().count();
+        double winsBefore = meterRegistry.get("s3.hedging.wins").counter().count();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch discarded = new CountDownLatch(1);
+        List<String> discardedResponses = new CopyOnWriteArrayList<>();
+
+        // when
+        String response = requestHedger.call("GetObject", () -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(300);
+                return "slow";
+            }
+            return "fast";
+        }, late -> {
+            discardedResponses.add(late);
+            discarded.countDown();
+        });
+
+        // then
+        assertThat(response).isEqualTo("fast");
+        assertThat(discarded.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(discardedResponses).containsExactly("slow");
+        assertThat(meterRegistry.get("s3.hedging.hedged").counter().count()).isEqualTo(hedgedBefore + 1);
+        assertThat(meterRegistry.get("s3.hedging.wins").counter().count()).isEqualTo(winsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Given too few latency samples, when called, then it should not hedge")
+    void givenFewSamples_whenCalled_thenShouldNotHedge() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        String response = requestHedger.call("HeadObject", () -> {
+            calls.incrementAndGet();
+            sleep(20);
+            return "head";
+        }, late -> { });
+
+        // then
+        assertThat(response).isEqualTo("head");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Given both attempts fail, when called, then it should throw the failure")
+    void givenBothAttemptsFail_whenCalled_thenShouldThrow() {
+        // given
+        warmUp();
+
+        // when/then
+        assertThatThrownBy(() -> requestHedger.call("GetObject", () -> {
+            sleep(100);
+            throw new IllegalStateException("boom");
+        }, late -> { })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    }
+
+    @Test
+    @Timeout(5)
+    @DisplayName("Given both attempts throw an error, when called, then it should rethrow the error instead of waiting forever")
+    void givenBothAttemptsThrowError_whenCalled_thenShouldRethrowError() {
+        // given
+        warmUp();
+
+        // when/then
+        assertThatThrownBy(() -> requestHedger.call("GetObject", () -> {
+            sleep(100);
+            throw new AssertionError("boom");
+        }, late -> { })).isInstanceOf(AssertionError.class).hasMessage("boom");
+    }
+
+    @Test
+    @DisplayName("Given an interrupted caller, when the responses arrive late, then every one of them should be discarded")
+    void givenInterruptedCaller_whenResponsesArriveLate_thenShouldDiscardThem() throws InterruptedException {
+        // given
+        warmUp();
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch discarded = new CountDownLatch(2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                requestHedger.call("GetObject", () -> {
+                    started.countDown();
+                    sleep(300);
+                    return "late";
+                }, late -> discarded.countDown());
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        });
+
+        // when
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        caller.interrupt();
+        caller.join();
+
+        // then
+        assertThat(failure.get()).isInstanceOf(IllegalStateException.class).hasMessage("Request interrupted");
+        assertThat(discarded.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given an invalid percentile, when created, then it should throw IllegalArgumentException")
+    void givenInvalidPercentile_whenCreated_thenShouldThrow() {
+        assertThatThrownBy(() -> new RequestHedger(true, 1.5, Duration.ZERO, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 50; i++) {
+            requestHedger.call("GetObject", () -> "warm", late -> { });
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
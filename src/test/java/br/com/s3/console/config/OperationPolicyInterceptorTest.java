@@ -0,0 +1,126 @@
+package br.com.s3.console.config;
+
+import br.com.s3.console.model.OperationClass;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for OperationPolicyInterceptor class")
+class OperationPolicyInterceptorTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private S3Client s3Client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        RetryProperties retryProperties = new RetryProperties(
+                policy(2, Duration.ofSeconds(1)),
+                policy(3, null),
+                policy(1, null));
+        OperationPolicyInterceptor interceptor = new OperationPolicyInterceptor(retryProperties);
+        s3Client = S3Client.builder()
+                .endpointOverride(URI.create("http://127.0.0.1:" + server.getAddress().getPort()))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .forcePathStyle(true)
+                .overrideConfiguration(configuration -> configuration
+                        .retryPolicy(interceptor.retryPolicy())
+                        .addExecutionInterceptor(interceptor))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Given a read slower than the attempt timeout, when retried, then the second attempt should succeed")
+    void givenSlowRead_whenAttemptTimesOut_thenShouldRetry() {
+        // given
+        server.createContext("/", exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                sleep(5_000);
+            }
+            exchange.getResponseHeaders().add("Content-Length", "5");
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+
+        // when
+        HeadObjectResponse response = s3Client.headObject(HeadObjectRequest.builder().bucket("b").key("k").build());
+
+        // then
+        assertThat(response.contentLength()).isEqualTo(5);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Given server errors, when each class is called, then it should make the attempts of its policy")
+    void givenServerErrors_whenCalled_thenShouldFollowPolicyOfClass() {
+        // given
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+
+        // when/then
+        assertThatThrownBy(() -> s3Client.listObjectsV2(ListObjectsV2Request.builder().bucket("b").build()))
+                .isInstanceOf(S3Exception.class);
+        assertThat(requests.getAndSet(0)).isEqualTo(3);
+
+        assertThatThrownBy(() -> s3Client.deleteObject(DeleteObjectRequest.builder().bucket("b").key("k").build()))
+                .isInstanceOf(S3Exception.class);
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given requests, when classified, then reads, listings and writes should be told apart")
+    void givenRequests_whenClassified_thenShouldTellClassesApart() {
+        assertThat(OperationClass.of(GetObjectRequest.builder().build())).isEqualTo(OperationClass.READ);
+        assertThat(OperationClass.of(HeadObjectRequest.builder().build())).isEqualTo(OperationClass.READ);
+        assertThat(OperationClass.of(ListObjectsV2Request.builder().build())).isEqualTo(OperationClass.LIST);
+        assertThat(OperationClass.of(DeleteObjectRequest.builder().build())).isEqualTo(OperationClass.WRITE);
+    }
+
+    private static RetryProperties.Policy policy(int maxAttempts, Duration attemptTimeout) {
+        return new RetryProperties.Policy(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), attemptTimeout);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
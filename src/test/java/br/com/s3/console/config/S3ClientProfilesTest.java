@@ -0,0 +1,103 @@
+package br.com.s3.console.config;
+
+import br.com.s3.console.config.ProfileProperties.Profile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ListBucketsRequest;
+import software.amazon.awssdk.services.s3.model.ListBucketsResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests for S3ClientProfiles class")
+class S3ClientProfilesTest {
+
+    private static final Map<String, Profile> PROFILES = Map.of(
+            "default", new Profile("http://localhost:4566", "us-east-1", "test", "test"),
+            "minio", new Profile("http://localhost:9000", "us-east-1", "minio", "minio"));
+
+    @Test
+    @DisplayName("Given two profiles, when the routing client is called, then it should use the client of the selected profile")
+    void givenTwoProfiles_whenRoutingClientIsCalled_thenShouldUseSelectedProfile() {
+        // given
+        Map<Profile, S3Client> clients = new HashMap<>();
+        S3ClientProfiles profiles = new S3ClientProfiles(PROFILES,
+                profile -> clients.computeIfAbsent(profile, p -> mock(S3Client.class)), profile -> mock(S3Presigner.class));
+        AtomicReference<String> selected = new AtomicReference<>("default");
+        S3Client routing = profiles.routingClient(selected::get);
+        ListBucketsResponse response = ListBucketsResponse.builder().build();
+
+        // when
+        selected.set("minio");
+        when(profiles.client("minio").listBuckets(any(ListBucketsRequest.class))).thenReturn(response);
+        ListBucketsResponse result = routing.listBuckets(ListBucketsRequest.builder().build());
+
+        // then
+        assertThat(result).isSameAs(response);
+        assertThat(clients).containsOnlyKeys(PROFILES.get("minio"));
+        assertThat(routing).isEqualTo(routing).isNotEqualTo(profiles.client("minio"));
+    }
+
+    @Test
+    @DisplayName("Given a failing client, when the routing client is called, then it should rethrow the original exception")
+    void givenFailingClient_whenRoutingClientIsCalled_thenShouldRethrowOriginalException() {
+        // given
+        S3Client client = mock(S3Client.class);
+        when(client.listBuckets(any(ListBucketsRequest.class))).thenThrow(NoSuchBucketException.builder().build());
+        S3ClientProfiles profiles = new S3ClientProfiles(PROFILES, profile -> client, profile -> mock(S3Presigner.class));
+
+        // when / then
+        assertThatThrownBy(() -> profiles.routingClient(() -> "default").listBuckets(ListBucketsRequest.builder().build()))
+                .isInstanceOf(NoSuchBucketException.class);
+    }
+
+    @Test
+    @DisplayName("Given an unknown profile, when client is called, then it should fail without building a client")
+    void givenUnknownProfile_whenClient_thenShouldFail() {
+        // given
+        AtomicInteger built = new AtomicInteger();
+        S3ClientProfiles profiles = new S3ClientProfiles(PROFILES, profile -> {
+            built.incrementAndGet();
+            return mock(S3Client.class);
+        }, profile -> mock(S3Presigner.class));
+
+        // when / then
+        assertThatThrownBy(() -> profiles.client("aws"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Profile 'aws' does not exist.");
+        assertThat(built).hasValue(0);
+        assertThat(profiles.exists("minio")).isTrue();
+        assertThat(profiles.profiles()).containsOnlyKeys("default", "minio");
+    }
+
+    @Test
+    @DisplayName("Given clients in use, when close is called, then every built client should be closed once")
+    void givenClientsInUse_whenClose_thenShouldCloseBuiltClients() {
+        // given
+        S3Client client = mock(S3Client.class);
+        S3Presigner presigner = mock(S3Presigner.class);
+        S3ClientProfiles profiles = new S3ClientProfiles(PROFILES, profile -> client, profile -> presigner);
+        profiles.client("default");
+        profiles.client("default");
+        profiles.presigner("minio");
+
+        // when
+        profiles.close();
+
+        // then
+        verify(client).close();
+        verify(presigner).close();
+    }
+}
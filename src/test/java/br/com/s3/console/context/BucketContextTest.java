@@ -105,4 +105,48 @@ class BucketContextTest {
         assertThat(bucketContext.getCurrentBucket()).isNull();
         assertThat(bucketContext.hasBucketSelected()).isFalse();
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Given a selected bucket, when resolveBucket is called with another bucket, then it should return the given bucket")
+    void givenSelectedBucket_whenResolveBucketWithBucket_thenShouldReturnGivenBucket() {
+        // given
+        BucketContext bucketContext = new BucketContext();
+        bucketContext.setCurrentBucket("test-bucket");
+
+        // when
+        String result = bucketContext.resolveBucket("other-bucket");
+
+        // then
+        assertThat(result).isEqualTo("other-bucket");
+        assertThat(bucketContext.getCurrentBucket()).isEqualTo("test-bucket");
+    }
+
+    @Test
+    @DisplayName("Given a selected bucket, when resolveBucket is called without a bucket, then it should return the current bucket")
+    void givenSelectedBucket_whenResolveBucketWithoutBucket_thenShouldReturnCurrentBucket() {
+        // given
+        BucketContext bucketContext = new BucketContext();
+        bucketContext.setCurrentBucket("test-bucket");
+
+        // when
+        String result = bucketContext.resolveBucket(null);
+        bucketContext.setCurrentBucket("other-bucket");
+
+        // then
+        assertThat(result).isEqualTo("test-bucket");
+    }
+
+    @Test
+    @DisplayName("Given no bucket selected, when resolveBucket is called without a bucket, then it should return null")
+    void givenNoBucketSelected_whenResolveBucketWithoutBucket_thenShouldReturnNull() {
+        // given
+        BucketContext bucketContext = new BucketContext();
+        bucketContext.setCurrentBucket("");
+
+        // when
+        String result = bucketContext.resolveBucket("");
+
+        // then
+        assertThat(result).isNull();
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.s3.console.context;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for ProfileContext class")
+class ProfileContextTest {
+
+    @Test
+    @DisplayName("Given a new context, when getCurrentProfile is called, then it should return the default profile")
+    void givenNewContext_whenGetCurrentProfile_thenShouldReturnDefaultProfile() {
+        // given
+        ProfileContext profileContext = new ProfileContext();
+
+        // when
+        String result = profileContext.getCurrentProfile();
+
+        // then
+        assertThat(result).isEqualTo("default");
+    }
+
+    @Test
+    @DisplayName("Given a profile name, when setCurrentProfile is called, then the profile should be stored")
+    void givenProfileName_whenSetCurrentProfile_thenProfileShouldBeStored() {
+        // given
+        ProfileContext profileContext = new ProfileContext();
+
+        // when
+        profileContext.setCurrentProfile("minio");
+
+        // then
+        assertThat(profileContext.getCurrentProfile()).isEqualTo("minio");
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.s3.console.hash;
+
+import br.com.s3.console.buffer.BufferPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for ContentHashCache class")
+class ContentHashCacheTest {
+
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+    private static final String EMPTY_SHA256 = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    private final BufferPool bufferPool = new BufferPool(DataSize.ofMegabytes(16), new SimpleMeterRegistry());
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Given files, when sha256 is called, then it should return their SHA-256 digests")
+    void givenFiles_whenSha256_thenShouldReturnDigests() throws Exception {
+        // given
+        ContentHashCache cache = new ContentHashCache(tempDir.resolve("hashes.tsv").toString(), bufferPool);
+        Path hello = Files.writeString(tempDir.resolve("hello.txt"), "hello");
+        Path empty = Files.createFile(tempDir.resolve("empty.txt"));
+        Path large = Files.write(tempDir.resolve("large.bin"), new byte[3 * 1024 * 1024 + 7]);
+
+        // when / then
+        assertThat(cache.sha256(hello)).isEqualTo(HELLO_SHA256);
+        assertThat(cache.sha256(empty)).isEqualTo(EMPTY_SHA256);
+        assertThat(cache.sha256(large)).hasSize(64).isNotEqualTo(EMPTY_SHA256);
+    }
+
+    @Test
+    @DisplayName("Given a saved cache, when a file is unchanged, then its digest should come from the cache without reading it")
+    void givenSavedCache_whenFileUnchanged_thenShouldUseCachedDigest() throws Exception {
+        // given
+        Path cacheFile = tempDir.resolve("cache/hashes.tsv");
+        Path file = Files.writeString(tempDir.resolve("a.txt"), "hello");
+        FileTime modified = Files.getLastModifiedTime(file);
+        ContentHashCache first = new ContentHashCache(cacheFile.toString(), bufferPool);
+        first.sha256(file);
+        first.save();
+
+        // when
+        // Same size and modification time, so only a stale cache would still see "hello"
+        Files.writeString(file, "jello");
+        Files.setLastModifiedTime(file, modified);
+        String cached = new ContentHashCache(cacheFile.toString(), bufferPool).sha256(file);
+
+        // then
+        assertThat(cached).isEqualTo(HELLO_SHA256);
+    }
+
+    @Test
+    @DisplayName("Given a cached file, when its modification time changes, then it should be hashed again")
+    void givenCachedFile_whenModified_thenShouldHashAgain() throws Exception {
+        // given
+        ContentHashCache cache = new ContentHashCache(tempDir.resolve("hashes.tsv").toString(), bufferPool);
+        Path file = Files.writeString(tempDir.resolve("a.txt"), "jello");
+        String before = cache.sha256(file);
+
+        // when
+        Files.writeString(file, "hello");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        String after = cache.sha256(file);
+
+        // then
+        assertThat(before).isNotEqualTo(HELLO_SHA256);
+        assertThat(after).isEqualTo(HELLO_SHA256);
+    }
+
+    @Test
+    @DisplayName("Given no new digests, when save is called, then it should not write a cache file")
+    void givenNoNewDigests_whenSave_thenShouldNotWriteFile() {
+        // given
+        Path cacheFile = tempDir.resolve("hashes.tsv");
+        ContentHashCache cache = new ContentHashCache(cacheFile.toString(), bufferPool);
+
+        // when
+        cache.save();
+
+        // then
+        assertThat(cacheFile).doesNotExist();
+    }
+}
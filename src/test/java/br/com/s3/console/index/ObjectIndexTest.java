@@ -0,0 +1,118 @@
+package br.com.s3.console.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for ObjectIndex and ObjectIndexWriter classes")
+class ObjectIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Given many sorted objects, when the index is written and read, then it should round-trip every column")
+    void givenSortedObjects_whenWrittenAndRead_thenShouldRoundTrip() throws IOException {
+        // given
+        List<S3Object> objects = new ArrayList<>();
+        for (int dir = 0; dir < 3; dir++) {
+            for (int file = 0; file < 50; file++) {
+                objects.add(S3Object.builder()
+                        .key(String.format("dir%d/file%03d.txt", dir, file))
+                        .size((long) dir * 1000 + file)
+                        .lastModified(Instant.ofEpochMilli(1_700_000_000_000L + file))
+                        .storageClass(file % 2 == 0 ? "STANDARD" : "GLACIER")
+                        .build());
+            }
+        }
+        objects.add(S3Object.builder().key("zeta/ação.txt").size(7L).lastModified(Instant.EPOCH).build());
+        Path path = tempDir.resolve("bucket.idx");
+
+        // when
+        try (ObjectIndexWriter writer = new ObjectIndexWriter(path)) {
+            for (S3Object object : objects) {
+                writer.add(object);
+            }
+        }
+        ObjectIndex index = ObjectIndex.open(path);
+
+        // then
+        assertThat(index.objectCount()).isEqualTo(151);
+        assertThat(index.totalBytes()).isEqualTo(objects.stream().mapToLong(S3Object::size).sum());
+        assertThat(index.objects("").toList()).containsExactlyElementsOf(objects);
+        assertThat(index.objects("dir1/").map(S3Object::key).toList())
+                .hasSize(50).first().isEqualTo("dir1/file000.txt");
+        assertThat(index.objects("dir2/file04").map(S3Object::key).toList())
+                .containsExactly("dir2/file040.txt", "dir2/file041.txt", "dir2/file042.txt", "dir2/file043.txt",
+                        "dir2/file044.txt", "dir2/file045.txt", "dir2/file046.txt", "dir2/file047.txt",
+                        "dir2/file048.txt", "dir2/file049.txt");
+        assertThat(index.objects("zeta/").toList()).singleElement()
+                .satisfies(object -> assertThat(object.storageClassAsString()).isNull());
+        assertThat(index.objects("dir9/")).isEmpty();
+        assertThat(index.objects("a")).isEmpty();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    @DisplayName("Given an open stream, when the index is closed, then the stream should keep reading and new streams should fail")
+    void givenOpenStream_whenClosed_thenShouldKeepStreamUntilClosed() throws IOException {
+        // given
+        Path path = tempDir.resolve("bucket.idx");
+        try (ObjectIndexWriter writer = new ObjectIndexWriter(path)) {
+            writer.add(S3Object.builder().key("a").size(1L).build());
+            writer.add(S3Object.builder().key("b").size(2L).build());
+        }
+        ObjectIndex index = ObjectIndex.open(path);
+        Stream<S3Object> stream = index.objects("");
+
+        // when
+        index.close();
+
+        // then
+        try (stream) {
+            assertThat(stream.map(S3Object::key).toList()).containsExactly("a", "b");
+        }
+        assertThatThrownBy(() -> index.objects(""))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("was closed");
+    }
+
+    @Test
+    @DisplayName("Given out of order keys, when added, then it should throw and leave no index behind")
+    void givenOutOfOrderKeys_whenAdded_thenShouldThrow() throws IOException {
+        // given
+        Path path = tempDir.resolve("bucket.idx");
+        ObjectIndexWriter writer = new ObjectIndexWriter(path);
+        writer.add(S3Object.builder().key("b").size(1L).build());
+
+        // when/then
+        assertThatThrownBy(() -> writer.add(S3Object.builder().key("a").size(1L).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        writer.abort();
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Given a file that is not an index, when opened, then it should throw IOException")
+    void givenInvalidFile_whenOpened_thenShouldThrow() throws IOException {
+        Path path = Files.write(tempDir.resolve("bucket.idx"), new byte[128]);
+
+        assertThatThrownBy(() -> ObjectIndex.open(path)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.s3.console.job;
+
+import br.com.s3.console.context.ProfileContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for JobScheduler class")
+class JobSchedulerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProfileContext profileContext = new ProfileContext();
+    private JobScheduler jobScheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (jobScheduler != null) {
+            jobScheduler.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Given a full budget, when jobs of both priorities are queued, then they should start in submission order")
+    void givenFullBudget_whenJobsQueued_thenShouldStartInSubmissionOrder() throws InterruptedException {
+        // given
+        jobScheduler = new JobScheduler(1, profileContext, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        Job blocker = jobScheduler.submit("blocker", JobPriority.BULK, progress -> {
+            release.await();
+            return "done";
+        });
+        Job bulk = jobScheduler.submit("bulk", JobPriority.BULK, progress -> {
+            started.add("bulk");
+            return "done";
+        });
+        Job interactive = jobScheduler.submit("interactive", JobPriority.INTERACTIVE, progress -> {
+            started.add("interactive");
+            return "done";
+        });
+
+        // when
+        assertThat(meterRegistry.get("s3.jobs.queued").gauge().value()).isEqualTo(2);
+        release.countDown();
+
+        // then
+        assertThat(bulk.await(TIMEOUT)).isTrue();
+        assertThat(interactive.await(TIMEOUT)).isTrue();
+        assertThat(started).containsExactly("bulk", "interactive");
+        assertThat(blocker.state()).isEqualTo(JobState.SUCCEEDED);
+        assertThat(blocker.result()).isEqualTo("done");
+    }
+
+    @Test
+    @DisplayName("Given a running job, when it is cancelled, then its thread should be interrupted and its state kept")
+    void givenRunningJob_whenCancel_thenShouldInterruptJob() throws InterruptedException {
+        // given
+        jobScheduler = new JobScheduler(2, profileContext, meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        Job job = jobScheduler.submit("sleeper", JobPriority.BULK, progress -> {
+            running.countDown();
+            Thread.sleep(TIMEOUT.toMillis());
+            return "done";
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        boolean cancelled = jobScheduler.cancel(job.id());
+
+        // then
+        assertThat(cancelled).isTrue();
+        assertThat(job.await(Duration.ofSeconds(1))).isTrue();
+        assertThat(job.state()).isEqualTo(JobState.CANCELLED);
+        assertThat(job.result()).isNull();
+        assertThat(jobScheduler.cancel(job.id())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given a queued job, when it is cancelled, then it should never start")
+    void givenQueuedJob_whenCancel_thenShouldNeverStart() throws InterruptedException {
+        // given
+        jobScheduler = new JobScheduler(1, profileContext, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        jobScheduler.submit("blocker", JobPriority.BULK, progress -> {
+            release.await();
+            return "done";
+        });
+        Job queued = jobScheduler.submit("queued", JobPriority.BULK, progress -> "ran");
+
+        // when
+        jobScheduler.cancel(queued.id());
+        release.countDown();
+
+        // then
+        assertThat(queued.await(TIMEOUT)).isTrue();
+        assertThat(queued.state()).isEqualTo(JobState.CANCELLED);
+        assertThat(queued.startedAt()).isNull();
+        assertThat(queued.result()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given a job starting threads, when they run, then they should see the job and its priority")
+    void givenJobStartingThreads_whenTheyRun_thenShouldSeeJob() throws InterruptedException {
+        // given
+        jobScheduler = new JobScheduler(1, profileContext, meterRegistry);
+        AtomicReference<Job> seen = new AtomicReference<>();
+        AtomicReference<JobPriority> priority = new AtomicReference<>();
+
+        // when
+        Job job = jobScheduler.submit("nested", JobPriority.BULK, progress -> {
+            Thread.ofVirtual().start(() -> {
+                seen.set(Job.current());
+                priority.set(Job.currentPriority());
+            }).join();
+            return "done";
+        });
+        job.await(TIMEOUT);
+
+        // then
+        assertThat(seen.get()).isSameAs(job);
+        assertThat(priority.get()).isEqualTo(JobPriority.BULK);
+        assertThat(Job.current()).isNull();
+        assertThat(Job.currentPriority()).isEqualTo(JobPriority.INTERACTIVE);
+    }
+
+    @Test
+    @DisplayName("Given a job submitted under a profile, when another profile is selected, then the job should keep its profile")
+    void givenSubmittedJob_whenProfileChanges_thenJobShouldKeepProfile() throws InterruptedException {
+        // given
+        jobScheduler = new JobScheduler(1, profileContext, meterRegistry);
+        profileContext.setCurrentProfile("minio");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> profile = new AtomicReference<>();
+        Job job = jobScheduler.submit("copy-files", JobPriority.BULK, progress -> {
+            release.await();
+            profile.set(Job.current().profile());
+            return "done";
+        });
+
+        // when
+        profileContext.setCurrentProfile("default");
+        release.countDown();
+        job.await(TIMEOUT);
+
+        // then
+        assertThat(job.profile()).isEqualTo("minio");
+        assertThat(profile.get()).isEqualTo("minio");
+    }
+
+    @Test
+    @DisplayName("Given a failing task, when the job runs, then it should end failed with the error message")
+    void givenFailingTask_whenJobRuns_thenShouldFail() throws InterruptedException {
+        // given
+        jobScheduler = new JobScheduler(1, profileContext, meterRegistry);
+
+        // when
+        Job job = jobScheduler.submit("failing", JobPriority.BULK, progress -> {
+            throw new IllegalStateException("Access Denied");
+        });
+        job.await(TIMEOUT);
+
+        // then
+        assertThat(job.state()).isEqualTo(JobState.FAILED);
+        assertThat(job.error()).isEqualTo("Access Denied");
+        assertThat(jobScheduler.jobs()).containsExactly(job);
+    }
+
+    @Test
+    @DisplayName("Given an unknown job number, when job is called, then it should throw IllegalArgumentException")
+    void givenUnknownJob_whenJob_thenShouldThrow() {
+        // given
+        jobScheduler = new JobScheduler(1, profileContext, meterRegistry);
+
+        // when / then
+        assertThatThrownBy(() -> jobScheduler.job(42))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Job 42 does not exist.");
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.s3.console.query;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for QueryParser class")
+class QueryParserTest {
+
+    @Test
+    @DisplayName("Given projection, filter and limit, when parse is called, then it should build the query")
+    void givenProjectionFilterAndLimit_whenParse_thenShouldBuildQuery() {
+        // when
+        Query query = QueryParser.parse("select id, \"full name\" where age >= 30 and not city = 'Rio' limit 5");
+
+        // then
+        assertThat(query.columns()).containsExactly("id", "full name");
+        assertThat(query.countOnly()).isFalse();
+        assertThat(query.limit()).isEqualTo(5);
+        assertThat(query.filter().test(row("age", "31", "city", "Recife"))).isTrue();
+        assertThat(query.filter().test(row("age", "31", "city", "Rio"))).isFalse();
+        assertThat(query.filter().test(row("age", "9", "city", "Recife"))).isFalse();
+        assertThat(query.project(row("id", "1", "age", "31")))
+                .containsOnlyKeys("id", "full name")
+                .containsEntry("id", "1")
+                .containsEntry("full name", null);
+    }
+
+    @Test
+    @DisplayName("Given OR, LIKE and IS NULL conditions, when parse is called, then it should evaluate them")
+    void givenOrLikeAndNullConditions_whenParse_thenShouldEvaluateThem() {
+        // when
+        Query query = QueryParser.parse("SELECT COUNT(*) WHERE (name LIKE 'Jo%' OR user.id = 7) AND email IS NOT NULL");
+
+        // then
+        assertThat(query.countOnly()).isTrue();
+        assertThat(query.filter().test(row("name", "Joana", "email", "j@x"))).isTrue();
+        assertThat(query.filter().test(row("name", "Ana", "user.id", new BigDecimal("7.0"), "email", "a@x"))).isTrue();
+        assertThat(query.filter().test(row("name", "Joana"))).isFalse();
+        assertThat(query.filter().test(row("name", "Ana", "email", "a@x"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given missing values, when compared, then no comparison should match")
+    void givenMissingValues_whenCompared_thenNoComparisonShouldMatch() {
+        // when
+        Query query = QueryParser.parse("SELECT * WHERE age < 10 OR age != 10 OR active = true");
+
+        // then
+        assertThat(query.columns()).isEmpty();
+        assertThat(query.filter().test(row())).isFalse();
+        assertThat(query.filter().test(row("active", "TRUE"))).isTrue();
+        assertThat(query.filter().test(row("age", "abc"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given invalid query, when parse is called, then it should throw IllegalArgumentException")
+    void givenInvalidQuery_whenParse_thenShouldThrowException() {
+        assertThatThrownBy(() -> QueryParser.parse("SELECT id WHERE"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid query:");
+        assertThatThrownBy(() -> QueryParser.parse("SELECT id LIMIT 0"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QueryParser.parse("SELECT id WHERE name = 'open"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QueryParser.parse("DELETE id"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Object> row(Object... values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i += 2) {
+            row.put((String) values[i], values[i + 1]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.s3.console.query;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for the CSV and JSON-lines row readers")
+class RowReaderTest {
+
+    @Test
+    @DisplayName("Given CSV with quoted fields, when rows are read, then it should map values to the header")
+    void givenCsvWithQuotedFields_whenRead_thenShouldMapValuesToHeader() throws IOException {
+        // given
+        RowReader reader = new CsvRowReader(new StringReader(
+                "id,name,notes\r\n1,\"Doe, John\",\"said \"\"hi\"\"\nthen left\"\n\n2,Ana\n"), ',');
+
+        // when/then
+        assertThat(reader.next()).containsExactly(Map.entry("id", "1"), Map.entry("name", "Doe, John"),
+                Map.entry("notes", "said \"hi\"\nthen left"));
+        Map<String, Object> second = reader.next();
+        assertThat(second).containsEntry("name", "Ana").containsEntry("notes", null);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given unterminated quote, when rows are read, then it should throw IOException")
+    void givenUnterminatedQuote_whenRead_thenShouldThrowIOException() throws IOException {
+        RowReader reader = new CsvRowReader(new StringReader("a\tb\n\"x\ty\n"), '\t');
+
+        assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Given JSON lines, when rows are read, then it should flatten nested objects")
+    void givenJsonLines_whenRead_thenShouldFlattenNestedObjects() throws IOException {
+        // given
+        RowReader reader = new JsonRowReader(new StringReader(
+                "{\"id\":1,\"user\":{\"name\":\"Ana\",\"active\":true},\"tags\":[\"a\",\"b\"],\"x\":null}\n"
+                        + "{\"id\":2.5}\n"));
+
+        // when/then
+        assertThat(reader.next())
+                .containsOnlyKeys("id", "user.name", "user.active", "tags", "x")
+                .containsEntry("id", new BigDecimal("1"))
+                .containsEntry("user.name", "Ana")
+                .containsEntry("user.active", true)
+                .containsEntry("tags", "[\"a\",\"b\"]")
+                .containsEntry("x", null);
+        assertThat(reader.next()).containsEntry("id", new BigDecimal("2.5"));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given non object JSON row, when rows are read, then it should throw IOException")
+    void givenNonObjectRow_whenRead_thenShouldThrowIOException() throws IOException {
+        RowReader reader = new JsonRowReader(new StringReader("[1,2]\n"));
+
+        assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("Given keys, when fromKey is called, then it should detect the format from the extension")
+    void givenKeys_whenFromKey_thenShouldDetectFormat() {
+        assertThat(RowFormat.fromKey("data/a.CSV.gz")).isEqualTo(RowFormat.CSV);
+        assertThat(RowFormat.fromKey("data/a.ndjson")).isEqualTo(RowFormat.JSON);
+        assertThat(RowFormat.fromKey("data/a.parquet")).isNull();
+    }
+}
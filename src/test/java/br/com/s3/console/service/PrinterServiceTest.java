@@ -1,15 +1,24 @@
 package br.com.s3.console.service;
 
+import br.com.s3.console.config.ProfileProperties.Profile;
+import br.com.s3.console.model.BucketStats;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.transfer.TransferProgress;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.services.s3.model.Bucket;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -121,4 +130,104 @@ class PrinterServiceTest {
         // then
         assertThat(result).isEqualTo("Bucket 'empty-bucket' is empty.");
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Given bulk result, when formatBulkResult is called, then it should return counts, volume and throughput")
+    void givenBulkResult_whenFormatBulkResult_thenShouldReturnSummary() {
+        // given
+        BulkResult result = new BulkResult(3, 3L * 1024 * 1024, 2, Duration.ofSeconds(2));
+
+        // when
+        String summary = printerService.formatBulkResult("Copied", result);
+
+        // then
+        assertThat(summary).isEqualTo("Copied 3 object(s), 3.0 MiB, skipped 2 in 2.0 s (1.5 MiB/s)");
+    }
+
+    @Test
+    @DisplayName("Given a running multipart transfer, when formatProgress is called, then it should return bar, rates, ETA and parts")
+    void givenRunningTransfer_whenFormatProgress_thenShouldReturnProgressLine() {
+        // given
+        TransferProgress.Snapshot progress = new TransferProgress.Snapshot(25L * 1024 * 1024, 100L * 1024 * 1024,
+                0, 0, 1, 2, 4, 3, 0, 2.0 * 1024 * 1024, 1024 * 1024, Duration.ofSeconds(75), Duration.ofSeconds(25));
+
+        // when
+        String line = printerService.formatProgress(progress);
+
+        // then
+        assertThat(line).isEqualTo("[######------------------]  25% 25.0 MiB / 100.0 MiB  2.0 MiB/s (avg 1.0 MiB/s)"
+                + "  ETA 1:15  parts: 4 uploading, 2 queued, 3 done");
+    }
+
+    @Test
+    @DisplayName("Given objects of unknown size, when formatProgress is called, then it should return bytes done and object counts")
+    void givenUnknownTotal_whenFormatProgress_thenShouldReturnBytesAndObjects() {
+        // given
+        TransferProgress.Snapshot progress = new TransferProgress.Snapshot(2048, -1, 3, 1, 2, 0, 0, 0, 0, 512, 256,
+                null, Duration.ofSeconds(8));
+
+        // when
+        String line = printerService.formatProgress(progress);
+
+        // then
+        assertThat(line).isEqualTo("2.0 KiB  512 B/s (avg 256 B/s)  objects: 3 done, 2 active, 1 failed");
+    }
+
+    @Test
+    @DisplayName("Given byte counts, when formatBytes is called, then it should use binary units")
+    void givenByteCounts_whenFormatBytes_thenShouldUseBinaryUnits() {
+        assertThat(printerService.formatBytes(512)).isEqualTo("512 B");
+        assertThat(printerService.formatBytes(1536)).isEqualTo("1.5 KiB");
+        assertThat(printerService.formatBytes(5L * 1024 * 1024 * 1024)).isEqualTo("5.0 GiB");
+    }
+
+    @Test
+    @DisplayName("Given row, when formatRow is called, then it should return a JSON line keeping value types")
+    void givenRow_whenFormatRow_thenShouldReturnJsonLine() {
+        // given
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", new BigDecimal("42"));
+        row.put("name", "Ana \"A\"");
+        row.put("active", true);
+        row.put("email", null);
+
+        // when
+        String json = printerService.formatRow(row);
+
+        // then
+        assertThat(json).isEqualTo("{\"id\":42,\"name\":\"Ana \\\"A\\\"\",\"active\":true,\"email\":null}");
+    }
+
+    @Test
+    @DisplayName("Given bucket stats, when formatBucketStats is called, then it should show storage classes and totals")
+    void givenBucketStats_whenFormatBucketStats_thenShouldShowTotals() {
+        // given
+        BucketStats stats = new BucketStats(3, 3072, "logs/big", 2048, Instant.EPOCH, Instant.EPOCH,
+                new TreeMap<>(Map.of("GLACIER", 1L, "STANDARD", 2L)), Map.of("GLACIER", 2048L, "STANDARD", 1024L));
+
+        // when
+        String result = printerService.formatBucketStats(stats, "bucket/logs/");
+
+        // then
+        assertThat(result).contains("Statistics of 'bucket/logs/':", "GLACIER", "STANDARD", "Total", "3.0 KiB",
+                "Largest object: logs/big (2.0 KiB)");
+        assertThat(printerService.formatBucketStats(new BucketStats(0, 0, null, 0, null, null, Map.of(), Map.of()),
+                "bucket/")).isEqualTo("No objects found in 'bucket/'.");
+    }
+
+    @Test
+    @DisplayName("Given endpoint profiles, when formatProfiles is called, then it should mark the current profile")
+    void givenProfiles_whenFormatProfiles_thenShouldMarkCurrentProfile() {
+        // given
+        Map<String, Profile> profiles = new TreeMap<>(Map.of(
+                "aws", new Profile(null, "sa-east-1", null, null),
+                "default", new Profile("http://localhost:4566", "us-east-1", "test", "test")));
+
+        // when
+        String result = printerService.formatProfiles(profiles, "default");
+
+        // then
+        assertThat(result).contains("Endpoint profiles:", "* default", "http://localhost:4566", "AWS", "sa-east-1");
+        assertThat(result).doesNotContain("* aws");
+    }
+}
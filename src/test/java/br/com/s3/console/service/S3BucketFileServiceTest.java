@@ -1,28 +1,47 @@
 package br.com.s3.console.service;
 
-import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.buffer.BufferPool;
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.concurrent.RequestHedger;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.transfer.TransferMetrics;
+import br.com.s3.console.transfer.TransferProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -34,7 +53,19 @@ class S3BucketFileServiceTest {
     private S3Client s3Client;
 
     @Mock
-    private BucketContext bucketContext;
+    private S3ListingService s3ListingService;
+
+    @Spy
+    private RequestHedger requestHedger = new RequestHedger(false, 0.95, Duration.ofMillis(20), new SimpleMeterRegistry());
+
+    @Spy
+    private BufferPool bufferPool = new BufferPool(DataSize.ofMegabytes(64), new SimpleMeterRegistry());
+
+    @Spy
+    private S3MultipartUploadService s3MultipartUploadService = new S3MultipartUploadService(new BulkExecutor(), bufferPool);
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(new SimpleMeterRegistry());
 
     @InjectMocks
     private S3BucketFileService s3BucketFileService;
@@ -64,55 +95,71 @@ class S3BucketFileServiceTest {
                 .storageClass("STANDARD")
                 .build();
         
-        lenient().when(bucketContext.getCurrentBucket()).thenReturn(bucketName);
-        lenient().when(bucketContext.hasBucketSelected()).thenReturn(true);
     }
 
     @Test
-    @DisplayName("Given selected bucket, when listObjects is called, then it should return the list of objects")
+    @DisplayName("Given selected bucket, when listObjects is called, then it should return every object from the listing engine")
     void givenSelectedBucket_whenListObjects_thenShouldReturnObjectsList() {
         // given
-        ListObjectsV2Response response = ListObjectsV2Response.builder()
-                .contents(Arrays.asList(object1, object2))
-                .build();
-        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(response);
+        when(s3ListingService.listObjects(bucketName, "", 4, SplitStrategy.SAMPLE, true))
+                .thenReturn(Stream.of(object1, object2));
 
         // when
-        List<S3Object> result = s3BucketFileService.listObjects();
+        List<S3Object> result = s3BucketFileService.listObjects(bucketName);
 
         // then
         assertThat(result).hasSize(2);
         assertThat(result).containsExactly(object1, object2);
-        verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
+        verifyNoInteractions(s3Client);
     }
 
     @Test
-    @DisplayName("Given no bucket selected, when listObjects is called, then it should throw IllegalStateException")
-    void givenNoBucketSelected_whenListObjects_thenShouldThrowIllegalStateException() {
+    @DisplayName("Given listing error, when listObjects is called, then it should throw RuntimeException")
+    void givenS3Error_whenListObjects_thenShouldThrowRuntimeException() {
         // given
-        when(bucketContext.hasBucketSelected()).thenReturn(false);
+        when(s3ListingService.listObjects(bucketName, "", 4, SplitStrategy.SAMPLE, true))
+                .thenThrow(new RuntimeException("Error listing objects from bucket: S3 error"));
 
         // when/then
-        assertThatThrownBy(() -> s3BucketFileService.listObjects())
-                .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("No bucket selected");
-        
-        verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class));
+        assertThatThrownBy(() -> s3BucketFileService.listObjects(bucketName))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Error listing objects from bucket");
     }
 
     @Test
-    @DisplayName("Given S3 error, when listObjects is called, then it should throw RuntimeException")
-    void givenS3Error_whenListObjects_thenShouldThrowRuntimeException() {
+    @DisplayName("Given a truncated listing, when listObjectsAfter is called, then it should start after the key and follow every page")
+    void givenTruncatedListing_whenListObjectsAfter_thenShouldFollowPages() {
         // given
-        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
-                .thenThrow(S3Exception.builder().message("S3 error").build());
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(
+                ListObjectsV2Response.builder().contents(object1).isTruncated(true).nextContinuationToken("next").build(),
+                ListObjectsV2Response.builder().contents(object2).isTruncated(false).build());
 
-        // when/then
-        assertThatThrownBy(() -> s3BucketFileService.listObjects())
-                .isInstanceOf(RuntimeException.class)
-                .hasMessageContaining("Error listing objects from bucket");
-        
-        verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
+        // when
+        List<S3Object> result = s3BucketFileService.listObjectsAfter(bucketName, "logs/", "logs/file0.txt");
+
+        // then
+        assertThat(result).containsExactly(object1, object2);
+        ArgumentCaptor<ListObjectsV2Request> requests = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client, times(2)).listObjectsV2(requests.capture());
+        assertThat(requests.getAllValues().get(0).startAfter()).isEqualTo("logs/file0.txt");
+        assertThat(requests.getAllValues().get(0).prefix()).isEqualTo("logs/");
+        assertThat(requests.getAllValues().get(1).startAfter()).isNull();
+        assertThat(requests.getAllValues().get(1).continuationToken()).isEqualTo("next");
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when streamObjects is called, then it should delegate to the listing engine")
+    void givenSelectedBucket_whenStreamObjects_thenShouldDelegateToListingEngine() {
+        // given
+        when(s3ListingService.listObjects(bucketName, "logs/", 4, SplitStrategy.SAMPLE, true))
+                .thenReturn(Stream.of(object1, object2));
+
+        // when
+        List<S3Object> result = s3BucketFileService.streamObjects(bucketName, "logs/", 4, true).toList();
+
+        // then
+        assertThat(result).containsExactly(object1, object2);
+        verify(s3ListingService, times(1)).listObjects(bucketName, "logs/", 4, SplitStrategy.SAMPLE, true);
     }
 
     @Test
@@ -123,31 +170,39 @@ class S3BucketFileServiceTest {
         String content = "file content";
         
         // Mock da resposta do S3
-        ResponseInputStream<GetObjectResponse> responseStream = mock(ResponseInputStream.class);
-        lenient().when(responseStream.readAllBytes()).thenReturn(content.getBytes());
+        ResponseInputStream<GetObjectResponse> responseStream = new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content.getBytes())));
         lenient().when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(responseStream);
 
         // when
-        Path result = s3BucketFileService.downloadObject(key, tempDir.toString());
+        Path result = s3BucketFileService.downloadObject(bucketName, key, tempDir.toString());
 
         // then
-        assertThat(result).exists();
+        assertThat(result).exists().hasContent(content);
         assertThat(result.getFileName().toString()).isEqualTo(key);
+        assertThat(bufferPool.leasedBytes()).isZero();
         verify(s3Client, times(1)).getObject(any(GetObjectRequest.class));
     }
 
     @Test
-    @DisplayName("Given no bucket selected, when downloadObject is called, then it should throw IllegalStateException")
-    void givenNoBucketSelected_whenDownloadObject_thenShouldThrowIllegalStateException() {
+    @DisplayName("Given preallocation and an object shorter than announced, when downloadObject is called, then the file should hold only the received bytes")
+    void givenPreallocationAndShortObject_whenDownloadObject_thenShouldTruncateFile() throws Exception {
         // given
-        when(bucketContext.hasBucketSelected()).thenReturn(false);
+        String content = "short";
+        ResponseInputStream<GetObjectResponse> responseStream = new ResponseInputStream<>(
+                GetObjectResponse.builder().contentLength(1024L).build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content.getBytes())));
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(responseStream);
+        TransferProgress progress = new TransferProgress();
 
-        // when/then
-        assertThatThrownBy(() -> s3BucketFileService.downloadObject("file.txt", tempDir.toString()))
-                .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("No bucket selected");
-        
-        verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+        // when
+        Path result = s3BucketFileService.downloadObject(bucketName, "dir/file.txt", tempDir.toString(), true, progress);
+
+        // then
+        assertThat(result).hasContent(content).hasSize(content.length());
+        assertThat(progress.snapshot().bytesDone()).isEqualTo(content.length());
+        assertThat(progress.snapshot().objectsCompleted()).isEqualTo(1);
     }
 
     @Test
@@ -158,13 +213,90 @@ class S3BucketFileServiceTest {
                 .thenThrow(S3Exception.builder().message("S3 error").build());
 
         // when/then
-        assertThatThrownBy(() -> s3BucketFileService.downloadObject("file.txt", tempDir.toString()))
+        assertThatThrownBy(() -> s3BucketFileService.downloadObject(bucketName, "file.txt", tempDir.toString()))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Error downloading object");
         
         verify(s3Client, times(1)).getObject(any(GetObjectRequest.class));
     }
 
+    @Test
+    @DisplayName("Given offset and length, when streamRange is called, then it should request only that byte range")
+    void givenOffsetAndLength_whenStreamRange_thenShouldRequestByteRange() {
+        // given
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(responseOf("0123456789", null, null));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long written = s3BucketFileService.streamRange(bucketName, "file.txt", 100, 10, output);
+
+        // then
+        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(captor.capture());
+        assertThat(captor.getValue().range()).isEqualTo("bytes=100-109");
+        assertThat(written).isEqualTo(10);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("0123456789");
+    }
+
+    @Test
+    @DisplayName("Given line limit, when streamHead is called, then it should print the first lines and abort the transfer")
+    void givenLineLimit_whenStreamHead_thenShouldPrintFirstLinesAndAbort() {
+        // given
+        AtomicBoolean aborted = new AtomicBoolean();
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(responseOf("a\nb\nc\nd\n", null, aborted));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        s3BucketFileService.streamHead(bucketName, "file.txt", 0, 2, output);
+
+        // then
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("a\nb\n");
+        assertThat(aborted).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given line limit, when streamTail is called, then it should print the last lines from a suffix range")
+    void givenLineLimit_whenStreamTail_thenShouldPrintLastLines() {
+        // given
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenReturn(responseOf("line1\nline2\nline3\n", "bytes 0-17/18", null));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        s3BucketFileService.streamTail(bucketName, "file.txt", 0, 2, output);
+
+        // then
+        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(captor.capture());
+        assertThat(captor.getValue().range()).startsWith("bytes=-");
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("line2\nline3\n");
+    }
+
+    @Test
+    @DisplayName("Given empty object, when streamTail is called, then it should print nothing")
+    void givenEmptyObject_whenStreamTail_thenShouldPrintNothing() {
+        // given
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(416).message("Range Not Satisfiable").build());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long written = s3BucketFileService.streamTail(bucketName, "empty.txt", 0, 10, output);
+
+        // then
+        assertThat(written).isZero();
+        assertThat(output.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given buffer with fewer lines than requested, when tailLinesStart is called, then it should return -1")
+    void givenFewerLines_whenTailLinesStart_thenShouldReturnMinusOne() {
+        assertThat(S3BucketFileService.tailLinesStart(
+                ByteBuffer.wrap("a\nb\n".getBytes(StandardCharsets.UTF_8)), 5)).isEqualTo(-1);
+        assertThat(S3BucketFileService.tailLinesStart(
+                ByteBuffer.wrap("a\nb\nc".getBytes(StandardCharsets.UTF_8)), 1)).isEqualTo(4);
+    }
+
     @Test
     @DisplayName("Given selected bucket, when deleteObject is called, then it should delete the object")
     void givenSelectedBucket_whenDeleteObject_thenShouldDeleteObject() {
@@ -174,26 +306,12 @@ class S3BucketFileServiceTest {
                 .thenReturn(DeleteObjectResponse.builder().build());
 
         // when
-        s3BucketFileService.deleteObject(key);
+        s3BucketFileService.deleteObject(bucketName, key);
 
         // then
         verify(s3Client, times(1)).deleteObject(any(DeleteObjectRequest.class));
     }
 
-    @Test
-    @DisplayName("Given no bucket selected, when deleteObject is called, then it should throw IllegalStateException")
-    void givenNoBucketSelected_whenDeleteObject_thenShouldThrowIllegalStateException() {
-        // given
-        when(bucketContext.hasBucketSelected()).thenReturn(false);
-
-        // when/then
-        assertThatThrownBy(() -> s3BucketFileService.deleteObject("file.txt"))
-                .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("No bucket selected");
-        
-        verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
-    }
-
     @Test
     @DisplayName("Given S3 error, when deleteObject is called, then it should throw RuntimeException")
     void givenS3Error_whenDeleteObject_thenShouldThrowRuntimeException() {
@@ -202,13 +320,28 @@ class S3BucketFileServiceTest {
                 .thenThrow(S3Exception.builder().message("S3 error").build());
 
         // when/then
-        assertThatThrownBy(() -> s3BucketFileService.deleteObject("file.txt"))
+        assertThatThrownBy(() -> s3BucketFileService.deleteObject(bucketName, "file.txt"))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Error deleting object");
         
         verify(s3Client, times(1)).deleteObject(any(DeleteObjectRequest.class));
     }
 
+    @Test
+    @DisplayName("Given operations on two buckets, when they run concurrently, then each request should target its own bucket")
+    void givenTwoBuckets_whenDeletingConcurrently_thenEachRequestShouldTargetItsBucket() throws Exception {
+        // when
+        Thread other = Thread.ofVirtual().start(() -> s3BucketFileService.deleteObject("other-bucket", "b.txt"));
+        s3BucketFileService.deleteObject(bucketName, "a.txt");
+        other.join();
+
+        // then
+        ArgumentCaptor<DeleteObjectRequest> requests = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+        verify(s3Client, times(2)).deleteObject(requests.capture());
+        assertThat(requests.getAllValues()).extracting(DeleteObjectRequest::bucket, DeleteObjectRequest::key)
+                .containsExactlyInAnyOrder(tuple(bucketName, "a.txt"), tuple("other-bucket", "b.txt"));
+    }
+
     @Test
     @DisplayName("Given selected bucket and existing file, when uploadObject is called, then it should upload the file")
     void givenSelectedBucketAndExistingFile_whenUploadObject_thenShouldUploadFile() throws Exception {
@@ -221,26 +354,12 @@ class S3BucketFileServiceTest {
                 .thenReturn(PutObjectResponse.builder().build());
 
         // when
-        s3BucketFileService.uploadObject(tempFile.getAbsolutePath(), key);
+        s3BucketFileService.uploadObject(bucketName, tempFile.getAbsolutePath(), key);
 
         // then
         verify(s3Client, times(1)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
     }
 
-    @Test
-    @DisplayName("Given no bucket selected, when uploadObject is called, then it should throw IllegalStateException")
-    void givenNoBucketSelected_whenUploadObject_thenShouldThrowIllegalStateException() {
-        // given
-        when(bucketContext.hasBucketSelected()).thenReturn(false);
-
-        // when/then
-        assertThatThrownBy(() -> s3BucketFileService.uploadObject("path/to/file.txt", "file.txt"))
-                .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("No bucket selected");
-        
-        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
-    }
-
     @Test
     @DisplayName("Given S3 error, when uploadObject is called, then it should throw RuntimeException")
     void givenS3Error_whenUploadObject_thenShouldThrowRuntimeException() throws Exception {
@@ -252,7 +371,7 @@ class S3BucketFileServiceTest {
                 .thenThrow(S3Exception.builder().message("S3 error").build());
 
         // when/then
-        assertThatThrownBy(() -> s3BucketFileService.uploadObject(tempFile.getAbsolutePath(), "file.txt"))
+        assertThatThrownBy(() -> s3BucketFileService.uploadObject(bucketName, tempFile.getAbsolutePath(), "file.txt"))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Error uploading object");
         
@@ -263,10 +382,8 @@ class S3BucketFileServiceTest {
     @DisplayName("Given selected bucket with objects, when deleteAllObjects is called, then it should delete all objects")
     void givenSelectedBucketWithObjects_whenDeleteAllObjects_thenShouldDeleteAllObjects() {
         // given
-        ListObjectsV2Response listResponse = ListObjectsV2Response.builder()
-                .contents(Arrays.asList(object1, object2))
-                .build();
-        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listResponse);
+        when(s3ListingService.listObjects(bucketName, "", 4, SplitStrategy.SAMPLE, false))
+                .thenReturn(Stream.of(object1, object2));
         
         DeleteObjectsResponse deleteResponse = DeleteObjectsResponse.builder()
                 .deleted(Arrays.asList(
@@ -277,44 +394,50 @@ class S3BucketFileServiceTest {
         when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(deleteResponse);
 
         // when
-        int result = s3BucketFileService.deleteAllObjects();
+        int result = s3BucketFileService.deleteAllObjects(bucketName);
 
         // then
         assertThat(result).isEqualTo(2);
-        verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
         verify(s3Client, times(1)).deleteObjects(any(DeleteObjectsRequest.class));
     }
 
     @Test
-    @DisplayName("Given selected empty bucket, when deleteAllObjects is called, then it should return zero")
-    void givenSelectedEmptyBucket_whenDeleteAllObjects_thenShouldReturnZero() {
+    @DisplayName("Given more than 1000 objects, when deleteAllObjects is called, then it should delete them in batches of 1000")
+    void givenManyObjects_whenDeleteAllObjects_thenShouldDeleteInBatches() {
         // given
-        ListObjectsV2Response listResponse = ListObjectsV2Response.builder()
-                .contents(Collections.emptyList())
-                .build();
-        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(listResponse);
+        when(s3ListingService.listObjects(bucketName, "", 4, SplitStrategy.SAMPLE, false))
+                .thenReturn(IntStream.range(0, 2500).mapToObj(i -> S3Object.builder().key("file" + i).build()));
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+            DeleteObjectsRequest request = invocation.getArgument(0);
+            return DeleteObjectsResponse.builder()
+                    .deleted(request.delete().objects().stream()
+                            .map(object -> DeletedObject.builder().key(object.key()).build())
+                            .toList())
+                    .build();
+        });
 
         // when
-        int result = s3BucketFileService.deleteAllObjects();
+        int result = s3BucketFileService.deleteAllObjects(bucketName);
 
         // then
-        assertThat(result).isZero();
-        verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
-        verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
+        assertThat(result).isEqualTo(2500);
+        ArgumentCaptor<DeleteObjectsRequest> requests = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client, times(3)).deleteObjects(requests.capture());
+        assertThat(requests.getAllValues()).extracting(request -> request.delete().objects().size())
+                .containsExactly(1000, 1000, 500);
     }
 
     @Test
-    @DisplayName("Given no bucket selected, when deleteAllObjects is called, then it should throw IllegalStateException")
-    void givenNoBucketSelected_whenDeleteAllObjects_thenShouldThrowIllegalStateException() {
+    @DisplayName("Given selected empty bucket, when deleteAllObjects is called, then it should return zero")
+    void givenSelectedEmptyBucket_whenDeleteAllObjects_thenShouldReturnZero() {
         // given
-        when(bucketContext.hasBucketSelected()).thenReturn(false);
+        when(s3ListingService.listObjects(bucketName, "", 4, SplitStrategy.SAMPLE, false)).thenReturn(Stream.empty());
 
-        // when/then
-        assertThatThrownBy(() -> s3BucketFileService.deleteAllObjects())
-                .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("No bucket selected");
-        
-        verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class));
+        // when
+        int result = s3BucketFileService.deleteAllObjects(bucketName);
+
+        // then
+        assertThat(result).isZero();
         verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
     }
 
@@ -322,15 +445,43 @@ class S3BucketFileServiceTest {
     @DisplayName("Given S3 error, when deleteAllObjects is called, then it should throw RuntimeException")
     void givenS3Error_whenDeleteAllObjects_thenShouldThrowRuntimeException() {
         // given
-        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+        when(s3ListingService.listObjects(bucketName, "", 4, SplitStrategy.SAMPLE, false))
+                .thenReturn(Stream.of(object1, object2));
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
                 .thenThrow(S3Exception.builder().message("S3 error").build());
 
         // when/then
-        assertThatThrownBy(() -> s3BucketFileService.deleteAllObjects())
+        assertThatThrownBy(() -> s3BucketFileService.deleteAllObjects(bucketName))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Error clearing bucket");
-        
-        verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
-        verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
     }
-} 
\ No newline at end of file
+
+    private static ResponseInputStream<GetObjectResponse> responseOf(String content, String contentRange, AtomicBoolean aborted) {
+        return new ResponseInputStream<>(
+                GetObjectResponse.builder().contentRange(contentRange).build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                        () -> {
+                            if (aborted != null) {
+                                aborted.set(true);
+                            }
+                        }));
+    }
+
+    @Test
+    @DisplayName("Given selected bucket, when uploadStream is called, then it should upload the stream into the current bucket")
+    void givenSelectedBucket_whenUploadStream_thenShouldDelegateToMultipartUpload() {
+        // given
+        ByteArrayInputStream content = new ByteArrayInputStream("dump".getBytes(StandardCharsets.UTF_8));
+        doReturn(4L).when(s3MultipartUploadService).upload(eq(s3Client), eq(bucketName), eq("dump.sql"), eq(content),
+                eq("text/plain"), eq(Map.of()), eq(8L * 1024 * 1024), eq(4), any());
+        TransferProgress progress = new TransferProgress();
+
+        // when
+        long result = s3BucketFileService.uploadStream(bucketName, content, "dump.sql", "text/plain", 8L * 1024 * 1024, 4, progress);
+
+        // then
+        assertThat(result).isEqualTo(4);
+        assertThat(progress.snapshot().objectsCompleted()).isEqualTo(1);
+        verify(transferMetrics).transferCompleted("dump.sql");
+    }
+}
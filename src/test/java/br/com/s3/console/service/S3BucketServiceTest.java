@@ -1,12 +1,16 @@
 package br.com.s3.console.service;
 
+import br.com.s3.console.concurrent.BulkExecutor;
 import br.com.s3.console.context.BucketContext;
+import br.com.s3.console.model.PurgeResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.s3.S3Client;
@@ -32,6 +36,9 @@ class S3BucketServiceTest {
     @Mock
     private BucketContext bucketContext;
 
+    @Spy
+    private BulkExecutor bulkExecutor = new BulkExecutor();
+
     @InjectMocks
     private S3BucketService s3BucketService;
 
@@ -189,6 +196,81 @@ class S3BucketServiceTest {
         verify(s3Client, never()).deleteBucket(any(DeleteBucketRequest.class));
     }
 
+    @Test
+    @DisplayName("Given any bucket, when deleteBucket is called, then it should check emptiness with a single key")
+    void givenAnyBucket_whenDeleteBucket_thenShouldRequestSingleKey() {
+        // given
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(ListObjectsV2Response.builder().contents(Collections.emptyList()).build());
+
+        // when
+        s3BucketService.deleteBucket("bucket");
+
+        // then
+        ArgumentCaptor<ListObjectsV2Request> captor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client).listObjectsV2(captor.capture());
+        assertThat(captor.getValue().maxKeys()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given versioned bucket with uploads, when forceDeleteBucket is called, then it should purge every page and delete the bucket")
+    void givenVersionedBucket_whenForceDeleteBucket_thenShouldPurgeAndDeleteBucket() {
+        // given
+        String bucketName = "versioned-bucket";
+        when(s3Client.listObjectVersions(any(ListObjectVersionsRequest.class))).thenReturn(
+                ListObjectVersionsResponse.builder()
+                        .versions(ObjectVersion.builder().key("a.txt").versionId("v1").build(),
+                                ObjectVersion.builder().key("a.txt").versionId("v2").build())
+                        .isTruncated(true)
+                        .nextKeyMarker("a.txt")
+                        .nextVersionIdMarker("v2")
+                        .build(),
+                ListObjectVersionsResponse.builder()
+                        .deleteMarkers(DeleteMarkerEntry.builder().key("b.txt").versionId("m1").build())
+                        .isTruncated(false)
+                        .build());
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenReturn(DeleteObjectsResponse.builder().build());
+        when(s3Client.listMultipartUploads(any(ListMultipartUploadsRequest.class))).thenReturn(
+                ListMultipartUploadsResponse.builder()
+                        .uploads(MultipartUpload.builder().key("big.bin").uploadId("u1").build())
+                        .isTruncated(false)
+                        .build());
+
+        // when
+        PurgeResult result = s3BucketService.forceDeleteBucket(bucketName, 4);
+
+        // then
+        assertThat(result).isEqualTo(new PurgeResult(2, 1, 1));
+        verify(s3Client, times(2)).listObjectVersions(any(ListObjectVersionsRequest.class));
+        verify(s3Client, times(2)).deleteObjects(any(DeleteObjectsRequest.class));
+        verify(s3Client, times(1)).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, times(1)).deleteBucket(any(DeleteBucketRequest.class));
+        verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+
+    @Test
+    @DisplayName("Given delete batch errors, when forceDeleteBucket is called, then it should not delete the bucket")
+    void givenDeleteBatchErrors_whenForceDeleteBucket_thenShouldNotDeleteBucket() {
+        // given
+        when(s3Client.listObjectVersions(any(ListObjectVersionsRequest.class))).thenReturn(
+                ListObjectVersionsResponse.builder()
+                        .versions(ObjectVersion.builder().key("locked.txt").versionId("v1").build())
+                        .isTruncated(false)
+                        .build());
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(
+                DeleteObjectsResponse.builder()
+                        .errors(S3Error.builder().key("locked.txt").message("Access Denied").build())
+                        .build());
+
+        // when/then
+        assertThatThrownBy(() -> s3BucketService.forceDeleteBucket("bucket", 4))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("locked.txt");
+
+        verify(s3Client, never()).deleteBucket(any(DeleteBucketRequest.class));
+    }
+
     @Test
     @DisplayName("Given S3 error, when deleteBucket is called, then it should throw RuntimeException")
     void givenS3Error_whenDeleteBucket_thenShouldThrowRuntimeException() {
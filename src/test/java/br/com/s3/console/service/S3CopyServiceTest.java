@@ -0,0 +1,263 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.concurrent.RequestHedger;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.SplitStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3CopyService class")
+class S3CopyServiceTest {
+
+    private static final long SIX_GB = 6L * 1024 * 1024 * 1024;
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    @Spy
+    private BulkExecutor bulkExecutor = new BulkExecutor();
+
+    @Spy
+    private RequestHedger requestHedger = new RequestHedger(false, 0.95, Duration.ofMillis(20), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private S3CopyService s3CopyService;
+
+    @Test
+    @DisplayName("Given object up to 5 GB, when copyObject is called, then it should issue a single CopyObject")
+    void givenSmallObject_whenCopyObject_thenShouldUseCopyObject() {
+        // given
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(100L).build());
+
+        // when
+        long result = s3CopyService.copyObject("source", "a.txt", "target", "b.txt", 4);
+
+        // then
+        ArgumentCaptor<CopyObjectRequest> captor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+        verify(s3Client).copyObject(captor.capture());
+        assertThat(result).isEqualTo(100L);
+        assertThat(captor.getValue().sourceBucket()).isEqualTo("source");
+        assertThat(captor.getValue().sourceKey()).isEqualTo("a.txt");
+        assertThat(captor.getValue().destinationBucket()).isEqualTo("target");
+        assertThat(captor.getValue().destinationKey()).isEqualTo("b.txt");
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given object over 5 GB, when copyObject is called, then it should copy all parts and complete the upload")
+    void givenLargeObject_whenCopyObject_thenShouldUseMultipartCopy() {
+        // given
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(SIX_GB).contentType("text/plain").build());
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPartCopy(any(UploadPartCopyRequest.class)))
+                .thenReturn(UploadPartCopyResponse.builder()
+                        .copyPartResult(CopyPartResult.builder().eTag("etag").build())
+                        .build());
+
+        // when
+        s3CopyService.copyObject("source", "big.bin", SIX_GB, "target", "big.bin", 4);
+
+        // then
+        ArgumentCaptor<CompleteMultipartUploadRequest> captor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client, times(12)).uploadPartCopy(any(UploadPartCopyRequest.class));
+        verify(s3Client).completeMultipartUpload(captor.capture());
+        assertThat(captor.getValue().multipartUpload().parts())
+                .extracting(CompletedPart::partNumber)
+                .containsExactlyElementsOf(java.util.stream.IntStream.rangeClosed(1, 12).boxed().toList());
+        verify(s3Client, never()).copyObject(any(CopyObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given failing part copy, when copyObject is called, then it should abort the multipart upload")
+    void givenFailingPartCopy_whenCopyObject_thenShouldAbortUpload() {
+        // given
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(SIX_GB).build());
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPartCopy(any(UploadPartCopyRequest.class)))
+                .thenThrow(S3Exception.builder().message("S3 error").build());
+
+        // when/then
+        assertThatThrownBy(() -> s3CopyService.copyObject("source", "big.bin", SIX_GB, "target", "big.bin", 4))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Error copying object");
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given failing part copy and failing abort, when copyObject is called, then it should rethrow the copy failure with the abort failure suppressed")
+    void givenFailingAbort_whenCopyObject_thenShouldKeepCopyFailure() {
+        // given
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(SIX_GB).build());
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPartCopy(any(UploadPartCopyRequest.class)))
+                .thenThrow(S3Exception.builder().message("S3 error").build());
+        when(s3Client.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+                .thenThrow(S3Exception.builder().message("Abort failed").build());
+
+        // when/then
+        assertThatThrownBy(() -> s3CopyService.copyObject("source", "big.bin", SIX_GB, "target", "big.bin", 4))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Error copying object")
+                .satisfies(e -> assertThat(e.getCause().getSuppressed()).extracting(Throwable::getMessage)
+                        .containsExactly("Abort failed"));
+    }
+
+    @Test
+    @DisplayName("Given object, when moveObject is called, then it should copy and delete the source")
+    void givenObject_whenMoveObject_thenShouldCopyAndDeleteSource() {
+        // given
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(10L).build());
+
+        // when
+        s3CopyService.moveObject("bucket", "a.txt", "bucket", "b.txt", 4);
+
+        // then
+        verify(s3Client).copyObject(any(CopyObjectRequest.class));
+        verify(s3Client).deleteObject(any(DeleteObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given objects under prefix, when copyPrefix is called with move, then it should copy each object and delete the sources")
+    void givenObjectsUnderPrefix_whenCopyPrefixWithMove_thenShouldCopyAndDeleteSources() {
+        // given
+        S3Object object1 = S3Object.builder().key("in/a.txt").size(10L).build();
+        S3Object object2 = S3Object.builder().key("in/b.txt").size(20L).build();
+        when(s3ListingService.listObjects(eq("bucket"), eq("in/"), anyInt(), eq(SplitStrategy.SAMPLE), anyBoolean()))
+                .thenReturn(Stream.of(object1, object2));
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder().build());
+
+        // when
+        BulkResult result = s3CopyService.copyPrefix("bucket", "in/", "bucket", "out/", 4, true);
+
+        // then
+        ArgumentCaptor<CopyObjectRequest> captor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+        verify(s3Client, times(2)).copyObject(captor.capture());
+        assertThat(captor.getAllValues()).extracting(CopyObjectRequest::destinationKey)
+                .containsExactlyInAnyOrder("out/a.txt", "out/b.txt");
+        assertThat(result.objects()).isEqualTo(2);
+        assertThat(result.bytes()).isEqualTo(30);
+        verify(s3Client, times(1)).deleteObjects(any(DeleteObjectsRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given destination nested in source prefix, when copyPrefix is called, then it should throw IllegalArgumentException")
+    void givenNestedDestination_whenCopyPrefix_thenShouldThrowIllegalArgumentException() {
+        // when/then
+        assertThatThrownBy(() -> s3CopyService.copyPrefix("bucket", "in/", "bucket", "in/copy/", 4, false))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(s3ListingService);
+    }
+
+    @Test
+    @DisplayName("Given an object over 5 GB under a prefix, when copyPrefix is called, then its parts should be copied with the prefix part concurrency")
+    void givenLargeObjectUnderPrefix_whenCopyPrefix_thenShouldBoundPartConcurrency() {
+        // given
+        S3Object object = S3Object.builder().key("in/big.bin").size(SIX_GB).build();
+        when(s3ListingService.listObjects(eq("bucket"), eq("in/"), anyInt(), eq(SplitStrategy.SAMPLE), anyBoolean()))
+                .thenReturn(Stream.of(object));
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(SIX_GB).build());
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPartCopy(any(UploadPartCopyRequest.class)))
+                .thenReturn(UploadPartCopyResponse.builder()
+                        .copyPartResult(CopyPartResult.builder().eTag("etag").build())
+                        .build());
+
+        // when
+        s3CopyService.copyPrefix("bucket", "in/", "bucket", "out/", 32, false);
+
+        // then
+        verify(bulkExecutor).forEach(any(), eq(32), any());
+        verify(bulkExecutor).forEach(any(), eq(S3CopyService.PREFIX_PART_CONCURRENCY), any());
+        verify(s3Client, times(12)).uploadPartCopy(any(UploadPartCopyRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given sources that could not be deleted, when copyPrefix is called with move, then it should throw")
+    void givenUndeletedSources_whenCopyPrefixWithMove_thenShouldThrow() {
+        // given
+        S3Object object = S3Object.builder().key("in/a.txt").size(10L).build();
+        when(s3ListingService.listObjects(eq("bucket"), eq("in/"), anyInt(), eq(SplitStrategy.SAMPLE), anyBoolean()))
+                .thenReturn(Stream.of(object));
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key("in/a.txt").message("Access Denied").build())
+                .build());
+
+        // when/then
+        assertThatThrownBy(() -> s3CopyService.copyPrefix("bucket", "in/", "bucket", "out/", 4, true))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Error deleting source object 'in/a.txt': Access Denied (1 source object(s) not deleted)");
+    }
+
+    @Test
+    @DisplayName("Given a failing copy and failing deletes, when copyPrefix is called with move, then it should rethrow the copy failure with the delete failure suppressed")
+    void givenFailingCopyAndDelete_whenCopyPrefixWithMove_thenShouldKeepCopyFailure() {
+        // given
+        S3Object object1 = S3Object.builder().key("in/a.txt").size(10L).build();
+        S3Object object2 = S3Object.builder().key("in/b.txt").size(20L).build();
+        when(s3ListingService.listObjects(eq("bucket"), eq("in/"), anyInt(), eq(SplitStrategy.SAMPLE), anyBoolean()))
+                .thenReturn(Stream.of(object1, object2));
+        when(s3Client.copyObject(any(CopyObjectRequest.class)))
+                .thenReturn(CopyObjectResponse.builder().build())
+                .thenThrow(S3Exception.builder().message("S3 error").build());
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenThrow(S3Exception.builder().message("Delete failed").build());
+
+        // when/then
+        assertThatThrownBy(() -> s3CopyService.copyPrefix("bucket", "in/", "bucket", "out/", 1, true))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Error copying object")
+                .satisfies(e -> assertThat(e.getSuppressed()).extracting(Throwable::getMessage)
+                        .containsExactly("Error deleting source objects: Delete failed"));
+    }
+
+    @Test
+    @DisplayName("Given the same source and destination, when a move is requested, then it should throw IllegalArgumentException")
+    void givenSameSourceAndDestination_whenMove_thenShouldThrowIllegalArgumentException() {
+        // when/then
+        assertThatThrownBy(() -> s3CopyService.copyPrefix("bucket", "in/", "bucket", "in/", 4, true))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The source and destination of a move must differ.");
+        assertThatThrownBy(() -> s3CopyService.moveObject("bucket", "a.txt", "bucket", "a.txt", 4))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(s3ListingService, s3Client);
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.buffer.BufferPool;
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.concurrent.RequestHedger;
+import br.com.s3.console.hash.ContentHashCache;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.transfer.TransferListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3DirectoryUploadService class")
+class S3DirectoryUploadServiceTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3BucketFileService s3BucketFileService;
+
+    @TempDir
+    Path tempDir;
+
+    private ContentHashCache contentHashCache;
+    private S3DirectoryUploadService s3DirectoryUploadService;
+
+    @BeforeEach
+    void setUp() {
+        contentHashCache = new ContentHashCache(tempDir.resolve("cache/hashes.tsv").toString(),
+                new BufferPool(DataSize.ofMegabytes(16), new SimpleMeterRegistry()));
+        s3DirectoryUploadService = new S3DirectoryUploadService(s3Client, s3BucketFileService, contentHashCache,
+                new BulkExecutor(), new RequestHedger(false, 0.95, Duration.ofMillis(20), new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Given a tree with stored and new files, when uploadDirectory is called with dedup, then only changed files should be uploaded with their digest")
+    void givenStoredAndNewFiles_whenUploadDirectoryWithDedup_thenShouldUploadOnlyChangedFiles() throws Exception {
+        // given
+        Path directory = Files.createDirectory(tempDir.resolve("tree"));
+        Files.writeString(directory.resolve("same.txt"), "hello");
+        Files.createDirectory(directory.resolve("sub"));
+        Files.writeString(directory.resolve("sub/new.txt"), "hello");
+        when(s3Client.headObject(argThat((HeadObjectRequest request) -> request != null && request.key().equals("art/same.txt"))))
+                .thenReturn(HeadObjectResponse.builder().metadata(Map.of("sha256", HELLO_SHA256)).build());
+        when(s3Client.headObject(argThat((HeadObjectRequest request) -> request != null && request.key().equals("art/sub/new.txt"))))
+                .thenThrow(NoSuchKeyException.builder().statusCode(404).message("Not Found").build());
+        when(s3BucketFileService.uploadObject(eq(BUCKET), anyString(), eq("art/sub/new.txt"), anyMap(), anyLong(),
+                anyInt(), any())).thenReturn(5L);
+
+        // when
+        BulkResult result = s3DirectoryUploadService.uploadDirectory(BUCKET, directory, "art/", true, 8L * 1024 * 1024,
+                1, 4, TransferListener.NONE);
+
+        // then
+        assertThat(result.objects()).isEqualTo(1);
+        assertThat(result.bytes()).isEqualTo(5);
+        assertThat(result.skipped()).isEqualTo(1);
+        verify(s3BucketFileService).uploadObject(BUCKET, directory.resolve("sub/new.txt").toString(), "art/sub/new.txt",
+                Map.of("sha256", HELLO_SHA256), 8L * 1024 * 1024, 1, TransferListener.NONE);
+        verify(s3BucketFileService, never()).uploadObject(anyString(), anyString(), eq("art/same.txt"), anyMap(),
+                anyLong(), anyInt(), any());
+        assertThat(Files.readString(tempDir.resolve("cache/hashes.tsv"))).contains(HELLO_SHA256);
+    }
+
+    @Test
+    @DisplayName("Given a tree, when uploadDirectory is called without dedup, then every file should be uploaded without a HEAD")
+    void givenTree_whenUploadDirectoryWithoutDedup_thenShouldUploadEveryFile() throws Exception {
+        // given
+        Files.writeString(tempDir.resolve("a.txt"), "a");
+        Files.writeString(tempDir.resolve("b.txt"), "bb");
+        when(s3BucketFileService.uploadObject(eq(BUCKET), anyString(), anyString(), anyLong(), anyInt(), any()))
+                .thenReturn(1L, 2L);
+
+        // when
+        BulkResult result = s3DirectoryUploadService.uploadDirectory(BUCKET, tempDir, "", false, 8L * 1024 * 1024,
+                1, 2, TransferListener.NONE);
+
+        // then
+        assertThat(result.objects()).isEqualTo(2);
+        assertThat(result.bytes()).isEqualTo(3);
+        assertThat(result.skipped()).isZero();
+        verify(s3Client, never()).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given a stored file with another digest, when uploadIfChanged is called, then it should upload the file")
+    void givenStoredFileWithOtherDigest_whenUploadIfChanged_thenShouldUploadFile() throws Exception {
+        // given
+        Path file = Files.writeString(tempDir.resolve("app.jar"), "hello");
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().metadata(Map.of("sha256", "0".repeat(64))).build());
+        when(s3BucketFileService.uploadObject(BUCKET, file.toString(), "app.jar", Map.of("sha256", HELLO_SHA256),
+                1024, 2, TransferListener.NONE)).thenReturn(5L);
+
+        // when
+        long uploaded = s3DirectoryUploadService.uploadIfChanged(BUCKET, file, "app.jar", 1024, 2, TransferListener.NONE);
+
+        // then
+        assertThat(uploaded).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Given a missing directory, when uploadDirectory is called, then it should throw IllegalArgumentException")
+    void givenMissingDirectory_whenUploadDirectory_thenShouldThrow() {
+        assertThatThrownBy(() -> s3DirectoryUploadService.uploadDirectory(BUCKET, tempDir.resolve("missing"), "", true,
+                1024, 1, 1, TransferListener.NONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not exist");
+    }
+}
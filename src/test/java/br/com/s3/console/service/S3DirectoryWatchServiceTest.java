@@ -0,0 +1,133 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.BulkResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3DirectoryWatchService class")
+class S3DirectoryWatchServiceTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final Duration DEBOUNCE = Duration.ofMillis(300);
+
+    @Mock
+    private S3BucketFileService s3BucketFileService;
+
+    @Spy
+    private BulkExecutor bulkExecutor = new BulkExecutor();
+
+    @InjectMocks
+    private S3DirectoryWatchService s3DirectoryWatchService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Given a burst of writes and a new subdirectory, when watch is called, then each file should be uploaded once after it settles")
+    void givenBurstOfWrites_whenWatch_thenShouldUploadEachFileOnce() throws Exception {
+        // given
+        List<String> uploadedKeys = new CopyOnWriteArrayList<>();
+        AtomicReference<BulkResult> result = new AtomicReference<>();
+        Thread watcher = startWatch(result, uploadedKeys);
+
+        // when
+        Path log = tempDir.resolve("a.log");
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(log, "line " + i + "\n", StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            Thread.sleep(30);
+        }
+        Path subdirectory = Files.createDirectory(tempDir.resolve("sub"));
+        Files.writeString(subdirectory.resolve("b.txt"), "hello");
+
+        // then
+        verify(s3BucketFileService, timeout(5000)).uploadObject(BUCKET, log.toString(), "in/a.log");
+        verify(s3BucketFileService, timeout(5000)).uploadObject(BUCKET, subdirectory.resolve("b.txt").toString(), "in/sub/b.txt");
+        Thread.sleep(DEBOUNCE.toMillis() * 2);
+        watcher.interrupt();
+        watcher.join(5000);
+
+        verify(s3BucketFileService, times(2)).uploadObject(anyString(), anyString(), anyString());
+        assertThat(uploadedKeys).containsExactlyInAnyOrder("in/a.log", "in/sub/b.txt");
+        assertThat(result.get().objects()).isEqualTo(2);
+        assertThat(result.get().bytes()).isEqualTo(35 + 5);
+    }
+
+    @Test
+    @DisplayName("Given a failing upload, when watch is called, then the failure should be reported and counted as skipped")
+    void givenFailingUpload_whenWatch_thenShouldReportFailure() throws Exception {
+        // given
+        doThrow(new RuntimeException("Error uploading object: Access Denied"))
+                .when(s3BucketFileService).uploadObject(anyString(), anyString(), eq("in/c.txt"));
+        List<String> failures = new CopyOnWriteArrayList<>();
+        AtomicReference<BulkResult> result = new AtomicReference<>();
+
+        // when
+        Thread watcher = Thread.ofPlatform().start(() -> result.set(s3DirectoryWatchService.watch(tempDir, BUCKET, "in/",
+                DEBOUNCE, Duration.ofSeconds(2), 2, new S3DirectoryWatchService.UploadListener() {
+                    @Override
+                    public void uploaded(Path file, String key) {
+                    }
+
+                    @Override
+                    public void failed(Path file, Exception error) {
+                        failures.add(error.getMessage());
+                    }
+                })));
+        Thread.sleep(100);
+        Files.writeString(tempDir.resolve("c.txt"), "data");
+        watcher.join(5000);
+
+        // then
+        assertThat(failures).containsExactly("Error uploading object: Access Denied");
+        assertThat(result.get().objects()).isZero();
+        assertThat(result.get().skipped()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given a missing directory, when watch is called, then it should throw IllegalArgumentException")
+    void givenMissingDirectory_whenWatch_thenShouldThrow() {
+        assertThatThrownBy(() -> s3DirectoryWatchService.watch(tempDir.resolve("missing"), BUCKET, "", DEBOUNCE,
+                Duration.ofSeconds(1), 2, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not exist");
+    }
+
+    private Thread startWatch(AtomicReference<BulkResult> result, List<String> uploadedKeys) throws InterruptedException {
+        Thread watcher = Thread.ofPlatform().start(() -> result.set(s3DirectoryWatchService.watch(tempDir, BUCKET, "in/",
+                DEBOUNCE, Duration.ofSeconds(30), 4, new S3DirectoryWatchService.UploadListener() {
+                    @Override
+                    public void uploaded(Path file, String key) {
+                        uploadedKeys.add(key);
+                    }
+
+                    @Override
+                    public void failed(Path file, Exception error) {
+                    }
+                })));
+        // Let the watcher register the directory before writing
+        Thread.sleep(100);
+        return watcher;
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.index.ObjectIndex;
+import br.com.s3.console.model.FindCriteria;
+import br.com.s3.console.model.SplitStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3FindService class")
+class S3FindServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    @Mock
+    private S3IndexService s3IndexService;
+
+    @InjectMocks
+    private S3FindService s3FindService;
+
+    @Test
+    @DisplayName("Given glob with directory wildcards, when find is called, then it should walk from the literal prefix pruning subtrees")
+    @SuppressWarnings("unchecked")
+    void givenDirectoryGlob_whenFind_thenShouldWalkPruningSubtrees() {
+        // given
+        FindCriteria criteria = new FindCriteria("logs/2024-*/*.gz", null, null, null, null, null, null);
+        ArgumentCaptor<Predicate<String>> descend = ArgumentCaptor.forClass(Predicate.class);
+        when(s3ListingService.walkObjects(eq("bucket"), eq("logs/2024-"), descend.capture()))
+                .thenReturn(Stream.of(object("logs/2024-01/a.gz", 10, "STANDARD"), object("logs/2024-01/a.txt", 10, null)));
+
+        // when
+        List<String> result;
+        try (Stream<S3Object> stream = s3FindService.find("bucket", criteria, 8, false)) {
+            result = stream.map(S3Object::key).toList();
+        }
+
+        // then
+        assertThat(result).containsExactly("logs/2024-01/a.gz");
+        assertThat(descend.getValue().test("logs/2024-01/")).isTrue();
+        assertThat(descend.getValue().test("logs/2024-01/nested/")).isFalse();
+        verify(s3ListingService, never()).listObjects(any(), any(), anyInt(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Given recursive glob and other predicates, when find is called, then it should list flat and filter")
+    void givenRecursiveGlob_whenFind_thenShouldListFlatAndFilter() {
+        // given
+        FindCriteria criteria = new FindCriteria("data/**", Pattern.compile("\\.csv$"), 100L, 1000L,
+                NOW.minusSeconds(3600), NOW, "standard");
+        when(s3ListingService.listObjects(eq("bucket"), eq("data/"), eq(8), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(
+                        object("data/a.csv", 500, null),
+                        object("data/b.csv", 50, null),
+                        object("data/c.csv", 5000, null),
+                        object("data/d.json", 500, null),
+                        object("data/e.csv", 500, "GLACIER"),
+                        S3Object.builder().key("data/f.csv").size(500L).lastModified(NOW.minusSeconds(7200)).build()));
+
+        // when
+        List<String> result;
+        try (Stream<S3Object> stream = s3FindService.find("bucket", criteria, 8, false)) {
+            result = stream.map(S3Object::key).toList();
+        }
+
+        // then
+        assertThat(result).containsExactly("data/a.csv");
+    }
+
+    @Test
+    @DisplayName("Given index, when find is called from the index, then it should not list the bucket")
+    void givenIndex_whenFindFromIndex_thenShouldNotListBucket() {
+        // given
+        ObjectIndex index = mock(ObjectIndex.class);
+        when(s3IndexService.require("bucket")).thenReturn(index);
+        when(index.objects("logs/")).thenReturn(Stream.of(object("logs/a.gz", 10, null), object("logs/b.txt", 10, null)));
+        FindCriteria criteria = new FindCriteria("logs/*.gz", null, null, null, null, null, null);
+
+        // when
+        List<String> result;
+        try (Stream<S3Object> stream = s3FindService.find("bucket", criteria, 8, true)) {
+            result = stream.map(S3Object::key).toList();
+        }
+
+        // then
+        assertThat(result).containsExactly("logs/a.gz");
+        verifyNoInteractions(s3ListingService);
+    }
+
+    @Test
+    @DisplayName("Given anchored regex, when listingPrefix is called, then it should use its literal start")
+    void givenAnchoredRegex_whenListingPrefix_thenShouldUseLiteralStart() {
+        assertThat(new FindCriteria(null, Pattern.compile("^logs/app-\\d+"), null, null, null, null, null)
+                .listingPrefix()).isEqualTo("logs/app-");
+        assertThat(new FindCriteria(null, Pattern.compile("^logs/apps?/"), null, null, null, null, null)
+                .listingPrefix()).isEqualTo("logs/app");
+        assertThat(new FindCriteria(null, Pattern.compile("app"), null, null, null, null, null)
+                .listingPrefix()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given anchored regex with a top-level alternative, when listingPrefix is called, then it should not narrow the listing")
+    void givenTopLevelAlternation_whenListingPrefix_thenShouldBeEmpty() {
+        assertThat(new FindCriteria(null, Pattern.compile("^a|b"), null, null, null, null, null)
+                .listingPrefix()).isEmpty();
+        assertThat(new FindCriteria(null, Pattern.compile("^logs/(app|web)/"), null, null, null, null, null)
+                .listingPrefix()).isEqualTo("logs/");
+        assertThat(new FindCriteria(null, Pattern.compile("^logs/[|]x"), null, null, null, null, null)
+                .listingPrefix()).isEqualTo("logs/");
+        assertThat(new FindCriteria(null, Pattern.compile("^logs/\\|x"), null, null, null, null, null)
+                .listingPrefix()).isEqualTo("logs/");
+    }
+
+    private static S3Object object(String key, long size, String storageClass) {
+        return S3Object.builder()
+                .key(key)
+                .size(size)
+                .lastModified(NOW.minusSeconds(60))
+                .storageClass(storageClass)
+                .build();
+    }
+}
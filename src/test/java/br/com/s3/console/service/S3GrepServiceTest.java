@@ -0,0 +1,145 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.GrepMatch;
+import br.com.s3.console.model.SplitStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3GrepService class")
+class S3GrepServiceTest {
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    @Spy
+    private BulkExecutor bulkExecutor = new BulkExecutor();
+
+    @InjectMocks
+    private S3GrepService s3GrepService;
+
+    @Test
+    @DisplayName("Given plain and gzip objects, when grep is called, then it should report matching lines of files matching the glob")
+    void givenPlainAndGzipObjects_whenGrep_thenShouldReportMatches() throws IOException {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq("logs/"), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("logs/a.log"), object("logs/b.log.gz"), object("logs/skip.txt")));
+        when(s3Client.getObject(argThat((GetObjectRequest request) -> request != null && request.key().equals("logs/a.log"))))
+                .thenReturn(response("ok\nERROR id=42\nok\n".getBytes(StandardCharsets.UTF_8)));
+        when(s3Client.getObject(argThat((GetObjectRequest request) -> request != null && request.key().equals("logs/b.log.gz"))))
+                .thenReturn(response(gzip("ERROR id=42\nERROR id=7\n")));
+        List<GrepMatch> matches = new ArrayList<>();
+
+        // when
+        long count = s3GrepService.grep("bucket", "logs/*.log*", Pattern.compile("id=42"), 0, 4, matches::add);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(matches).containsExactlyInAnyOrder(
+                new GrepMatch("logs/a.log", 2, "ERROR id=42"),
+                new GrepMatch("logs/b.log.gz", 1, "ERROR id=42"));
+    }
+
+    @Test
+    @DisplayName("Given max count, when grep is called, then it should stop after the limit")
+    void givenMaxCount_whenGrep_thenShouldStopAfterLimit() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("a.log")));
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenReturn(response("x\nx\nx\nx\nx\n".getBytes(StandardCharsets.UTF_8)));
+        List<GrepMatch> matches = new ArrayList<>();
+
+        // when
+        long count = s3GrepService.grep("bucket", "**", Pattern.compile("x"), 3, 4, matches::add);
+
+        // then
+        assertThat(count).isEqualTo(3);
+        assertThat(matches).extracting(GrepMatch::lineNumber).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Given S3 error, when grep is called, then it should propagate the error")
+    void givenS3Error_whenGrep_thenShouldPropagateError() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("a.log")));
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().message("S3 error").build());
+
+        // when/then
+        assertThatThrownBy(() -> s3GrepService.grep("bucket", "**", Pattern.compile("x"), 0, 4, match -> { }))
+                .isInstanceOf(S3Exception.class)
+                .hasMessageContaining("S3 error");
+    }
+
+    @Test
+    @DisplayName("Given an object with a corrupt gzip header, when grep is called, then it should abort the transfer and report the key")
+    void givenCorruptGzip_whenGrep_thenShouldAbortTransfer() {
+        // given
+        AtomicBoolean aborted = new AtomicBoolean();
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("bad.gz")));
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(new byte[]{0x1f, (byte) 0x8b, 0, 0}),
+                        () -> aborted.set(true))));
+
+        // when/then
+        assertThatThrownBy(() -> s3GrepService.grep("bucket", "**", Pattern.compile("x"), 0, 4, match -> { }))
+                .hasMessageContaining("Error reading object 'bad.gz'");
+        assertThat(aborted).isTrue();
+    }
+
+    private static S3Object object(String key) {
+        return S3Object.builder().key(key).size(1L).build();
+    }
+
+    private static ResponseInputStream<GetObjectResponse> response(byte[] content) {
+        return new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content)));
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.context.ProfileContext;
+import br.com.s3.console.index.ObjectIndex;
+import br.com.s3.console.model.IndexInfo;
+import br.com.s3.console.model.SplitStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3IndexService class")
+class S3IndexServiceTest {
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    @TempDir
+    Path tempDir;
+
+    private final ProfileContext profileContext = new ProfileContext();
+    private S3IndexService s3IndexService;
+
+    @BeforeEach
+    void setUp() {
+        s3IndexService = new S3IndexService(s3ListingService, profileContext, tempDir.toString());
+    }
+
+    @Test
+    @DisplayName("Given an index built on another profile, when the same bucket name is opened, then it should not be used")
+    void givenIndexOfOtherProfile_whenOpen_thenShouldNotUseIt() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(object("a.txt", 1)));
+        s3IndexService.refresh("bucket", "", 4);
+
+        // when
+        profileContext.setCurrentProfile("minio");
+
+        // then
+        assertThat(s3IndexService.open("bucket")).isEmpty();
+        assertThat(tempDir.resolve("default").resolve("bucket.idx")).exists();
+        profileContext.setCurrentProfile("default");
+        assertThat(s3IndexService.info("bucket")).map(IndexInfo::objects).contains(1L);
+    }
+
+    @Test
+    @DisplayName("Given existing index, when refresh is called for a prefix, then it should only replace that prefix")
+    void givenExistingIndex_whenRefreshPrefix_thenShouldReplaceOnlyPrefix() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(object("a.txt", 1), object("logs/1.log", 2), object("logs/2.log", 3),
+                        object("logs2/x", 4), object("z.txt", 5)));
+        when(s3ListingService.listObjects(eq("bucket"), eq("logs/"), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(object("logs/2.log", 30), object("logs/3.log", 40)));
+        s3IndexService.refresh("bucket", "", 4);
+
+        // when
+        IndexInfo info = s3IndexService.refresh("bucket", "logs/", 4);
+
+        // then
+        assertThat(info.objects()).isEqualTo(5);
+        assertThat(info.bytes()).isEqualTo(1 + 30 + 40 + 4 + 5);
+        assertThat(s3IndexService.require("bucket").objects("").map(S3Object::key).toList())
+                .containsExactly("a.txt", "logs/2.log", "logs/3.log", "logs2/x", "z.txt");
+    }
+
+    @Test
+    @DisplayName("Given mapped index, when refresh is called, then it should close the replaced index and map the new one")
+    void givenMappedIndex_whenRefresh_thenShouldCloseReplacedIndex() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(object("a.txt", 1)))
+                .thenReturn(Stream.of(object("b.txt", 2)));
+        s3IndexService.refresh("bucket", "", 4);
+        ObjectIndex replaced = s3IndexService.require("bucket");
+        assertThat(s3IndexService.require("bucket")).isSameAs(replaced);
+
+        // when
+        s3IndexService.refresh("bucket", "", 4);
+
+        // then
+        assertThatThrownBy(() -> replaced.objects("")).isInstanceOf(IllegalStateException.class);
+        try (Stream<S3Object> objects = s3IndexService.require("bucket").objects("")) {
+            assertThat(objects.map(S3Object::key).toList()).containsExactly("b.txt");
+        }
+    }
+
+    @Test
+    @DisplayName("Given listing failure, when refresh is called, then it should keep the current index")
+    void givenListingFailure_whenRefresh_thenShouldKeepCurrentIndex() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(object("a.txt", 1)))
+                .thenReturn(Stream.generate(() -> {
+                    throw new RuntimeException("Error listing objects from bucket: boom");
+                }));
+        s3IndexService.refresh("bucket", "", 4);
+
+        // when/then
+        assertThatThrownBy(() -> s3IndexService.refresh("bucket", "", 4))
+                .hasMessageContaining("boom");
+        assertThat(s3IndexService.info("bucket")).get().extracting(IndexInfo::objects).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Given no index, when require and drop are called, then it should report the missing index")
+    void givenNoIndex_whenRequireAndDrop_thenShouldReportMissingIndex() {
+        assertThat(s3IndexService.info("bucket")).isEmpty();
+        assertThat(s3IndexService.drop("bucket")).isFalse();
+        assertThatThrownBy(() -> s3IndexService.require("bucket"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is not indexed");
+    }
+
+    @Test
+    @DisplayName("Given index, when drop is called, then it should delete it")
+    void givenIndex_whenDrop_thenShouldDeleteIt() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(object("a.txt", 1)));
+        s3IndexService.refresh("bucket", "", 4);
+
+        // when/then
+        assertThat(s3IndexService.drop("bucket")).isTrue();
+        assertThat(s3IndexService.open("bucket")).isEmpty();
+    }
+
+    private static S3Object object(String key, long size) {
+        return S3Object.builder().key(key).size(size).build();
+    }
+}
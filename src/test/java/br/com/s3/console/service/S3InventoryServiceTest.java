@@ -0,0 +1,109 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.model.InventoryFormat;
+import br.com.s3.console.model.SplitStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3InventoryService class")
+class S3InventoryServiceTest {
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    @InjectMocks
+    private S3InventoryService s3InventoryService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Given listed objects, when exported to CSV, then it should write a header and escaped rows")
+    void givenListedObjects_whenExportedToCsv_thenShouldWriteEscapedRows() throws IOException {
+        // given
+        when(s3ListingService.listObjects("bucket", "data/", 4, SplitStrategy.SAMPLE, true))
+                .thenReturn(Stream.of(
+                        S3Object.builder().key("data/a.txt").size(10L).eTag("\"abc\"")
+                                .lastModified(Instant.parse("2024-01-01T00:00:00Z")).storageClass("STANDARD").build(),
+                        S3Object.builder().key("data/b,\"c\".txt").size(0L).build()));
+        Path output = tempDir.resolve("inventory.csv");
+
+        // when
+        long count = s3InventoryService.export("bucket", "data/", InventoryFormat.CSV, output, true, 4, rows -> { });
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(Files.readAllLines(output)).containsExactly(
+                "key,size,etag,last_modified,storage_class",
+                "data/a.txt,10,abc,2024-01-01T00:00:00Z,STANDARD",
+                "\"data/b,\"\"c\"\".txt\",0,,,");
+    }
+
+    @Test
+    @DisplayName("Given listing failure, when exported, then it should keep the existing file and leave no partial file")
+    void givenListingFailure_whenExported_thenShouldKeepExistingFile() throws IOException {
+        // given
+        Path output = Files.writeString(tempDir.resolve("inventory.csv"), "previous");
+        when(s3ListingService.listObjects("bucket", "", 4, SplitStrategy.SAMPLE, false))
+                .thenReturn(Stream.concat(Stream.of(S3Object.builder().key("a.txt").size(1L).build()),
+                        Stream.generate(() -> {
+                            throw new RuntimeException("Error listing objects from bucket: boom");
+                        })));
+
+        // when/then
+        assertThatThrownBy(() -> s3InventoryService.export("bucket", "", InventoryFormat.CSV, output, false, 4,
+                rows -> { }))
+                .hasMessageContaining("boom");
+        assertThat(output).hasContent("previous");
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(output);
+        }
+    }
+
+    @Test
+    @DisplayName("Given many objects and a .gz file, when exported to NDJSON, then it should compress and report progress")
+    void givenManyObjects_whenExportedToGzipNdjson_thenShouldCompressAndReportProgress() throws IOException {
+        // given
+        when(s3ListingService.listObjects("bucket", "", 8, SplitStrategy.SAMPLE, false))
+                .thenReturn(IntStream.range(0, 250_000)
+                        .mapToObj(i -> S3Object.builder().key("key-" + i).size((long) i).build()));
+        Path output = tempDir.resolve("inventory.ndjson.gz");
+        List<Long> progress = new ArrayList<>();
+
+        // when
+        long count = s3InventoryService.export("bucket", "", InventoryFormat.NDJSON, output, false, 8, progress::add);
+
+        // then
+        assertThat(count).isEqualTo(250_000);
+        assertThat(progress).containsExactly(100_000L, 200_000L);
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(output))) {
+            String[] lines = new String(input.readAllBytes(), StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(250_000);
+            assertThat(lines[1]).isEqualTo(
+                    "{\"key\":\"key-1\",\"size\":1,\"etag\":null,\"last_modified\":null,\"storage_class\":null}");
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.model.KeyRange;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.util.KeyOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3ListingService class")
+class S3ListingServiceTest {
+
+    @Mock
+    private S3Client s3Client;
+
+    @InjectMocks
+    private S3ListingService s3ListingService;
+
+    private String bucketName;
+    private NavigableSet<String> keys;
+
+    @BeforeEach
+    void setUp() {
+        bucketName = "test-bucket";
+        // Sorted the way S3 lists keys, by their UTF-8 bytes
+        keys = new TreeSet<>(KeyOrder.COMPARATOR);
+        for (int dir = 0; dir < 5; dir++) {
+            for (int file = 0; file < 700; file++) {
+                keys.add(String.format("dir%d/file%04d.txt", dir, file));
+            }
+        }
+        keys.add("root.txt");
+
+        lenient().when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenAnswer(invocation -> listFakeBucket(invocation.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("Given single paginator, when listObjects is called, then it should follow continuation tokens")
+    void givenSingleParallelism_whenListObjects_thenShouldReturnAllPages() {
+        // when
+        List<String> result;
+        try (Stream<S3Object> stream = s3ListingService.listObjects(bucketName, "", 1, SplitStrategy.SAMPLE, true)) {
+            result = stream.map(S3Object::key).toList();
+        }
+
+        // then
+        assertThat(result).containsExactlyElementsOf(keys);
+        verify(s3Client, times(4)).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+
+    @Test
+    @DisplayName("Given sampled split points, when listObjects is called ordered, then it should return every key once in order")
+    void givenSampleStrategy_whenListObjectsOrdered_thenShouldReturnAllKeysInOrder() {
+        // when
+        List<String> result;
+        try (Stream<S3Object> stream = s3ListingService.listObjects(bucketName, "", 4, SplitStrategy.SAMPLE, true)) {
+            result = stream.map(S3Object::key).toList();
+        }
+
+        // then
+        assertThat(result).containsExactlyElementsOf(keys);
+    }
+
+    @Test
+    @DisplayName("Given delimiter split points, when listObjects is called unordered, then it should return every key once")
+    void givenDelimiterStrategy_whenListObjectsUnordered_thenShouldReturnAllKeys() {
+        // when
+        List<String> result;
+        try (Stream<S3Object> stream = s3ListingService.listObjects(bucketName, "", 3, SplitStrategy.DELIMITER, false)) {
+            result = stream.map(S3Object::key).toList();
+        }
+
+        // then
+        assertThat(result).hasSize(keys.size());
+        assertThat(result).containsExactlyInAnyOrderElementsOf(keys);
+    }
+
+    @Test
+    @DisplayName("Given keys sharing a long prefix, when discoverRanges is called, then it should return disjoint sorted ranges")
+    void givenSharedPrefix_whenDiscoverRanges_thenShouldReturnDisjointRanges() {
+        // when
+        List<KeyRange> ranges = s3ListingService.discoverRanges(bucketName, "dir2/", 8, SplitStrategy.SAMPLE);
+
+        // then
+        assertThat(ranges).hasSizeGreaterThan(1).hasSizeLessThanOrEqualTo(8);
+        assertThat(ranges.get(0).head()).isNull();
+        assertThat(ranges.get(ranges.size() - 1).endKey()).isNull();
+        for (int i = 1; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).startAfter()).isEqualTo(ranges.get(i - 1).endKey());
+            assertThat(ranges.get(i).startAfter()).startsWith("dir2/");
+        }
+    }
+
+    @Test
+    @DisplayName("Given a key range, when listRange is called, then it should stop at the end key")
+    void givenKeyRange_whenListRange_thenShouldStopAtEndKey() {
+        // given
+        S3Object head = S3Object.builder().key("dir1/file0000.txt").build();
+        KeyRange range = new KeyRange(head, "dir1/file0010.txt");
+        List<String> result = new ArrayList<>();
+
+        // when
+        s3ListingService.listRange(bucketName, "", range, page -> page.forEach(object -> result.add(object.key())));
+
+        // then
+        assertThat(result).hasSize(10);
+        assertThat(result.get(0)).isEqualTo("dir1/file0000.txt");
+        assertThat(result.get(9)).isEqualTo("dir1/file0009.txt");
+    }
+
+    @Test
+    @DisplayName("Given keys above U+E000 and outside the BMP, when listRange is called, then it should stop at the end key in UTF-8 order")
+    void givenMixedPlaneKeys_whenListRange_thenShouldUseUtf8Order() {
+        // given
+        String privateUse = "mix/\uE000.txt";
+        String emoji = "mix/\uD83D\uDE00.txt";
+        keys.addAll(List.of("mix/a.txt", privateUse, emoji, "mix/z.txt"));
+        KeyRange first = new KeyRange(null, emoji);
+        KeyRange second = new KeyRange(S3Object.builder().key(emoji).build(), null);
+        List<String> result = new ArrayList<>();
+
+        // when
+        s3ListingService.listRange(bucketName, "mix/", first, page -> page.forEach(object -> result.add(object.key())));
+        s3ListingService.listRange(bucketName, "mix/", second, page -> page.forEach(object -> result.add(object.key())));
+
+        // then
+        assertThat(privateUse.compareTo(emoji)).isPositive();
+        assertThat(result).containsExactly("mix/a.txt", "mix/z.txt", privateUse, emoji);
+    }
+
+    @Test
+    @DisplayName("Given rejected subtrees, when walkObjects is called, then it should not list them")
+    void givenRejectedSubtrees_whenWalkObjects_thenShouldSkipThem() {
+        // when
+        List<String> result;
+        try (Stream<S3Object> stream = s3ListingService.walkObjects(bucketName, "", dir -> dir.equals("dir3/"))) {
+            result = stream.map(S3Object::key).toList();
+        }
+
+        // then
+        assertThat(result).hasSize(701).contains("root.txt", "dir3/file0000.txt", "dir3/file0699.txt");
+        verify(s3Client, never()).listObjectsV2(argThat((ListObjectsV2Request request) -> "dir1/".equals(request.prefix())));
+    }
+
+    @Test
+    @DisplayName("Given short-circuiting consumer, when walkObjects is called, then it should stop requesting pages")
+    void givenLimit_whenWalkObjects_thenShouldStopRequestingPages() {
+        // when
+        List<String> result;
+        try (Stream<S3Object> stream = s3ListingService.walkObjects(bucketName, "", dir -> true)) {
+            result = stream.limit(2).map(S3Object::key).toList();
+        }
+
+        // then
+        assertThat(result).containsExactly("root.txt", "dir0/file0000.txt");
+        verify(s3Client, times(2)).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+
+    @Test
+    @DisplayName("Given S3 error, when listObjects is consumed, then it should throw RuntimeException")
+    void givenS3Error_whenListObjects_thenShouldThrowRuntimeException() {
+        // given
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenThrow(S3Exception.builder().message("S3 error").build());
+
+        // when/then
+        assertThatThrownBy(() -> {
+            try (Stream<S3Object> stream = s3ListingService.listObjects(bucketName, "", 1, SplitStrategy.SAMPLE, true)) {
+                stream.count();
+            }
+        })
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Error listing objects from bucket");
+    }
+
+    /**
+     * Emulates ListObjectsV2 over the in-memory key set, using the last returned key as continuation token
+     */
+    private ListObjectsV2Response listFakeBucket(ListObjectsV2Request request) {
+        String prefix = request.prefix() == null ? "" : request.prefix();
+        String after = request.continuationToken() != null ? request.continuationToken() : request.startAfter();
+        int maxKeys = request.maxKeys() == null ? 1000 : request.maxKeys();
+
+        NavigableSet<String> candidates = after != null && KeyOrder.compare(after, prefix) >= 0
+                ? keys.tailSet(after, false)
+                : keys.tailSet(prefix, true);
+
+        List<S3Object> contents = new ArrayList<>();
+        TreeSet<String> commonPrefixes = new TreeSet<>();
+        String lastKey = null;
+        boolean truncated = false;
+        for (String key : candidates) {
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            if (contents.size() + commonPrefixes.size() == maxKeys) {
+                truncated = true;
+                break;
+            }
+            int delimiterIndex = request.delimiter() == null ? -1 : key.indexOf(request.delimiter(), prefix.length());
+            if (delimiterIndex >= 0) {
+                commonPrefixes.add(key.substring(0, delimiterIndex + 1));
+            } else {
+                contents.add(S3Object.builder().key(key).size(1L).build());
+            }
+            lastKey = key;
+        }
+
+        return ListObjectsV2Response.builder()
+                .contents(contents)
+                .commonPrefixes(commonPrefixes.stream().map(p -> CommonPrefix.builder().prefix(p).build()).toList())
+                .isTruncated(truncated)
+                .nextContinuationToken(truncated ? lastKey : null)
+                .build();
+    }
+}
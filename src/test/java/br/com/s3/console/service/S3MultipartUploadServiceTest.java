@@ -0,0 +1,262 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.buffer.BufferPool;
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.transfer.TransferListener;
+import br.com.s3.console.transfer.TransferProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3MultipartUploadService class")
+class S3MultipartUploadServiceTest {
+
+    private static final int MIB = 1024 * 1024;
+
+    @Mock
+    private S3Client s3Client;
+
+    @Spy
+    private BulkExecutor bulkExecutor = new BulkExecutor();
+
+    @Spy
+    private BufferPool bufferPool = new BufferPool(DataSize.ofMegabytes(64), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private S3MultipartUploadService s3MultipartUploadService;
+
+    @Test
+    @DisplayName("Given an empty stream, when upload is called, then it should put an empty object")
+    void givenEmptyStream_whenUpload_thenShouldPutEmptyObject() throws IOException {
+        // given
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        when(s3Client.putObject(any(PutObjectRequest.class), body.capture())).thenReturn(PutObjectResponse.builder().build());
+
+        // when
+        long result = s3MultipartUploadService.upload(s3Client, "bucket", "empty", new ByteArrayInputStream(new byte[0]),
+                null, Map.of(), 5 * MIB, 2, TransferListener.NONE);
+
+        // then
+        assertThat(result).isZero();
+        assertThat(body.getValue().optionalContentLength()).contains(0L);
+        assertThat(body.getValue().contentType()).isEqualTo("application/octet-stream");
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given parts whose two buffers exceed the memory limit, when upload is called, then it should reject the part size before reading")
+    void givenPartsLargerThanMemoryLimit_whenUpload_thenShouldReject() {
+        // when/then
+        assertThatThrownBy(() -> s3MultipartUploadService.upload(s3Client, "bucket", "large",
+                new ByteArrayInputStream(new byte[MIB]), null, Map.of(), 64L * MIB, 4, TransferListener.NONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("console.buffers.max-memory");
+        assertThat(bufferPool.allocatedBytes()).isZero();
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    @DisplayName("Given a stream still being written, when upload is called, then parts should be uploaded before the stream ends")
+    void givenStreamStillBeingWritten_whenUpload_thenShouldUploadPartsWhileReading() throws Exception {
+        // given
+        PipedInputStream content = new PipedInputStream(MIB);
+        PipedOutputStream writer = new PipedOutputStream(content);
+        CountDownLatch firstPartUploaded = new CountDownLatch(1);
+        Map<Integer, Long> partSizes = new ConcurrentHashMap<>();
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            RequestBody body = invocation.getArgument(1);
+            try (InputStream part = body.contentStreamProvider().newStream()) {
+                partSizes.put(request.partNumber(), (long) part.readAllBytes().length);
+            }
+            if (request.partNumber() == 1) {
+                firstPartUploaded.countDown();
+            }
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        });
+        AtomicLong uploaded = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // when
+        Thread uploader = Thread.ofPlatform().start(() -> {
+            try {
+                uploaded.set(s3MultipartUploadService.upload(s3Client, "bucket", "dump", content, null, Map.of(),
+                        5 * MIB, 2, TransferListener.NONE));
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        writer.write(new byte[10 * MIB]);
+        boolean uploadedBeforeEnd = firstPartUploaded.await(10, TimeUnit.SECONDS);
+        writer.write(new byte[MIB]);
+        writer.close();
+        uploader.join(10_000);
+
+        // then
+        assertThat(failure.get()).isNull();
+        assertThat(uploadedBeforeEnd).isTrue();
+        assertThat(uploaded.get()).isEqualTo(11L * MIB);
+        assertThat(partSizes).containsOnly(Map.entry(1, 5L * MIB), Map.entry(2, 5L * MIB), Map.entry(3, (long) MIB));
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertThat(bufferPool.leasedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given a stream failing after the first parts, when upload is called, then the multipart upload should be aborted")
+    void givenFailingStream_whenUpload_thenShouldAbortUpload() {
+        // given
+        InputStream content = new InputStream() {
+            private long remaining = 11L * MIB;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("Broken pipe");
+                }
+                return 0;
+            }
+        };
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        lenient().when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+        TransferProgress progress = new TransferProgress();
+
+        // when / then
+        assertThatThrownBy(() -> s3MultipartUploadService.upload(s3Client, "bucket", "dump", content, null, Map.of(),
+                5 * MIB, 2, progress))
+                .hasMessageContaining("Broken pipe");
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertThat(progress.snapshot().partsUploading()).isZero();
+        assertThat(bufferPool.leasedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given a file larger than one part, when uploadFile is called, then its parts should be uploaded concurrently")
+    void givenFileLargerThanPart_whenUploadFile_thenShouldUploadParts(@TempDir Path tempDir) throws Exception {
+        // given
+        byte[] content = new byte[11 * MIB];
+        new Random(7).nextBytes(content);
+        Path file = Files.write(tempDir.resolve("data.bin"), content);
+        Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            RequestBody body = invocation.getArgument(1);
+            try (InputStream part = body.contentStreamProvider().newStream()) {
+                parts.put(request.partNumber(), part.readAllBytes());
+            }
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        });
+        TransferProgress progress = new TransferProgress();
+
+        // when
+        long result = s3MultipartUploadService.uploadFile(s3Client, "bucket", "data.bin", file, null, Map.of(),
+                5 * MIB, 3, progress);
+
+        // then
+        assertThat(result).isEqualTo(11L * MIB);
+        assertThat(parts).containsOnlyKeys(1, 2, 3);
+        assertThat(parts.get(1)).isEqualTo(Arrays.copyOfRange(content, 0, 5 * MIB));
+        assertThat(parts.get(3)).isEqualTo(Arrays.copyOfRange(content, 10 * MIB, 11 * MIB));
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().multipartUpload().parts()).extracting(CompletedPart::partNumber)
+                .containsExactly(1, 2, 3);
+        TransferProgress.Snapshot snapshot = progress.snapshot();
+        assertThat(snapshot.bytesDone()).isEqualTo(11L * MIB);
+        assertThat(snapshot.partsCompleted()).isEqualTo(3);
+        assertThat(snapshot.partsQueued() + snapshot.partsUploading()).isZero();
+        assertThat(bufferPool.leasedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given a small file, when uploadFile is called, then it should be put with a single request")
+    void givenSmallFile_whenUploadFile_thenShouldPutObject(@TempDir Path tempDir) throws Exception {
+        // given
+        Path file = Files.writeString(tempDir.resolve("notes.txt"), "hello");
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        AtomicReference<byte[]> sent = new AtomicReference<>();
+        when(s3Client.putObject(any(PutObjectRequest.class), body.capture())).thenAnswer(invocation -> {
+            try (InputStream content = invocation.<RequestBody>getArgument(1).contentStreamProvider().newStream()) {
+                sent.set(content.readAllBytes());
+            }
+            return PutObjectResponse.builder().build();
+        });
+
+        // when
+        long result = s3MultipartUploadService.uploadFile(s3Client, "bucket", "notes.txt", file, "text/plain", Map.of(),
+                5 * MIB, 2, TransferListener.NONE);
+
+        // then
+        assertThat(result).isEqualTo(5);
+        assertThat(sent.get()).isEqualTo("hello".getBytes());
+        assertThat(body.getValue().contentType()).isEqualTo("text/plain");
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        assertThat(bufferPool.leasedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given a file truncated while it is uploaded, when uploadFile is called, then it should throw IOException and abort the upload")
+    void givenTruncatedFile_whenUploadFile_thenShouldThrowAndAbort(@TempDir Path tempDir) throws Exception {
+        // given
+        Path file = Files.write(tempDir.resolve("growing.log"), new byte[11 * MIB]);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenAnswer(invocation -> {
+            // The first part was already read, the next ones are past the new end of the file
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(6L * MIB);
+            }
+            return CreateMultipartUploadResponse.builder().uploadId("upload-1").build();
+        });
+        lenient().when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+
+        // when / then
+        assertThatThrownBy(() -> s3MultipartUploadService.uploadFile(s3Client, "bucket", "growing.log", file, null,
+                Map.of(), 5 * MIB, 1, TransferListener.NONE))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("truncated");
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertThat(bufferPool.leasedBytes()).isZero();
+    }
+}
@@ -0,0 +1,288 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.PackMember;
+import br.com.s3.console.transfer.TransferListener;
+import br.com.s3.console.transfer.TransferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3PackService class")
+class S3PackServiceTest {
+
+    private static final String BUCKET = "test-bucket";
+
+    @Mock
+    private S3BucketFileService s3BucketFileService;
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger rangedReads = new AtomicInteger();
+    private S3PackService s3PackService;
+
+    @BeforeEach
+    void setUp() {
+        s3PackService = new S3PackService(s3BucketFileService, new BulkExecutor(),
+                new TransferMetrics(new SimpleMeterRegistry()));
+        // Objects are kept in memory, so packs can be written and read back
+        lenient().when(s3BucketFileService.uploadStream(eq(BUCKET), any(), anyString(), anyString(), anyLong(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    byte[] content = invocation.<InputStream>getArgument(1).readAllBytes();
+                    objects.put(invocation.getArgument(2), content);
+                    return (long) content.length;
+                });
+        lenient().when(s3BucketFileService.streamRange(eq(BUCKET), anyString(), anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    byte[] content = objects.get(invocation.<String>getArgument(1));
+                    long offset = invocation.getArgument(2);
+                    long length = invocation.getArgument(3);
+                    if (length == 0) {
+                        return 0L;
+                    }
+                    rangedReads.incrementAndGet();
+                    int end = length < 0 ? content.length : (int) Math.min(content.length, offset + length);
+                    invocation.<OutputStream>getArgument(4).write(Arrays.copyOfRange(content, (int) offset, end));
+                    return (long) end - offset;
+                });
+    }
+
+    @Test
+    @DisplayName("Given a directory of small files, when packUpload is called, then it should write archives of the given size and an index")
+    void givenSmallFiles_whenPackUpload_thenShouldWriteArchivesAndIndex() throws Exception {
+        // given
+        Path directory = createTree();
+
+        // when
+        BulkResult result = s3PackService.packUpload(BUCKET, directory, "data/set/", 9, 1024, 2, TransferListener.NONE);
+
+        // then
+        assertThat(result.objects()).isEqualTo(4);
+        assertThat(result.bytes()).isEqualTo(15);
+        String prefix = "data/set/" + generation("data/set") + "/";
+        assertThat(objects).containsOnlyKeys(prefix + "archive-00000", prefix + "archive-00001", prefix + "index.tsv",
+                "data/set/index-blocks.tsv");
+        assertThat(new String(objects.get(prefix + "archive-00000"), StandardCharsets.UTF_8)).isEqualTo("alphabeta");
+        assertThat(new String(objects.get(prefix + "archive-00001"), StandardCharsets.UTF_8)).isEqualTo("gammad");
+        assertThat(s3PackService.readIndex(BUCKET, "data/set")).containsExactly(
+                new PackMember("a.txt", 0, 0, 5),
+                new PackMember("b.txt", 0, 5, 4),
+                new PackMember("sub/c.txt", 1, 0, 5),
+                new PackMember("sub/d.txt", 1, 5, 1));
+    }
+
+    @Test
+    @DisplayName("Given a pack, when catMember is called, then it should read the file with one ranged GET")
+    void givenPack_whenCatMember_thenShouldReadWithOneRangedGet() throws Exception {
+        // given
+        s3PackService.packUpload(BUCKET, createTree(), "data/set", 9, 1024, 2, TransferListener.NONE);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long written = s3PackService.catMember(BUCKET, "data/set", "b.txt", 1, -1, output);
+
+        // then
+        assertThat(written).isEqualTo(3);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("eta");
+        verify(s3BucketFileService).streamRange(eq(BUCKET), eq("data/set/" + generation("data/set") + "/archive-00000"),
+                eq(6L), eq(3L), any());
+        assertThatThrownBy(() -> s3PackService.catMember(BUCKET, "data/set", "missing.txt", 0, -1, output))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("File 'missing.txt' is not in pack 'data/set'.");
+    }
+
+    @Test
+    @DisplayName("Given an index of many blocks, when catMember is called, then it should read only the block holding the path")
+    void givenIndexOfManyBlocks_whenCatMember_thenShouldReadOneBlock() {
+        // given a pack written before generations, whose objects sit right under its name
+        List<PackMember> members = IntStream.range(0, 100)
+                .mapToObj(i -> new PackMember(String.format("file-%03d.txt", i), 0, i, 1))
+                .toList();
+        byte[] index = S3PackService.formatIndex(members);
+        objects.put("big/index.tsv", index);
+        objects.put("big/index-blocks.tsv", S3PackService.formatBlocks(index, 64).getBytes(StandardCharsets.UTF_8));
+        objects.put("big/archive-00000", "x".repeat(100).getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        long written = s3PackService.catMember(BUCKET, "big", "file-050.txt", 0, -1, output);
+
+        // then
+        assertThat(written).isEqualTo(1);
+        verify(s3BucketFileService).streamRange(eq(BUCKET), eq("big/archive-00000"), eq(50L), eq(1L), any());
+        verify(s3BucketFileService).streamRange(eq(BUCKET), eq("big/index.tsv"), longThat(offset -> offset > 0),
+                longThat(length -> length < index.length / 10), any());
+        assertThatThrownBy(() -> s3PackService.catMember(BUCKET, "big", "a-first.txt", 0, -1, output))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("File 'a-first.txt' is not in pack 'big'.");
+    }
+
+    @Test
+    @DisplayName("Given file names with line breaks, tabs and backslashes, when the pack is read, then the paths should be kept intact")
+    void givenSpecialFileNames_whenPackRead_thenShouldKeepPaths() throws Exception {
+        // given
+        Path directory = Files.createDirectory(tempDir.resolve("special"));
+        Files.writeString(directory.resolve("line\nbreak.txt"), "one");
+        Files.writeString(directory.resolve("tab\there.txt"), "two");
+        Files.writeString(directory.resolve("back\\slash.txt"), "three");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        s3PackService.packUpload(BUCKET, directory, "special", 1024, 1024, 2, TransferListener.NONE);
+        s3PackService.catMember(BUCKET, "special", "line\nbreak.txt", 0, -1, output);
+
+        // then
+        assertThat(s3PackService.readIndex(BUCKET, "special")).extracting(PackMember::path)
+                .containsExactly("back\\slash.txt", "line\nbreak.txt", "tab\there.txt");
+        assertThat(new String(objects.get("special/" + generation("special") + "/index.tsv"), StandardCharsets.UTF_8))
+                .hasLineCount(3);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("one");
+    }
+
+    @Test
+    @DisplayName("Given an existing pack, when packUpload is called again, then it should write a new generation and leave the previous archives intact")
+    void givenExistingPack_whenPackUploadAgain_thenShouldKeepPreviousGeneration() throws Exception {
+        // given
+        Path directory = createTree();
+        s3PackService.packUpload(BUCKET, directory, "data/set", 9, 1024, 2, TransferListener.NONE);
+        String previous = generation("data/set");
+        byte[] previousArchive = objects.get("data/set/" + previous + "/archive-00000");
+        Files.writeString(directory.resolve("a.txt"), "ALPHA!");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        s3PackService.packUpload(BUCKET, directory, "data/set", 9, 1024, 2, TransferListener.NONE);
+        s3PackService.catMember(BUCKET, "data/set", "b.txt", 0, -1, output);
+
+        // then
+        assertThat(generation("data/set")).isNotEqualTo(previous);
+        assertThat(objects.get("data/set/" + previous + "/archive-00000")).isEqualTo(previousArchive);
+        assertThat(objects.get("data/set/" + generation("data/set") + "/archive-00000"))
+                .asString(StandardCharsets.UTF_8).isEqualTo("ALPHA!");
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("beta");
+    }
+
+    @Test
+    @DisplayName("Given a pack, when unpackDownload is called, then it should extract the files with one ranged GET per archive")
+    void givenPack_whenUnpackDownload_thenShouldExtractFiles() throws Exception {
+        // given
+        Path directory = createTree();
+        Files.createFile(directory.resolve("sub/empty.txt"));
+        s3PackService.packUpload(BUCKET, directory, "data/set", 9, 1024, 2, TransferListener.NONE);
+        rangedReads.set(0);
+        Path destination = tempDir.resolve("out");
+
+        // when
+        BulkResult result = s3PackService.unpackDownload(BUCKET, "data/set", null, destination, 4, TransferListener.NONE);
+
+        // then
+        assertThat(result.objects()).isEqualTo(5);
+        assertThat(result.bytes()).isEqualTo(15);
+        // One read for the block list, one for the index and one for each archive
+        assertThat(rangedReads.get()).isEqualTo(4);
+        assertThat(destination.resolve("a.txt")).hasContent("alpha");
+        assertThat(destination.resolve("b.txt")).hasContent("beta");
+        assertThat(destination.resolve("sub/c.txt")).hasContent("gamma");
+        assertThat(destination.resolve("sub/d.txt")).hasContent("d");
+        assertThat(destination.resolve("sub/empty.txt")).isEmptyFile();
+    }
+
+    @Test
+    @DisplayName("Given a glob, when unpackDownload is called, then it should extract only the matching files and skip the gaps")
+    void givenGlob_whenUnpackDownload_thenShouldExtractMatchingFiles() throws Exception {
+        // given
+        s3PackService.packUpload(BUCKET, createTree(), "data/set", 1024, 1024, 2, TransferListener.NONE);
+        Path destination = tempDir.resolve("out");
+
+        // when
+        BulkResult result = s3PackService.unpackDownload(BUCKET, "data/set", "**[ac].txt", destination, 4,
+                TransferListener.NONE);
+
+        // then
+        assertThat(result.objects()).isEqualTo(2);
+        assertThat(destination.resolve("a.txt")).hasContent("alpha");
+        assertThat(destination.resolve("sub/c.txt")).hasContent("gamma");
+        assertThat(destination.resolve("b.txt")).doesNotExist();
+        verify(s3BucketFileService).streamRange(eq(BUCKET), eq("data/set/" + generation("data/set") + "/archive-00000"),
+                eq(0L), eq(14L), any());
+    }
+
+    @Test
+    @DisplayName("Given an index with a path leaving the destination, when unpackDownload is called, then it should throw before writing")
+    void givenEscapingPath_whenUnpackDownload_thenShouldThrow() {
+        // given
+        objects.put("evil/index.tsv", "0\t0\t4\t../outside.txt\n".getBytes(StandardCharsets.UTF_8));
+        objects.put("evil/index-blocks.tsv", new byte[0]);
+
+        // when / then
+        assertThatThrownBy(() -> s3PackService.unpackDownload(BUCKET, "evil", null, tempDir.resolve("out"), 1,
+                TransferListener.NONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("would be written outside");
+        assertThat(tempDir.resolve("outside.txt")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Given files spread over archives, when runs is called, then close files of the same archive should share a run")
+    void givenMembers_whenRuns_thenShouldGroupCloseMembersOfSameArchive() {
+        // given
+        PackMember first = new PackMember("a", 0, 0, 10);
+        PackMember near = new PackMember("b", 0, 10 + S3PackService.MAX_GAP, 10);
+        PackMember far = new PackMember("c", 0, 30 + 2 * S3PackService.MAX_GAP, 10);
+        PackMember otherArchive = new PackMember("d", 1, 0, 10);
+        PackMember large = new PackMember("e", 1, 10, S3PackService.MAX_RUN_SIZE);
+
+        // when
+        List<List<PackMember>> runs = S3PackService.runs(List.of(first, near, far, otherArchive, large));
+
+        // then
+        assertThat(runs).containsExactly(List.of(first, near), List.of(far), List.of(otherArchive), List.of(large));
+    }
+
+    private String generation(String pack) {
+        return S3PackService.parseBlocks(new String(objects.get(pack + "/index-blocks.tsv"), StandardCharsets.UTF_8))
+                .generation();
+    }
+
+    private Path createTree() throws Exception {
+        Path directory = Files.createDirectory(tempDir.resolve("tree"));
+        Files.writeString(directory.resolve("a.txt"), "alpha");
+        Files.writeString(directory.resolve("b.txt"), "beta");
+        Files.createDirectory(directory.resolve("sub"));
+        Files.writeString(directory.resolve("sub/c.txt"), "gamma");
+        Files.writeString(directory.resolve("sub/d.txt"), "d");
+        return directory;
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.PresignMethod;
+import br.com.s3.console.model.SplitStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3PresignService class")
+class S3PresignServiceTest {
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    private S3Presigner s3Presigner;
+    private S3PresignService s3PresignService;
+
+    @BeforeEach
+    void setUp() {
+        s3Presigner = S3Presigner.builder()
+                .endpointOverride(URI.create("http://localhost:4566"))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        s3PresignService = new S3PresignService(s3Presigner, s3ListingService, new BulkExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Presigner.close();
+    }
+
+    @Test
+    @DisplayName("Given key and GET method, when presign is called, then it should return a path-style signed URL")
+    void givenKeyAndGetMethod_whenPresign_thenShouldReturnSignedUrl() {
+        // when
+        URL url = s3PresignService.presign("test-bucket", "dir/file.txt", PresignMethod.GET, Duration.ofMinutes(5));
+
+        // then
+        assertThat(url.toString()).startsWith("http://localhost:4566/test-bucket/dir/file.txt?");
+        assertThat(url.getQuery()).contains("X-Amz-Expires=300").contains("X-Amz-Signature=");
+    }
+
+    @Test
+    @DisplayName("Given expiry over 7 days, when presign is called, then it should throw IllegalArgumentException")
+    void givenExpiryOverSevenDays_whenPresign_thenShouldThrowIllegalArgumentException() {
+        // when/then
+        assertThatThrownBy(() -> s3PresignService.presign("test-bucket", "file.txt", PresignMethod.PUT, Duration.ofDays(8)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Given objects under prefix, when presignPrefix is called, then it should sign every object")
+    void givenObjectsUnderPrefix_whenPresignPrefix_thenShouldSignEveryObject() {
+        // given
+        when(s3ListingService.listObjects(eq("test-bucket"), eq("data/"), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(IntStream.range(0, 50).mapToObj(i -> S3Object.builder().key("data/" + i + ".csv").build()));
+        Map<String, URL> urls = new ConcurrentHashMap<>();
+
+        // when
+        long count = s3PresignService.presignPrefix("test-bucket", "data/", PresignMethod.PUT, Duration.ofHours(1), 4,
+                urls::put);
+
+        // then
+        assertThat(count).isEqualTo(50);
+        assertThat(urls).hasSize(50);
+        assertThat(urls.get("data/7.csv").getPath()).isEqualTo("/test-bucket/data/7.csv");
+    }
+}
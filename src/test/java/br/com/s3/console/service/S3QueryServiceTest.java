@@ -0,0 +1,158 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.SplitStrategy;
+import br.com.s3.console.query.QueryParser;
+import br.com.s3.console.query.RowFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3QueryService class")
+class S3QueryServiceTest {
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    @Spy
+    private BulkExecutor bulkExecutor = new BulkExecutor();
+
+    @InjectMocks
+    private S3QueryService s3QueryService;
+
+    @Test
+    @DisplayName("Given CSV and JSON objects, when query is called, then it should filter and project rows of known formats")
+    void givenCsvAndJsonObjects_whenQuery_thenShouldFilterAndProjectRows() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq("data/"), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("data/a.csv"), object("data/b.jsonl"), object("data/c.bin")));
+        stubObject("data/a.csv", "id,age\n1,40\n2,20\n");
+        stubObject("data/b.jsonl", "{\"id\":3,\"age\":50}\n{\"id\":4,\"age\":10}\n");
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        // when
+        long count = s3QueryService.query("bucket", "data/**", QueryParser.parse("SELECT id WHERE age > 30"),
+                null, ',', 4, rows::add);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(rows).containsExactlyInAnyOrder(Map.of("id", "1"), Map.of("id", new BigDecimal("3")));
+        verify(s3Client, never()).getObject(argThat((GetObjectRequest request) ->
+                request != null && request.key().equals("data/c.bin")));
+    }
+
+    @Test
+    @DisplayName("Given limit, when query is called, then it should stop early and abort the transfer")
+    void givenLimit_whenQuery_thenShouldStopEarly() {
+        // given
+        AtomicBoolean aborted = new AtomicBoolean();
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("rows.txt")));
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream("n\n1\n2\n3\n4\n".getBytes(StandardCharsets.UTF_8)),
+                        () -> aborted.set(true))));
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        // when
+        long count = s3QueryService.query("bucket", "**", QueryParser.parse("SELECT * LIMIT 2"), RowFormat.CSV,
+                ',', 4, rows::add);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(rows).extracting(row -> row.get("n")).containsExactly("1", "2");
+        assertThat(aborted).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given count query, when query is called, then it should count rows without emitting them")
+    void givenCountQuery_whenQuery_thenShouldCountWithoutEmitting() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("a.json")));
+        stubObject("a.json", "{\"ok\":true}\n{\"ok\":false}\n{\"ok\":true}\n");
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        // when
+        long count = s3QueryService.query("bucket", "**", QueryParser.parse("SELECT COUNT(*) WHERE ok = true"),
+                null, ',', 4, rows::add);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Given malformed object, when query is called, then it should report the object key")
+    void givenMalformedObject_whenQuery_thenShouldReportKey() {
+        // given
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("bad.json")));
+        stubObject("bad.json", "{\"id\": }\n");
+
+        // when/then
+        assertThatThrownBy(() -> s3QueryService.query("bucket", "**", QueryParser.parse("SELECT *"), null, ',', 4,
+                row -> { }))
+                .hasMessageContaining("Error reading object 'bad.json'");
+    }
+
+    @Test
+    @DisplayName("Given an object with a corrupt gzip header, when query is called, then it should abort the transfer and report the key")
+    void givenCorruptGzip_whenQuery_thenShouldAbortTransfer() {
+        // given
+        AtomicBoolean aborted = new AtomicBoolean();
+        when(s3ListingService.listObjects(eq("bucket"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(false)))
+                .thenReturn(Stream.of(object("bad.json.gz")));
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(new byte[]{0x1f, (byte) 0x8b, 0, 0}),
+                        () -> aborted.set(true))));
+
+        // when/then
+        assertThatThrownBy(() -> s3QueryService.query("bucket", "**", QueryParser.parse("SELECT *"), RowFormat.JSON,
+                ',', 4, row -> { }))
+                .hasMessageContaining("Error reading object 'bad.json.gz'");
+        assertThat(aborted).isTrue();
+    }
+
+    private void stubObject(String key, String content) {
+        when(s3Client.getObject(argThat((GetObjectRequest request) -> request != null && request.key().equals(key))))
+                .thenReturn(new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                        AbortableInputStream.create(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    private static S3Object object(String key) {
+        return S3Object.builder().key(key).size(1L).build();
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.model.SplitStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3ReplicationService class")
+class S3ReplicationServiceTest {
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    @Mock
+    private S3CopyService s3CopyService;
+
+    @Spy
+    private BulkExecutor bulkExecutor = new BulkExecutor();
+
+    @InjectMocks
+    private S3ReplicationService s3ReplicationService;
+
+    @Test
+    @DisplayName("Given partially replicated prefix, when replicate is called, then it should copy only missing or changed objects")
+    void givenPartiallyReplicatedPrefix_whenReplicate_thenShouldCopyOnlyMissingOrChanged() {
+        // given
+        when(s3ListingService.listObjects(eq("source"), eq("data/"), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(
+                        object("data/a.txt", 10, "\"a\""),
+                        object("data/b.txt", 20, "\"b\""),
+                        object("data/c.txt", 30, "\"c\""),
+                        object("data/d.txt", 40, "\"d\"")));
+        when(s3ListingService.listObjects(eq("target"), eq("copy/"), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(
+                        object("copy/a.txt", 10, "\"a\""),
+                        object("copy/b.txt", 20, "\"stale\""),
+                        object("copy/bb.txt", 5, "\"x\""),
+                        object("copy/d.txt", 40, "\"d\"")));
+
+        // when
+        BulkResult result = s3ReplicationService.replicate("source", "data/", "target", "copy/", 16, progress -> { });
+
+        // then
+        assertThat(result.objects()).isEqualTo(2);
+        assertThat(result.bytes()).isEqualTo(50);
+        assertThat(result.skipped()).isEqualTo(2);
+        // Parts of large objects are copied with the prefix part concurrency, not the object parallelism
+        verify(s3CopyService).copyObject("source", "data/b.txt", 20L, "target", "copy/b.txt",
+                S3CopyService.PREFIX_PART_CONCURRENCY);
+        verify(s3CopyService).copyObject("source", "data/c.txt", 30L, "target", "copy/c.txt",
+                S3CopyService.PREFIX_PART_CONCURRENCY);
+        verifyNoMoreInteractions(s3CopyService);
+    }
+
+    @Test
+    @DisplayName("Given keys above U+E000 and outside the BMP already replicated, when replicate is called, then it should match them in UTF-8 order")
+    void givenMixedPlaneKeys_whenReplicate_thenShouldSkipReplicatedObjects() {
+        // given
+        when(s3ListingService.listObjects(eq("source"), eq("data/"), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(
+                        object("data/z.txt", 10, "\"z\""),
+                        object("data/\uE000.txt", 20, "\"p\""),
+                        object("data/\uD83D\uDE00.txt", 30, "\"e\"")));
+        when(s3ListingService.listObjects(eq("target"), eq("copy/"), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(
+                        object("copy/z.txt", 10, "\"z\""),
+                        object("copy/\uE000.txt", 20, "\"p\""),
+                        object("copy/\uD83D\uDE00.txt", 30, "\"e\"")));
+
+        // when
+        BulkResult result = s3ReplicationService.replicate("source", "data/", "target", "copy/", 4, progress -> { });
+
+        // then
+        assertThat(result.skipped()).isEqualTo(3);
+        verifyNoInteractions(s3CopyService);
+    }
+
+    @Test
+    @DisplayName("Given overlapping prefixes in the same bucket, when replicate is called, then it should throw IllegalArgumentException")
+    void givenOverlappingPrefixes_whenReplicate_thenShouldThrowIllegalArgumentException() {
+        // when/then
+        assertThatThrownBy(() -> s3ReplicationService.replicate("bucket", "data/", "bucket", "data/copy/", 4, progress -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(s3ListingService);
+    }
+
+    @Test
+    @DisplayName("Given copy failure, when replicate is called, then it should propagate the error")
+    void givenCopyFailure_whenReplicate_thenShouldPropagateError() {
+        // given
+        when(s3ListingService.listObjects(eq("source"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.of(object("a.txt", 10, "\"a\"")));
+        when(s3ListingService.listObjects(eq("target"), eq(""), anyInt(), eq(SplitStrategy.SAMPLE), eq(true)))
+                .thenReturn(Stream.empty());
+        doThrow(new RuntimeException("Error copying object: S3 error"))
+                .when(s3CopyService).copyObject(anyString(), anyString(), anyLong(), anyString(), anyString(), anyInt());
+
+        // when/then
+        assertThatThrownBy(() -> s3ReplicationService.replicate("source", "", "target", "", 4, progress -> { }))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Error copying object");
+    }
+
+    private static S3Object object(String key, long size, String eTag) {
+        return S3Object.builder().key(key).size(size).eTag(eTag).build();
+    }
+}
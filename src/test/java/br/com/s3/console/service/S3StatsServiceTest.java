@@ -0,0 +1,76 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.index.ObjectIndex;
+import br.com.s3.console.model.BucketStats;
+import br.com.s3.console.model.SplitStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3StatsService class")
+class S3StatsServiceTest {
+
+    @Mock
+    private S3ListingService s3ListingService;
+
+    @Mock
+    private S3IndexService s3IndexService;
+
+    @InjectMocks
+    private S3StatsService s3StatsService;
+
+    @Test
+    @DisplayName("Given listed objects, when stats is called, then it should aggregate counts, sizes and dates")
+    void givenListedObjects_whenStats_thenShouldAggregate() {
+        // given
+        when(s3ListingService.listObjects("bucket", "logs/", 8, SplitStrategy.SAMPLE, false))
+                .thenReturn(Stream.of(
+                        object("logs/a", 10, Instant.parse("2024-01-01T00:00:00Z"), null),
+                        object("logs/b", 50, Instant.parse("2024-03-01T00:00:00Z"), "GLACIER"),
+                        object("logs/c", 20, Instant.parse("2024-02-01T00:00:00Z"), "STANDARD")));
+
+        // when
+        BucketStats stats = s3StatsService.stats("bucket", "logs/", 8, false);
+
+        // then
+        assertThat(stats.objects()).isEqualTo(3);
+        assertThat(stats.bytes()).isEqualTo(80);
+        assertThat(stats.largestKey()).isEqualTo("logs/b");
+        assertThat(stats.oldest()).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+        assertThat(stats.newest()).isEqualTo(Instant.parse("2024-03-01T00:00:00Z"));
+        assertThat(stats.objectsByStorageClass()).isEqualTo(Map.of("STANDARD", 2L, "GLACIER", 1L));
+        assertThat(stats.bytesByStorageClass()).isEqualTo(Map.of("STANDARD", 30L, "GLACIER", 50L));
+    }
+
+    @Test
+    @DisplayName("Given index, when stats is called from the index, then it should not list the bucket")
+    void givenIndex_whenStatsFromIndex_thenShouldNotListBucket() {
+        // given
+        ObjectIndex index = mock(ObjectIndex.class);
+        when(s3IndexService.require("bucket")).thenReturn(index);
+        when(index.objects("")).thenReturn(Stream.of(object("a", 5, Instant.EPOCH, null)));
+
+        // when
+        BucketStats stats = s3StatsService.stats("bucket", "", 8, true);
+
+        // then
+        assertThat(stats.objects()).isEqualTo(1);
+        verifyNoInteractions(s3ListingService);
+    }
+
+    private static S3Object object(String key, long size, Instant lastModified, String storageClass) {
+        return S3Object.builder().key(key).size(size).lastModified(lastModified).storageClass(storageClass).build();
+    }
+}
@@ -0,0 +1,188 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.buffer.BufferPool;
+import br.com.s3.console.concurrent.BulkExecutor;
+import br.com.s3.console.config.S3ClientProfiles;
+import br.com.s3.console.model.BulkResult;
+import br.com.s3.console.transfer.TransferListener;
+import br.com.s3.console.transfer.TransferMetrics;
+import br.com.s3.console.transfer.TransferProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3TransferService class")
+class S3TransferServiceTest {
+
+    private static final int MIB = 1024 * 1024;
+
+    @Mock
+    private S3ClientProfiles s3ClientProfiles;
+
+    @Spy
+    private BulkExecutor bulkExecutor = new BulkExecutor();
+
+    @Spy
+    private S3MultipartUploadService s3MultipartUploadService = new S3MultipartUploadService(new BulkExecutor(),
+            new BufferPool(DataSize.ofMegabytes(128), new SimpleMeterRegistry()));
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private S3TransferService s3TransferService;
+
+    @Mock
+    private S3Client source;
+
+    @Mock
+    private S3Client destination;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(s3ClientProfiles.client("local")).thenReturn(source);
+        lenient().when(s3ClientProfiles.client("remote")).thenReturn(destination);
+    }
+
+    @Test
+    @DisplayName("Given an object smaller than a part, when transfer is called, then it should be put in a single request")
+    void givenSmallObject_whenTransfer_thenShouldPutObject() throws IOException {
+        // given
+        byte[] content = "hello world".getBytes();
+        givenSourceObject("data/a.txt", content);
+        ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+        when(destination.putObject(any(PutObjectRequest.class), body.capture()))
+                .thenReturn(PutObjectResponse.builder().build());
+
+        // when
+        BulkResult result = s3TransferService.transfer("local", "source", "data/", "remote", "target", "copy/",
+                8 * MIB, 4, 1, TransferListener.NONE);
+
+        // then
+        assertThat(result.objects()).isEqualTo(1);
+        assertThat(result.bytes()).isEqualTo(content.length);
+        ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(destination).putObject(request.capture(), any(RequestBody.class));
+        assertThat(request.getValue().bucket()).isEqualTo("target");
+        assertThat(request.getValue().key()).isEqualTo("copy/a.txt");
+        assertThat(request.getValue().contentType()).isEqualTo("text/plain");
+        assertThat(body.getValue().contentStreamProvider().newStream().readAllBytes()).isEqualTo(content);
+        verify(destination, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given an object larger than a part, when transfer is called, then its parts should be uploaded and completed in order")
+    void givenLargeObject_whenTransfer_thenShouldUploadPartsInOrder() {
+        // given
+        byte[] content = new byte[11 * MIB];
+        new Random(42).nextBytes(content);
+        givenSourceObject("data/big.bin", content);
+        when(destination.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        Map<Integer, byte[]> uploaded = new ConcurrentHashMap<>();
+        when(destination.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            RequestBody body = invocation.getArgument(1);
+            // Buffers are recycled, so the content must be read while the part is in flight
+            uploaded.put(request.partNumber(), body.contentStreamProvider().newStream().readAllBytes());
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        });
+        TransferProgress progress = new TransferProgress();
+
+        // when
+        BulkResult result = s3TransferService.transfer("local", "source", "data/", "remote", "target", "data/",
+                5 * MIB, 2, 1, progress);
+
+        // then
+        assertThat(result.bytes()).isEqualTo(content.length);
+        assertThat(uploaded).containsOnlyKeys(1, 2, 3);
+        assertThat(uploaded.get(1)).hasSize(5 * MIB);
+        assertThat(uploaded.get(3)).hasSize(MIB);
+        byte[] joined = new byte[content.length];
+        System.arraycopy(uploaded.get(1), 0, joined, 0, 5 * MIB);
+        System.arraycopy(uploaded.get(2), 0, joined, 5 * MIB, 5 * MIB);
+        System.arraycopy(uploaded.get(3), 0, joined, 10 * MIB, MIB);
+        assertThat(joined).isEqualTo(content);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(destination).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().uploadId()).isEqualTo("upload-1");
+        assertThat(complete.getValue().multipartUpload().parts())
+                .extracting(CompletedPart::partNumber, CompletedPart::eTag)
+                .containsExactly(tuple(1, "etag-1"), tuple(2, "etag-2"), tuple(3, "etag-3"));
+        verify(destination, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        TransferProgress.Snapshot snapshot = progress.snapshot();
+        assertThat(snapshot.bytesDone()).isEqualTo(snapshot.totalBytes()).isEqualTo(content.length);
+        assertThat(snapshot.partsCompleted()).isEqualTo(3);
+        assertThat(snapshot.objectsCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given a failing part upload, when transfer is called, then the multipart upload should be aborted")
+    void givenFailingPartUpload_whenTransfer_thenShouldAbortUpload() {
+        // given
+        givenSourceObject("data/big.bin", new byte[6 * MIB]);
+        when(destination.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(destination.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("Access Denied").build());
+
+        TransferProgress progress = new TransferProgress();
+
+        // when / then
+        assertThatThrownBy(() -> s3TransferService.transfer("local", "source", "data/", "remote", "target", "data/",
+                5 * MIB, 2, 1, progress))
+                .isInstanceOf(S3Exception.class)
+                .hasMessageContaining("Access Denied");
+        assertThat(progress.snapshot().objectsFailed()).isEqualTo(1);
+        assertThat(progress.snapshot().partsFailed()).isPositive();
+        verify(destination).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(destination, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given overlapping prefixes in the same bucket and profile, when transfer is called, then it should be rejected")
+    void givenOverlappingPrefixes_whenTransfer_thenShouldThrow() {
+        // when / then
+        assertThatThrownBy(() -> s3TransferService.transfer("local", "source", "data/", "local", "source",
+                "data/copy/", 8 * MIB, 4, 1, TransferListener.NONE))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(source);
+    }
+
+    private void givenSourceObject(String key, byte[] content) {
+        when(source.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key(key).size((long) content.length).build())
+                .isTruncated(false)
+                .build());
+        when(source.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+                GetObjectResponse.builder().contentLength((long) content.length).contentType("text/plain").build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content))));
+    }
+}
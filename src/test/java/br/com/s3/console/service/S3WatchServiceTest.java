@@ -0,0 +1,124 @@
+package br.com.s3.console.service;
+
+import br.com.s3.console.model.WatchMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests for S3WatchService class")
+class S3WatchServiceTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final Duration INTERVAL = Duration.ofMillis(2);
+
+    @Mock
+    private S3BucketFileService s3BucketFileService;
+
+    @InjectMocks
+    private S3WatchService s3WatchService;
+
+    @Test
+    @DisplayName("Given append-style keys, when watch is called in START_AFTER mode, then it should list only after the last seen key")
+    void givenAppendStyleKeys_whenWatchStartAfter_thenShouldListAfterLastKey() {
+        // given
+        when(s3BucketFileService.streamObjects(BUCKET, "logs/", 4, true))
+                .thenReturn(Stream.of(object("logs/001", "e1"), object("logs/002", "e1")));
+        when(s3BucketFileService.listObjectsAfter(eq(BUCKET), eq("logs/"), anyString())).thenReturn(List.of());
+        when(s3BucketFileService.listObjectsAfter(BUCKET, "logs/", "logs/002"))
+                .thenReturn(List.of(object("logs/003", "e1"), object("logs/004", "e1")));
+        List<String> reported = new ArrayList<>();
+
+        // when
+        long result = s3WatchService.watch(BUCKET, "logs/", WatchMode.START_AFTER, INTERVAL, INTERVAL, Duration.ofMillis(200), 4,
+                object -> reported.add(object.key()));
+
+        // then
+        assertThat(result).isEqualTo(2);
+        assertThat(reported).containsExactly("logs/003", "logs/004");
+        verify(s3BucketFileService, atLeastOnce()).listObjectsAfter(BUCKET, "logs/", "logs/004");
+        verify(s3BucketFileService, times(1)).streamObjects(anyString(), anyString(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Given new and overwritten keys, when watch is called in SNAPSHOT mode, then it should report both once")
+    void givenNewAndOverwrittenKeys_whenWatchSnapshot_thenShouldReportChanges() {
+        // given
+        AtomicInteger listings = new AtomicInteger();
+        when(s3BucketFileService.streamObjects(BUCKET, "", 4, false)).thenAnswer(invocation -> listings.getAndIncrement() == 0
+                ? Stream.of(object("b", "e1"), object("c", "e1"))
+                : Stream.of(object("a", "e1"), object("b", "e2"), object("c", "e1")));
+        List<String> reported = new ArrayList<>();
+
+        // when
+        long result = s3WatchService.watch(BUCKET, "", WatchMode.SNAPSHOT, INTERVAL, INTERVAL, Duration.ofMillis(100), 4,
+                object -> reported.add(object.key()));
+
+        // then
+        assertThat(result).isEqualTo(2);
+        assertThat(reported).containsExactly("a", "b");
+        assertThat(listings.get()).isGreaterThan(2);
+        verify(s3BucketFileService, never()).listObjectsAfter(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Given a key before the last seen one, when watch is called in AUTO mode, then the snapshot check should find it and switch modes")
+    void givenKeyBeforeLastSeen_whenWatchAuto_thenShouldSwitchToSnapshot() {
+        // given
+        AtomicInteger listings = new AtomicInteger();
+        when(s3BucketFileService.streamObjects(BUCKET, "", 4, false)).thenAnswer(invocation -> listings.getAndIncrement() == 0
+                ? Stream.of(object("m", "e1"))
+                : Stream.of(object("a", "e1"), object("m", "e1")));
+        when(s3BucketFileService.listObjectsAfter(BUCKET, "", "m")).thenReturn(List.of());
+        List<String> reported = new ArrayList<>();
+
+        // when
+        long result = s3WatchService.watch(BUCKET, "", WatchMode.AUTO, INTERVAL, INTERVAL, Duration.ofMillis(300), 4,
+                object -> reported.add(object.key()));
+
+        // then
+        assertThat(result).isEqualTo(1);
+        assertThat(reported).containsExactly("a");
+        verify(s3BucketFileService, times(S3WatchService.SNAPSHOT_CHECK_INTERVAL - 1)).listObjectsAfter(BUCKET, "", "m");
+        assertThat(listings.get()).isGreaterThan(2);
+    }
+
+    @Test
+    @DisplayName("Given an interrupted thread, when watch is called, then it should stop without polling")
+    void givenInterruptedThread_whenWatch_thenShouldStop() {
+        // given
+        when(s3BucketFileService.streamObjects(BUCKET, "", 4, true)).thenReturn(Stream.empty());
+        Thread.currentThread().interrupt();
+
+        // when
+        long result = s3WatchService.watch(BUCKET, "", WatchMode.START_AFTER, Duration.ofSeconds(1), Duration.ofSeconds(1),
+                Duration.ZERO, 4, object -> { });
+
+        // then
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(result).isZero();
+        verify(s3BucketFileService, never()).listObjectsAfter(any(), any(), any());
+    }
+
+    private static S3Object object(String key, String eTag) {
+        return S3Object.builder().key(key).eTag(eTag).size(1L).build();
+    }
+}
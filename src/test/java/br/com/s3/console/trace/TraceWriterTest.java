@@ -0,0 +1,82 @@
+package br.com.s3.console.trace;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for TraceWriter class")
+class TraceWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Given queued traces, when the writer is stopped, then every trace should be written as a JSON line")
+    void givenQueuedTraces_whenStopped_thenShouldWriteEveryTrace() throws IOException {
+        // given
+        Path file = tempDir.resolve("logs/trace.jsonl");
+        TraceWriter traceWriter = new TraceWriter(true, file.toString(), new SimpleMeterRegistry());
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            traceWriter.offer(new RequestTrace(0, "GetObject", "bucket", "key-" + i, 1024, 200, 1,
+                    -1, -1, 1_500_000, 2_250_000, null));
+        }
+        traceWriter.offer(new RequestTrace(0, "ListBuckets", null, null, 0, 0, 2, 100_000, -1, -1, 5_000_000,
+                "Unable to execute HTTP request"));
+        traceWriter.stop();
+
+        // then
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1001);
+        assertThat(lines.get(0)).isEqualTo("{\"ts\":\"1970-01-01T00:00:00Z\",\"op\":\"GetObject\",\"bucket\":\"bucket\","
+                + "\"key\":\"key-0\",\"bytes\":1024,\"status\":200,\"attempts\":1,\"dns_ms\":null,\"connect_ms\":null,"
+                + "\"ttfb_ms\":1.5,\"total_ms\":2.25}");
+        assertThat(lines.get(1000)).contains("\"bucket\":null", "\"dns_ms\":0.1",
+                "\"error\":\"Unable to execute HTTP request\"");
+        assertThat(traceWriter.isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given traces queued while the writer is busy, when the writer is stopped, then none of them should be lost")
+    void givenBusyWriter_whenStopped_thenShouldNotLoseTraces() throws IOException {
+        // given
+        Path file = tempDir.resolve("trace.jsonl");
+        TraceWriter traceWriter = new TraceWriter(true, file.toString(), new SimpleMeterRegistry());
+        for (int i = 0; i < 10_000; i++) {
+            traceWriter.offer(new RequestTrace(0, "PutObject", "bucket", "key-" + i, 1024, 200, 1,
+                    -1, -1, 1_000_000, 2_000_000, null));
+        }
+
+        // when
+        traceWriter.stop();
+
+        // then
+        assertThat(Files.readAllLines(file)).hasSize(10_000);
+    }
+
+    @Test
+    @DisplayName("Given tracing is off, when traces are offered, then nothing should be queued")
+    void givenTracingOff_whenOffered_thenShouldIgnoreTraces() throws IOException {
+        // given
+        TraceWriter traceWriter = new TraceWriter(false, tempDir.resolve("unused.jsonl").toString(),
+                new SimpleMeterRegistry());
+        traceWriter.offer(new RequestTrace(0, "GetObject", "b", "k", 0, 200, 1, -1, -1, 1, 1, null));
+        Path file = tempDir.resolve("trace.jsonl");
+
+        // when
+        traceWriter.start(file);
+        traceWriter.stop();
+
+        // then
+        assertThat(Files.readAllLines(file)).isEmpty();
+    }
+}
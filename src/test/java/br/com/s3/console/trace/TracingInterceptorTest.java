@@ -0,0 +1,95 @@
+package br.com.s3.console.trace;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for TracingInterceptor class")
+class TracingInterceptorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private TraceWriter traceWriter;
+    private S3Client s3Client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                exchange.sendResponseHeaders(200, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        traceWriter = new TraceWriter(true, tempDir.resolve("trace.jsonl").toString(), new SimpleMeterRegistry());
+        s3Client = S3Client.builder()
+                .endpointOverride(URI.create("http://localhost:" + server.getAddress().getPort()))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .forcePathStyle(true)
+                .httpClientBuilder(ApacheHttpClient.builder().dnsResolver(new TimingDnsResolver()))
+                .overrideConfiguration(configuration -> configuration
+                        .addExecutionInterceptor(new TracingInterceptor(traceWriter)))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Client.close();
+        server.stop(0);
+        traceWriter.stop();
+    }
+
+    @Test
+    @DisplayName("Given traced requests, when they complete, then each one should be written with its timings")
+    void givenTracedRequests_whenComplete_thenShouldWriteTimings() throws IOException {
+        // when
+        s3Client.putObject(PutObjectRequest.builder().bucket("bucket").key("dir/file.txt").build(),
+                RequestBody.fromString("hello world"));
+        assertThatThrownBy(() -> s3Client.headObject(HeadObjectRequest.builder().bucket("bucket").key("missing").build()))
+                .isInstanceOf(S3Exception.class);
+        traceWriter.stop();
+
+        // then
+        List<String> lines = Files.readAllLines(tempDir.resolve("trace.jsonl"));
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0))
+                .contains("\"op\":\"PutObject\"", "\"bucket\":\"bucket\"", "\"key\":\"dir/file.txt\"",
+                        "\"bytes\":11", "\"status\":200", "\"attempts\":1", "\"connect_ms\":null")
+                .containsPattern("\"dns_ms\":[0-9.]+")
+                .containsPattern("\"ttfb_ms\":[0-9.]+")
+                .doesNotContain("error");
+        assertThat(lines.get(1))
+                .contains("\"op\":\"HeadObject\"", "\"key\":\"missing\"", "\"status\":404", "\"error\":");
+    }
+}
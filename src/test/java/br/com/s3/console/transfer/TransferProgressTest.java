@@ -0,0 +1,145 @@
+package br.com.s3.console.transfer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+@DisplayName("Tests for TransferProgress class")
+class TransferProgressTest {
+
+    @Test
+    @DisplayName("Given workers reporting concurrently, when snapshot is called, then it should aggregate every object and byte")
+    void givenConcurrentWorkers_whenSnapshot_thenShouldAggregateAllWorkers() {
+        // given
+        TransferProgress progress = new TransferProgress();
+
+        // when
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, 50).forEach(worker -> workers.submit(() -> {
+                String key = "file-" + worker;
+                progress.transferStarted(key, 1000);
+                for (int i = 0; i < 10; i++) {
+                    progress.bytesTransferred(key, 100);
+                }
+                progress.transferCompleted(key);
+            }));
+        }
+        TransferProgress.Snapshot snapshot = progress.snapshot();
+
+        // then
+        assertThat(snapshot.bytesDone()).isEqualTo(50_000);
+        assertThat(snapshot.totalBytes()).isEqualTo(50_000);
+        assertThat(snapshot.objectsCompleted()).isEqualTo(50);
+        assertThat(snapshot.objectsActive()).isZero();
+        assertThat(snapshot.averageRate()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Given parts changing state, when snapshot is called, then it should count queued, uploading and completed parts")
+    void givenPartStates_whenSnapshot_thenShouldCountParts() {
+        // given
+        TransferProgress progress = new TransferProgress();
+        progress.transferStarted("big.bin", 30);
+        progress.partChanged("big.bin", 1, PartState.QUEUED);
+        progress.partChanged("big.bin", 2, PartState.QUEUED);
+        progress.partChanged("big.bin", 3, PartState.QUEUED);
+        progress.partChanged("big.bin", 1, PartState.UPLOADING);
+        progress.partChanged("big.bin", 1, PartState.COMPLETED);
+        progress.partChanged("big.bin", 2, PartState.UPLOADING);
+
+        // when
+        TransferProgress.Snapshot snapshot = progress.snapshot();
+
+        // then
+        assertThat(snapshot.partsQueued()).isEqualTo(1);
+        assertThat(snapshot.partsUploading()).isEqualTo(1);
+        assertThat(snapshot.partsCompleted()).isEqualTo(1);
+        assertThat(snapshot.objectsActive()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given a failed object, when snapshot is called, then its pending parts should no longer be counted")
+    void givenFailedObject_whenSnapshot_thenShouldDropPendingParts() {
+        // given
+        TransferProgress progress = new TransferProgress();
+        progress.transferStarted("big.bin", 30);
+        progress.partChanged("big.bin", 1, PartState.UPLOADING);
+        progress.partChanged("big.bin", 1, PartState.FAILED);
+        progress.partChanged("big.bin", 2, PartState.QUEUED);
+        progress.transferFailed("big.bin", new IOException("Broken pipe"));
+
+        // when
+        TransferProgress.Snapshot snapshot = progress.snapshot();
+
+        // then
+        assertThat(snapshot.partsQueued()).isZero();
+        assertThat(snapshot.partsFailed()).isEqualTo(1);
+        assertThat(snapshot.objectsFailed()).isEqualTo(1);
+        assertThat(snapshot.objectsActive()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given an object of unknown size, when snapshot is called, then the total and ETA should be unknown")
+    void givenUnknownSize_whenSnapshot_thenShouldHaveNoTotalNorEta() throws InterruptedException {
+        // given
+        TransferProgress progress = new TransferProgress();
+        progress.transferStarted("known", 100);
+        progress.transferStarted("stdin", -1);
+        progress.bytesTransferred("stdin", 50);
+        Thread.sleep(120);
+
+        // when
+        TransferProgress.Snapshot snapshot = progress.snapshot();
+
+        // then
+        assertThat(snapshot.totalBytes()).isEqualTo(-1);
+        assertThat(snapshot.eta()).isNull();
+        assertThat(snapshot.rate()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Given a known total and bytes done, when snapshot is called, then it should estimate the time left")
+    void givenKnownTotal_whenSnapshot_thenShouldEstimateTimeLeft() throws InterruptedException {
+        // given
+        TransferProgress progress = new TransferProgress();
+        progress.transferStarted("file", 1_000_000);
+        progress.bytesTransferred("file", 1000);
+        Thread.sleep(120);
+
+        // when
+        TransferProgress.Snapshot snapshot = progress.snapshot();
+
+        // then
+        assertThat(snapshot.eta()).isNotNull().isPositive();
+    }
+
+    @Test
+    @DisplayName("Given bytes reported over time, when the rate is read many times, then reading should not change it")
+    void givenReportedBytes_whenRateReadRepeatedly_thenShouldNotChangeIt() throws InterruptedException {
+        // given
+        TransferProgress progress = new TransferProgress();
+        progress.bytesTransferred("file", 1000);
+        Thread.sleep(120);
+        // Reporting after the sampling interval takes a sample
+        progress.bytesTransferred("file", 1000);
+
+        // when
+        double first = progress.rate();
+        for (int i = 0; i < 100; i++) {
+            progress.rate();
+            progress.snapshot();
+        }
+
+        // then
+        assertThat(first).isPositive();
+        assertThat(progress.rate()).isCloseTo(first, withinPercentage(10));
+        assertThat(progress.snapshot().rate()).isCloseTo(first, withinPercentage(10));
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.s3.console.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for ByteSizes class")
+class ByteSizesTest {
+
+    @Test
+    @DisplayName("Given sizes with units, when parse is called, then it should use binary multiples")
+    void givenSizesWithUnits_whenParse_thenShouldUseBinaryMultiples() {
+        assertThat(ByteSizes.parse("512")).isEqualTo(512);
+        assertThat(ByteSizes.parse("512B")).isEqualTo(512);
+        assertThat(ByteSizes.parse("64k")).isEqualTo(64 * 1024);
+        assertThat(ByteSizes.parse("10MB")).isEqualTo(10L * 1024 * 1024);
+        assertThat(ByteSizes.parse("1.5GiB")).isEqualTo(1536L * 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("Given invalid size, when parse is called, then it should throw IllegalArgumentException")
+    void givenInvalidSize_whenParse_thenShouldThrowException() {
+        assertThatThrownBy(() -> ByteSizes.parse("ten")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ByteSizes.parse("-1K")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
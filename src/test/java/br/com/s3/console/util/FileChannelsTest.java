@@ -0,0 +1,117 @@
+package br.com.s3.console.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests for FileChannels class")
+class FileChannelsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Given a stream, when transfer is called, then its bytes should be written at the position")
+    void givenStream_whenTransfer_thenShouldWriteAtPosition() throws IOException {
+        // given
+        Path file = tempDir.resolve("out.txt");
+        byte[] content = "hello world".getBytes(StandardCharsets.UTF_8);
+        AtomicLong progress = new AtomicLong();
+
+        // when
+        long written;
+        try (FileChannel target = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            target.write(ByteBuffer.wrap("> ".getBytes(StandardCharsets.UTF_8)));
+            written = FileChannels.transfer(new ByteArrayInputStream(content), target, 2, ByteBuffer.allocate(4),
+                    progress::addAndGet);
+        }
+
+        // then
+        assertThat(written).isEqualTo(content.length);
+        assertThat(file).hasContent("> hello world");
+        assertThat(progress.get()).isEqualTo(content.length);
+    }
+
+    @Test
+    @DisplayName("Given a file stream, when transfer is called, then the rest of the file should be copied")
+    void givenFileStream_whenTransfer_thenShouldCopyRestOfFile() throws IOException {
+        // given
+        Path source = Files.writeString(tempDir.resolve("in.txt"), "skip:copied");
+        Path target = tempDir.resolve("out.txt");
+
+        // when
+        long written;
+        try (FileInputStream input = new FileInputStream(source.toFile());
+             FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            input.skipNBytes(5);
+            written = FileChannels.transfer(input, output, 0, ByteBuffer.allocate(4), count -> {
+            });
+        }
+
+        // then
+        assertThat(written).isEqualTo(6);
+        assertThat(target).hasContent("copied");
+    }
+
+    @Test
+    @DisplayName("Given a size, when preallocate is called, then the file should be extended to it")
+    void givenSize_whenPreallocate_thenShouldExtendFile() throws IOException {
+        // given
+        Path file = tempDir.resolve("big.bin");
+
+        // when
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileChannels.preallocate(channel, 1024);
+            FileChannels.preallocate(channel, 10);
+        }
+
+        // then
+        assertThat(file).hasSize(1024);
+    }
+
+    @Test
+    @DisplayName("Given a region, when readFully is called, then the buffer should hold only that region")
+    void givenRegion_whenReadFully_thenShouldHoldRegion() throws IOException {
+        // given
+        Path file = Files.writeString(tempDir.resolve("in.txt"), "0123456789");
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+
+        // when
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            FileChannels.readFully(channel, buffer, 3);
+        }
+
+        // then
+        assertThat(new String(buffer.array(), StandardCharsets.UTF_8)).isEqualTo("3456");
+    }
+
+    @Test
+    @DisplayName("Given a file shorter than the region, when readFully is called, then it should throw EOFException")
+    void givenTruncatedFile_whenReadFully_thenShouldThrow() throws IOException {
+        // given
+        Path file = Files.writeString(tempDir.resolve("in.txt"), "0123456789");
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+
+        // when / then
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThatThrownBy(() -> FileChannels.readFully(channel, buffer, 6))
+                    .isInstanceOf(EOFException.class)
+                    .hasMessageContaining("truncated");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.s3.console.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests for KeyGlob class")
+class KeyGlobTest {
+
+    @Test
+    @DisplayName("Given single star glob, when toPattern is called, then it should not cross key segments")
+    void givenSingleStar_whenToPattern_thenShouldNotCrossSegments() {
+        // when
+        Pattern pattern = KeyGlob.toPattern("logs/*.log");
+
+        // then
+        assertThat(pattern.matcher("logs/app.log").matches()).isTrue();
+        assertThat(pattern.matcher("logs/2024/app.log").matches()).isFalse();
+        assertThat(pattern.matcher("logs/app.logx").matches()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given double star and classes, when toPattern is called, then it should match across segments")
+    void givenDoubleStarAndClasses_whenToPattern_thenShouldMatchAcrossSegments() {
+        // when
+        Pattern pattern = KeyGlob.toPattern("data/**/part-[0-9]?.csv");
+
+        // then
+        assertThat(pattern.matcher("data/2024/01/part-07.csv").matches()).isTrue();
+        assertThat(pattern.matcher("data/2024/01/part-x7.csv").matches()).isFalse();
+        assertThat(KeyGlob.toPattern("a+b(1).txt").matcher("a+b(1).txt").matches()).isTrue();
+        assertThat(KeyGlob.toPattern("[!a]*").matcher("b.txt").matches()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Given glob, when literalPrefix is called, then it should return the text before the first wildcard")
+    void givenGlob_whenLiteralPrefix_thenShouldReturnTextBeforeWildcard() {
+        assertThat(KeyGlob.literalPrefix("logs/2024-0?/*.gz")).isEqualTo("logs/2024-0");
+        assertThat(KeyGlob.literalPrefix("**")).isEmpty();
+        assertThat(KeyGlob.literalPrefix("exact/key.txt")).isEqualTo("exact/key.txt");
+    }
+
+    @Test
+    @DisplayName("Given directory prefixes, when mayMatchUnder is called, then it should reject subtrees the glob cannot reach")
+    void givenDirectories_whenMayMatchUnder_thenShouldRejectUnreachableSubtrees() {
+        assertThat(KeyGlob.mayMatchUnder("logs/2024-*/app.log", "logs/2024-01/")).isTrue();
+        assertThat(KeyGlob.mayMatchUnder("logs/2024-*/app.log", "logs/2023-12/")).isFalse();
+        assertThat(KeyGlob.mayMatchUnder("logs/2024-*/app.log", "logs/2024-01/old/")).isFalse();
+        assertThat(KeyGlob.mayMatchUnder("logs/*.gz", "logs/sub/")).isFalse();
+        assertThat(KeyGlob.mayMatchUnder("logs/**/*.gz", "logs/a/b/c/")).isTrue();
+        assertThat(KeyGlob.mayMatchUnder("logs/**/*.gz", "data/")).isFalse();
+    }
+}